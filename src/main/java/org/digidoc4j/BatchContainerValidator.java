@@ -0,0 +1,140 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.exceptions.TechnicalException;
+import org.digidoc4j.impl.asic.AsicValidationReportBuilder;
+import org.digidoc4j.impl.asic.AsicValidationResult;
+import org.digidoc4j.impl.asic.xades.validation.SignatureValidationData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Validating many containers concurrently.</p>
+ * <p><code>
+ * List&lt;{@link ValidationResult}&gt; results = {@link BatchContainerValidator}. <br/>
+ * &nbsp;&nbsp; {@link BatchContainerValidator#aBatchContainerValidator() aBatchContainerValidator()}. <br/>
+ * &nbsp;&nbsp; {@link BatchContainerValidator#withConfiguration(Configuration) withConfiguration(configuration)}. <br/>
+ * &nbsp;&nbsp; {@link BatchContainerValidator#validate(List) validate(containerPaths)};
+ * </code></p>
+ * <p>
+ * Every container is opened, validated and closed in its own task, so only the containers being validated are held
+ * in memory. The containers are validated on threads of the batch, not on the validation thread pool of the
+ * configuration, which stays free for validating the signatures of the containers.
+ * </p>
+ */
+public class BatchContainerValidator {
+
+  private static final Logger logger = LoggerFactory.getLogger(BatchContainerValidator.class);
+  private Configuration configuration;
+  private int threadCount = Runtime.getRuntime().availableProcessors();
+
+  private BatchContainerValidator() {
+  }
+
+  /**
+   * Create a new batch container validator
+   *
+   * @return batch container validator
+   */
+  public static BatchContainerValidator aBatchContainerValidator() {
+    return new BatchContainerValidator();
+  }
+
+  /**
+   * Validates the containers
+   *
+   * @param containerPaths paths of the containers
+   * @return validation results in the order of the paths; a container failing to open or validate gets a result
+   * with the error
+   */
+  public List<ValidationResult> validate(List<String> containerPaths) {
+    logger.debug("Validating {} containers", containerPaths.size());
+    final Configuration configuration = this.configuration == null ? Configuration.getInstance() : this.configuration;
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threadCount, containerPaths.size())));
+    try {
+      List<Future<ValidationResult>> futures = new ArrayList<>(containerPaths.size());
+      for (final String containerPath : containerPaths) {
+        futures.add(executor.submit(new Callable<ValidationResult>() {
+
+          @Override
+          public ValidationResult call() {
+            Container container = ContainerOpener.open(containerPath, configuration);
+            try {
+              return container.validate();
+            } finally {
+              if (container instanceof CloseableContainer) {
+                ((CloseableContainer) container).close();
+              }
+            }
+          }
+
+        }));
+      }
+      List<ValidationResult> results = new ArrayList<>(futures.size());
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          results.add(futures.get(i).get());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new TechnicalException("Interrupted while validating containers", e);
+        } catch (ExecutionException e) {
+          logger.error("Unable to validate container {}: {}", containerPaths.get(i), e.getCause().getMessage());
+          results.add(createFailedResult(e.getCause()));
+        }
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * @param configuration configuration for opening and validating the containers, default is
+   *                      {@link Configuration#getInstance()}
+   * @return this validator
+   */
+  public BatchContainerValidator withConfiguration(Configuration configuration) {
+    this.configuration = configuration;
+    return this;
+  }
+
+  /**
+   * @param threadCount number of containers validated at the same time, default is the number of processors
+   * @return this validator
+   */
+  public BatchContainerValidator withThreadCount(int threadCount) {
+    this.threadCount = threadCount;
+    return this;
+  }
+
+  private static ValidationResult createFailedResult(Throwable cause) {
+    DigiDoc4JException error = cause instanceof DigiDoc4JException ? (DigiDoc4JException) cause
+        : new DigiDoc4JException(cause);
+    List<ValidationFinding> findings = Collections.singletonList(
+        ValidationFinding.of(error, ValidationFinding.Severity.ERROR));
+    AsicValidationResult result = new AsicValidationResult();
+    result.setFindings(findings, findings);
+    result.setReportBuilder(new AsicValidationReportBuilder(Collections.<SignatureValidationData>emptyList(), findings));
+    return result;
+  }
+
+}
@@ -0,0 +1,406 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.digidoc4j.exceptions.SignatureTokenMissingException;
+import org.digidoc4j.exceptions.TechnicalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Signing many containers with one signature token.</p>
+ * <p><code>
+ * {@link BulkSigningResult} result = {@link BulkSigner}. <br/>
+ * &nbsp;&nbsp; {@link BulkSigner#aBulkSigner(SignatureToken) aBulkSigner(signatureToken)}. <br/>
+ * &nbsp;&nbsp; {@link BulkSigner#withSignatureProfile(SignatureProfile) withSignatureProfile(SignatureProfile.LT)}. <br/>
+ * &nbsp;&nbsp; {@link BulkSigner#withThreadCount(int) withThreadCount(8)}. <br/>
+ * &nbsp;&nbsp; {@link BulkSigner#sign(Iterable) sign(containers)};
+ * </code></p>
+ * <p>
+ * Every container goes through a pipeline of three stages: building data to sign, creating the signature value with
+ * the signature token and finalizing the signature (OCSP and time-stamp requests). Building data to sign and
+ * finalizing run in parallel on worker threads while the token is used by a single thread, so that the token is kept
+ * busy and hardware tokens are never called concurrently. Signer certificate is read from the token only once.
+ * </p>
+ * <p>
+ * Containers are taken from the iterable lazily and only a bounded number of them is in flight at a time. Failure of
+ * one container does not stop the others; see {@link BulkSigningResult.Item#getException()}. A container must not be
+ * modified by other threads while it is being signed.
+ * </p>
+ * <p>
+ * OCSP responses can additionally be reused between LT and LTA signatures with
+ * {@link Configuration#setOcspResponseCacheMaxAgeInSeconds(long)}.
+ * </p>
+ */
+public class BulkSigner {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkSigner.class);
+  private static final int IN_FLIGHT_ITEMS_PER_THREAD = 4;
+  private final SignatureToken signatureToken;
+  private final SignatureParameters signatureParameters = new SignatureParameters();
+  private int threadCount = Runtime.getRuntime().availableProcessors() * 2;
+  private ExecutorService executorService;
+  private ResultListener resultListener;
+
+  /**
+   * Callback for processing the container as soon as it is signed, e.g. for saving it
+   */
+  public interface ResultListener {
+
+    /**
+     * Called from a worker thread when signing of the container has completed or failed
+     *
+     * @param item signing result
+     */
+    void onResult(BulkSigningResult.Item item);
+
+  }
+
+  private BulkSigner(SignatureToken signatureToken) {
+    this.signatureToken = signatureToken;
+  }
+
+  /**
+   * Create a new bulk signer
+   *
+   * @param signatureToken token used for all the signatures
+   * @return bulk signer
+   */
+  public static BulkSigner aBulkSigner(SignatureToken signatureToken) {
+    if (signatureToken == null) {
+      throw new SignatureTokenMissingException();
+    }
+    return new BulkSigner(signatureToken);
+  }
+
+  /**
+   * Signs all the containers. Signatures are added to the containers, containers are not saved.
+   *
+   * @param containers containers to sign
+   * @return result of every container and throughput summary
+   */
+  public BulkSigningResult sign(Iterable<? extends Container> containers) {
+    long startTime = System.nanoTime();
+    X509Certificate signingCertificate = signatureToken.getCertificate();
+    ExecutorService workers = executorService == null ? Executors.newFixedThreadPool(threadCount) : executorService;
+    ExecutorService tokenLane = Executors.newSingleThreadExecutor();
+    int maxItemsInFlight = Math.max(1, threadCount * IN_FLIGHT_ITEMS_PER_THREAD);
+    Semaphore inFlight = new Semaphore(maxItemsInFlight);
+    List<BulkSigningResult.Item> items = Collections.synchronizedList(new ArrayList<BulkSigningResult.Item>());
+    try {
+      int index = 0;
+      for (Container container : containers) {
+        inFlight.acquireUninterruptibly();
+        BulkSigningResult.Item item = new BulkSigningResult.Item(index++, container);
+        items.add(item);
+        new Pipeline(item, signingCertificate, workers, tokenLane, inFlight).start();
+      }
+      inFlight.acquireUninterruptibly(maxItemsInFlight);
+    } finally {
+      tokenLane.shutdown();
+      if (executorService == null) {
+        workers.shutdown();
+      }
+    }
+    BulkSigningResult result = new BulkSigningResult(items, System.nanoTime() - startTime);
+    logger.info(result.toString());
+    return result;
+  }
+
+  /**
+   * Set a city to the signature production place.
+   *
+   * @param cityName city to use on the signature production place.
+   * @return bulk signer
+   */
+  public BulkSigner withCity(String cityName) {
+    signatureParameters.setCity(cityName);
+    return this;
+  }
+
+  /**
+   * Set a state or province to the signature production place.
+   *
+   * @param stateOrProvince name of the state or province on the signature production place.
+   * @return bulk signer
+   */
+  public BulkSigner withStateOrProvince(String stateOrProvince) {
+    signatureParameters.setStateOrProvince(stateOrProvince);
+    return this;
+  }
+
+  /**
+   * Set a postal code to the signature production place.
+   *
+   * @param postalCode postal code on the signature production place.
+   * @return bulk signer
+   */
+  public BulkSigner withPostalCode(String postalCode) {
+    signatureParameters.setPostalCode(postalCode);
+    return this;
+  }
+
+  /**
+   * Set a country name to the signature production place.
+   *
+   * @param country name of the country on the signature production place.
+   * @return bulk signer
+   */
+  public BulkSigner withCountry(String country) {
+    signatureParameters.setCountry(country);
+    return this;
+  }
+
+  /**
+   * Set roles to the signer.
+   *
+   * @param roles list of roles of a signer.
+   * @return bulk signer
+   */
+  public BulkSigner withRoles(String... roles) {
+    signatureParameters.setRoles(new ArrayList<>(Arrays.asList(roles)));
+    return this;
+  }
+
+  /**
+   * Set signature digest algorithm used to generate the signatures.
+   *
+   * @param digestAlgorithm signature digest algorithm.
+   * @return bulk signer
+   */
+  public BulkSigner withSignatureDigestAlgorithm(DigestAlgorithm digestAlgorithm) {
+    signatureParameters.setDigestAlgorithm(digestAlgorithm);
+    return this;
+  }
+
+  /**
+   * Set a signature profile. Default is the profile of the container configuration.
+   *
+   * @param signatureProfile signature profile.
+   * @return bulk signer
+   */
+  public BulkSigner withSignatureProfile(SignatureProfile signatureProfile) {
+    signatureParameters.setSignatureProfile(signatureProfile);
+    return this;
+  }
+
+  /**
+   * Set encryption algorithm to be used in the signing process.
+   *
+   * @param encryptionAlgorithm encryption algorithm.
+   * @return bulk signer
+   */
+  public BulkSigner withEncryptionAlgorithm(EncryptionAlgorithm encryptionAlgorithm) {
+    signatureParameters.setEncryptionAlgorithm(encryptionAlgorithm);
+    return this;
+  }
+
+  /**
+   * Set number of worker threads building data to sign and finalizing signatures. Default is twice the number of
+   * processors as finalizing mostly waits for OCSP and time-stamp responses.
+   *
+   * @param threadCount number of threads
+   * @return bulk signer
+   */
+  public BulkSigner withThreadCount(int threadCount) {
+    if (threadCount < 1) {
+      throw new TechnicalException("Thread count must be positive");
+    }
+    this.threadCount = threadCount;
+    return this;
+  }
+
+  /**
+   * Use the given executor for worker tasks instead of creating a new one. The executor is not shut down.
+   *
+   * @param executorService worker executor
+   * @return bulk signer
+   */
+  public BulkSigner withExecutorService(ExecutorService executorService) {
+    this.executorService = executorService;
+    return this;
+  }
+
+  /**
+   * Set listener notified about every completed container.
+   *
+   * @param resultListener listener
+   * @return bulk signer
+   */
+  public BulkSigner withResultListener(ResultListener resultListener) {
+    this.resultListener = resultListener;
+    return this;
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private SignatureBuilder createSignatureBuilder(Container container, X509Certificate signingCertificate) {
+    SignatureBuilder builder = SignatureBuilder.aSignature(container).withSigningCertificate(signingCertificate)
+        .withCity(signatureParameters.getCity()).withStateOrProvince(signatureParameters.getStateOrProvince())
+        .withPostalCode(signatureParameters.getPostalCode()).withCountry(signatureParameters.getCountry());
+    if (signatureParameters.getRoles() != null) {
+      builder.withRoles(signatureParameters.getRoles().toArray(new String[0]));
+    }
+    if (signatureParameters.getDigestAlgorithm() != null) {
+      builder.withSignatureDigestAlgorithm(signatureParameters.getDigestAlgorithm());
+    }
+    if (signatureParameters.getSignatureProfile() != null) {
+      builder.withSignatureProfile(signatureParameters.getSignatureProfile());
+    }
+    if (signatureParameters.getEncryptionAlgorithm() != null) {
+      builder.withEncryptionAlgorithm(signatureParameters.getEncryptionAlgorithm());
+    }
+    return builder;
+  }
+
+  /**
+   * Moves one container through the stages, each stage submitting the next one
+   */
+  private class Pipeline {
+
+    private final BulkSigningResult.Item item;
+    private final X509Certificate signingCertificate;
+    private final ExecutorService workers;
+    private final ExecutorService tokenLane;
+    private final Semaphore inFlight;
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private DataToSign dataToSign;
+    private byte[] signatureValue;
+
+    Pipeline(BulkSigningResult.Item item, X509Certificate signingCertificate, ExecutorService workers,
+             ExecutorService tokenLane, Semaphore inFlight) {
+      this.item = item;
+      this.signingCertificate = signingCertificate;
+      this.workers = workers;
+      this.tokenLane = tokenLane;
+      this.inFlight = inFlight;
+    }
+
+    void start() {
+      submit(workers, new Runnable() {
+
+        @Override
+        public void run() {
+          long start = System.nanoTime();
+          dataToSign = createSignatureBuilder(item.getContainer(), signingCertificate).buildDataToSign();
+          item.setPreparationTimeInNanos(System.nanoTime() - start);
+          submit(tokenLane, new Runnable() {
+
+            @Override
+            public void run() {
+              signWithToken();
+            }
+
+          });
+        }
+
+      });
+    }
+
+    private void signWithToken() {
+      long start = System.nanoTime();
+      signatureValue = signatureToken.sign(dataToSign.getDigestAlgorithm(), dataToSign.getDataToSign());
+      item.setTokenSigningTimeInNanos(System.nanoTime() - start);
+      submit(workers, new Runnable() {
+
+        @Override
+        public void run() {
+          finalizeSignature();
+        }
+
+      });
+    }
+
+    private void finalizeSignature() {
+      long start = System.nanoTime();
+      Signature signature = dataToSign.finalize(signatureValue);
+      item.getContainer().addSignature(signature);
+      item.setFinalizationTimeInNanos(System.nanoTime() - start);
+      item.setSignature(signature);
+      complete();
+    }
+
+    private void submit(ExecutorService executor, final Runnable stage) {
+      try {
+        executor.execute(new Runnable() {
+
+          @Override
+          public void run() {
+            boolean handled = false;
+            try {
+              stage.run();
+              handled = true;
+            } catch (RuntimeException e) {
+              handled = true;
+              fail(e);
+            } finally {
+              if (!handled) {
+                complete(new TechnicalException(
+                    "Signing container " + item.getIndex() + " was interrupted by an error"));
+              }
+            }
+          }
+
+        });
+      } catch (RejectedExecutionException e) {
+        fail(e);
+      }
+    }
+
+    private void fail(RuntimeException e) {
+      logger.error("Signing container {} failed: {}", item.getIndex(), e.getMessage());
+      complete(e);
+    }
+
+    private void complete() {
+      complete(null);
+    }
+
+    /**
+     * Completes the container once, an error thrown after completing, e.g. by the result listener, does not notify
+     * the listener again nor release another permit
+     */
+    private void complete(RuntimeException exception) {
+      if (!completed.compareAndSet(false, true)) {
+        return;
+      }
+      if (exception != null) {
+        item.setException(exception);
+      }
+      try {
+        if (resultListener != null) {
+          resultListener.onResult(item);
+        }
+      } catch (RuntimeException e) {
+        logger.error("Result listener failed for container {}: {}", item.getIndex(), e.getMessage());
+      } finally {
+        dataToSign = null;
+        signatureValue = null;
+        inFlight.release();
+      }
+    }
+
+  }
+
+}
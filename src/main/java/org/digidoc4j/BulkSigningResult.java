@@ -0,0 +1,225 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of {@link BulkSigner#sign(Iterable)}: result of every container in the input order and a throughput summary.
+ */
+public class BulkSigningResult implements Serializable {
+
+  private final List<Item> items;
+  private final long elapsedTimeInNanos;
+
+  BulkSigningResult(List<Item> items, long elapsedTimeInNanos) {
+    List<Item> sortedItems = new ArrayList<>(items);
+    Collections.sort(sortedItems, new Comparator<Item>() {
+
+      @Override
+      public int compare(Item first, Item second) {
+        return Integer.compare(first.getIndex(), second.getIndex());
+      }
+
+    });
+    this.items = Collections.unmodifiableList(sortedItems);
+    this.elapsedTimeInNanos = elapsedTimeInNanos;
+  }
+
+  /**
+   * @return true if every container was signed
+   */
+  public boolean isSuccessful() {
+    return getFailedCount() == 0;
+  }
+
+  public int getSignedCount() {
+    return items.size() - getFailedCount();
+  }
+
+  public int getFailedCount() {
+    int failed = 0;
+    for (Item item : items) {
+      if (!item.isSigned()) {
+        failed++;
+      }
+    }
+    return failed;
+  }
+
+  /**
+   * @return items that failed to be signed
+   */
+  public List<Item> getFailedItems() {
+    List<Item> failedItems = new ArrayList<>();
+    for (Item item : items) {
+      if (!item.isSigned()) {
+        failedItems.add(item);
+      }
+    }
+    return failedItems;
+  }
+
+  public long getElapsedTimeInMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(elapsedTimeInNanos);
+  }
+
+  /**
+   * @return signed containers per second
+   */
+  public double getThroughputPerSecond() {
+    if (elapsedTimeInNanos <= 0) {
+      return 0;
+    }
+    return getSignedCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedTimeInNanos;
+  }
+
+  /**
+   * @return average time of building data to sign in milliseconds
+   */
+  public double getAveragePreparationTimeInMillis() {
+    long total = 0;
+    for (Item item : items) {
+      total += item.preparationTimeInNanos;
+    }
+    return averageInMillis(total);
+  }
+
+  /**
+   * @return average time of creating signature value with the signature token in milliseconds
+   */
+  public double getAverageTokenSigningTimeInMillis() {
+    long total = 0;
+    for (Item item : items) {
+      total += item.tokenSigningTimeInNanos;
+    }
+    return averageInMillis(total);
+  }
+
+  /**
+   * @return average time of finalizing signatures (OCSP and time-stamp requests included) in milliseconds
+   */
+  public double getAverageFinalizationTimeInMillis() {
+    long total = 0;
+    for (Item item : items) {
+      total += item.finalizationTimeInNanos;
+    }
+    return averageInMillis(total);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Signed %d of %d containers in %d ms (%.2f containers/s); average preparation %.2f ms, "
+            + "token signing %.2f ms, finalization %.2f ms", getSignedCount(), items.size(), getElapsedTimeInMillis(),
+        getThroughputPerSecond(), getAveragePreparationTimeInMillis(), getAverageTokenSigningTimeInMillis(),
+        getAverageFinalizationTimeInMillis());
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private double averageInMillis(long totalInNanos) {
+    if (items.isEmpty()) {
+      return 0;
+    }
+    return totalInNanos / (double) TimeUnit.MILLISECONDS.toNanos(1) / items.size();
+  }
+
+  /*
+   * ACCESSORS
+   */
+
+  /**
+   * @return result of every container in the input order
+   */
+  public List<Item> getItems() {
+    return items;
+  }
+
+  /**
+   * Result of signing one container
+   */
+  public static class Item implements Serializable {
+
+    private final int index;
+    private final transient Container container;
+    private Signature signature;
+    private RuntimeException exception;
+    private long preparationTimeInNanos;
+    private long tokenSigningTimeInNanos;
+    private long finalizationTimeInNanos;
+
+    Item(int index, Container container) {
+      this.index = index;
+      this.container = container;
+    }
+
+    /**
+     * @return true if the signature was created and added to the container
+     */
+    public boolean isSigned() {
+      return signature != null && exception == null;
+    }
+
+    /**
+     * @return position of the container in the input
+     */
+    public int getIndex() {
+      return index;
+    }
+
+    public Container getContainer() {
+      return container;
+    }
+
+    /**
+     * @return created signature or null when signing failed
+     */
+    public Signature getSignature() {
+      return signature;
+    }
+
+    /**
+     * @return cause of the failure or null when signing succeeded
+     */
+    public RuntimeException getException() {
+      return exception;
+    }
+
+    void setSignature(Signature signature) {
+      this.signature = signature;
+    }
+
+    void setException(RuntimeException exception) {
+      this.exception = exception;
+    }
+
+    void setPreparationTimeInNanos(long preparationTimeInNanos) {
+      this.preparationTimeInNanos = preparationTimeInNanos;
+    }
+
+    void setTokenSigningTimeInNanos(long tokenSigningTimeInNanos) {
+      this.tokenSigningTimeInNanos = tokenSigningTimeInNanos;
+    }
+
+    void setFinalizationTimeInNanos(long finalizationTimeInNanos) {
+      this.finalizationTimeInNanos = finalizationTimeInNanos;
+    }
+
+  }
+
+}
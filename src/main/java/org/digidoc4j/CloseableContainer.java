@@ -0,0 +1,31 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.io.Closeable;
+
+/**
+ * Container holding resources that should be released when the container is not needed any more.
+ * <p>
+ * Large data files are kept in temporary files that are deleted when the container is closed. The containers of the
+ * library implement this interface.
+ * </p>
+ */
+public interface CloseableContainer extends Container, Closeable {
+
+  /**
+   * Releases resources held by the container, e.g. deletes temporary files of large data files not used by other
+   * containers. Container must not be used after closing.
+   */
+  @Override
+  void close();
+
+}
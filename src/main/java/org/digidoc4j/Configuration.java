@@ -12,14 +12,10 @@ package org.digidoc4j;
 
 import static java.util.Arrays.asList;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -36,8 +32,10 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.digidoc4j.exceptions.ConfigurationException;
-import org.digidoc4j.exceptions.DigiDoc4JException;
 import org.digidoc4j.impl.ConfigurationSingeltonHolder;
+import org.digidoc4j.impl.NoOpMetricsRegistry;
+import org.digidoc4j.impl.TemporaryFileManager;
+import org.digidoc4j.impl.asic.ocsp.OcspResponseCache;
 import org.digidoc4j.impl.asic.tsl.TslManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -133,6 +131,8 @@ import eu.europa.esig.dss.client.http.Protocol;
  * <li>TSL_CACHE_EXPIRATION_TIME: TSL cache expiration time in milliseconds</li>
  * <li>TRUSTED_TERRITORIES: list of countries and territories to trust and load TSL certificates
  * (for example, EE, LV, FR)</li>
+ * <li>LAZY_TSL_TERRITORY_LOADING: load the national TSL of a trusted territory only when a certificate of the
+ * territory is validated? Allowed values: true, false (default is false)</li>
  * <li>HTTP_PROXY_HOST: network proxy host name</li>
  * <li>HTTP_PROXY_PORT: network proxy port</li>
  * <li>HTTP_PROXY_USER: network proxy user (for basic auth proxy)</li>
@@ -146,13 +146,23 @@ import eu.europa.esig.dss.client.http.Protocol;
  * <li>SSL_TRUSTSTORE_TYPE: SSL TrustStore type (default is "jks")</li>
  * <li>SSL_TRUSTSTORE_PASSWORD: SSL TrustStore password (default is an empty string)</li>
  * <li>ALLOWED_TS_AND_OCSP_RESPONSE_DELTA_IN_MINUTES: Allowed delay between timestamp and OCSP response in minutes.</li>
+ * <li>OCSP_RESPONSE_CACHE_MAX_AGE_IN_SECONDS: max age of OCSP responses reused between LT and LTA signatures
+ * (default is 0, no reuse)</li>
+ * <li>OCSP_RESPONSE_CACHE_SIZE: max number of cached OCSP responses (default is 1000)</li>
+ * <li>TEMP_FILE_DIRECTORY: directory of the temporary files of large data files (default is java.io.tmpdir)</li>
+ * <li>TEMP_FILE_QUOTA_IN_MB: max total size of the temporary files in megabytes (default is 0, no limit)</li>
  * </ul>
  */
 public class Configuration implements Serializable {
 
+  private static final long serialVersionUID = -955680423827839820L;
   private final Logger log = LoggerFactory.getLogger(Configuration.class);
   private final Mode mode;
   private transient ExecutorService threadExecutor;
+  private transient MetricsRegistry metricsRegistry;
+  private ValidationMode validationMode = ValidationMode.FULL;
+  private transient OcspResponseCache ocspResponseCache;
+  private transient TemporaryFileManager temporaryFileManager;
   private TslManager tslManager;
   private Hashtable<String, String> jDigiDocConfiguration = new Hashtable<>();
   private ConfigurationRegistry registry = new ConfigurationRegistry();
@@ -219,6 +229,25 @@ public class Configuration implements Serializable {
     }
   }
 
+  private Configuration(Configuration configuration) {
+    this.mode = configuration.mode;
+    this.registry.putAll(configuration.registry);
+    this.jDigiDocConfiguration.putAll(configuration.jDigiDocConfiguration);
+    for (Map.Entry<String, Map<ConfigurationParameter, String>> entry : configuration.tspMap.entrySet()) {
+      this.tspMap.put(entry.getKey(), new HashMap<>(entry.getValue()));
+    }
+    this.trustedTerritories = new ArrayList<>(configuration.trustedTerritories);
+    this.inputSourceParseErrors = new ArrayList<>(configuration.inputSourceParseErrors);
+    // Replaced as a whole on every load, never modified
+    this.configurationFromFile = configuration.configurationFromFile;
+    this.configurationInputSourceName = configuration.configurationInputSourceName;
+    this.tslManager = configuration.tslManager.copy(this);
+    this.metricsRegistry = configuration.metricsRegistry;
+    this.validationMode = configuration.validationMode;
+    this.ocspResponseCache = configuration.ocspResponseCache;
+    this.temporaryFileManager = configuration.temporaryFileManager;
+  }
+
   /**
    * Are requirements met for signing OCSP certificate?
    *
@@ -598,6 +627,7 @@ public class Configuration implements Serializable {
    */
   public void setTslKeyStoreLocation(String tslKeyStoreLocation) {
     this.setConfigurationParameter(ConfigurationParameter.TslKeyStoreLocation, tslKeyStoreLocation);
+    this.tslManager.detachSharedTsl();
   }
 
   /**
@@ -616,6 +646,7 @@ public class Configuration implements Serializable {
    */
   public void setTslKeyStorePassword(String tslKeyStorePassword) {
     this.setConfigurationParameter(ConfigurationParameter.TslKeyStorePassword, tslKeyStorePassword);
+    this.tslManager.detachSharedTsl();
   }
 
   /**
@@ -636,6 +667,7 @@ public class Configuration implements Serializable {
    */
   public void setTslCacheExpirationTime(long cacheExpirationTimeInMilliseconds) {
     this.setConfigurationParameter(ConfigurationParameter.TslCacheExpirationTimeInMillis, String.valueOf(cacheExpirationTimeInMilliseconds));
+    this.tslManager.detachSharedTsl();
   }
 
   /**
@@ -647,6 +679,27 @@ public class Configuration implements Serializable {
     return this.getConfigurationParameter(ConfigurationParameter.TslCacheExpirationTimeInMillis, Long.class);
   }
 
+  /**
+   * Load national TSLs on demand.
+   * <p/>
+   * When enabled, only the list of trusted lists is loaded up front. The TSL of a trusted territory is loaded when
+   * the issuer of a certificate of the territory is looked up for the first time, and territories loaded so far
+   * are loaded again when the TSL cache expires.
+   *
+   * @param lazyTslTerritoryLoading true to load the TSLs of the territories on demand
+   */
+  public void setLazyTslTerritoryLoading(boolean lazyTslTerritoryLoading) {
+    this.setConfigurationParameter(ConfigurationParameter.LazyTslTerritoryLoading, String.valueOf(lazyTslTerritoryLoading));
+    this.tslManager.detachSharedTsl();
+  }
+
+  /**
+   * @return true if the TSLs of the territories are loaded on demand
+   */
+  public boolean isLazyTslTerritoryLoading() {
+    return StringUtils.equalsIgnoreCase("true", getConfigurationParameter(ConfigurationParameter.LazyTslTerritoryLoading));
+  }
+
   /**
    * Returns allowed delay between timestamp and OCSP response in minutes.
    *
@@ -665,6 +718,120 @@ public class Configuration implements Serializable {
     this.setConfigurationParameter(ConfigurationParameter.AllowedTimestampAndOCSPResponseDeltaInMinutes, String.valueOf(timeInMinutes));
   }
 
+  /**
+   * Set max age of the OCSP responses reused between time-stamp based (LT, LTA) signatures. Responses are never reused
+   * for time-mark (LT_TM) signatures as their nonce is bound to the signature value.
+   * <p/>
+   * Reused response is older than the signature time-stamp, so the max age should not exceed
+   * {@link Configuration#getAllowedTimestampAndOCSPResponseDeltaInMinutes()}. Default is 0, meaning that
+   * responses are not cached.
+   *
+   * @param maxAgeInSeconds max age of the cached OCSP response in seconds
+   */
+  public void setOcspResponseCacheMaxAgeInSeconds(long maxAgeInSeconds) {
+    this.setConfigurationParameter(ConfigurationParameter.OcspResponseCacheMaxAgeInSeconds, String.valueOf(maxAgeInSeconds));
+    this.resetOcspResponseCache();
+  }
+
+  /**
+   * Returns max age of the cached OCSP responses in seconds.
+   *
+   * @return max age in seconds, 0 when caching is disabled
+   */
+  public long getOcspResponseCacheMaxAgeInSeconds() {
+    return this.getConfigurationParameter(ConfigurationParameter.OcspResponseCacheMaxAgeInSeconds, Long.class);
+  }
+
+  /**
+   * Set max number of cached OCSP responses.
+   *
+   * @param size max number of responses
+   */
+  public void setOcspResponseCacheSize(int size) {
+    this.setConfigurationParameter(ConfigurationParameter.OcspResponseCacheSize, String.valueOf(size));
+    this.resetOcspResponseCache();
+  }
+
+  /**
+   * Returns max number of cached OCSP responses.
+   *
+   * @return max number of responses
+   */
+  public int getOcspResponseCacheSize() {
+    return this.getConfigurationParameter(ConfigurationParameter.OcspResponseCacheSize, Integer.class);
+  }
+
+  /**
+   * Get OCSP response cache shared by the signatures created with this configuration and its copies.
+   *
+   * @return OCSP response cache
+   */
+  public synchronized OcspResponseCache getOcspResponseCache() {
+    if (this.ocspResponseCache == null) {
+      this.ocspResponseCache = new OcspResponseCache(this.getOcspResponseCacheMaxAgeInSeconds(),
+          this.getOcspResponseCacheSize());
+    }
+    return this.ocspResponseCache;
+  }
+
+  /**
+   * Set directory for the temporary files of large data files (see {@link Configuration#setMaxFileSizeCachedInMemoryInMB(long)}).
+   *
+   * @param directory directory path
+   */
+  public void setTempFileDirectory(String directory) {
+    this.setConfigurationParameter(ConfigurationParameter.TempFileDirectory, directory);
+    this.resetTemporaryFileManager();
+  }
+
+  /**
+   * Returns directory of the temporary files.
+   *
+   * @return directory path or null when java.io.tmpdir is used
+   */
+  public String getTempFileDirectory() {
+    return this.getConfigurationParameter(ConfigurationParameter.TempFileDirectory);
+  }
+
+  /**
+   * Set max total size of the temporary files created with this configuration. Opening a container that would
+   * exceed the quota fails.
+   *
+   * @param quotaInMB quota in megabytes, 0 for no limit
+   */
+  public void setTempFileQuotaInMB(long quotaInMB) {
+    this.setConfigurationParameter(ConfigurationParameter.TempFileQuotaInMB, String.valueOf(quotaInMB));
+    this.resetTemporaryFileManager();
+  }
+
+  /**
+   * Returns max total size of the temporary files in megabytes.
+   *
+   * @return quota in megabytes, 0 when there is no limit
+   */
+  public long getTempFileQuotaInMB() {
+    return this.getConfigurationParameter(ConfigurationParameter.TempFileQuotaInMB, Long.class);
+  }
+
+  /**
+   * Get manager of the temporary files shared by the containers opened with this configuration and its copies.
+   *
+   * @return temporary file manager
+   */
+  public synchronized TemporaryFileManager getTemporaryFileManager() {
+    if (this.temporaryFileManager == null) {
+      String directory = this.getTempFileDirectory();
+      long quotaInMB = this.getTempFileQuotaInMB();
+      if (StringUtils.isBlank(directory) && quotaInMB <= 0) {
+        this.temporaryFileManager = TemporaryFileManager.getDefault();
+      } else {
+        this.temporaryFileManager = new TemporaryFileManager(StringUtils.isBlank(directory) ? null : new File(directory),
+            quotaInMB * Constant.ONE_MB_IN_BYTES);
+      }
+    }
+    return this.temporaryFileManager;
+  }
+
   /**
    * Set the OCSP source
    *
@@ -993,6 +1160,43 @@ public class Configuration implements Serializable {
     return threadExecutor;
   }
 
+  /**
+   * Set metrics registry for collecting timings and counters of container operations.
+   *
+   * @param metricsRegistry metrics registry, null restores the no-op registry.
+   */
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  /**
+   * Get metrics registry. Never null, no-op registry is returned when none is set.
+   *
+   * @return metrics registry.
+   */
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry == null ? NoOpMetricsRegistry.INSTANCE : metricsRegistry;
+  }
+
+  /**
+   * Set how much work container validation does. Use {@link ValidationMode#FAST_VERDICT} when only
+   * {@link ValidationResult#isValid()} is needed.
+   *
+   * @param validationMode validation mode, null restores {@link ValidationMode#FULL}.
+   */
+  public void setValidationMode(ValidationMode validationMode) {
+    this.validationMode = validationMode == null ? ValidationMode.FULL : validationMode;
+  }
+
+  /**
+   * Get validation mode. Default is {@link ValidationMode#FULL}.
+   *
+   * @return validation mode.
+   */
+  public ValidationMode getValidationMode() {
+    return validationMode == null ? ValidationMode.FULL : validationMode;
+  }
+
   /**
    * Set countries and territories (2 letter country codes) whom to trust and accept certificates.
    * <p/>
@@ -1007,6 +1211,7 @@ public class Configuration implements Serializable {
    */
   public void setTrustedTerritories(String... trustedTerritories) {
     this.trustedTerritories = Arrays.asList(trustedTerritories);
+    this.tslManager.detachSharedTsl();
   }
 
   /**
@@ -1030,31 +1235,23 @@ public class Configuration implements Serializable {
 
   /**
    * Clones configuration
+   * <p>
+   * Configuration values are copied without serialization, so the copy is cheap enough to be made per request.
+   * The copy shares the TSL, metrics registry, OCSP response cache and temporary file manager with this
+   * configuration until they are changed in either of them.
+   * </p>
+   * <p>
+   * The shared TSL is read-only for the copy: it follows the TSL settings of this configuration and certificates
+   * added to it with {@link TSLCertificateSource#addTSLCertificate(java.security.cert.X509Certificate)} are seen by
+   * every configuration sharing it. Changing the TSL location, TSL keystore, TSL cache expiration time, lazy TSL
+   * territory loading or trusted territories of the copy, or setting its TSL with {@link #setTSL}, makes the copy
+   * load its own TSL with its own settings. Do that before adding certificates meant only for the copy.
+   * </p>
    *
    * @return new configuration object
    */
   public Configuration copy() {
-    ObjectOutputStream oos = null;
-    ObjectInputStream ois = null;
-    Configuration copyConfiguration = null;
-    // deep copy
-    ByteArrayOutputStream bos = new ByteArrayOutputStream();
-    try {
-      oos = new ObjectOutputStream(bos);
-      oos.writeObject(this);
-      oos.flush();
-      ByteArrayInputStream bin =
-          new ByteArrayInputStream(bos.toByteArray());
-      ois = new ObjectInputStream(bin);
-      copyConfiguration = (Configuration) ois.readObject();
-    } catch (Exception e) {
-      throw new DigiDoc4JException(e);
-    } finally {
-      IOUtils.closeQuietly(oos);
-      IOUtils.closeQuietly(ois);
-      IOUtils.closeQuietly(bos);
-    }
-    return copyConfiguration;
+    return new Configuration(this);
   }
 
     /*
@@ -1065,6 +1262,14 @@ public class Configuration implements Serializable {
     return this.registry;
   }
 
+  private synchronized void resetOcspResponseCache() {
+    this.ocspResponseCache = null;
+  }
+
+  private synchronized void resetTemporaryFileManager() {
+    this.temporaryFileManager = null;
+  }
+
   private void initDefaultValues() {
     this.log.debug("------------------------ DEFAULTS ------------------------");
     this.tslManager = new TslManager(this);
@@ -1074,6 +1279,9 @@ public class Configuration implements Serializable {
     this.setConfigurationParameter(ConfigurationParameter.RevocationAndTimestampDeltaInMinutes, String.valueOf(Constant.ONE_DAY_IN_MINUTES));
     this.setConfigurationParameter(ConfigurationParameter.TslCacheExpirationTimeInMillis, String.valueOf(Constant.ONE_DAY_IN_MILLISECONDS));
     this.setConfigurationParameter(ConfigurationParameter.AllowedTimestampAndOCSPResponseDeltaInMinutes, "15");
+    this.setConfigurationParameter(ConfigurationParameter.OcspResponseCacheMaxAgeInSeconds, "0");
+    this.setConfigurationParameter(ConfigurationParameter.OcspResponseCacheSize, "1000");
+    this.setConfigurationParameter(ConfigurationParameter.TempFileQuotaInMB, "0");
     this.setConfigurationParameter(ConfigurationParameter.SignatureProfile, Constant.Default.SIGNATURE_PROFILE);
     this.setConfigurationParameter(ConfigurationParameter.SignatureDigestAlgorithm, Constant.Default.SIGNATURE_DIGEST_ALGORITHM);
     if (Mode.TEST.equals(this.mode)) {
@@ -1125,8 +1333,13 @@ public class Configuration implements Serializable {
     this.setConfigurationValue("TSL_KEYSTORE_LOCATION", ConfigurationParameter.TslKeyStoreLocation);
     this.setConfigurationValue("TSL_KEYSTORE_PASSWORD", ConfigurationParameter.TslKeyStorePassword);
     this.setConfigurationValue("TSL_CACHE_EXPIRATION_TIME", ConfigurationParameter.TslCacheExpirationTimeInMillis);
+    this.setConfigurationValue("LAZY_TSL_TERRITORY_LOADING", ConfigurationParameter.LazyTslTerritoryLoading);
     this.setConfigurationValue("REVOCATION_AND_TIMESTAMP_DELTA_IN_MINUTES", ConfigurationParameter.RevocationAndTimestampDeltaInMinutes);
     this.setConfigurationValue("ALLOWED_TS_AND_OCSP_RESPONSE_DELTA_IN_MINUTES", ConfigurationParameter.AllowedTimestampAndOCSPResponseDeltaInMinutes);
+    this.setConfigurationValue("OCSP_RESPONSE_CACHE_MAX_AGE_IN_SECONDS", ConfigurationParameter.OcspResponseCacheMaxAgeInSeconds);
+    this.setConfigurationValue("OCSP_RESPONSE_CACHE_SIZE", ConfigurationParameter.OcspResponseCacheSize);
+    this.setConfigurationValue("TEMP_FILE_DIRECTORY", ConfigurationParameter.TempFileDirectory);
+    this.setConfigurationValue("TEMP_FILE_QUOTA_IN_MB", ConfigurationParameter.TempFileQuotaInMB);
     this.setConfigurationValue("SIGNATURE_PROFILE", ConfigurationParameter.SignatureProfile);
     this.setConfigurationValue("SIGNATURE_DIGEST_ALGORITHM", ConfigurationParameter.SignatureDigestAlgorithm);
     this.setJDigiDocConfigurationValue("SIGN_OCSP_REQUESTS", Boolean.toString(this.hasToBeOCSPRequestSigned()));
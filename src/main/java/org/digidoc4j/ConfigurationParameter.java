@@ -9,9 +9,14 @@ public enum ConfigurationParameter {
   ConnectionTimeoutInMillis,
   SocketTimeoutInMillis,
   TslCacheExpirationTimeInMillis,
+  LazyTslTerritoryLoading,
   TslKeyStorePassword,
   RevocationAndTimestampDeltaInMinutes,
   AllowedTimestampAndOCSPResponseDeltaInMinutes,
+  OcspResponseCacheMaxAgeInSeconds,
+  OcspResponseCacheSize,
+  TempFileDirectory,
+  TempFileQuotaInMB,
   SignatureProfile,
   SignatureDigestAlgorithm,
   TspSource,
@@ -66,6 +66,7 @@ public class ConfigurationRegistry extends HashMap<ConfigurationParameter, Strin
         } catch (IllegalArgumentException e) {
           logger.debug("Seal <{}> found", token);
           this.sealValue = token;
+          break;
         }
       } catch (IOException ignore) {
         if (logger.isDebugEnabled()) {
@@ -15,9 +15,13 @@ import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.impl.asic.AsicParseResult;
+import org.digidoc4j.impl.asic.AsicStreamContainerParser;
 import org.digidoc4j.impl.asic.asice.AsicEContainer;
 import org.digidoc4j.impl.asic.asice.bdoc.BDocContainer;
 import org.digidoc4j.impl.asic.asics.AsicSContainer;
@@ -27,6 +31,8 @@ import org.digidoc4j.utils.Helper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.europa.esig.dss.MimeType;
+
 /**
  * Helper class for opening containers. The proper way of opening containers would be using {@link ContainerBuilder},
  * for example using {@link ContainerBuilder#fromExistingFile(String)} and {@link ContainerBuilder#fromStream(InputStream)}.
@@ -36,6 +42,7 @@ import org.slf4j.LoggerFactory;
 public class ContainerOpener {
 
   private static final Logger logger = LoggerFactory.getLogger(ContainerOpener.class);
+  private static final int ZIP_SIGNATURE_LENGTH = 4;
 
   /**
    * Open container from a file. Use {@link ContainerBuilder#fromExistingFile(String)} instead.
@@ -88,30 +95,15 @@ public class ContainerOpener {
    * @see ContainerBuilder
    */
   public static Container open(InputStream stream, boolean actAsBigFilesSupportEnabled) {
-    logger.debug("Opening container from stream");
-    BufferedInputStream bufferedInputStream = new BufferedInputStream(stream);
-
-    try {
-      if (Helper.isZipFile(bufferedInputStream)) {
-        if (Helper.isAsicSContainer(bufferedInputStream)){
-          return new  AsicSContainer(bufferedInputStream);
-        } else if (Helper.isAsicEContainer(bufferedInputStream)) {
-          return new AsicEContainer(bufferedInputStream);
-        }
-        return new BDocContainer(bufferedInputStream);
-      } else {
-        return new DDocOpener().open(bufferedInputStream);
-      }
-    } catch (IOException e) {
-      logger.error(e.getMessage());
-      throw new DigiDoc4JException(e);
-    } finally {
-      IOUtils.closeQuietly(bufferedInputStream);
-    }
+    return open(stream, Configuration.getInstance());
   }
 
   /**
    * Open container from a stream. Use {@link ContainerBuilder#fromStream(InputStream)} instead.
+   * <p>
+   * Only the signature of the first zip entry is read ahead to tell ASiC containers from DDoc, the stream is then
+   * parsed once and the container type is chosen by the parsed mimetype.
+   * </p>
    *
    * @param stream stream of a container to open.
    * @param configuration configuration settings.
@@ -120,25 +112,28 @@ public class ContainerOpener {
    */
   public static Container open(InputStream stream, Configuration configuration) {
     logger.debug("Opening container from stream");
-    BufferedInputStream bufferedInputStream = new BufferedInputStream(stream);
-
+    PushbackInputStream pushbackStream = new PushbackInputStream(new BufferedInputStream(stream), ZIP_SIGNATURE_LENGTH);
     try {
-      if (Helper.isZipFile(bufferedInputStream)) {
-        if (Helper.isAsicSContainer(bufferedInputStream)){
-          return new  AsicSContainer(bufferedInputStream, configuration);
-        } else if (Helper.isAsicEContainer(bufferedInputStream)) {
-          return new AsicEContainer(bufferedInputStream, configuration);
-        }
-        return new BDocContainer(bufferedInputStream, configuration);
+      if (Helper.isZipFile(pushbackStream)) {
+        return openAsicContainer(new AsicStreamContainerParser(pushbackStream, configuration).read(), configuration);
       } else {
-        return new DDocOpener().open(bufferedInputStream, configuration);
+        return new DDocOpener().open(pushbackStream, configuration);
       }
     } catch (IOException e) {
       logger.error(e.getMessage());
       throw new DigiDoc4JException(e);
     } finally {
-      IOUtils.closeQuietly(bufferedInputStream);
+      IOUtils.closeQuietly(pushbackStream);
+    }
+  }
+
+  private static Container openAsicContainer(AsicParseResult parseResult, Configuration configuration) {
+    if (StringUtils.equalsIgnoreCase(MimeType.ASICS.getMimeTypeString(), parseResult.getMimeType())) {
+      return new AsicSContainer(parseResult, configuration);
+    } else if (StringUtils.equalsIgnoreCase(MimeType.ASICE.getMimeTypeString(), parseResult.getMimeType())) {
+      return new AsicEContainer(parseResult, configuration);
     }
+    return new BDocContainer(parseResult, configuration);
   }
 
   private static Container openBDocContainer(String path, Configuration configuration) {
@@ -0,0 +1,232 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of {@link DDocMigrator#migrate(Iterable)}: result of every DDoc file in the input order and a throughput
+ * summary.
+ */
+public class DDocMigrationResult implements Serializable {
+
+  private final List<Item> items;
+  private final long elapsedTimeInNanos;
+
+  /**
+   * Outcome of migrating one file
+   */
+  public enum Status {
+
+    /**
+     * ASiC-E container was written and its data files match the DDoc
+     */
+    MIGRATED,
+
+    /**
+     * No container was written
+     */
+    FAILED,
+
+    /**
+     * File had been migrated according to the journal of an earlier run
+     */
+    SKIPPED
+
+  }
+
+  DDocMigrationResult(List<Item> items, long elapsedTimeInNanos) {
+    List<Item> sortedItems = new ArrayList<>(items);
+    Collections.sort(sortedItems, new Comparator<Item>() {
+
+      @Override
+      public int compare(Item first, Item second) {
+        return Integer.compare(first.getIndex(), second.getIndex());
+      }
+
+    });
+    this.items = Collections.unmodifiableList(sortedItems);
+    this.elapsedTimeInNanos = elapsedTimeInNanos;
+  }
+
+  /**
+   * @return true if no file failed
+   */
+  public boolean isSuccessful() {
+    return getCount(Status.FAILED) == 0;
+  }
+
+  public int getMigratedCount() {
+    return getCount(Status.MIGRATED);
+  }
+
+  public int getFailedCount() {
+    return getCount(Status.FAILED);
+  }
+
+  public int getSkippedCount() {
+    return getCount(Status.SKIPPED);
+  }
+
+  /**
+   * @return items that failed to be migrated
+   */
+  public List<Item> getFailedItems() {
+    List<Item> failedItems = new ArrayList<>();
+    for (Item item : items) {
+      if (item.getStatus() == Status.FAILED) {
+        failedItems.add(item);
+      }
+    }
+    return failedItems;
+  }
+
+  public long getElapsedTimeInMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(elapsedTimeInNanos);
+  }
+
+  /**
+   * @return migrated files per second
+   */
+  public double getThroughputPerSecond() {
+    if (elapsedTimeInNanos <= 0) {
+      return 0;
+    }
+    return getMigratedCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedTimeInNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Migrated %d of %d DDoc files in %d ms (%.2f files/s); %d failed, %d skipped",
+        getMigratedCount(), items.size(), getElapsedTimeInMillis(), getThroughputPerSecond(), getFailedCount(),
+        getSkippedCount());
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private int getCount(Status status) {
+    int count = 0;
+    for (Item item : items) {
+      if (item.getStatus() == status) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /*
+   * ACCESSORS
+   */
+
+  /**
+   * @return result of every file in the input order
+   */
+  public List<Item> getItems() {
+    return items;
+  }
+
+  /**
+   * Result of migrating one DDoc file
+   */
+  public static class Item implements Serializable {
+
+    private final int index;
+    private final String sourcePath;
+    private String targetPath;
+    private Status status = Status.FAILED;
+    private int dataFileCount;
+    private transient ValidationResult sourceValidationResult;
+    private RuntimeException exception;
+    private long migrationTimeInNanos;
+
+    Item(int index, String sourcePath) {
+      this.index = index;
+      this.sourcePath = sourcePath;
+    }
+
+    /**
+     * @return position of the file in the input
+     */
+    public int getIndex() {
+      return index;
+    }
+
+    public String getSourcePath() {
+      return sourcePath;
+    }
+
+    /**
+     * @return path of the written ASiC-E container or null when nothing was written
+     */
+    public String getTargetPath() {
+      return targetPath;
+    }
+
+    public Status getStatus() {
+      return status;
+    }
+
+    public int getDataFileCount() {
+      return dataFileCount;
+    }
+
+    /**
+     * @return validation result of the DDoc or null when the DDoc was not validated
+     */
+    public ValidationResult getSourceValidationResult() {
+      return sourceValidationResult;
+    }
+
+    /**
+     * @return cause of the failure or null when migration did not fail
+     */
+    public RuntimeException getException() {
+      return exception;
+    }
+
+    public long getMigrationTimeInMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(migrationTimeInNanos);
+    }
+
+    void setTargetPath(String targetPath) {
+      this.targetPath = targetPath;
+    }
+
+    void setStatus(Status status) {
+      this.status = status;
+    }
+
+    void setDataFileCount(int dataFileCount) {
+      this.dataFileCount = dataFileCount;
+    }
+
+    void setSourceValidationResult(ValidationResult sourceValidationResult) {
+      this.sourceValidationResult = sourceValidationResult;
+    }
+
+    void setException(RuntimeException exception) {
+      this.exception = exception;
+    }
+
+    void setMigrationTimeInNanos(long migrationTimeInNanos) {
+      this.migrationTimeInNanos = migrationTimeInNanos;
+    }
+
+  }
+
+}
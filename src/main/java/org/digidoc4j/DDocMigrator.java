@@ -0,0 +1,504 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.exceptions.TechnicalException;
+import org.digidoc4j.impl.CryptoPrimitives;
+import org.digidoc4j.impl.asic.AsicContainerCreator;
+import org.digidoc4j.impl.ddoc.DDocContainer;
+import org.digidoc4j.impl.ddoc.DDocOpener;
+import org.digidoc4j.utils.Helper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Migrating DDoc files to ASiC-E containers.</p>
+ * <p><code>
+ * {@link DDocMigrationResult} result = {@link DDocMigrator}. <br/>
+ * &nbsp;&nbsp; {@link DDocMigrator#aDDocMigrator() aDDocMigrator()}. <br/>
+ * &nbsp;&nbsp; {@link DDocMigrator#withOutputDirectory(String) withOutputDirectory("migrated")}. <br/>
+ * &nbsp;&nbsp; {@link DDocMigrator#withJournal(String) withJournal("migrated/journal.tsv")}. <br/>
+ * &nbsp;&nbsp; {@link DDocMigrator#migrate(Iterable) migrate(ddocPaths)};
+ * </code></p>
+ * <p>
+ * Data files of every DDoc are streamed into a new unsigned ASiC-E container named after the DDoc with the
+ * <code>.asice</code> extension, and the DDoc itself is kept in the container as the {@link #ORIGINAL_DDOC_ENTRY}
+ * entry. The DDoc is validated while its container is written. The written container is opened again and its data
+ * files are compared with the digests taken while writing; it is moved to its final name only when they match, so no
+ * partial containers are left behind.
+ * </p>
+ * <p>
+ * Files are migrated concurrently and taken from the iterable lazily. Every completed file is appended to the journal
+ * as a tab-separated line of status, source path, target path, DDoc validity and error message. Files recorded as
+ * migrated in the journal of an earlier run are skipped, so an interrupted migration can be started again with the
+ * same input.
+ * </p>
+ */
+public class DDocMigrator {
+
+  /**
+   * Name of the ASiC-E entry holding the original DDoc
+   */
+  public static final String ORIGINAL_DDOC_ENTRY = "META-INF/original.ddoc";
+  private static final Logger logger = LoggerFactory.getLogger(DDocMigrator.class);
+  private static final String TARGET_EXTENSION = ".asice";
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final int IN_FLIGHT_ITEMS_PER_THREAD = 2;
+  private Configuration configuration;
+  private Path outputDirectory;
+  private Path journalPath;
+  private boolean sourceValidationEnabled = true;
+  private int threadCount = Runtime.getRuntime().availableProcessors();
+  private ProgressListener progressListener;
+
+  /**
+   * Callback for reporting progress
+   */
+  public interface ProgressListener {
+
+    /**
+     * Called from a worker thread when a file has been migrated, has failed or has been skipped
+     *
+     * @param item           migration result of the file
+     * @param completedCount number of files completed so far
+     */
+    void onCompleted(DDocMigrationResult.Item item, int completedCount);
+
+  }
+
+  private DDocMigrator() {
+  }
+
+  /**
+   * Create a new DDoc migrator
+   *
+   * @return DDoc migrator
+   */
+  public static DDocMigrator aDDocMigrator() {
+    return new DDocMigrator();
+  }
+
+  /**
+   * Migrates all the DDoc files
+   *
+   * @param ddocPaths paths of DDoc files
+   * @return result of every file and throughput summary
+   */
+  public DDocMigrationResult migrate(Iterable<String> ddocPaths) {
+    long startTime = System.nanoTime();
+    if (configuration == null) {
+      configuration = Configuration.getInstance();
+    }
+    Set<String> migratedPaths = readMigratedPaths();
+    Journal journal = journalPath == null ? null : new Journal(journalPath);
+    ExecutorService workers = Executors.newFixedThreadPool(threadCount);
+    ExecutorService validators = sourceValidationEnabled ? Executors.newFixedThreadPool(threadCount) : null;
+    int maxItemsInFlight = threadCount * IN_FLIGHT_ITEMS_PER_THREAD;
+    Semaphore inFlight = new Semaphore(maxItemsInFlight);
+    AtomicInteger completedCount = new AtomicInteger();
+    List<DDocMigrationResult.Item> items = Collections.synchronizedList(new ArrayList<DDocMigrationResult.Item>());
+    try {
+      int index = 0;
+      for (String ddocPath : ddocPaths) {
+        inFlight.acquireUninterruptibly();
+        DDocMigrationResult.Item item = new DDocMigrationResult.Item(index++, ddocPath);
+        items.add(item);
+        Migration migration = new Migration(item, validators, journal, completedCount, inFlight);
+        if (migratedPaths.contains(ddocPath)) {
+          item.setStatus(DDocMigrationResult.Status.SKIPPED);
+          migration.complete();
+        } else {
+          migration.start(workers);
+        }
+      }
+      inFlight.acquireUninterruptibly(maxItemsInFlight);
+    } finally {
+      workers.shutdown();
+      if (validators != null) {
+        validators.shutdown();
+      }
+      if (journal != null) {
+        journal.close();
+      }
+    }
+    DDocMigrationResult result = new DDocMigrationResult(items, System.nanoTime() - startTime);
+    logger.info(result.toString());
+    return result;
+  }
+
+  /**
+   * Set configuration used for opening and validating the containers. Default is {@link Configuration#getInstance()}.
+   *
+   * @param configuration configuration
+   * @return DDoc migrator
+   */
+  public DDocMigrator withConfiguration(Configuration configuration) {
+    this.configuration = configuration;
+    return this;
+  }
+
+  /**
+   * Set directory the ASiC-E containers are written to. Default is the directory of every DDoc.
+   *
+   * @param outputDirectory existing directory
+   * @return DDoc migrator
+   */
+  public DDocMigrator withOutputDirectory(String outputDirectory) {
+    this.outputDirectory = Paths.get(outputDirectory);
+    return this;
+  }
+
+  /**
+   * Set journal file the results are appended to. Files recorded as migrated in the journal are skipped.
+   *
+   * @param journalPath path of the journal file
+   * @return DDoc migrator
+   */
+  public DDocMigrator withJournal(String journalPath) {
+    this.journalPath = Paths.get(journalPath);
+    return this;
+  }
+
+  /**
+   * Set whether DDoc files are validated. Default is true.
+   *
+   * @param sourceValidationEnabled false to skip validation
+   * @return DDoc migrator
+   */
+  public DDocMigrator withSourceValidation(boolean sourceValidationEnabled) {
+    this.sourceValidationEnabled = sourceValidationEnabled;
+    return this;
+  }
+
+  /**
+   * Set number of files migrated at the same time. Default is the number of processors.
+   *
+   * @param threadCount number of threads
+   * @return DDoc migrator
+   */
+  public DDocMigrator withThreadCount(int threadCount) {
+    if (threadCount < 1) {
+      throw new TechnicalException("Thread count must be positive");
+    }
+    this.threadCount = threadCount;
+    return this;
+  }
+
+  /**
+   * Set listener notified about every completed file.
+   *
+   * @param progressListener listener
+   * @return DDoc migrator
+   */
+  public DDocMigrator withProgressListener(ProgressListener progressListener) {
+    this.progressListener = progressListener;
+    return this;
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private Set<String> readMigratedPaths() {
+    Set<String> migratedPaths = new HashSet<>();
+    if (journalPath == null || !Files.exists(journalPath)) {
+      return migratedPaths;
+    }
+    try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length > 1 && DDocMigrationResult.Status.MIGRATED.name().equals(fields[0])) {
+          migratedPaths.add(fields[1]);
+        }
+      }
+    } catch (IOException e) {
+      throw new TechnicalException("Unable to read migration journal " + journalPath, e);
+    }
+    logger.debug("{} files have been migrated according to the journal", migratedPaths.size());
+    return migratedPaths;
+  }
+
+  /**
+   * Migrates one DDoc on a worker thread
+   */
+  private class Migration implements Runnable {
+
+    private final DDocMigrationResult.Item item;
+    private final ExecutorService validators;
+    private final Journal journal;
+    private final AtomicInteger completedCount;
+    private final Semaphore inFlight;
+
+    Migration(DDocMigrationResult.Item item, ExecutorService validators, Journal journal,
+              AtomicInteger completedCount, Semaphore inFlight) {
+      this.item = item;
+      this.validators = validators;
+      this.journal = journal;
+      this.completedCount = completedCount;
+      this.inFlight = inFlight;
+    }
+
+    void start(ExecutorService workers) {
+      try {
+        workers.execute(this);
+      } catch (RejectedExecutionException e) {
+        item.setException(e);
+        complete();
+      }
+    }
+
+    @Override
+    public void run() {
+      long start = System.nanoTime();
+      try {
+        migrate();
+        item.setStatus(DDocMigrationResult.Status.MIGRATED);
+      } catch (RuntimeException e) {
+        logger.error("Migrating {} failed: {}", item.getSourcePath(), e.getMessage());
+        item.setException(e);
+      } finally {
+        item.setMigrationTimeInNanos(System.nanoTime() - start);
+        complete();
+      }
+    }
+
+    void complete() {
+      try {
+        int completed = completedCount.incrementAndGet();
+        if (journal != null) {
+          journal.write(item);
+        }
+        if (progressListener != null) {
+          progressListener.onCompleted(item, completed);
+        }
+      } catch (RuntimeException e) {
+        logger.error("Completing migration of {} failed: {}", item.getSourcePath(), e.getMessage());
+      } finally {
+        inFlight.release();
+      }
+    }
+
+    private void migrate() {
+      Path source = Paths.get(item.getSourcePath());
+      Path directory = outputDirectory == null ? source.toAbsolutePath().getParent() : outputDirectory;
+      String baseName = FilenameUtils.getBaseName(source.getFileName().toString());
+      Path target = directory.resolve(baseName + TARGET_EXTENSION);
+      Path temporaryFile = null;
+      DDocContainer ddoc = new DDocOpener().open(item.getSourcePath(), configuration);
+      Future<ValidationResult> sourceValidation = null;
+      try {
+        List<DataFile> dataFiles = ddoc.getDataFiles();
+        sourceValidation = validateSource(ddoc);
+        temporaryFile = Files.createTempFile(directory, baseName, ".tmp");
+        List<byte[]> digests = writeContainer(temporaryFile, source, dataFiles);
+        verifyContainer(temporaryFile, dataFiles, digests);
+        if (sourceValidation != null) {
+          item.setSourceValidationResult(getSourceValidationResult(sourceValidation));
+        }
+        Files.move(temporaryFile, target);
+        item.setTargetPath(target.toString());
+        item.setDataFileCount(dataFiles.size());
+      } catch (FileAlreadyExistsException e) {
+        throw new TechnicalException("Target container " + target + " already exists", e);
+      } catch (IOException e) {
+        throw new TechnicalException("Unable to write container " + target + ": " + e.getMessage(), e);
+      } finally {
+        if (sourceValidation != null && !sourceValidation.isDone()) {
+          // Cached data files of the DDoc are deleted on close
+          getQuietly(sourceValidation);
+        }
+        ddoc.close();
+        deleteQuietly(temporaryFile);
+      }
+    }
+
+    private Future<ValidationResult> validateSource(final DDocContainer ddoc) {
+      if (validators == null) {
+        return null;
+      }
+      return validators.submit(new Callable<ValidationResult>() {
+
+        @Override
+        public ValidationResult call() {
+          return ddoc.validate();
+        }
+
+      });
+    }
+
+    private List<byte[]> writeContainer(Path file, Path source, List<DataFile> dataFiles) throws IOException {
+      List<byte[]> digests = new ArrayList<>(dataFiles.size());
+      try (OutputStream outputStream = Files.newOutputStream(file)) {
+        AsicContainerCreator creator = new AsicContainerCreator(outputStream);
+        creator.setZipComment(Helper.createBDocUserAgent());
+        creator.writeAsiceMimeType(Constant.ASICE_CONTAINER_TYPE);
+        creator.writeManifest(dataFiles, Constant.ASICE_CONTAINER_TYPE);
+        for (DataFile dataFile : dataFiles) {
+          MessageDigest messageDigest = CryptoPrimitives.getMessageDigest(DIGEST_ALGORITHM);
+          try (InputStream content = new DigestInputStream(dataFile.getStream(), messageDigest)) {
+            creator.writeEntry(dataFile.getName(), content);
+          }
+          digests.add(messageDigest.digest());
+        }
+        try (InputStream content = Files.newInputStream(source)) {
+          creator.writeEntry(ORIGINAL_DDOC_ENTRY, content);
+        }
+        creator.writeContainerComment(Helper.createBDocUserAgent());
+        creator.finalizeZipFile();
+      }
+      return digests;
+    }
+
+    private void verifyContainer(Path file, List<DataFile> dataFiles, List<byte[]> digests) {
+      Container container = ContainerOpener.open(file.toString(), configuration);
+      try {
+        List<DataFile> writtenDataFiles = container.getDataFiles();
+        if (writtenDataFiles.size() != dataFiles.size()) {
+          throw new DigiDoc4JException("Migrated container has " + writtenDataFiles.size() + " data files instead of "
+              + dataFiles.size());
+        }
+        for (int i = 0; i < dataFiles.size(); i++) {
+          DataFile writtenDataFile = writtenDataFiles.get(i);
+          if (!dataFiles.get(i).getName().equals(writtenDataFile.getName())
+              || !Arrays.equals(digests.get(i), writtenDataFile.calculateDigest(DigestAlgorithm.SHA256))) {
+            throw new DigiDoc4JException("Data file " + dataFiles.get(i).getName()
+                + " of the migrated container differs from the DDoc");
+          }
+        }
+      } finally {
+        if (container instanceof CloseableContainer) {
+          ((CloseableContainer) container).close();
+        }
+      }
+    }
+
+    private ValidationResult getSourceValidationResult(Future<ValidationResult> sourceValidation) {
+      try {
+        return sourceValidation.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new TechnicalException("Interrupted while validating DDoc", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new TechnicalException("Unable to validate DDoc: " + e.getCause().getMessage(), e.getCause());
+      }
+    }
+
+    private void getQuietly(Future<ValidationResult> sourceValidation) {
+      try {
+        sourceValidation.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        logger.debug("Validation of {} failed: {}", item.getSourcePath(), e.getMessage());
+      }
+    }
+
+    private void deleteQuietly(Path file) {
+      if (file == null) {
+        return;
+      }
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        logger.warn("Unable to delete temporary file {}: {}", file, e.getMessage());
+      }
+    }
+
+  }
+
+  /**
+   * Results journal appended to by the worker threads
+   */
+  private static class Journal {
+
+    private final Path path;
+    private final BufferedWriter writer;
+
+    Journal(Path path) {
+      this.path = path;
+      try {
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND);
+      } catch (IOException e) {
+        throw new TechnicalException("Unable to open migration journal " + path, e);
+      }
+    }
+
+    synchronized void write(DDocMigrationResult.Item item) {
+      try {
+        writer.write(item.getStatus().name());
+        writer.write('\t');
+        writer.write(item.getSourcePath());
+        writer.write('\t');
+        writer.write(item.getTargetPath() == null ? "" : item.getTargetPath());
+        writer.write('\t');
+        writer.write(getSourceValidity(item));
+        writer.write('\t');
+        if (item.getException() != null && item.getException().getMessage() != null) {
+          writer.write(item.getException().getMessage().replaceAll("[\t\r\n]+", " "));
+        }
+        writer.newLine();
+        writer.flush();
+      } catch (IOException e) {
+        throw new TechnicalException("Unable to write migration journal " + path, e);
+      }
+    }
+
+    synchronized void close() {
+      IOUtils.closeQuietly(writer);
+    }
+
+    private static String getSourceValidity(DDocMigrationResult.Item item) {
+      ValidationResult validationResult = item.getSourceValidationResult();
+      if (validationResult == null) {
+        return "";
+      }
+      return validationResult.isValid() ? "VALID" : "INVALID";
+    }
+
+  }
+
+}
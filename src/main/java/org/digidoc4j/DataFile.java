@@ -19,18 +19,19 @@ import java.io.Serializable;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
 
 import org.apache.commons.io.IOUtils;
 import org.digidoc4j.exceptions.DigiDoc4JException;
 import org.digidoc4j.exceptions.InvalidDataFileException;
 import org.digidoc4j.exceptions.TechnicalException;
+import org.digidoc4j.impl.CryptoPrimitives;
 import org.digidoc4j.impl.StreamDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
-import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.Digest;
 import eu.europa.esig.dss.DigestAlgorithm;
 import eu.europa.esig.dss.FileDocument;
@@ -42,6 +43,7 @@ import eu.europa.esig.dss.MimeType;
  */
 public class DataFile implements Serializable {
   private static final Logger logger = LoggerFactory.getLogger(DataFile.class);
+  private static final int DIGEST_BUFFER_SIZE = 8 * 1024;
 
   private DSSDocument document = null;
   private Digest digest = null;
@@ -54,7 +56,7 @@ public class DataFile implements Serializable {
    * @param mimeType MIME type of the data file, for example 'text/plain' or 'application/msword'
    */
   public DataFile(String path, String mimeType) {
-    logger.debug("Path: " + path + ", mime type: " + mimeType);
+    logger.debug("Path: {}, mime type: {}", path, mimeType);
     try {
       document = new FileDocument(path);
       document.setMimeType(getMimeType(mimeType));
@@ -72,7 +74,7 @@ public class DataFile implements Serializable {
    * @param mimeType MIME type of the data file, for example 'text/plain' or 'application/msword'
    */
   public DataFile(byte[] data, String fileName, String mimeType) {
-    logger.debug("File name: " + fileName + ", mime type: " + mimeType);
+    logger.debug("File name: {}, mime type: {}", fileName, mimeType);
     ByteArrayInputStream stream = new ByteArrayInputStream(data);
     document = new InMemoryDocument(stream, fileName, getMimeType(mimeType));
     IOUtils.closeQuietly(stream);
@@ -86,7 +88,7 @@ public class DataFile implements Serializable {
    * @param mimeType MIME type of the stream file, for example 'text/plain' or 'application/msword'
    */
   public DataFile(InputStream stream, String fileName, String mimeType) {
-    logger.debug("File name: " + fileName + ", mime type: " + mimeType);
+    logger.debug("File name: {}, mime type: {}", fileName, mimeType);
     try {
       document = new InMemoryDocument(stream, fileName, getMimeType(mimeType));
     } catch (Exception e) {
@@ -105,7 +107,7 @@ public class DataFile implements Serializable {
   protected MimeType getMimeType(String mimeType) {
     try {
       MimeType mimeTypeCode = MimeType.fromMimeTypeString(mimeType);
-      logger.debug("Mime type: ", mimeTypeCode);
+      logger.debug("Mime type: {}", mimeTypeCode);
       return mimeTypeCode;
     } catch (DSSException e) {
       logger.error(e.getMessage());
@@ -140,7 +142,7 @@ public class DataFile implements Serializable {
    * @return calculated digest
    */
   public byte[] calculateDigest(URL method) {        // TODO exceptions to throw
-    logger.debug("URL method: " + method);
+    logger.debug("URL method: {}", method);
     if (digest == null) {
       DigestAlgorithm digestAlgorithm = DigestAlgorithm.forXML(method.toString());
       digest = new Digest(digestAlgorithm, calculateDigestInternal(digestAlgorithm));
@@ -160,8 +162,18 @@ public class DataFile implements Serializable {
   }
 
   byte[] calculateDigestInternal(DigestAlgorithm digestAlgorithm) {
-    logger.debug("Digest algorithm: " + digestAlgorithm);
-    return DSSUtils.digest(digestAlgorithm, getBytes());
+    logger.debug("Digest algorithm: {}", digestAlgorithm);
+    MessageDigest messageDigest = CryptoPrimitives.getMessageDigest(digestAlgorithm.getJavaName());
+    byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+    try (InputStream stream = document.openStream()) {
+      int count;
+      while ((count = stream.read(buffer)) > 0) {
+        messageDigest.update(buffer, 0, count);
+      }
+    } catch (IOException e) {
+      throw new TechnicalException("Error reading document bytes: " + e.getMessage(), e);
+    }
+    return messageDigest.digest();
   }
 
   /**
@@ -172,7 +184,7 @@ public class DataFile implements Serializable {
   public String getName() {
     String documentName = document.getName();
     String name = new File(documentName).getName();
-    logger.trace("File name: for document " + documentName + " is " + name);
+    logger.trace("File name: for document {} is {}", documentName, name);
     return name;
   }
 
@@ -198,7 +210,9 @@ public class DataFile implements Serializable {
     if (document instanceof StreamDocument || document instanceof FileDocument) {
       try {
         fileSize = Files.size(Paths.get(document.getAbsolutePath()));
-        logger.debug("Document size: " + fileSize);
+        if (logger.isDebugEnabled()) {
+          logger.debug("Document size: {}", fileSize);
+        }
         return fileSize;
       } catch (IOException e) {
         logger.error(e.getMessage());
@@ -206,7 +220,9 @@ public class DataFile implements Serializable {
       }
     }
     fileSize = getBytes().length;
-    logger.debug("File document size: " + fileSize);
+    if (logger.isDebugEnabled()) {
+      logger.debug("File document size: {}", fileSize);
+    }
     return fileSize;
   }
 
@@ -218,7 +234,7 @@ public class DataFile implements Serializable {
   public String getMediaType() {
     logger.debug("");
     String mediaType = document.getMimeType().getMimeTypeString();
-    logger.debug("Media type is: " + mediaType);
+    logger.debug("Media type is: {}", mediaType);
     return mediaType;
   }
 
@@ -247,7 +263,7 @@ public class DataFile implements Serializable {
   //TODO exception - method throws DSSException which can be caused by other exceptions
   public void saveAs(String path) {
     try {
-      logger.debug("Path: " + path);
+      logger.debug("Path: {}", path);
       document.save(path);
     } catch (IOException e) {
       logger.error("Failed to save path " + path);
@@ -0,0 +1,103 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+/**
+ * Metrics interface for collecting timings and counters of container lifecycle operations.
+ * <p>
+ * Registry can be set by {@link Configuration#setMetricsRegistry(MetricsRegistry)}. By default a no-op registry is
+ * used and no measurements are taken. Implementations must be thread-safe.
+ * </p>
+ * Tags are passed as key-value pairs, e.g. <code>"type", "datafile"</code>.
+ */
+public interface MetricsRegistry {
+
+  /**
+   * Time of parsing ASiC container
+   */
+  String CONTAINER_PARSE = "digidoc4j.container.parse";
+
+  /**
+   * Uncompressed bytes of parsed ASiC container entries, tagged by entry type
+   */
+  String CONTAINER_PARSE_ENTRY_BYTES = "digidoc4j.container.parse.entry.bytes";
+
+  /**
+   * Time of writing ASiC container ZIP
+   */
+  String CONTAINER_WRITE = "digidoc4j.container.write";
+
+  /**
+   * Time of opening XAdES signature
+   */
+  String SIGNATURE_OPEN = "digidoc4j.signature.open";
+
+  /**
+   * Time of DSS validation of XAdES signature
+   */
+  String SIGNATURE_VALIDATION = "digidoc4j.signature.validation";
+
+  /**
+   * OCSP request latency
+   */
+  String OCSP_REQUEST = "digidoc4j.ocsp.request";
+
+  /**
+   * Time-stamp request latency
+   */
+  String TIMESTAMP_REQUEST = "digidoc4j.timestamp.request";
+
+  /**
+   * Time of TSL refresh
+   */
+  String TSL_REFRESH = "digidoc4j.tsl.refresh";
+
+  /**
+   * Count of temporary files created for data files
+   */
+  String TEMP_FILES = "digidoc4j.tempfile.count";
+
+  /**
+   * Bytes written to temporary files
+   */
+  String TEMP_FILE_BYTES = "digidoc4j.tempfile.bytes";
+
+  /**
+   * Suffix of the counter name for failed timed operations
+   */
+  String ERRORS_SUFFIX = ".errors";
+
+  /**
+   * Flags whether measurements should be taken at all. When false the instrumented code does not even read the clock.
+   *
+   * @return true if registry is collecting metrics
+   */
+  boolean isEnabled();
+
+  /**
+   * Records duration of an operation
+   *
+   * @param name             metric name
+   * @param durationInNanos  duration in nanoseconds
+   * @param tags             tag key-value pairs
+   */
+  void recordTime(String name, long durationInNanos, String... tags);
+
+  /**
+   * Increments counter
+   *
+   * @param name   metric name
+   * @param amount amount to add
+   * @param tags   tag key-value pairs
+   */
+  void increment(String name, long amount, String... tags);
+
+}
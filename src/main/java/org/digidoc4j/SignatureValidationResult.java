@@ -12,32 +12,96 @@ package org.digidoc4j;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.digidoc4j.exceptions.DigiDoc4JException;
 
 public class SignatureValidationResult implements Serializable {
 
-  private List<DigiDoc4JException> errors = new ArrayList<>();
-  private List<DigiDoc4JException> warnings = new ArrayList<>();
+  private List<ValidationFinding> findings = new ArrayList<>();
+  private Set<String> usedCertificateIds = Collections.emptySet();
+  private transient List<DigiDoc4JException> errors;
+  private transient List<DigiDoc4JException> warnings;
 
   public boolean isValid() {
-    return errors.isEmpty();
+    return !ValidationFinding.contains(findings, ValidationFinding.Severity.ERROR);
   }
 
+  /**
+   * Errors and warnings of the signature
+   *
+   * @return findings in the order they were found
+   */
+  public List<ValidationFinding> getFindings() {
+    return findings;
+  }
+
+  public void setFindings(List<ValidationFinding> findings) {
+    this.findings = findings;
+    this.errors = null;
+    this.warnings = null;
+  }
+
+  /**
+   * Errors as exceptions, created on the first call
+   *
+   * @return errors
+   */
   public List<DigiDoc4JException> getErrors() {
+    if (errors == null) {
+      errors = ValidationFinding.toExceptions(findings, ValidationFinding.Severity.ERROR);
+    }
     return errors;
   }
 
   public void setErrors(List<DigiDoc4JException> errors) {
-    this.errors = errors;
+    setFindings(replace(ValidationFinding.Severity.ERROR, errors));
   }
 
+  /**
+   * Warnings as exceptions, created on the first call
+   *
+   * @return warnings
+   */
   public List<DigiDoc4JException> getWarnings() {
+    if (warnings == null) {
+      warnings = ValidationFinding.toExceptions(findings, ValidationFinding.Severity.WARNING);
+    }
     return warnings;
   }
 
   public void setWarnings(List<DigiDoc4JException> warnings) {
-    this.warnings = warnings;
+    setFindings(replace(ValidationFinding.Severity.WARNING, warnings));
+  }
+
+  /**
+   * Certificates used in the validation, identified by their ids in the DSS diagnostic data
+   *
+   * @return ids of the used certificates or an empty set if they were not recorded
+   */
+  public Set<String> getUsedCertificateIds() {
+    return usedCertificateIds;
   }
+
+  public void setUsedCertificateIds(Set<String> usedCertificateIds) {
+    this.usedCertificateIds = usedCertificateIds;
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private List<ValidationFinding> replace(ValidationFinding.Severity severity, List<DigiDoc4JException> exceptions) {
+    List<ValidationFinding> result = new ArrayList<>();
+    for (ValidationFinding finding : findings) {
+      if (finding.getSeverity() != severity) {
+        result.add(finding);
+      }
+    }
+    result.addAll(ValidationFinding.of(exceptions, severity));
+    return result;
+  }
+
 }
@@ -0,0 +1,164 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.xml.security.utils.Constants;
+import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.exceptions.NotSupportedException;
+import org.digidoc4j.impl.asic.AsicParseResult;
+import org.digidoc4j.impl.asic.AsicSignature;
+import org.digidoc4j.impl.asic.DigestingAsicStreamContainerParser;
+import org.digidoc4j.impl.asic.asice.AsicEContainer;
+import org.digidoc4j.impl.asic.asics.AsicSContainer;
+import org.digidoc4j.impl.ddoc.DDocOpener;
+import org.digidoc4j.utils.Helper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import eu.europa.esig.dss.MimeType;
+
+/**
+ * <p>Validating a container read from a stream once, without buffering its data files.</p>
+ * <p><code>
+ * {@link ValidationResult} result = {@link StreamingContainerValidator}. <br/>
+ * &nbsp;&nbsp; {@link StreamingContainerValidator#aStreamingContainerValidator() aStreamingContainerValidator()}. <br/>
+ * &nbsp;&nbsp; {@link StreamingContainerValidator#withConfiguration(Configuration) withConfiguration(configuration)}. <br/>
+ * &nbsp;&nbsp; {@link StreamingContainerValidator#validate(InputStream) validate(uploadStream)};
+ * </code></p>
+ * <p>
+ * Data files of ASiC containers are digested as the zip stream goes by and only their digests are kept, so memory use
+ * does not depend on the size of the data files. The signature references are checked against the digests.
+ * Digests are taken with every algorithm given to {@link #withDigestAlgorithms(DigestAlgorithm...)}, as the
+ * signatures usually come after the data files; validation fails with an exception naming the algorithm when a
+ * signature references a data file with an algorithm that is not among them.
+ * </p>
+ * <p>
+ * DDoc containers are opened as a whole as before. ASiC-S containers with a timestamp token are not supported.
+ * </p>
+ */
+public class StreamingContainerValidator {
+
+  private static final Logger logger = LoggerFactory.getLogger(StreamingContainerValidator.class);
+  private static final int ZIP_SIGNATURE_LENGTH = 4;
+  private Configuration configuration;
+  private List<DigestAlgorithm> digestAlgorithms = Arrays.asList(DigestAlgorithm.SHA256, DigestAlgorithm.SHA384,
+      DigestAlgorithm.SHA512);
+
+  private StreamingContainerValidator() {
+  }
+
+  /**
+   * Create a new streaming container validator
+   *
+   * @return streaming container validator
+   */
+  public static StreamingContainerValidator aStreamingContainerValidator() {
+    return new StreamingContainerValidator();
+  }
+
+  /**
+   * Validates the container in the stream
+   *
+   * @param stream stream of the container, read to the end and closed
+   * @return validation result
+   */
+  public ValidationResult validate(InputStream stream) {
+    logger.debug("Validating container from stream");
+    if (configuration == null) {
+      configuration = Configuration.getInstance();
+    }
+    PushbackInputStream pushbackStream = new PushbackInputStream(new BufferedInputStream(stream), ZIP_SIGNATURE_LENGTH);
+    try {
+      if (!Helper.isZipFile(pushbackStream)) {
+        return new DDocOpener().open(pushbackStream, configuration).validate();
+      }
+      AsicParseResult parseResult = new DigestingAsicStreamContainerParser(pushbackStream, configuration,
+          digestAlgorithms).read();
+      Container container;
+      if (StringUtils.equalsIgnoreCase(MimeType.ASICS.getMimeTypeString(), parseResult.getMimeType())) {
+        if (parseResult.getTimeStampToken() != null) {
+          throw new NotSupportedException("Timestamped ASiC-S containers can not be validated from a stream");
+        }
+        container = new AsicSContainer(parseResult, configuration);
+      } else {
+        container = new AsicEContainer(parseResult, configuration);
+      }
+      checkDigestAlgorithms(container.getSignatures());
+      return container.validate();
+    } catch (IOException e) {
+      logger.error(e.getMessage());
+      throw new DigiDoc4JException(e);
+    } finally {
+      IOUtils.closeQuietly(pushbackStream);
+    }
+  }
+
+  private void checkDigestAlgorithms(List<Signature> signatures) {
+    for (Signature signature : signatures) {
+      for (Element reference : ((AsicSignature) signature).getOrigin().getDssSignature().getSignatureReferences()) {
+        if (!reference.getAttribute("Type").isEmpty()) {
+          continue;
+        }
+        DigestAlgorithm digestAlgorithm = findDigestAlgorithm(reference);
+        if (digestAlgorithm != null && !digestAlgorithms.contains(digestAlgorithm)) {
+          String message = "Data files were not digested with " + digestAlgorithm.name() + " used by signature "
+              + signature.getId() + ", add it to the digest algorithms of the validator";
+          logger.error(message);
+          throw new DigiDoc4JException(message);
+        }
+      }
+    }
+  }
+
+  private static DigestAlgorithm findDigestAlgorithm(Element reference) {
+    NodeList digestMethods = reference.getElementsByTagNameNS(Constants.SignatureSpecNS, "DigestMethod");
+    if (digestMethods.getLength() == 0) {
+      return null;
+    }
+    String algorithmUri = ((Element) digestMethods.item(0)).getAttribute("Algorithm");
+    for (DigestAlgorithm digestAlgorithm : DigestAlgorithm.values()) {
+      if (digestAlgorithm.uri().toString().equals(algorithmUri)) {
+        return digestAlgorithm;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param configuration configuration, default is {@link Configuration#getInstance()}
+   * @return this validator
+   */
+  public StreamingContainerValidator withConfiguration(Configuration configuration) {
+    this.configuration = configuration;
+    return this;
+  }
+
+  /**
+   * @param digestAlgorithms algorithms to digest the data files with, default is SHA-256, SHA-384 and SHA-512
+   * @return this validator
+   */
+  public StreamingContainerValidator withDigestAlgorithms(DigestAlgorithm... digestAlgorithms) {
+    this.digestAlgorithms = Arrays.asList(digestAlgorithms);
+    return this;
+  }
+
+}
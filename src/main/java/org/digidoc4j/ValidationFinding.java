@@ -0,0 +1,234 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.digidoc4j.exceptions.CertificateRevokedException;
+import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.exceptions.InvalidOcspNonceException;
+import org.digidoc4j.exceptions.InvalidTimemarkSignatureException;
+import org.digidoc4j.exceptions.InvalidTimestampException;
+import org.digidoc4j.exceptions.MultipleSignedPropertiesException;
+import org.digidoc4j.exceptions.SignedPropertiesMissingException;
+import org.digidoc4j.exceptions.SignedWithExpiredCertificateException;
+import org.digidoc4j.exceptions.TimestampAndOcspResponseTimeDeltaTooLargeException;
+import org.digidoc4j.exceptions.UnsupportedFormatException;
+import org.digidoc4j.exceptions.UntrustedRevocationSourceException;
+import org.digidoc4j.exceptions.WrongPolicyIdentifierException;
+import org.digidoc4j.exceptions.WrongPolicyIdentifierQualifierException;
+
+/**
+ * Validation error or warning.
+ * <p>
+ * Findings are plain immutable values: validating a broken container does not capture a stack trace per finding. The
+ * exception of the finding, as returned by {@link ValidationResult#getErrors()} and
+ * {@link ValidationResult#getWarnings()}, is created only when it is asked for.
+ * </p>
+ */
+public final class ValidationFinding implements Serializable {
+
+  private final Code code;
+  private final Severity severity;
+  private final String message;
+  private final String signatureId;
+  private DigiDoc4JException exception;
+
+  /**
+   * Severity of a finding
+   */
+  public enum Severity {
+    ERROR, WARNING
+  }
+
+  /**
+   * Kind of a finding, telling the exception class it is converted to
+   */
+  public enum Code {
+    GENERAL,
+    WRONG_POLICY_IDENTIFIER,
+    WRONG_POLICY_IDENTIFIER_QUALIFIER,
+    SIGNED_PROPERTIES_MISSING,
+    MULTIPLE_SIGNED_PROPERTIES,
+    CERTIFICATE_REVOKED,
+    INVALID_TIMESTAMP,
+    INVALID_OCSP_NONCE,
+    INVALID_TIMEMARK_SIGNATURE,
+    SIGNED_WITH_EXPIRED_CERTIFICATE,
+    UNTRUSTED_REVOCATION_SOURCE,
+    TIMESTAMP_AND_OCSP_RESPONSE_TIME_DELTA_TOO_LARGE,
+    UNSUPPORTED_FORMAT
+  }
+
+  private ValidationFinding(Code code, Severity severity, String message, String signatureId,
+                            DigiDoc4JException exception) {
+    this.code = code;
+    this.severity = severity;
+    this.message = message;
+    this.signatureId = signatureId;
+    this.exception = exception;
+  }
+
+  /**
+   * @param code        kind of the error
+   * @param message     error message
+   * @param signatureId id of the signature or null for container errors
+   * @return error finding
+   */
+  public static ValidationFinding error(Code code, String message, String signatureId) {
+    return new ValidationFinding(code, Severity.ERROR, message, signatureId, null);
+  }
+
+  /**
+   * @param message     warning message
+   * @param signatureId id of the signature or null for container warnings
+   * @return warning finding
+   */
+  public static ValidationFinding warning(String message, String signatureId) {
+    return new ValidationFinding(Code.GENERAL, Severity.WARNING, message, signatureId, null);
+  }
+
+  /**
+   * Finding of an already created exception, e.g. one reported by a legacy validator
+   *
+   * @param exception exception
+   * @param severity  severity
+   * @return finding returning the same exception
+   */
+  public static ValidationFinding of(DigiDoc4JException exception, Severity severity) {
+    String signatureId = StringUtils.isEmpty(exception.getSignatureId()) ? null : exception.getSignatureId();
+    return new ValidationFinding(Code.GENERAL, severity, exception.getMessage(), signatureId, exception);
+  }
+
+  /**
+   * @param exceptions exceptions
+   * @param severity   severity of the exceptions
+   * @return findings returning the same exceptions
+   */
+  public static List<ValidationFinding> of(List<? extends DigiDoc4JException> exceptions, Severity severity) {
+    List<ValidationFinding> findings = new ArrayList<>(exceptions.size());
+    for (DigiDoc4JException exception : exceptions) {
+      findings.add(of(exception, severity));
+    }
+    return findings;
+  }
+
+  /**
+   * @param findings findings
+   * @param severity severity to select
+   * @return exceptions of the findings of the severity, in the order of the findings
+   */
+  public static List<DigiDoc4JException> toExceptions(List<ValidationFinding> findings, Severity severity) {
+    List<DigiDoc4JException> exceptions = new ArrayList<>();
+    for (ValidationFinding finding : findings) {
+      if (finding.getSeverity() == severity) {
+        exceptions.add(finding.toException());
+      }
+    }
+    return exceptions;
+  }
+
+  /**
+   * @param findings findings
+   * @param severity severity to look for
+   * @return true if any of the findings has the severity
+   */
+  public static boolean contains(List<ValidationFinding> findings, Severity severity) {
+    for (ValidationFinding finding : findings) {
+      if (finding.getSeverity() == severity) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Exception of the finding, created on the first call
+   *
+   * @return exception
+   */
+  public synchronized DigiDoc4JException toException() {
+    if (exception == null) {
+      exception = createException();
+      if (signatureId != null) {
+        exception.setSignatureId(signatureId);
+      }
+    }
+    return exception;
+  }
+
+  public Code getCode() {
+    return code;
+  }
+
+  public Severity getSeverity() {
+    return severity;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * @return id of the signature or null for container findings
+   */
+  public String getSignatureId() {
+    return signatureId;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(severity.name()).append(' ').append(code.name());
+    if (signatureId != null) {
+      sb.append(" (Signature ID: ").append(signatureId).append(')');
+    }
+    return sb.append(": ").append(message).toString();
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private DigiDoc4JException createException() {
+    switch (code) {
+      case WRONG_POLICY_IDENTIFIER:
+        return new WrongPolicyIdentifierException(message);
+      case WRONG_POLICY_IDENTIFIER_QUALIFIER:
+        return new WrongPolicyIdentifierQualifierException(message);
+      case SIGNED_PROPERTIES_MISSING:
+        return new SignedPropertiesMissingException(message);
+      case MULTIPLE_SIGNED_PROPERTIES:
+        return new MultipleSignedPropertiesException(message);
+      case CERTIFICATE_REVOKED:
+        return new CertificateRevokedException(message);
+      case INVALID_TIMESTAMP:
+        return new InvalidTimestampException();
+      case INVALID_OCSP_NONCE:
+        return new InvalidOcspNonceException();
+      case INVALID_TIMEMARK_SIGNATURE:
+        return new InvalidTimemarkSignatureException(message);
+      case SIGNED_WITH_EXPIRED_CERTIFICATE:
+        return new SignedWithExpiredCertificateException();
+      case UNTRUSTED_REVOCATION_SOURCE:
+        return new UntrustedRevocationSourceException();
+      case TIMESTAMP_AND_OCSP_RESPONSE_TIME_DELTA_TOO_LARGE:
+        return new TimestampAndOcspResponseTimeDeltaTooLargeException();
+      case UNSUPPORTED_FORMAT:
+        return new UnsupportedFormatException(message);
+      default:
+        return new DigiDoc4JException(message);
+    }
+  }
+
+}
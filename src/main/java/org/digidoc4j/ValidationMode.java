@@ -0,0 +1,33 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+/**
+ * How much work container validation does.
+ *
+ * @see Configuration#setValidationMode(ValidationMode)
+ */
+public enum ValidationMode {
+
+  /**
+   * All errors and warnings of all signatures and the container are collected and the validation reports are
+   * available.
+   */
+  FULL,
+
+  /**
+   * Only the verdict is computed: validation of a signature stops at its first error, the remaining signatures are
+   * not validated once the container is known to be invalid, warnings are not collected and the validation reports
+   * are not available. {@link ValidationResult#isValid()} gives the same answer as in {@link #FULL} mode.
+   */
+  FAST_VERDICT
+
+}
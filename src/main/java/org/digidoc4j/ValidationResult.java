@@ -43,6 +43,14 @@ public interface ValidationResult {
    */
   List<DigiDoc4JException> getWarnings();
 
+  /**
+   * Return errors and warnings without creating exceptions for them.
+   * ASIC creates the exceptions of {@link #getErrors()} and {@link #getWarnings()} only when they are asked for.
+   *
+   * @return list of errors and warnings
+   */
+  List<ValidationFinding> getFindings();
+
   /**
    * Are there any validation errors.
    *
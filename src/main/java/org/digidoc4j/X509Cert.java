@@ -156,12 +156,12 @@ public class X509Cert implements Serializable {
    * @return part of issuer name
    */
   public String issuerName(Issuer part) {
-    logger.debug("Part: " + part);
+    logger.debug("Part: {}", part);
     if (issuerPartMap == null) {
       loadIssuerParts();
     }
     String issuerName = issuerPartMap.get(part.name());
-    logger.debug("Issuer name: " + issuerName);
+    logger.debug("Issuer name: {}", issuerName);
     return issuerName;
   }
 
@@ -174,7 +174,7 @@ public class X509Cert implements Serializable {
       String key = strings[0].trim();
       String value = strings[1].trim();
       issuerPartMap.put(key, value);
-      logger.debug("Subject name part key: " + key + " value: " + value);
+      logger.debug("Subject name part key: {} value: {}", key, value);
     }
   }
 
@@ -186,7 +186,7 @@ public class X509Cert implements Serializable {
   public String issuerName() {
     logger.debug("");
     String name = originalCert.getIssuerDN().getName();
-    logger.debug("Issuer name: " + name);
+    logger.debug("Issuer name: {}", name);
     return name;
   }
 
@@ -197,17 +197,17 @@ public class X509Cert implements Serializable {
    * @return boolean indicating if the certificate is in a valid time slot
    */
   public boolean isValid(Date date) {
-    logger.debug("Date: " + date);
+    logger.debug("Date: {}", date);
     try {
       originalCert.checkValidity(date);
     } catch (CertificateExpiredException e) {
-      logger.debug("Date " + date + " is not valid");
+      logger.debug("Date {} is not valid", date);
       return false;
     } catch (CertificateNotYetValidException e) {
-      logger.debug("Date " + date + " is not valid");
+      logger.debug("Date {} is not valid", date);
       return false;
     }
-    logger.debug("Date " + date + " is valid");
+    logger.debug("Date {} is valid", date);
     return true;
   }
 
@@ -236,9 +236,11 @@ public class X509Cert implements Serializable {
       }
     }
 
-    logger.debug("Returning " + keyUsages.size() + "key usages:");
-    for (KeyUsage keyUsage : keyUsages) {
-      logger.debug("\t" + keyUsage.toString());
+    if (logger.isDebugEnabled()) {
+      logger.debug("Returning {} key usages:", keyUsages.size());
+      for (KeyUsage keyUsage : keyUsages) {
+        logger.debug("\t{}", keyUsage);
+      }
     }
 
     return keyUsages;
@@ -252,7 +254,7 @@ public class X509Cert implements Serializable {
   public String getSerial() {
     logger.debug("");
     String serial = Hex.toHexString(originalCert.getSerialNumber().toByteArray());
-    logger.debug("Serial number: " + serial);
+    logger.debug("Serial number: {}", serial);
     return serial;
   }
 
@@ -263,12 +265,12 @@ public class X509Cert implements Serializable {
    * @return subject name
    */
   public String getSubjectName(SubjectName part) {
-    logger.debug("Part: " + part);
+    logger.debug("Part: {}", part);
     if (subjectNamePartMap == null) {
       loadSubjectNameParts();
     }
     String subjectName = subjectNamePartMap.get(part.name());
-    logger.debug("Subject name: " + subjectName);
+    logger.debug("Subject name: {}", subjectName);
     return subjectName;
   }
 
@@ -281,7 +283,7 @@ public class X509Cert implements Serializable {
       String key = strings[0].trim();
       String value = strings[1].trim();
       subjectNamePartMap.put(key, value);
-      logger.debug("Subject name part key: " + key + " value: " + value);
+      logger.debug("Subject name part key: {} value: {}", key, value);
     }
   }
 
@@ -293,7 +295,7 @@ public class X509Cert implements Serializable {
   public String getSubjectName() {
     logger.debug("");
     String subjectName = originalCert.getSubjectX500Principal().toString();
-    logger.debug("Subject name: " + subjectName);
+    logger.debug("Subject name: {}", subjectName);
     return subjectName;
   }
 }
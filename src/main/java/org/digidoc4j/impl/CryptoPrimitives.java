@@ -0,0 +1,157 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+
+import org.digidoc4j.exceptions.TechnicalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread-local instances of JCA primitives, keyed by algorithm and provider or, for signatures, the class of the key.
+ * <p>
+ * Looking up a provider and constructing a primitive on every signature is measurable at high signing rates. The
+ * instances returned here belong to the calling thread: they must be used to the end within the call and never be
+ * handed to another thread or kept for later.
+ * </p>
+ */
+public final class CryptoPrimitives {
+
+  private static final Logger logger = LoggerFactory.getLogger(CryptoPrimitives.class);
+  private static final String DEFAULT_PROVIDER = "";
+  private static final ThreadLocal<Instances> instances = new ThreadLocal<Instances>() {
+
+    @Override
+    protected Instances initialValue() {
+      return new Instances();
+    }
+
+  };
+
+  private CryptoPrimitives() {
+  }
+
+  /**
+   * @param algorithm digest algorithm, e.g. SHA-256
+   * @return reset message digest of the default provider
+   */
+  public static MessageDigest getMessageDigest(String algorithm) {
+    return getMessageDigest(algorithm, null);
+  }
+
+  /**
+   * @param algorithm digest algorithm, e.g. SHA-256
+   * @param provider  provider name, null for the default provider
+   * @return reset message digest
+   */
+  public static MessageDigest getMessageDigest(String algorithm, String provider) {
+    Map<String, MessageDigest> digests = getByGroup(instances.get().messageDigests, provider);
+    MessageDigest messageDigest = digests.get(algorithm);
+    if (messageDigest == null) {
+      try {
+        messageDigest = provider == null ? MessageDigest.getInstance(algorithm)
+            : MessageDigest.getInstance(algorithm, provider);
+      } catch (GeneralSecurityException e) {
+        throw new TechnicalException("Unable to create message digest " + algorithm + ": " + e.getMessage(), e);
+      }
+      digests.put(algorithm, messageDigest);
+    } else {
+      messageDigest.reset();
+    }
+    return messageDigest;
+  }
+
+  /**
+   * Signatures are kept per algorithm and class of the key. Delayed provider selection binds a signature to the
+   * provider accepting the first key, e.g. SunPKCS11 for a token key, and such a provider may accept a key of another
+   * kind too, e.g. import a software key into the token, instead of leaving it to the provider of that key.
+   *
+   * @param algorithm signature algorithm, e.g. SHA256withRSA
+   * @param key       signing key
+   * @return signature of the default provider initialized for signing with the key
+   * @throws InvalidKeyException when no provider accepts the key
+   */
+  public static Signature getSignature(String algorithm, PrivateKey key) throws InvalidKeyException {
+    Map<String, Signature> signatures = getByGroup(instances.get().signatures, key.getClass().getName());
+    Signature signature = signatures.get(algorithm);
+    if (signature != null) {
+      try {
+        signature.initSign(key);
+        return signature;
+      } catch (InvalidKeyException e) {
+        // Provider was chosen for a key of the same class of an earlier call, e.g. a key of another token
+        logger.debug("Cached {} signature does not accept the key, creating a new one", algorithm);
+      }
+    }
+    try {
+      signature = Signature.getInstance(algorithm);
+    } catch (GeneralSecurityException e) {
+      throw new TechnicalException("Unable to create signature " + algorithm + ": " + e.getMessage(), e);
+    }
+    signature.initSign(key);
+    signatures.put(algorithm, signature);
+    return signature;
+  }
+
+  /**
+   * @param transformation cipher transformation, e.g. RSA/ECB/PKCS1Padding
+   * @param provider       provider name, null for the default provider
+   * @return cipher to be initialized by the caller
+   */
+  public static Cipher getCipher(String transformation, String provider) {
+    Map<String, Cipher> ciphers = getByGroup(instances.get().ciphers, provider);
+    Cipher cipher = ciphers.get(transformation);
+    if (cipher == null) {
+      try {
+        cipher = provider == null ? Cipher.getInstance(transformation) : Cipher.getInstance(transformation, provider);
+      } catch (GeneralSecurityException e) {
+        throw new TechnicalException("Unable to create cipher " + transformation + ": " + e.getMessage(), e);
+      }
+      ciphers.put(transformation, cipher);
+    }
+    return cipher;
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  /**
+   * @param group provider name, null for the default provider, or class name of the signing key
+   */
+  private static <T> Map<String, T> getByGroup(Map<String, Map<String, T>> instancesByGroup, String group) {
+    String groupKey = group == null ? DEFAULT_PROVIDER : group;
+    Map<String, T> instancesByAlgorithm = instancesByGroup.get(groupKey);
+    if (instancesByAlgorithm == null) {
+      instancesByAlgorithm = new HashMap<>();
+      instancesByGroup.put(groupKey, instancesByAlgorithm);
+    }
+    return instancesByAlgorithm;
+  }
+
+  private static class Instances {
+
+    private final Map<String, Map<String, MessageDigest>> messageDigests = new HashMap<>();
+    private final Map<String, Map<String, Signature>> signatures = new HashMap<>();
+    private final Map<String, Map<String, Cipher>> ciphers = new HashMap<>();
+
+  }
+
+}
@@ -0,0 +1,105 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl;
+
+import org.digidoc4j.Configuration;
+import org.digidoc4j.MetricsRegistry;
+
+/**
+ * Helper for taking measurements through {@link MetricsRegistry}. When registry is missing or disabled, no clock is
+ * read and a shared timer instance is returned.
+ */
+public final class Metrics {
+
+  private static final Timer DISABLED_TIMER = new Timer(null, null, 0);
+
+  private Metrics() {
+  }
+
+  /**
+   * @param configuration configuration, may be null
+   * @return metrics registry of the configuration or no-op registry
+   */
+  public static MetricsRegistry registryOf(Configuration configuration) {
+    return configuration == null ? NoOpMetricsRegistry.INSTANCE : configuration.getMetricsRegistry();
+  }
+
+  /**
+   * @param registry metrics registry, may be null
+   * @return true if measurements should be taken
+   */
+  public static boolean isEnabled(MetricsRegistry registry) {
+    return registry != null && registry.isEnabled();
+  }
+
+  /**
+   * Starts timing an operation
+   *
+   * @param registry metrics registry, may be null
+   * @param name     metric name
+   * @return running timer
+   */
+  public static Timer startTimer(MetricsRegistry registry, String name) {
+    if (!isEnabled(registry)) {
+      return DISABLED_TIMER;
+    }
+    return new Timer(registry, name, System.nanoTime());
+  }
+
+  /**
+   * Running timer
+   */
+  public static final class Timer {
+
+    private final MetricsRegistry registry;
+    private final String name;
+    private final long startTime;
+
+    private Timer(MetricsRegistry registry, String name, long startTime) {
+      this.registry = registry;
+      this.name = name;
+      this.startTime = startTime;
+    }
+
+    /**
+     * Records time elapsed since start
+     */
+    public void stop() {
+      if (this.registry != null) {
+        this.registry.recordTime(this.name, System.nanoTime() - this.startTime);
+      }
+    }
+
+    /**
+     * Records time elapsed since start
+     *
+     * @param tags tag key-value pairs
+     */
+    public void stop(String... tags) {
+      if (this.registry != null) {
+        this.registry.recordTime(this.name, System.nanoTime() - this.startTime, tags);
+      }
+    }
+
+    /**
+     * Increments error counter of the timed operation
+     *
+     * @param e cause of the failure
+     */
+    public void failed(Throwable e) {
+      if (this.registry != null) {
+        this.registry.increment(this.name + MetricsRegistry.ERRORS_SUFFIX, 1, "exception", e.getClass().getSimpleName());
+      }
+    }
+
+  }
+
+}
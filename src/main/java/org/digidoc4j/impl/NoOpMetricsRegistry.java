@@ -0,0 +1,38 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl;
+
+import org.digidoc4j.MetricsRegistry;
+
+/**
+ * Default metrics registry that discards everything
+ */
+public final class NoOpMetricsRegistry implements MetricsRegistry {
+
+  public static final NoOpMetricsRegistry INSTANCE = new NoOpMetricsRegistry();
+
+  private NoOpMetricsRegistry() {
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return false;
+  }
+
+  @Override
+  public void recordTime(String name, long durationInNanos, String... tags) {
+  }
+
+  @Override
+  public void increment(String name, long amount, String... tags) {
+  }
+
+}
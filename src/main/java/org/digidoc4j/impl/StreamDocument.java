@@ -17,9 +17,13 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.digidoc4j.exceptions.TechnicalException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,14 +36,18 @@ import eu.europa.esig.dss.MimeType;
 /**
  * @see eu.europa.esig.dss.DSSDocument implementation to handle big files. It writes data to temporary
  * files.
+ * <p>
+ * The content of the temporary file is serialized with the document. A deserialized document writes it into a new
+ * temporary file of the default {@link TemporaryFileManager} and holds its own reference to it.
+ * </p>
  */
 public class StreamDocument extends CommonDocument {
   private static final Logger logger = LoggerFactory.getLogger(StreamDocument.class);
 
-  private static final int MAX_SIZE_IN_MEMORY = 1024 * 5;
   String documentName;
   MimeType mimeType;
-  File temporaryFile;
+  transient File temporaryFile;
+  private transient TemporaryFileManager.TemporaryFile temporaryFileReference;
 
   //TODO if file is small enough you can read it into byte[] and cache it
 
@@ -51,32 +59,44 @@ public class StreamDocument extends CommonDocument {
    * @param mimeType     mime type
    */
   public StreamDocument(InputStream stream, String documentName, MimeType mimeType) {
-    logger.debug("Document name: " + documentName + ", mime type: " + mimeType);
-    createTemporaryFileOfStream(stream);
+    this(stream, documentName, mimeType, TemporaryFileManager.getDefault());
+  }
+
+  /**
+   * Stream document with the temporary file created by the given manager. The caller holds the first reference to
+   * the temporary file and must {@link StreamDocument#release()} it when the document is not needed any more.
+   *
+   * @param stream               stream
+   * @param documentName         document Name
+   * @param mimeType             mime type
+   * @param temporaryFileManager temporary file manager
+   */
+  public StreamDocument(InputStream stream, String documentName, MimeType mimeType,
+                        TemporaryFileManager temporaryFileManager) {
+    logger.debug("Document name: {}, mime type: {}", documentName, mimeType);
+    temporaryFileReference = temporaryFileManager.create(stream, this);
+    temporaryFile = temporaryFileReference.getFile();
     this.documentName = documentName;
     this.mimeType = mimeType;
   }
 
-  private void createTemporaryFileOfStream(InputStream stream) {
-    logger.debug("");
-    byte[] bytes = new byte[MAX_SIZE_IN_MEMORY];
-
-    FileOutputStream out = null;
+  /**
+   * Adds a reference to the temporary file, e.g. when the document is added to another container
+   *
+   * @throws TechnicalException if the temporary file has already been deleted
+   */
+  public void retain() {
+    if (temporaryFileReference != null && !temporaryFileReference.retain()) {
+      throw new TechnicalException("Temporary file of document <" + documentName + "> has already been deleted");
+    }
+  }
 
-    try {
-      temporaryFile = File.createTempFile("digidoc4j", ".tmp");
-      out = new FileOutputStream(temporaryFile);
-      int result;
-      while ((result = stream.read(bytes)) > 0) {
-        out.write(bytes, 0, result);
-      }
-      out.flush();
-      temporaryFile.deleteOnExit();
-    } catch (IOException e) {
-      logger.error(e.getMessage());
-      throw new DSSException(e);
-    } finally {
-      IOUtils.closeQuietly(out);
+  /**
+   * Removes a reference to the temporary file. Temporary file is deleted when the last reference is released.
+   */
+  public void release() {
+    if (temporaryFileReference != null) {
+      temporaryFileReference.release();
     }
   }
 
@@ -111,19 +131,19 @@ public class StreamDocument extends CommonDocument {
 
   @Override
   public MimeType getMimeType() {
-    logger.debug("Mime type: " + mimeType);
+    logger.debug("Mime type: {}", mimeType);
     return mimeType;
   }
 
   @Override
   public void setMimeType(MimeType mimeType) {
-    logger.debug("Mime type: " + mimeType);
+    logger.debug("Mime type: {}", mimeType);
     this.mimeType = mimeType;
   }
 
   @Override
   public void save(String filePath) {
-    logger.debug("File Path: " + filePath);
+    logger.debug("File Path: {}", filePath);
     try {
       FileOutputStream fileOutputStream = new FileOutputStream(filePath);
       try {
@@ -139,7 +159,7 @@ public class StreamDocument extends CommonDocument {
 
   @Override
   public String getDigest(DigestAlgorithm digestAlgorithm) {
-    logger.debug("Digest algorithm: " + digestAlgorithm);
+    logger.debug("Digest algorithm: {}", digestAlgorithm);
     byte[] digestBytes;
     try {
       digestBytes = DSSUtils.digest(digestAlgorithm, getTemporaryFileAsStream());
@@ -154,4 +174,25 @@ public class StreamDocument extends CommonDocument {
     return new FileInputStream(this.temporaryFile);
   }
 
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeLong(temporaryFile.length());
+    try (FileInputStream in = getTemporaryFileAsStream()) {
+      IOUtils.copy(in, out);
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    long length = in.readLong();
+    BoundedInputStream content = new BoundedInputStream(in, length);
+    content.setPropagateClose(false);
+    temporaryFileReference = TemporaryFileManager.getDefault().create(content, this);
+    temporaryFile = temporaryFileReference.getFile();
+    if (temporaryFile.length() != length) {
+      temporaryFileReference.release();
+      throw new IOException("Unexpected end of serialized content of document <" + documentName + ">");
+    }
+  }
+
 }
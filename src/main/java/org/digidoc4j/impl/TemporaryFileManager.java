@@ -0,0 +1,260 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.IOUtils;
+import org.digidoc4j.exceptions.TechnicalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSException;
+
+/**
+ * Owner of the temporary files holding large data files.
+ * <p>
+ * Every file is reference counted: it is deleted as soon as the last owner (e.g. container) has released it. Files
+ * whose owner document has become unreachable without being released are deleted the next time any manager creates a
+ * file, and files still present at JVM shutdown are deleted by a single shutdown hook. Only the files created by the
+ * managers are ever deleted.
+ * </p>
+ * Total size of the live files can be limited with a quota.
+ */
+public class TemporaryFileManager {
+
+  private static final Logger logger = LoggerFactory.getLogger(TemporaryFileManager.class);
+  private static final String PREFIX = "digidoc4j";
+  private static final String SUFFIX = ".tmp";
+  private static final int BUFFER_SIZE = 8 * 1024;
+  private static final ReferenceQueue<Object> unreachableOwners = new ReferenceQueue<>();
+  private static final Set<TemporaryFile> liveFiles = Collections.newSetFromMap(new ConcurrentHashMap<TemporaryFile, Boolean>());
+  private static final TemporaryFileManager DEFAULT = new TemporaryFileManager(null, 0);
+  private final File directory;
+  private final long quotaInBytes;
+  private final AtomicLong usedBytes = new AtomicLong();
+  private final AtomicInteger fileCount = new AtomicInteger();
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+
+      @Override
+      public void run() {
+        for (TemporaryFile temporaryFile : liveFiles) {
+          temporaryFile.delete();
+        }
+      }
+
+    }, "digidoc4j-temp-file-cleanup"));
+  }
+
+  /**
+   * @param directory    directory of the temporary files, null for <code>java.io.tmpdir</code>
+   * @param quotaInBytes max total size of live temporary files, 0 for unlimited
+   */
+  public TemporaryFileManager(File directory, long quotaInBytes) {
+    this.directory = directory;
+    this.quotaInBytes = quotaInBytes;
+  }
+
+  /**
+   * @return manager using <code>java.io.tmpdir</code> without quota
+   */
+  public static TemporaryFileManager getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Writes the stream into a new temporary file
+   *
+   * @param stream content
+   * @param owner  object whose unreachability releases the file
+   * @return temporary file with one reference held by the caller
+   */
+  public TemporaryFile create(InputStream stream, Object owner) {
+    deleteUnreachable();
+    File file = null;
+    TemporaryFile temporaryFile = null;
+    FileOutputStream out = null;
+    try {
+      if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+        throw new IOException("Unable to create temporary file directory " + directory);
+      }
+      file = File.createTempFile(PREFIX, SUFFIX, directory);
+      temporaryFile = new TemporaryFile(file, owner, this);
+      liveFiles.add(temporaryFile);
+      fileCount.incrementAndGet();
+      out = new FileOutputStream(file);
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int count;
+      while ((count = stream.read(buffer)) > 0) {
+        temporaryFile.addSize(count);
+        out.write(buffer, 0, count);
+      }
+      out.flush();
+      return temporaryFile;
+    } catch (IOException e) {
+      logger.error(e.getMessage());
+      deleteQuietly(temporaryFile, file);
+      throw new DSSException(e);
+    } catch (RuntimeException e) {
+      deleteQuietly(temporaryFile, file);
+      throw e;
+    } finally {
+      IOUtils.closeQuietly(out);
+    }
+  }
+
+  /**
+   * @return number of live temporary files
+   */
+  public int getFileCount() {
+    return fileCount.get();
+  }
+
+  /**
+   * @return total size of live temporary files
+   */
+  public long getUsedBytes() {
+    return usedBytes.get();
+  }
+
+  /**
+   * Deletes the files of the owners that have become unreachable
+   */
+  public static void deleteUnreachable() {
+    Reference<?> reference;
+    while ((reference = unreachableOwners.poll()) != null) {
+      TemporaryFile temporaryFile = ((OwnerReference) reference).temporaryFile;
+      logger.debug("Deleting temporary file {} of unreachable owner", temporaryFile.file);
+      temporaryFile.delete();
+    }
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private void reserve(long bytes) {
+    long used = usedBytes.addAndGet(bytes);
+    if (quotaInBytes > 0 && used > quotaInBytes) {
+      deleteUnreachable();
+      if (usedBytes.get() > quotaInBytes) {
+        usedBytes.addAndGet(-bytes);
+        throw new TechnicalException("Temporary file quota of " + quotaInBytes + " bytes exceeded");
+      }
+    }
+  }
+
+  private void deleteQuietly(TemporaryFile temporaryFile, File file) {
+    if (temporaryFile != null) {
+      temporaryFile.delete();
+    } else if (file != null && !file.delete()) {
+      logger.warn("Unable to delete temporary file {}", file);
+    }
+  }
+
+  /**
+   * Reference counted temporary file
+   */
+  public static class TemporaryFile {
+
+    private final File file;
+    private final TemporaryFileManager manager;
+    private final OwnerReference ownerReference;
+    private final AtomicInteger references = new AtomicInteger(1);
+    private final AtomicLong size = new AtomicLong();
+
+    private TemporaryFile(File file, Object owner, TemporaryFileManager manager) {
+      this.file = file;
+      this.manager = manager;
+      this.ownerReference = owner == null ? null : new OwnerReference(owner, this, unreachableOwners);
+    }
+
+    /**
+     * Adds a reference
+     *
+     * @return false if the file has already been deleted
+     */
+    public boolean retain() {
+      while (true) {
+        int count = references.get();
+        if (count <= 0) {
+          return false;
+        }
+        if (references.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * Removes a reference, the file is deleted when no references remain
+     */
+    public void release() {
+      if (references.decrementAndGet() == 0) {
+        delete();
+      }
+    }
+
+    public boolean isDeleted() {
+      return references.get() <= 0;
+    }
+
+    public File getFile() {
+      return file;
+    }
+
+    private void addSize(long bytes) {
+      manager.reserve(bytes);
+      size.addAndGet(bytes);
+    }
+
+    private void delete() {
+      references.set(0);
+      if (!liveFiles.remove(this)) {
+        return;
+      }
+      manager.fileCount.decrementAndGet();
+      if (ownerReference != null) {
+        ownerReference.clear();
+      }
+      manager.usedBytes.addAndGet(-size.get());
+      if (file.exists() && !file.delete()) {
+        logger.warn("Unable to delete temporary file {}", file);
+      }
+    }
+
+  }
+
+  private static class OwnerReference extends PhantomReference<Object> {
+
+    private final TemporaryFile temporaryFile;
+
+    OwnerReference(Object owner, TemporaryFile temporaryFile, ReferenceQueue<Object> queue) {
+      super(owner, queue);
+      this.temporaryFile = temporaryFile;
+    }
+
+  }
+
+}
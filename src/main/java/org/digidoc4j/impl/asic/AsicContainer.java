@@ -9,15 +9,20 @@ import java.io.OutputStream;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.digidoc4j.CloseableContainer;
 import org.digidoc4j.Configuration;
 import org.digidoc4j.Constant;
 import org.digidoc4j.Container;
 import org.digidoc4j.DataFile;
 import org.digidoc4j.DigestAlgorithm;
+import org.digidoc4j.MetricsRegistry;
 import org.digidoc4j.Signature;
 import org.digidoc4j.SignatureBuilder;
 import org.digidoc4j.SignatureParameters;
@@ -32,6 +37,8 @@ import org.digidoc4j.exceptions.InvalidSignatureException;
 import org.digidoc4j.exceptions.NotSupportedException;
 import org.digidoc4j.exceptions.RemovingDataFileException;
 import org.digidoc4j.exceptions.TechnicalException;
+import org.digidoc4j.impl.Metrics;
+import org.digidoc4j.impl.StreamDocument;
 import org.digidoc4j.impl.asic.asice.AsicEContainerValidator;
 import org.digidoc4j.impl.asic.asice.AsicESignature;
 import org.digidoc4j.impl.asic.asice.bdoc.BDocContainerValidator;
@@ -39,6 +46,7 @@ import org.digidoc4j.impl.asic.asice.bdoc.BDocSignature;
 import org.digidoc4j.impl.asic.asics.AsicSSignature;
 import org.digidoc4j.impl.asic.manifest.AsicManifest;
 import org.digidoc4j.impl.asic.xades.SignatureExtender;
+import org.digidoc4j.impl.asic.xades.validation.ThreadPoolManager;
 import org.digidoc4j.utils.Helper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,8 +56,9 @@ import eu.europa.esig.dss.DSSDocument;
 /**
  * Created by Andrei on 7.11.2017.
  */
-public abstract class AsicContainer implements Container {
+public abstract class AsicContainer implements CloseableContainer {
 
+  private static final long serialVersionUID = -4883492663430463070L;
   protected Configuration configuration;
   private final Logger log = LoggerFactory.getLogger(AsicContainer.class);
   private List<DataFile> dataFiles = new ArrayList<>();
@@ -61,6 +70,7 @@ public abstract class AsicContainer implements Container {
   private boolean dataFilesHaveChanged;
   private String containerType = "";
   private DataFile timeStampToken;
+  private transient boolean closed;
 
   protected abstract String createUserAgent();
 
@@ -130,6 +140,19 @@ public abstract class AsicContainer implements Container {
     openContainer(stream);
   }
 
+  /**
+   * ASicContainer constructor for an already parsed container
+   *
+   * @param parseResult parsed container
+   * @param configuration configuration
+   * @param containerType type
+   */
+  public AsicContainer(AsicParseResult parseResult, Configuration configuration, String containerType) {
+    this.configuration = configuration;
+    this.containerType = containerType;
+    populateContainerWithParseResult(parseResult);
+  }
+
   @Override
   public ValidationResult validate() {
     if (validationResult == null) {
@@ -142,6 +165,7 @@ public abstract class AsicContainer implements Container {
     if (timeStampToken != null){
       return validateTimestampToken();
     } else{
+      parseSignaturesInParallel();
       if (!isNewContainer()){
         if (containerType.equals(DocumentType.BDOC.toString())) {
           BDocContainerValidator validator = new BDocContainerValidator(containerParseResult, getConfiguration());
@@ -283,7 +307,31 @@ public abstract class AsicContainer implements Container {
     this.containerParseResult = parseResult;
     this.dataFiles.addAll(parseResult.getDataFiles());
     this.timeStampToken = parseResult.getTimeStampToken();
-    this.signatures.addAll(this.parseSignatureFiles(parseResult.getSignatures(), parseResult.getDetachedContents()));
+    this.signatures = this.createLazySignatureList(parseResult.getSignatures(), parseResult.getDetachedContents());
+  }
+
+  private LazySignatureList createLazySignatureList(List<DSSDocument> signatureFiles,
+                                                    final List<DSSDocument> detachedContents) {
+    return new LazySignatureList(signatureFiles, new LazySignatureList.SignatureParser() {
+
+      @Override
+      public Signature parse(DSSDocument signatureDocument) {
+        List<Signature> parsedSignatures = parseSignatureFiles(Collections.singletonList(signatureDocument),
+            detachedContents);
+        if (parsedSignatures.size() != 1) {
+          throw new TechnicalException("Expected one signature in " + signatureDocument.getName() + " but found "
+              + parsedSignatures.size());
+        }
+        return parsedSignatures.get(0);
+      }
+
+    });
+  }
+
+  private void parseSignaturesInParallel() {
+    if (signatures instanceof LazySignatureList) {
+      ((LazySignatureList) signatures).parseAll(new ThreadPoolManager(getConfiguration()));
+    }
   }
 
   private void removeExistingSignature(BDocSignature signature) {
@@ -365,6 +413,9 @@ public abstract class AsicContainer implements Container {
     dataFiles.add(dataFile);
     newDataFiles.add(dataFile);
     dataFilesHaveChanged = true;
+    if (dataFile.getDocument() instanceof StreamDocument) {
+      ((StreamDocument) dataFile.getDocument()).retain();
+    }
     removeExistingFileFromContainer(AsicManifest.XML_PATH);
   }
 
@@ -384,6 +435,28 @@ public abstract class AsicContainer implements Container {
     this.timeStampToken = timeStampToken;
   }
 
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    Set<DSSDocument> documents = Collections.newSetFromMap(new IdentityHashMap<DSSDocument, Boolean>());
+    for (DataFile dataFile : dataFiles) {
+      documents.add(dataFile.getDocument());
+    }
+    if (containerParseResult != null) {
+      for (AsicEntry asicEntry : containerParseResult.getAsicEntries()) {
+        documents.add(asicEntry.getContent());
+      }
+    }
+    for (DSSDocument document : documents) {
+      if (document instanceof StreamDocument) {
+        ((StreamDocument) document).release();
+      }
+    }
+  }
+
   private byte[] getDigest() {
     DataFile dataFile = getDataFiles().get(0);
     return dataFile.getBytes();
@@ -466,6 +539,7 @@ public abstract class AsicContainer implements Container {
         String name = dataFile.getName();
         if (StringUtils.equals(fileName, name)) {
           dataFiles.remove(dataFile);
+          releaseDocument(dataFile);
           log.debug("Data file has been removed");
           return;
         }
@@ -487,6 +561,13 @@ public abstract class AsicContainer implements Container {
       if (!wasRemovalSuccessful) {
         throw new DataFileNotFoundException(file.getName());
       }
+      releaseDocument(file);
+    }
+  }
+
+  private synchronized void releaseDocument(DataFile dataFile) {
+    if (!closed && dataFile.getDocument() instanceof StreamDocument) {
+      ((StreamDocument) dataFile.getDocument()).release();
     }
   }
 
@@ -494,12 +575,16 @@ public abstract class AsicContainer implements Container {
     return containerParseResult == null;
   }
 
+  /**
+   * Signatures of an opened container are parsed on first access of each signature.
+   */
   @Override
   public List<Signature> getSignatures() {
     return signatures;
   }
 
   protected void writeAsicContainer(AsicContainerCreator zipCreator) {
+    Metrics.Timer timer = Metrics.startTimer(getConfiguration().getMetricsRegistry(), MetricsRegistry.CONTAINER_WRITE);
     String userAgent = createUserAgent();
     zipCreator.setZipComment(userAgent);
     if (!isNewContainer()){
@@ -526,6 +611,7 @@ public abstract class AsicContainer implements Container {
       zipCreator.writeContainerComment(userAgent);
     }
     zipCreator.finalizeZipFile();
+    timer.stop("type", getType());
   }
 
   //=============== Deprecated methods ====================
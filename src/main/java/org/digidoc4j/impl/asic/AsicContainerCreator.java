@@ -76,8 +76,6 @@ public class AsicContainerCreator {
       zipOutputStream.finish();
     } catch (IOException e) {
       handleIOException("Unable to finish creating asic ZIP container", e);
-    } finally {
-      Helper.deleteTmpFiles();
     }
   }
 
@@ -134,6 +132,18 @@ public class AsicContainerCreator {
     }
   }
 
+  /**
+   * Writes a compressed entry of the given content, e.g. a data file that is not held in a {@link DataFile}
+   *
+   * @param entryName name of the zip entry
+   * @param content   content of the entry, not closed
+   */
+  public void writeEntry(String entryName, InputStream content) {
+    logger.debug("Adding entry {}", entryName);
+    zipOutputStream.setLevel(ZipEntry.DEFLATED);
+    new StreamEntryCallback(new ZipEntry(entryName), content).write();
+  }
+
   /**
    * @param signatures list of signatures
    * @param nextSignatureFileNameIndex index
@@ -10,6 +10,7 @@
 
 package org.digidoc4j.impl.asic;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -27,12 +28,15 @@ import org.apache.commons.io.input.BOMInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.digidoc4j.Configuration;
 import org.digidoc4j.DataFile;
+import org.digidoc4j.MetricsRegistry;
 import org.digidoc4j.exceptions.ContainerWithoutFilesException;
 import org.digidoc4j.exceptions.DigiDoc4JException;
 import org.digidoc4j.exceptions.DuplicateDataFileException;
 import org.digidoc4j.exceptions.TechnicalException;
 import org.digidoc4j.exceptions.UnsupportedFormatException;
+import org.digidoc4j.impl.Metrics;
 import org.digidoc4j.impl.StreamDocument;
+import org.digidoc4j.impl.TemporaryFileManager;
 import org.digidoc4j.impl.asic.manifest.ManifestEntry;
 import org.digidoc4j.impl.asic.manifest.ManifestParser;
 import org.digidoc4j.utils.MimeTypeUtil;
@@ -67,11 +71,15 @@ public abstract class AsicContainerParser {
   private boolean storeDataFilesOnlyInMemory;
   private boolean manifestFound = false;
   private long maxDataFileCachedInBytes;
+  private TemporaryFileManager temporaryFileManager;
   private DataFile timestampToken;
+  private MetricsRegistry metricsRegistry;
 
   protected AsicContainerParser(Configuration configuration) {
     storeDataFilesOnlyInMemory = configuration.storeDataFilesOnlyInMemory();
     maxDataFileCachedInBytes = configuration.getMaxDataFileCachedInBytes();
+    metricsRegistry = configuration.getMetricsRegistry();
+    temporaryFileManager = configuration.getTemporaryFileManager();
   }
 
   /**
@@ -79,9 +87,16 @@ public abstract class AsicContainerParser {
    * @return parsing result
    */
   public AsicParseResult read() {
-    parseContainer();
-    validateParseResult();
-    populateParseResult();
+    Metrics.Timer timer = Metrics.startTimer(metricsRegistry, MetricsRegistry.CONTAINER_PARSE);
+    try {
+      parseContainer();
+      validateParseResult();
+      populateParseResult();
+    } catch (RuntimeException e) {
+      timer.failed(e);
+      throw e;
+    }
+    timer.stop();
     return parseResult;
   }
 
@@ -99,25 +114,36 @@ public abstract class AsicContainerParser {
 
   protected void parseEntry(ZipEntry entry) {
     String entryName = entry.getName();
-    logger.debug("Paring zip entry " + entryName + " with comment: " + entry.getComment());
+    logger.debug("Paring zip entry {} with comment: {}", entryName, entry.getComment());
+    String entryType;
     if (isMimeType(entryName)) {
+      entryType = "mimetype";
       extractMimeType(entry);
     } else if (isManifest(entryName)) {
       if (this.manifestFound) {
         throw new DigiDoc4JException("Multiple manifest.xml files disallowed");
       }
       this.manifestFound = true;
+      entryType = "manifest";
       extractManifest(entry);
     } else if (isSignaturesFile(entryName)) {
+      entryType = "signature";
       determineCurrentSignatureFileIndex(entryName);
       extractSignature(entry);
     } else if (isDataFile(entryName)) {
+      entryType = "datafile";
       extractDataFile(entry);
     } else if (isTimeStampToken(entryName)) {
+      entryType = "timestamp";
       extractTimeStamp(entry);
     } else {
+      entryType = "other";
       extractAsicEntry(entry);
     }
+    // Entry size is known for zip stream entries as well once the entry has been read to the end
+    if (Metrics.isEnabled(metricsRegistry) && entry.getSize() >= 0) {
+      metricsRegistry.increment(MetricsRegistry.CONTAINER_PARSE_ENTRY_BYTES, entry.getSize(), "type", entryType);
+    }
   }
 
   private void extractMimeType(ZipEntry entry) {
@@ -153,20 +179,36 @@ public abstract class AsicContainerParser {
     logger.debug("Extracting data file");
     String fileName = entry.getName();
     validateDataFile(fileName);
-    DSSDocument document = extractStreamDocument(entry);
+    DSSDocument document = extractDataFileDocument(entry);
     DataFile dataFile = new AsicDataFile(document);
     dataFiles.put(fileName, dataFile);
     detachedContents.add(document);
     extractAsicEntry(entry, document);
   }
 
+  /**
+   * @param entry data file entry
+   * @return content of the data file, kept in memory or in a temporary file
+   */
+  protected DSSDocument extractDataFileDocument(ZipEntry entry) {
+    return extractStreamDocument(entry);
+  }
+
   private DSSDocument extractStreamDocument(ZipEntry entry) {
-    logger.debug("Zip entry size is <{}> bytes", entry.getSize());
+    if (logger.isDebugEnabled()) {
+      logger.debug("Zip entry size is <{}> bytes", entry.getSize());
+    }
     MimeType mimeTypeCode = MimeTypeUtil.mimeTypeOf(this.getDataFileMimeType(entry.getName()));
     if (this.storeDataFilesOnlyInMemory || entry.getSize() <= this.maxDataFileCachedInBytes) {
       return new InMemoryDocument(this.getZipEntryInputStream(entry), entry.getName(), mimeTypeCode);
     } else {
-      return new StreamDocument(this.getZipEntryInputStream(entry), entry.getName(), mimeTypeCode);
+      StreamDocument document = new StreamDocument(this.getZipEntryInputStream(entry), entry.getName(), mimeTypeCode,
+          this.temporaryFileManager);
+      if (Metrics.isEnabled(this.metricsRegistry)) {
+        this.metricsRegistry.increment(MetricsRegistry.TEMP_FILES, 1);
+        this.metricsRegistry.increment(MetricsRegistry.TEMP_FILE_BYTES, new File(document.getAbsolutePath()).length());
+      }
+      return document;
     }
   }
 
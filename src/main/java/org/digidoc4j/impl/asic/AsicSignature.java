@@ -9,6 +9,7 @@ import org.apache.commons.io.IOUtils;
 import org.digidoc4j.Signature;
 import org.digidoc4j.SignatureProfile;
 import org.digidoc4j.SignatureValidationResult;
+import org.digidoc4j.ValidationMode;
 import org.digidoc4j.X509Cert;
 import org.digidoc4j.exceptions.DigiDoc4JException;
 import org.digidoc4j.exceptions.NotYetImplementedException;
@@ -189,14 +190,28 @@ public class AsicSignature implements Signature {
 
   @Override
   public SignatureValidationResult validateSignature() {
+    return validateSignature(ValidationMode.FULL);
+  }
+
+  /**
+   * Validates the signature in the given mode. The result of a full validation is kept and returned by later calls
+   * in any mode; a fast verdict result is not kept, as it holds only the first error of the signature.
+   *
+   * @param validationMode validation mode
+   * @return validation result
+   */
+  public synchronized SignatureValidationResult validateSignature(ValidationMode validationMode) {
     logger.debug("Validating signature");
-    if (validationResult == null) {
-      validationResult = validator.extractValidationErrors();
-      logger.info("Signature has " + validationResult.getErrors().size() + " validation errors and " + validationResult.getWarnings().size() + " warnings");
-    } else {
-      logger.debug("Using existing validation errors with " + validationResult.getErrors().size() + " validation errors and " + validationResult.getWarnings().size() + " warnings");
+    if (validationResult != null) {
+      logger.debug("Using existing validation errors with " + validationResult.getFindings().size() + " validation errors and warnings");
+      return validationResult;
+    }
+    SignatureValidationResult result = validator.extractValidationErrors(validationMode);
+    logger.info("Signature has " + result.getFindings().size() + " validation errors and warnings");
+    if (validationMode == ValidationMode.FULL) {
+      validationResult = result;
     }
-    return validationResult;
+    return result;
   }
 
   @Override
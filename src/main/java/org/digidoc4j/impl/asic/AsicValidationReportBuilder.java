@@ -10,32 +10,24 @@
 
 package org.digidoc4j.impl.asic;
 
-import java.io.ByteArrayInputStream;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.StringWriter;
-import java.io.UnsupportedEncodingException;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-
 import org.digidoc4j.SignatureValidationResult;
-import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.ValidationFinding;
 import org.digidoc4j.exceptions.TechnicalException;
 import org.digidoc4j.impl.asic.report.ContainerValidationReport;
 import org.digidoc4j.impl.asic.report.SignatureValidationReport;
 import org.digidoc4j.impl.asic.report.SignatureValidationReportCreator;
+import org.digidoc4j.impl.asic.report.ValidationReportSerializer;
+import org.digidoc4j.impl.asic.report.ValidationReportWriter;
 import org.digidoc4j.impl.asic.xades.validation.SignatureValidationData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.jaxb.simplereport.SimpleReport;
 import eu.europa.esig.dss.jaxb.simplereport.XmlPolicy;
 import eu.europa.esig.dss.validation.reports.Reports;
@@ -46,15 +38,16 @@ import eu.europa.esig.dss.validation.reports.Reports;
 public class AsicValidationReportBuilder {
 
   private static final Logger logger = LoggerFactory.getLogger(AsicValidationReportBuilder.class);
-  private List<DigiDoc4JException> manifestErrors;
+  private List<ValidationFinding> manifestErrors;
   private List<SignatureValidationData> signatureValidationData;
   private String reportInXml;
+  private ContainerValidationReport containerValidationReport;
 
   /**
    * @param signatureValidationData list of signature validation data
    * @param manifestErrors list of manifest errors
    */
-  public AsicValidationReportBuilder(List<SignatureValidationData> signatureValidationData, List<DigiDoc4JException> manifestErrors) {
+  public AsicValidationReportBuilder(List<SignatureValidationData> signatureValidationData, List<ValidationFinding> manifestErrors) {
     logger.debug("Initializing ASiC validation report builder");
     this.manifestErrors = manifestErrors;
     this.signatureValidationData = signatureValidationData;
@@ -62,7 +55,7 @@ public class AsicValidationReportBuilder {
 
   public String buildXmlReport() {
     if (reportInXml == null) {
-      reportInXml = generateNewReport();
+      reportInXml = createFormattedXmlString(getContainerValidationReport());
     }
     return reportInXml;
   }
@@ -95,55 +88,67 @@ public class AsicValidationReportBuilder {
    * @param directory Directory where to save XML files.
    */
   public void saveXmlReports(Path directory) {
-    InputStream is;
+    saveXmlReports(directory, ValidationReportWriter.FORMATTED);
+  }
+
+  /**
+   * Save DSS validation reports in given directory. Reports are marshalled straight to the files.
+   *
+   * @param directory Directory where to save the files.
+   * @param writer    writer deciding the format and compression of the files.
+   */
+  public void saveXmlReports(Path directory, ValidationReportWriter writer) {
+    String extension = writer.getFileExtension();
+    saveXmlReport(writer, getContainerValidationReport(), directory.resolve("validationReport" + extension));
+    logger.info("Validation report is generated");
+    for (int i = 0; i < signatureValidationData.size(); i++) {
+      Reports reports = signatureValidationData.get(i).getReport().getReport();
+      saveXmlReport(writer, reports.getDiagnosticDataJaxb(),
+          directory.resolve("validationDiagnosticData" + i + extension));
+      logger.info("Validation diagnostic data report is generated");
+      saveXmlReport(writer, reports.getSimpleReportJaxb(), directory.resolve("validationSimpleReport" + i + extension));
+      logger.info("Validation simple report is generated");
+      saveXmlReport(writer, reports.getDetailedReportJaxb(), directory.resolve("validationDetailReport" + i + extension));
+      logger.info("Validation detailed report is generated");
+    }
+  }
+
+  /**
+   * Write the container validation report to a stream without building it as a string.
+   *
+   * @param stream stream to write to, not closed.
+   * @param writer writer deciding the format and compression of the report.
+   */
+  public void writeXmlReport(OutputStream stream, ValidationReportWriter writer) {
+    writer.write(getContainerValidationReport(), stream);
+  }
+
+  /**
+   * Write the container validation report to a stream as JSON or CBOR.
+   *
+   * @param stream     stream to write to, not closed.
+   * @param serializer serializer deciding the encoding and the parts of the report.
+   */
+  public void writeReport(OutputStream stream, ValidationReportSerializer serializer) {
+    serializer.serialize(getContainerValidationReport(), stream);
+  }
+
+  private void saveXmlReport(ValidationReportWriter writer, Object report, Path file) {
     try {
-      is = new ByteArrayInputStream(this.buildXmlReport().getBytes("UTF-8"));
-      DSSUtils.saveToFile(is, directory + File.separator + "validationReport.xml");
-      logger.info("Validation report is generated");
-    } catch (UnsupportedEncodingException e) {
-      logger.error(e.getMessage());
-    } catch (IOException e) {
+      writer.write(report, file);
+    } catch (TechnicalException e) {
       logger.error(e.getMessage());
     }
-    if (!signatureValidationData.isEmpty()) {
-      int n = signatureValidationData.size();
-      for (int i = 0; i < n; i++) {
-        SignatureValidationData validationData = signatureValidationData.get(i);
-        Reports reports = validationData.getReport().getReport();
-        try {
-          is = new ByteArrayInputStream(reports.getXmlDiagnosticData().getBytes("UTF-8"));
-          DSSUtils.saveToFile(is, directory + File.separator + "validationDiagnosticData" + Integer.toString(i) + ".xml");
-          logger.info("Validation diagnostic data report is generated");
-        } catch (UnsupportedEncodingException e) {
-          logger.error(e.getMessage());
-        } catch (IOException e) {
-          logger.error(e.getMessage());
-        }
-
-        try {
-          is = new ByteArrayInputStream(reports.getXmlSimpleReport().getBytes("UTF-8"));
-          DSSUtils.saveToFile(is, directory + File.separator + "validationSimpleReport" + Integer.toString(i) + ".xml");
-          logger.info("Validation simple report is generated");
-        } catch (UnsupportedEncodingException e) {
-          logger.error(e.getMessage());
-        } catch (IOException e) {
-          logger.error(e.getMessage());
-        }
-
-        try {
-          is = new ByteArrayInputStream(reports.getXmlDetailedReport().getBytes("UTF-8"));
-          DSSUtils.saveToFile(is, directory + File.separator + "validationDetailReport" + Integer.toString(i) + ".xml");
-          logger.info("Validation detailed report is generated");
-        } catch (UnsupportedEncodingException e) {
-          logger.error(e.getMessage());
-        } catch (IOException e) {
-          logger.error(e.getMessage());
-        }
-      }
+  }
+
+  private ContainerValidationReport getContainerValidationReport() {
+    if (containerValidationReport == null) {
+      containerValidationReport = generateNewReport();
     }
+    return containerValidationReport;
   }
 
-  private String generateNewReport() {
+  private ContainerValidationReport generateNewReport() {
     logger.debug("Generating a new XML validation report");
     ContainerValidationReport report = new ContainerValidationReport();
     report.setPolicy(extractValidationPolicy());
@@ -152,7 +157,7 @@ public class AsicValidationReportBuilder {
     report.setValidSignaturesCount(extractValidSignaturesCount());
     report.setSignatures(createSignaturesValidationReport());
     report.setContainerErrors(createContainerErrors());
-    return createFormattedXmlString(report);
+    return report;
   }
 
   private List<SignatureValidationReport> createSignaturesValidationReport() {
@@ -186,24 +191,15 @@ public class AsicValidationReportBuilder {
 
   private List<String> createContainerErrors() {
     List<String> containerErrors = new ArrayList<>();
-    for (DigiDoc4JException manifestError : manifestErrors) {
+    for (ValidationFinding manifestError : manifestErrors) {
       containerErrors.add(manifestError.getMessage());
     }
     return containerErrors;
   }
 
   private String createFormattedXmlString(ContainerValidationReport simpleReport) {
-    try {
-      JAXBContext context = JAXBContext.newInstance(ContainerValidationReport.class);
-      Marshaller marshaller = context.createMarshaller();
-      marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-      StringWriter stringWriter = new StringWriter();
-      marshaller.marshal(simpleReport, stringWriter);
-      String xmlReport = stringWriter.toString();
-      logger.trace(xmlReport);
-      return xmlReport;
-    } catch (JAXBException e) {
-      throw new TechnicalException("Failed to create validation report in XML: " + e.getMessage(), e);
-    }
+    String xmlReport = ValidationReportWriter.FORMATTED.writeToString(simpleReport);
+    logger.trace(xmlReport);
+    return xmlReport;
   }
 }
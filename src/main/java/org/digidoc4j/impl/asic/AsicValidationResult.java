@@ -10,14 +10,20 @@
 
 package org.digidoc4j.impl.asic;
 
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
+import org.digidoc4j.ValidationFinding;
 import org.digidoc4j.ValidationResult;
 import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.exceptions.NotSupportedException;
+import org.digidoc4j.impl.asic.report.ReportWriter;
 import org.digidoc4j.impl.asic.report.SignatureValidationReport;
+import org.digidoc4j.impl.asic.report.ValidationReportSerializer;
+import org.digidoc4j.impl.asic.report.ValidationReportWriter;
 
 import eu.europa.esig.dss.validation.SignatureQualification;
 import eu.europa.esig.dss.validation.policy.rules.Indication;
@@ -29,33 +35,46 @@ import eu.europa.esig.dss.validation.reports.SimpleReport;
  * <p>
  * For BDOC the ValidationResult contains only information for the first signature of each signature XML file
  */
-public class AsicValidationResult implements ValidationResult {
+public class AsicValidationResult implements ValidationResult, ReportWriter {
 
-  private List<DigiDoc4JException> errors = new ArrayList<>();
-  private List<DigiDoc4JException> warnings = new ArrayList<>();
-  private List<DigiDoc4JException> containerErrorsOnly = new ArrayList<>();
+  private List<ValidationFinding> findings = new ArrayList<>();
+  private List<ValidationFinding> containerFindings = new ArrayList<>();
+  private List<DigiDoc4JException> errors;
+  private List<DigiDoc4JException> warnings;
+  private List<DigiDoc4JException> containerErrorsOnly;
   private AsicValidationReportBuilder reportBuilder;
   private List<SimpleReport> simpleReports = new ArrayList<>();
 
   @Override
   public List<DigiDoc4JException> getErrors() {
+    if (errors == null) {
+      errors = ValidationFinding.toExceptions(findings, ValidationFinding.Severity.ERROR);
+    }
     return errors;
   }
 
   @Override
   public List<DigiDoc4JException> getWarnings() {
+    if (warnings == null) {
+      warnings = ValidationFinding.toExceptions(findings, ValidationFinding.Severity.WARNING);
+    }
     return warnings;
   }
 
+  @Override
+  public List<ValidationFinding> getFindings() {
+    return findings;
+  }
+
   @Override
   @Deprecated
   public boolean hasErrors() {
-    return !errors.isEmpty();
+    return ValidationFinding.contains(findings, ValidationFinding.Severity.ERROR);
   }
 
   @Override
   public boolean hasWarnings() {
-    return !warnings.isEmpty();
+    return ValidationFinding.contains(findings, ValidationFinding.Severity.WARNING);
   }
 
   @Override
@@ -65,12 +84,12 @@ public class AsicValidationResult implements ValidationResult {
 
   @Override
   public String getReport() {
-    return reportBuilder.buildXmlReport();
+    return getReportBuilder().buildXmlReport();
   }
 
   @Override
   public List<SignatureValidationReport> getSignatureReports() {
-    return reportBuilder.buildSignatureValidationReports();
+    return getReportBuilder().buildSignatureValidationReports();
   }
 
   @Override
@@ -80,7 +99,7 @@ public class AsicValidationResult implements ValidationResult {
 
   private List<SimpleReport> buildSignatureSimpleReports() {
     if (simpleReports.isEmpty()) {
-      simpleReports = reportBuilder.buildSignatureSimpleReports();
+      simpleReports = getReportBuilder().buildSignatureSimpleReports();
     }
     return simpleReports;
   }
@@ -133,6 +152,9 @@ public class AsicValidationResult implements ValidationResult {
 
   @Override
   public List<DigiDoc4JException> getContainerErrors() {
+    if (containerErrorsOnly == null) {
+      containerErrorsOnly = ValidationFinding.toExceptions(containerFindings, ValidationFinding.Severity.ERROR);
+    }
     return containerErrorsOnly;
   }
 
@@ -144,16 +166,64 @@ public class AsicValidationResult implements ValidationResult {
   @Override
   public void saveXmlReports(Path directory) {
     if (directory != null) {
-      reportBuilder.saveXmlReports(directory);
+      getReportBuilder().saveXmlReports(directory);
+    }
+  }
+
+  /**
+   * Save DSS validation reports in given directory, e.g. compact and gzipped for an audit trail.
+   *
+   * @param directory Directory where to save the files. When null then do nothing.
+   * @param writer    writer deciding the format and compression of the files.
+   */
+  public void saveXmlReports(Path directory, ValidationReportWriter writer) {
+    if (directory != null) {
+      getReportBuilder().saveXmlReports(directory, writer);
     }
   }
 
+  /**
+   * Write the container validation report to a stream.
+   *
+   * @param stream stream to write to, not closed.
+   * @param writer writer deciding the format and compression of the report.
+   */
+  public void writeXmlReport(OutputStream stream, ValidationReportWriter writer) {
+    getReportBuilder().writeXmlReport(stream, writer);
+  }
+
+  /**
+   * Write the container validation report to a stream as JSON or CBOR instead of XML.
+   *
+   * @param stream     stream to write to, not closed.
+   * @param serializer serializer deciding the encoding and the parts of the report.
+   */
+  @Override
+  public void writeReport(OutputStream stream, ValidationReportSerializer serializer) {
+    getReportBuilder().writeReport(stream, serializer);
+  }
+
+  /**
+   * Set errors and warnings. Their exceptions are created when they are asked for.
+   *
+   * @param findings          errors and warnings of the signatures and the container
+   * @param containerFindings errors of the container only
+   */
+  public void setFindings(List<ValidationFinding> findings, List<ValidationFinding> containerFindings) {
+    this.findings = findings;
+    this.containerFindings = containerFindings;
+    this.errors = null;
+    this.warnings = null;
+    this.containerErrorsOnly = null;
+  }
+
   /**
    * Set container errors only.
    *
    * @param containerErrorsOnly
    */
   public void setContainerErrorsOnly(List<DigiDoc4JException> containerErrorsOnly) {
+    this.containerFindings = ValidationFinding.of(containerErrorsOnly, ValidationFinding.Severity.ERROR);
     this.containerErrorsOnly = containerErrorsOnly;
   }
 
@@ -163,6 +233,7 @@ public class AsicValidationResult implements ValidationResult {
    * @param errors
    */
   public void setErrors(List<DigiDoc4JException> errors) {
+    replaceFindings(ValidationFinding.Severity.ERROR, errors);
     this.errors = errors;
   }
 
@@ -172,6 +243,7 @@ public class AsicValidationResult implements ValidationResult {
    * @param warnings
    */
   public void setWarnings(List<DigiDoc4JException> warnings) {
+    replaceFindings(ValidationFinding.Severity.WARNING, warnings);
     this.warnings = warnings;
   }
 
@@ -183,4 +255,22 @@ public class AsicValidationResult implements ValidationResult {
   public void setReportBuilder(AsicValidationReportBuilder reportBuilder) {
     this.reportBuilder = reportBuilder;
   }
+
+  private AsicValidationReportBuilder getReportBuilder() {
+    if (reportBuilder == null) {
+      throw new NotSupportedException("Validation reports are not available in fast verdict validation mode");
+    }
+    return reportBuilder;
+  }
+
+  private void replaceFindings(ValidationFinding.Severity severity, List<DigiDoc4JException> exceptions) {
+    List<ValidationFinding> result = new ArrayList<>();
+    for (ValidationFinding finding : findings) {
+      if (finding.getSeverity() != severity) {
+        result.add(finding);
+      }
+    }
+    result.addAll(ValidationFinding.of(exceptions, severity));
+    findings = result;
+  }
 }
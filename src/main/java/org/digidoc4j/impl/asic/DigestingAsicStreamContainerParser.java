@@ -0,0 +1,87 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.asic;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.codec.binary.Base64;
+import org.digidoc4j.Configuration;
+import org.digidoc4j.DigestAlgorithm;
+import org.digidoc4j.exceptions.TechnicalException;
+import org.digidoc4j.impl.CryptoPrimitives;
+import org.digidoc4j.utils.MimeTypeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DigestDocument;
+
+/**
+ * ASIC container parser from input stream that keeps only the digests of the data files.
+ * <p>
+ * Data files are digested as their zip entries are read and their content is dropped, so memory use does not depend
+ * on the size of the data files. The signatures usually come after the data files, so the digests are calculated
+ * with every given algorithm. The parse result can be validated, but the content of its data files can not be read.
+ * </p>
+ */
+public class DigestingAsicStreamContainerParser extends AsicStreamContainerParser {
+
+  private static final Logger logger = LoggerFactory.getLogger(DigestingAsicStreamContainerParser.class);
+  private static final int BUFFER_SIZE = 8 * 1024;
+  private final List<DigestAlgorithm> digestAlgorithms;
+
+  /**
+   * @param inputStream      input stream
+   * @param configuration    configuration
+   * @param digestAlgorithms algorithms to digest the data files with
+   */
+  public DigestingAsicStreamContainerParser(InputStream inputStream, Configuration configuration,
+                                            List<DigestAlgorithm> digestAlgorithms) {
+    super(inputStream, configuration);
+    this.digestAlgorithms = new ArrayList<>(digestAlgorithms);
+  }
+
+  @Override
+  protected DSSDocument extractDataFileDocument(ZipEntry entry) {
+    logger.debug("Digesting data file {}", entry.getName());
+    List<MessageDigest> digests = new ArrayList<>(digestAlgorithms.size());
+    for (DigestAlgorithm digestAlgorithm : digestAlgorithms) {
+      digests.add(CryptoPrimitives.getMessageDigest(digestAlgorithm.getDssDigestAlgorithm().getJavaName()));
+    }
+    InputStream stream = getZipEntryInputStream(entry);
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try {
+      int length;
+      while ((length = stream.read(buffer)) != -1) {
+        for (MessageDigest digest : digests) {
+          digest.update(buffer, 0, length);
+        }
+      }
+    } catch (IOException e) {
+      logger.error("Error digesting data file " + entry.getName() + ": " + e.getMessage());
+      throw new TechnicalException("Error digesting data file " + entry.getName() + ": " + e.getMessage(), e);
+    }
+    DigestDocument document = new DigestDocument();
+    document.setName(entry.getName());
+    document.setMimeType(MimeTypeUtil.mimeTypeOf(getDataFileMimeType(entry.getName())));
+    for (int i = 0; i < digestAlgorithms.size(); i++) {
+      document.addDigest(digestAlgorithms.get(i).getDssDigestAlgorithm(),
+          Base64.encodeBase64String(digests.get(i).digest()));
+    }
+    return document;
+  }
+
+}
@@ -0,0 +1,211 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.asic;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.digidoc4j.Signature;
+import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.exceptions.TechnicalException;
+import org.digidoc4j.impl.asic.xades.validation.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSDocument;
+
+/**
+ * List of container signatures parsed from the signature documents on first access.
+ * <p>
+ * Size of the list is known without parsing, every signature is parsed when it is accessed for the first time. Like
+ * {@link ArrayList}, the list must not be structurally modified concurrently, but signatures can be accessed and
+ * parsed from several threads.
+ * </p>
+ */
+class LazySignatureList extends AbstractList<Signature> implements Serializable {
+
+  private static final Logger logger = LoggerFactory.getLogger(LazySignatureList.class);
+  private final List<Entry> entries;
+  private final transient SignatureParser parser;
+
+  /**
+   * Parser of a single signature document
+   */
+  interface SignatureParser {
+
+    Signature parse(DSSDocument signatureDocument);
+
+  }
+
+  LazySignatureList(List<DSSDocument> signatureDocuments, SignatureParser parser) {
+    this.entries = new ArrayList<>(signatureDocuments.size());
+    this.parser = parser;
+    for (DSSDocument signatureDocument : signatureDocuments) {
+      this.entries.add(new Entry(signatureDocument));
+    }
+  }
+
+  @Override
+  public Signature get(int index) {
+    return entries.get(index).getSignature(parser);
+  }
+
+  @Override
+  public Signature set(int index, Signature signature) {
+    Signature previous = get(index);
+    entries.set(index, new Entry(signature));
+    return previous;
+  }
+
+  @Override
+  public void add(int index, Signature signature) {
+    entries.add(index, new Entry(signature));
+    modCount++;
+  }
+
+  @Override
+  public Signature remove(int index) {
+    Signature signature = get(index);
+    entries.remove(index);
+    modCount++;
+    return signature;
+  }
+
+  /**
+   * Signatures not accessed yet cannot be held by anyone, so only parsed signatures are compared
+   */
+  @Override
+  public int indexOf(Object object) {
+    for (int i = 0; i < entries.size(); i++) {
+      Signature signature = entries.get(i).signature;
+      if (signature != null && signature.equals(object)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean contains(Object object) {
+    return indexOf(object) >= 0;
+  }
+
+  @Override
+  public boolean remove(Object object) {
+    int index = indexOf(object);
+    if (index < 0) {
+      return false;
+    }
+    remove(index);
+    return true;
+  }
+
+  @Override
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return number of signatures parsed so far
+   */
+  int getParsedCount() {
+    int count = 0;
+    for (Entry entry : entries) {
+      if (entry.signature != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Parses all the signatures not parsed yet in parallel
+   *
+   * @param threadPoolManager thread pool for parsing
+   */
+  void parseAll(ThreadPoolManager threadPoolManager) {
+    List<Future<Signature>> futures = new ArrayList<>();
+    for (final Entry entry : entries) {
+      if (entry.signature == null) {
+        futures.add(threadPoolManager.submit(new Callable<Signature>() {
+
+          @Override
+          public Signature call() {
+            return entry.getSignature(parser);
+          }
+
+        }));
+      }
+    }
+    logger.debug("Parsing {} signatures in parallel", futures.size());
+    for (Future<Signature> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new TechnicalException("Interrupted while parsing signatures", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof DigiDoc4JException) {
+          throw (DigiDoc4JException) e.getCause();
+        }
+        throw new TechnicalException("Error parsing signatures on multiple threads: " + e.getMessage(), e.getCause());
+      }
+    }
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  /**
+   * Serialized as a plain list of parsed signatures as the parser is bound to the container
+   */
+  private Object writeReplace() {
+    return new ArrayList<>(this);
+  }
+
+  private static class Entry {
+
+    private final DSSDocument signatureDocument;
+    private volatile Signature signature;
+
+    Entry(DSSDocument signatureDocument) {
+      this.signatureDocument = signatureDocument;
+    }
+
+    Entry(Signature signature) {
+      this.signatureDocument = null;
+      this.signature = signature;
+    }
+
+    Signature getSignature(SignatureParser parser) {
+      Signature result = signature;
+      if (result == null) {
+        synchronized (this) {
+          result = signature;
+          if (result == null) {
+            logger.debug("Parsing signature {} on first access", signatureDocument.getName());
+            result = parser.parse(signatureDocument);
+            signature = result;
+          }
+        }
+      }
+      return result;
+    }
+
+  }
+
+}
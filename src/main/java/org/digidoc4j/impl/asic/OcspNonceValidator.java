@@ -60,7 +60,7 @@ public class OcspNonceValidator implements Serializable {
       return true;
     }
     if (ocspResponse == null) {
-      logger.debug("OCSP response was not found in signature: " + signature.getId());
+      logger.debug("OCSP response was not found in signature: {}", signature.getId());
       return true;
     }
     return isOcspResponseValid(ocspResponse);
@@ -102,7 +102,7 @@ public class OcspNonceValidator implements Serializable {
       ASN1Sequence seq = ASN1Sequence.getInstance(octets);
       byte[] foundHash = ((DEROctetString) seq.getObjectAt(1)).getOctets();
       boolean extensionHashMatchesSignatureHash = Arrays.equals(foundHash, signatureDigestValue);
-      logger.debug("OCSP extension contains valid signature digest: " + extensionHashMatchesSignatureHash);
+      logger.debug("OCSP extension contains valid signature digest: {}", extensionHashMatchesSignatureHash);
       return extensionHashMatchesSignatureHash;
     } catch (Exception e) {
       logger.error("Invalid nonce format: " + e.getMessage());
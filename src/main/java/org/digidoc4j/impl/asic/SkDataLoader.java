@@ -23,8 +23,10 @@ import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.util.EntityUtils;
 import org.digidoc4j.Configuration;
+import org.digidoc4j.MetricsRegistry;
 import org.digidoc4j.SignatureProfile;
 import org.digidoc4j.exceptions.TechnicalException;
+import org.digidoc4j.impl.Metrics;
 import org.digidoc4j.utils.Helper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +40,7 @@ public class SkDataLoader extends CommonsDataLoader {
   private static final Logger logger = LoggerFactory.getLogger(SkDataLoader.class);
   public static final String TIMESTAMP_CONTENT_TYPE = "application/timestamp-query";
   private String userAgent;
+  private transient MetricsRegistry metricsRegistry;
 
   public static SkDataLoader createOcspDataLoader(Configuration configuration) {
     SkDataLoader dataLoader = new SkDataLoader(configuration);
@@ -54,6 +57,7 @@ public class SkDataLoader extends CommonsDataLoader {
   protected SkDataLoader(Configuration configuration) {
     DataLoaderDecorator.decorateWithProxySettings(this, configuration);
     DataLoaderDecorator.decorateWithSslSettings(this, configuration);
+    metricsRegistry = configuration.getMetricsRegistry();
   }
 
   @Override
@@ -66,6 +70,8 @@ public class SkDataLoader extends CommonsDataLoader {
     HttpPost httpRequest = null;
     HttpResponse httpResponse = null;
     CloseableHttpClient client = null;
+    Metrics.Timer timer = Metrics.startTimer(metricsRegistry, TIMESTAMP_CONTENT_TYPE.equals(contentType)
+        ? MetricsRegistry.TIMESTAMP_REQUEST : MetricsRegistry.OCSP_REQUEST);
 
     try {
       final URI uri = URI.create(url.trim());
@@ -89,9 +95,14 @@ public class SkDataLoader extends CommonsDataLoader {
       httpResponse = getHttpResponse(client, httpRequest, url);
 
       final byte[] returnedBytes = readHttpResponse(url, httpResponse);
+      timer.stop();
       return returnedBytes;
     } catch (IOException e) {
+      timer.failed(e);
       throw new DSSException(e);
+    } catch (RuntimeException e) {
+      timer.failed(e);
+      throw e;
     } finally {
       try {
         if (httpRequest != null) {
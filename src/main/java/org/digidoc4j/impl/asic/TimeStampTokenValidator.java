@@ -3,6 +3,7 @@ package org.digidoc4j.impl.asic;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,19 +28,39 @@ import org.bouncycastle.tsp.TimeStampToken;
 import org.digidoc4j.DataFile;
 import org.digidoc4j.ValidationResult;
 import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.exceptions.TechnicalException;
 import org.digidoc4j.utils.DateUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.DigestAlgorithm;
 
 /**
  * Created by Andrei on 24.11.2017.
+ * <p>
+ * The data file is digested as a stream with the algorithm of the token's message imprint, so it is never loaded
+ * into memory.
+ * </p>
  */
 public class TimeStampTokenValidator {
 
   private static final Logger logger = LoggerFactory.getLogger(TimeStampTokenValidator.class);
+  private static final JcaSimpleSignerInfoVerifierBuilder verifierBuilder =
+      new JcaSimpleSignerInfoVerifierBuilder().setProvider(BouncyCastleProvider.PROVIDER_NAME);
+  private static final ThreadLocal<CertificateFactory> certificateFactory = new ThreadLocal<CertificateFactory>() {
+
+    @Override
+    protected CertificateFactory initialValue() {
+      try {
+        return CertificateFactory.getInstance("X.509");
+      } catch (CertificateException e) {
+        throw new TechnicalException("Unable to create X.509 certificate factory", e);
+      }
+    }
+
+  };
 
   private AsicParseResult containerParseResult;
 
@@ -66,7 +87,7 @@ public class TimeStampTokenValidator {
     String signedBy = getTimeStampTokenSigner(timeStampToken);
 
     TimeStampValidationResult timeStampValidationResult = generateTimeStampValidationResult(signedTime, signedBy, errors, timeStampToken);
-    logger.info("Is container valid: " + timeStampValidationResult.isValid());
+    logger.info("Is container valid: {}", timeStampValidationResult.isValid());
     return timeStampValidationResult;
   }
 
@@ -98,8 +119,7 @@ public class TimeStampTokenValidator {
       errors.add(new DigiDoc4JException("Signature not intact"));
     }
 
-    byte[] dataFileBytes = datafile.getBytes();
-    boolean isMessageImprintsValid = isMessageImprintsValid(dataFileBytes, timeStampToken);
+    boolean isMessageImprintsValid = isMessageImprintsValid(datafile, timeStampToken);
     if (isSignatureValid && !isMessageImprintsValid) {
       errors.add(new DigiDoc4JException("Signature not intact"));
     }
@@ -110,8 +130,16 @@ public class TimeStampTokenValidator {
     return errors;
   }
 
-  private boolean isMessageImprintsValid(byte[] dataFileBytes, TimeStampToken timeStampToken) {
-    final byte[] digestValue = DSSUtils.digest(DigestAlgorithm.SHA256, dataFileBytes);
+  private boolean isMessageImprintsValid(DataFile datafile, TimeStampToken timeStampToken) {
+    String algorithmOid = timeStampToken.getTimeStampInfo().getMessageImprintAlgOID().getId();
+    DigestAlgorithm digestAlgorithm;
+    try {
+      digestAlgorithm = DigestAlgorithm.forOID(algorithmOid);
+    } catch (DSSException e) {
+      logger.error("Unsupported message imprint algorithm: {}", algorithmOid);
+      return false;
+    }
+    final byte[] digestValue = DSSUtils.digest(digestAlgorithm, datafile.getDocument());
     byte[] messageImprintDigest = timeStampToken.getTimeStampInfo().getMessageImprintDigest();
     return Arrays.equals(messageImprintDigest, digestValue);
   }
@@ -122,13 +150,11 @@ public class TimeStampTokenValidator {
 
   private boolean isSignatureValid(TimeStampToken timeStampToken) {
     try {
-      JcaSimpleSignerInfoVerifierBuilder sigVerifierBuilder = new JcaSimpleSignerInfoVerifierBuilder();
       Collection certCollection = timeStampToken.getCertificates().getMatches(timeStampToken.getSID());
       Iterator certIt = certCollection.iterator();
       X509CertificateHolder cert = (X509CertificateHolder) certIt.next();
-      Certificate x509Cert = CertificateFactory.getInstance("X.509").generateCertificate(new ByteArrayInputStream(cert.getEncoded()));
-
-      SignerInformationVerifier signerInfoVerifier = sigVerifierBuilder.setProvider(BouncyCastleProvider.PROVIDER_NAME).build(x509Cert.getPublicKey());
+      Certificate x509Cert = certificateFactory.get().generateCertificate(new ByteArrayInputStream(cert.getEncoded()));
+      SignerInformationVerifier signerInfoVerifier = verifierBuilder.build(x509Cert.getPublicKey());
       return timeStampToken.isSignatureValid(signerInfoVerifier);
     } catch (Exception e) {
       throw new DigiDoc4JException(e);
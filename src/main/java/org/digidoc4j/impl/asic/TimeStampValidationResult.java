@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.bouncycastle.tsp.TimeStampToken;
+import org.digidoc4j.ValidationFinding;
 import org.digidoc4j.ValidationResult;
 import org.digidoc4j.exceptions.DigiDoc4JException;
 import org.digidoc4j.exceptions.NotSupportedException;
@@ -87,6 +88,11 @@ public class TimeStampValidationResult implements ValidationResult {
     throw new NotSupportedException("Not Supported in case of timestamp token");
   }
 
+  @Override
+  public List<ValidationFinding> getFindings() {
+    return ValidationFinding.of(errors, ValidationFinding.Severity.ERROR);
+  }
+
   /**
    * Set Errors.
    *
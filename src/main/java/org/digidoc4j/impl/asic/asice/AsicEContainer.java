@@ -11,6 +11,7 @@ import org.digidoc4j.Signature;
 import org.digidoc4j.SignatureProfile;
 import org.digidoc4j.impl.asic.AsicContainer;
 import org.digidoc4j.impl.asic.AsicContainerCreator;
+import org.digidoc4j.impl.asic.AsicParseResult;
 import org.digidoc4j.utils.Helper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +24,7 @@ import eu.europa.esig.dss.DSSDocument;
  */
 public class AsicEContainer extends AsicContainer {
 
+  private static final long serialVersionUID = 683233188286077171L;
   private static final Logger logger = LoggerFactory.getLogger(AsicEContainer.class);
 
   /**
@@ -123,6 +125,27 @@ public class AsicEContainer extends AsicContainer {
     super(stream, configuration, containerType);
   }
 
+  /**
+   * AsicEContainer constructor
+   *
+   * @param parseResult parsed container
+   * @param configuration configuration
+   */
+  public AsicEContainer(AsicParseResult parseResult, Configuration configuration) {
+    super(parseResult, configuration, Constant.ASICE_CONTAINER_TYPE);
+  }
+
+  /**
+   * AsicEContainer constructor for subclasses
+   *
+   * @param parseResult parsed container
+   * @param configuration configuration
+   * @param containerType type
+   */
+  protected AsicEContainer(AsicParseResult parseResult, Configuration configuration, String containerType) {
+    super(parseResult, configuration, containerType);
+  }
+
   @Override
   public void save(OutputStream out) {
     writeAsicContainer(new AsicContainerCreator(out));
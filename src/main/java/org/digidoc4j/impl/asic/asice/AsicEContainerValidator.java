@@ -14,16 +14,18 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
 
 import org.digidoc4j.Configuration;
 import org.digidoc4j.Signature;
 import org.digidoc4j.SignatureValidationResult;
+import org.digidoc4j.ValidationFinding;
+import org.digidoc4j.ValidationMode;
 import org.digidoc4j.ValidationResult;
-import org.digidoc4j.exceptions.DigiDoc4JException;
 import org.digidoc4j.exceptions.TechnicalException;
-import org.digidoc4j.exceptions.UnsupportedFormatException;
 import org.digidoc4j.impl.asic.AsicParseResult;
 import org.digidoc4j.impl.asic.AsicValidationReportBuilder;
 import org.digidoc4j.impl.asic.AsicValidationResult;
@@ -44,19 +46,20 @@ import eu.europa.esig.dss.DSSDocument;
 public class AsicEContainerValidator implements Serializable {
 
   private final static Logger logger = LoggerFactory.getLogger(AsicEContainerValidator.class);
-  private List<DigiDoc4JException> errors = new ArrayList<>();
-  private List<DigiDoc4JException> warnings = new ArrayList<>();
+  private List<ValidationFinding> findings = new ArrayList<>();
   private AsicParseResult containerParseResult;
   private boolean validateManifest;
   private List<SignatureValidationData> signatureValidationData = new ArrayList<>();
-  private List<DigiDoc4JException> manifestErrors;
+  private List<ValidationFinding> manifestErrors;
   private ThreadPoolManager threadPoolManager;
+  private ValidationMode validationMode;
 
   /**
    * @param configuration configuration
    */
   public AsicEContainerValidator(Configuration configuration) {
     threadPoolManager = new ThreadPoolManager(configuration);
+    validationMode = configuration.getValidationMode();
     validateManifest = false;
   }
 
@@ -67,6 +70,7 @@ public class AsicEContainerValidator implements Serializable {
   public AsicEContainerValidator(AsicParseResult containerParseResult, Configuration configuration) {
     this.containerParseResult = containerParseResult;
     threadPoolManager = new ThreadPoolManager(configuration);
+    validationMode = configuration.getValidationMode();
     validateManifest = true;
   }
 
@@ -76,13 +80,53 @@ public class AsicEContainerValidator implements Serializable {
    */
   public ValidationResult validate(List<Signature> signatures) {
     logger.debug("Validating container");
+    if (validationMode == ValidationMode.FAST_VERDICT) {
+      return validateFastVerdict(signatures);
+    }
     validateSignatures(signatures);
     extractManifestErrors(signatures);
     AsicValidationResult result = createValidationResult();
-    logger.info("Is container valid: " + result.isValid());
+    logger.info("Is container valid: {}", result.isValid());
+    return result;
+  }
+
+  private ValidationResult validateFastVerdict(List<Signature> signatures) {
+    extractManifestErrors(signatures);
+    if (findings.isEmpty()) {
+      validateSignaturesUntilFirstError(signatures);
+    }
+    AsicValidationResult result = new AsicValidationResult();
+    result.setFindings(findings, manifestErrors);
+    logger.info("Is container valid: {}", result.isValid());
     return result;
   }
 
+  private void validateSignaturesUntilFirstError(List<Signature> signatures) {
+    CompletionService<SignatureValidationData> completionService =
+        new ExecutorCompletionService<>(threadPoolManager.getThreadExecutor());
+    List<Future<SignatureValidationData>> futures = new ArrayList<>();
+    for (Signature signature : signatures) {
+      futures.add(completionService.submit(new SignatureValidationTask(signature, validationMode)));
+    }
+    try {
+      for (int i = 0; i < futures.size(); i++) {
+        SignatureValidationResult validationResult = completionService.take().get().getValidationResult();
+        if (!validationResult.isValid()) {
+          findings.addAll(validationResult.getFindings());
+          logger.debug("Container is invalid, skipping the remaining signatures");
+          return;
+        }
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      logger.error("Error validating signatures on multiple threads: " + e.getMessage());
+      throw new TechnicalException("Error validating signatures on multiple threads: " + e.getMessage(), e);
+    } finally {
+      for (Future<SignatureValidationData> future : futures) {
+        future.cancel(false);
+      }
+    }
+  }
+
   private void validateSignatures(List<Signature> signatures) {
     List<Future<SignatureValidationData>> validationData = startSignatureValidationInParallel(signatures);
     extractValidatedSignatureErrors(validationData);
@@ -119,46 +163,45 @@ public class AsicEContainerValidator implements Serializable {
   }
 
   private void extractSignatureErrors(SignatureValidationData validationData) {
-    logger.debug("Extracting signature errors for signature " + validationData.getSignatureId());
+    logger.debug("Extracting signature errors for signature {}", validationData.getSignatureId());
     signatureValidationData.add(validationData);
     SignatureValidationResult validationResult = validationData.getValidationResult();
-    List<DigiDoc4JException> signatureErrors = validationResult.getErrors();
-    errors.addAll(signatureErrors);
-    warnings.addAll(validationResult.getWarnings());
+    findings.addAll(validationResult.getFindings());
   }
 
   private void extractManifestErrors(List<Signature> signatures) {
     logger.debug("Extracting manifest errors");
     manifestErrors = findManifestErrors(signatures);
-    errors.addAll(manifestErrors);
+    findings.addAll(manifestErrors);
   }
 
   private AsicValidationResult createValidationResult() {
     AsicValidationReportBuilder reportBuilder = new AsicValidationReportBuilder(signatureValidationData, manifestErrors);
     AsicValidationResult result = new AsicValidationResult();
-    result.setErrors(errors);
-    result.setWarnings(warnings);
-    result.setContainerErrorsOnly(manifestErrors);
+    result.setFindings(findings, manifestErrors);
     result.setReportBuilder(reportBuilder);
     return result;
   }
 
-  private List<DigiDoc4JException> findManifestErrors(List<Signature> signatures) {
+  private List<ValidationFinding> findManifestErrors(List<Signature> signatures) {
     if (!validateManifest || containerParseResult == null) {
       return Collections.emptyList();
     }
     ManifestParser manifestParser = containerParseResult.getManifestParser();
     if (manifestParser == null || !manifestParser.containsManifestFile()) {
       logger.error("Container is missing manifest.xml");
-      List<DigiDoc4JException> manifestExceptions = new ArrayList<>();
-      manifestExceptions.add(new UnsupportedFormatException("Container does not contain a manifest file"));
+      List<ValidationFinding> manifestExceptions = new ArrayList<>();
+      manifestExceptions.add(ValidationFinding.error(ValidationFinding.Code.UNSUPPORTED_FORMAT,
+          "Container does not contain a manifest file", null));
       return manifestExceptions;
     }
-    List<DigiDoc4JException> manifestExceptions = new ArrayList<>();
+    List<ValidationFinding> manifestExceptions = new ArrayList<>();
     List<DSSDocument> detachedContents = containerParseResult.getDetachedContents();
-    List<ManifestErrorMessage> manifestErrorMessageList = new ManifestValidator(manifestParser, detachedContents, signatures).validateDocument();
+    List<ManifestErrorMessage> manifestErrorMessageList = new ManifestValidator(manifestParser, detachedContents, signatures,
+        threadPoolManager).validateDocument();
     for (ManifestErrorMessage manifestErrorMessage : manifestErrorMessageList) {
-      manifestExceptions.add(new DigiDoc4JException(manifestErrorMessage.getErrorMessage(), manifestErrorMessage.getSignatureId()));
+      manifestExceptions.add(ValidationFinding.error(ValidationFinding.Code.GENERAL,
+          manifestErrorMessage.getErrorMessage(), manifestErrorMessage.getSignatureId()));
     }
     return manifestExceptions;
   }
@@ -14,6 +14,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.digidoc4j.Configuration;
+import org.digidoc4j.MetricsRegistry;
+import org.digidoc4j.impl.Metrics;
 import org.digidoc4j.impl.asic.xades.XadesSignature;
 import org.digidoc4j.impl.asic.xades.XadesSignatureParser;
 import org.digidoc4j.impl.asic.xades.XadesValidationReportGenerator;
@@ -53,7 +55,9 @@ public class AsicESignatureOpener {
   public List<AsicESignature> parse(DSSDocument xadesDocument) {
     logger.debug("Parsing xades document");
     List<AsicESignature> signatures = new ArrayList<>(1);
+    Metrics.Timer timer = Metrics.startTimer(Metrics.registryOf(configuration), MetricsRegistry.SIGNATURE_OPEN);
     AsicESignature asicSignature = createAsicESignature(xadesDocument);
+    timer.stop();
     signatures.add(asicSignature);
     return signatures;
   }
@@ -19,6 +19,7 @@ import org.digidoc4j.Configuration;
 import org.digidoc4j.Constant;
 import org.digidoc4j.Signature;
 import org.digidoc4j.impl.asic.AsicContainerCreator;
+import org.digidoc4j.impl.asic.AsicParseResult;
 import org.digidoc4j.impl.asic.asice.AsicEContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +31,7 @@ import eu.europa.esig.dss.DSSDocument;
  */
 public class BDocContainer extends AsicEContainer {
 
+  private static final long serialVersionUID = 7253184102650064667L;
   private static final Logger logger = LoggerFactory.getLogger(BDocContainer.class);
 
   /**
@@ -88,6 +90,16 @@ public class BDocContainer extends AsicEContainer {
     super(stream, configuration, Constant.BDOC_CONTAINER_TYPE);
   }
 
+  /**
+   * BDocContainer constructor
+   *
+   * @param parseResult parsed container
+   * @param configuration configuration
+   */
+  public BDocContainer(AsicParseResult parseResult, Configuration configuration) {
+    super(parseResult, configuration, Constant.BDOC_CONTAINER_TYPE);
+  }
+
   @Override
   public void save(OutputStream out) {
     writeAsicContainer(new AsicContainerCreator(out));
@@ -14,6 +14,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.digidoc4j.Configuration;
+import org.digidoc4j.MetricsRegistry;
+import org.digidoc4j.impl.Metrics;
 import org.digidoc4j.impl.asic.xades.XadesSignature;
 import org.digidoc4j.impl.asic.xades.XadesSignatureParser;
 import org.digidoc4j.impl.asic.xades.XadesValidationReportGenerator;
@@ -50,7 +52,9 @@ public class BDocSignatureOpener {
   public List<BDocSignature> parse(DSSDocument xadesDocument) {
     logger.debug("Parsing xades document");
     List<BDocSignature> signatures = new ArrayList<>(1);
+    Metrics.Timer timer = Metrics.startTimer(Metrics.registryOf(configuration), MetricsRegistry.SIGNATURE_OPEN);
     BDocSignature bDocSignature = createBDocSignature(xadesDocument);
+    timer.stop();
     signatures.add(bDocSignature);
     return signatures;
   }
@@ -12,6 +12,7 @@ import org.digidoc4j.Signature;
 import org.digidoc4j.SignatureProfile;
 import org.digidoc4j.impl.asic.AsicContainer;
 import org.digidoc4j.impl.asic.AsicContainerCreator;
+import org.digidoc4j.impl.asic.AsicParseResult;
 import org.digidoc4j.impl.asic.asice.AsicESignature;
 import org.digidoc4j.impl.asic.asice.AsicESignatureOpener;
 import org.digidoc4j.utils.Helper;
@@ -70,6 +71,14 @@ public class AsicSContainer extends AsicContainer {
     super(stream, configuration, Constant.ASICS_CONTAINER_TYPE);
   }
 
+  /**
+   * @param parseResult parsed container
+   * @param configuration configuration
+   */
+  public AsicSContainer(AsicParseResult parseResult, Configuration configuration) {
+    super(parseResult, configuration, Constant.ASICS_CONTAINER_TYPE);
+  }
+
   @Override
   public void save(OutputStream out) {
     writeAsicContainer(new AsicContainerCreator(out));
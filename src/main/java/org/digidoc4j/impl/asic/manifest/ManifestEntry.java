@@ -41,7 +41,7 @@ public final class ManifestEntry implements Serializable{
    * @return filename
    */
   public String getFileName() {
-    logger.debug("Filename: " + fileName);
+    logger.debug("Filename: {}", fileName);
     return fileName;
   }
 
@@ -51,15 +51,15 @@ public final class ManifestEntry implements Serializable{
    * @return mimetype
    */
   public String getMimeType() {
-    logger.debug("Mime type: " + mimeType);
+    logger.debug("Mime type: {}", mimeType);
     return mimeType;
   }
 
   @Override
   public boolean equals(Object obj) {
     if (obj instanceof ManifestEntry) {
-      if (fileName.equals(((ManifestEntry)obj).getFileName())
-          && mimeType.equals(((ManifestEntry)obj).getMimeType())) {
+      ManifestEntry other = (ManifestEntry) obj;
+      if (fileName.equals(other.fileName) && mimeType.equals(other.mimeType)) {
         return true;
       }
     }
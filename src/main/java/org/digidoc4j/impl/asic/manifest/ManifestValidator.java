@@ -14,34 +14,52 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.xml.security.signature.Reference;
 import org.digidoc4j.Signature;
 import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.exceptions.TechnicalException;
 import org.digidoc4j.impl.asic.asice.AsicESignature;
 import org.digidoc4j.impl.asic.asice.bdoc.BDocSignature;
 import org.digidoc4j.impl.asic.xades.XadesSignature;
+import org.digidoc4j.impl.asic.xades.validation.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 
 import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DomUtils;
 
 /**
  * For validating meta data within the manifest file and signature files.
+ * <p>
+ * The manifest is indexed once and every signature is checked against the index in linear time. When a thread pool
+ * is given, signatures are checked in parallel unless the validator already runs on a pool thread; error messages
+ * are returned in the signature order.
+ * </p>
  */
 public class ManifestValidator {
   public static final String MANIFEST_PATH = "META-INF/manifest.xml";
   public static final String MIMETYPE_PATH = "mimetype";
   private static final Logger logger = LoggerFactory.getLogger(ManifestValidator.class);
+  private static final String REFERENCES_XPATH = "./ds:SignedInfo/ds:Reference";
+  private static final String DATA_OBJECT_FORMATS_XPATH = "./ds:Object/xades:QualifyingProperties/"
+      + "xades:SignedProperties/xades:SignedDataObjectProperties/xades:DataObjectFormat";
   private List<DSSDocument> detachedContents;
   private ManifestParser manifestParser;
   private Collection<Signature> signatures;
+  private ThreadPoolManager threadPoolManager;
 
   public ManifestValidator(ManifestParser manifestParser, List<DSSDocument> detachedContents, Collection<Signature> signatures) {
     this.manifestParser = manifestParser;
@@ -49,69 +67,21 @@ public class ManifestValidator {
     this.signatures = signatures;
   }
 
-  public static List<ManifestErrorMessage> validateEntries(Map<String, ManifestEntry> manifestEntries, Set<ManifestEntry> signatureEntries,
-                                      String signatureId) {
-    logger.debug("");
-    ArrayList<ManifestErrorMessage> errorMessages = new ArrayList<>();
-
-    if (signatureEntries.size() == 0)
-      return errorMessages;
-
-    Set<ManifestEntry> one = new HashSet(manifestEntries.values());
-    Set<ManifestEntry> onePrim = new HashSet(manifestEntries.values());
-    Set<ManifestEntry> two = new HashSet(signatureEntries);
-    Set<ManifestEntry> twoPrim = new HashSet();
-    for (ManifestEntry manifestEntry : signatureEntries) {
-      String mimeType = manifestEntry.getMimeType();
-      String alterName = manifestEntry.getFileName().replaceAll("\\+", " ");
-      twoPrim.add(new ManifestEntry(alterName, mimeType));
-    }
-
-    one.removeAll(signatureEntries);
-    onePrim.removeAll(twoPrim);
-    two.removeAll(manifestEntries.values());
-    twoPrim.removeAll(manifestEntries.values());
-
-    if (one.size() > 0 && onePrim.size() > 0) {
-      for (ManifestEntry manifestEntry : one) {
-
-        String fileName = manifestEntry.getFileName();
-        ManifestEntry signatureEntry = signatureEntryForFile(fileName, signatureEntries);
-        if (signatureEntry != null) {
-          errorMessages.add(new ManifestErrorMessage("Manifest file has an entry for file "
-              + fileName + " with mimetype " +
-              manifestEntry.getMimeType() + " but the signature file for signature " + signatureId +
-              " indicates the mimetype is " + signatureEntry.getMimeType(), signatureId));
-          two.remove(signatureEntry);
-        } else {
-          errorMessages.add(new ManifestErrorMessage("Manifest file has an entry for file "
-              + fileName + " with mimetype "
-              + manifestEntry.getMimeType() + " but the signature file for signature " + signatureId +
-              " does not have an entry for this file", signatureId));
-        }
-      }
-    }
-
-    if (two.size() > 0 && twoPrim.size() > 0) {
-      for (ManifestEntry manifestEntry : two) {
-        errorMessages.add(new ManifestErrorMessage("The signature file for signature "
-            + signatureId + " has an entry for file "
-            + manifestEntry.getFileName() + " with mimetype " + manifestEntry.getMimeType()
-            + " but the manifest file does not have an entry for this file", signatureId));
-      }
-    }
-
-    return errorMessages;
+  /**
+   * @param manifestParser    manifest parser
+   * @param detachedContents  container files
+   * @param signatures        signatures
+   * @param threadPoolManager thread pool for checking signatures in parallel
+   */
+  public ManifestValidator(ManifestParser manifestParser, List<DSSDocument> detachedContents,
+                           Collection<Signature> signatures, ThreadPoolManager threadPoolManager) {
+    this(manifestParser, detachedContents, signatures);
+    this.threadPoolManager = threadPoolManager;
   }
 
-  private static ManifestEntry signatureEntryForFile(String fileName, Set<ManifestEntry> signatureEntries) {
-    logger.debug("File name: " + fileName);
-    for (ManifestEntry signatureEntry : signatureEntries) {
-      if (fileName.equals(signatureEntry.getFileName())) {
-        return signatureEntry;
-      }
-    }
-    return null;
+  public static List<ManifestErrorMessage> validateEntries(Map<String, ManifestEntry> manifestEntries, Set<ManifestEntry> signatureEntries,
+                                      String signatureId) {
+    return new ManifestIndex(manifestEntries).validate(signatureEntries, signatureId);
   }
 
   /**
@@ -126,38 +96,77 @@ public class ManifestValidator {
       logger.error(errorMessage);
       throw new DigiDoc4JException(errorMessage);
     }
-    List<ManifestErrorMessage> errorMessages = new ArrayList<>();
-    Map<String, ManifestEntry> manifestEntries = manifestParser.getManifestFileItems();
-    Set<ManifestEntry> signatureEntries = new HashSet<>();
-
+    ManifestIndex manifestIndex = new ManifestIndex(manifestParser.getManifestFileItems());
+    List<SignatureCheck> checks = new ArrayList<>(signatures.size());
     for (Signature signature : signatures) {
-      signatureEntries = getSignatureEntries(signature);
-
-      errorMessages.addAll(validateEntries(manifestEntries, signatureEntries, signature.getId()));
+      checks.add(new SignatureCheck(signature, manifestIndex));
     }
+    runChecks(checks);
 
-    errorMessages.addAll(validateFilesInContainer(signatureEntries));
+    List<ManifestErrorMessage> errorMessages = new ArrayList<>();
+    List<Set<String>> signedFileNames = new ArrayList<>(checks.size());
+    for (SignatureCheck check : checks) {
+      errorMessages.addAll(check.errorMessages);
+      if (!check.signatureEntries.isEmpty()) {
+        signedFileNames.add(getFileNamesFromManifestEntrySet(check.signatureEntries));
+      }
+    }
+    errorMessages.addAll(validateFilesInContainer(signedFileNames));
 
-    logger.info("Validation of meta data within the manifest file and signature files error count: "
-        + errorMessages.size());
+    logger.info("Validation of meta data within the manifest file and signature files error count: {}",
+        errorMessages.size());
     return errorMessages;
   }
 
-  private List<ManifestErrorMessage> validateFilesInContainer(Set<ManifestEntry> signatureEntries) {
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private void runChecks(List<SignatureCheck> checks) {
+    if (threadPoolManager == null || checks.size() < 2 || ThreadPoolManager.isRunningTask()) {
+      for (SignatureCheck check : checks) {
+        check.call();
+      }
+      return;
+    }
+    List<Future<SignatureCheck>> futures = new ArrayList<>(checks.size());
+    for (SignatureCheck check : checks) {
+      futures.add(threadPoolManager.submit(check));
+    }
+    for (Future<SignatureCheck> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new TechnicalException("Interrupted while validating manifest", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new TechnicalException("Error validating manifest on multiple threads: " + e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * Every file in the container must be signed by every signature having references to files
+   */
+  private List<ManifestErrorMessage> validateFilesInContainer(List<Set<String>> signedFileNames) {
     logger.debug("");
     ArrayList<ManifestErrorMessage> errorMessages = new ArrayList<>();
 
-    if (signatureEntries.size() == 0)
+    if (signedFileNames.isEmpty())
       return errorMessages;
 
-    Set<String> signatureEntriesFileNames = getFileNamesFromManifestEntrySet(signatureEntries);
-    List<String> filesInContainer = getFilesInContainer();
-    for (String fileInContainer : filesInContainer) {
-      String alterName = fileInContainer.replaceAll("\\ ", "+");
-      if (!signatureEntriesFileNames.contains(fileInContainer) && !signatureEntriesFileNames.contains(alterName)) {
-        logger.error("Container contains unsigned data file '" + fileInContainer + "'");
-        errorMessages.add(new ManifestErrorMessage("Container contains a file named "
-            + fileInContainer + " which is not found in the signature file"));
+    for (String fileInContainer : getFilesInContainer()) {
+      String alterName = fileInContainer.replace(' ', '+');
+      for (Set<String> signatureEntriesFileNames : signedFileNames) {
+        if (!signatureEntriesFileNames.contains(fileInContainer) && !signatureEntriesFileNames.contains(alterName)) {
+          logger.error("Container contains unsigned data file '{}'", fileInContainer);
+          errorMessages.add(new ManifestErrorMessage("Container contains a file named "
+              + fileInContainer + " which is not found in the signature file"));
+          break;
+        }
       }
     }
     return errorMessages;
@@ -165,15 +174,13 @@ public class ManifestValidator {
 
   private Set<String> getFileNamesFromManifestEntrySet(Set<ManifestEntry> signatureEntries) {
     Set<String> signatureEntriesFileNames = new HashSet<>(signatureEntries.size());
-
-
     for (ManifestEntry entry : signatureEntries) {
       signatureEntriesFileNames.add(entry.getFileName());
     }
     return signatureEntriesFileNames;
   }
 
-  private Set<ManifestEntry> getSignatureEntries(Signature signature) {
+  private static Set<ManifestEntry> getSignatureEntries(Signature signature) {
     Set<ManifestEntry> signatureEntries = new HashSet<>();
     XadesSignature origin;
     if (signature.getClass() == BDocSignature.class) {
@@ -181,20 +188,22 @@ public class ManifestValidator {
     } else {
       origin = ((AsicESignature) signature).getOrigin();
     }
+    Node signatureNode = null;
+    Map<String, String> referenceIds = null;
+    Map<String, String> mimeTypes = null;
     List<Reference> references = origin.getReferences();
     for (Reference reference : references) {
       if (reference.getType().equals("")) {
+        if (signatureNode == null) {
+          signatureNode = origin.getDssSignature().getSignatureElement();
+          referenceIds = indexReferenceIds(signatureNode);
+          mimeTypes = indexMimeTypes(signatureNode);
+        }
         String mimeTypeString = null;
-
-        Node signatureNode = origin.getDssSignature().getSignatureElement();
-        Node node = DomUtils.getNode(signatureNode, "./ds:SignedInfo/ds:Reference[@URI=\""
-            + reference.getURI() + "\"]");
-        if (node != null) {
-          String referenceId = node.getAttributes().getNamedItem("Id").getNodeValue();
-          mimeTypeString = DomUtils.getValue(signatureNode,
-              "./ds:Object/xades:QualifyingProperties/xades:SignedProperties/" +
-                  "xades:SignedDataObjectProperties/xades:DataObjectFormat" +
-                  "[@ObjectReference=\"#" + referenceId + "\"]/xades:MimeType");
+        if (referenceIds.containsKey(reference.getURI())) {
+          String referenceId = referenceIds.get(reference.getURI());
+          String mimeType = mimeTypes.get("#" + referenceId);
+          mimeTypeString = mimeType == null ? "" : mimeType;
         }
 
         // TODO: mimeTypeString == null ? node == null?
@@ -206,12 +215,44 @@ public class ManifestValidator {
     return signatureEntries;
   }
 
-  private String getFileURI(Reference reference) {
+  /**
+   * @return Id attribute of the first reference by URI
+   */
+  private static Map<String, String> indexReferenceIds(Node signatureNode) {
+    NodeList referenceNodes = DomUtils.getNodeList(signatureNode, REFERENCES_XPATH);
+    Map<String, String> referenceIds = new HashMap<>(referenceNodes.getLength() * 2);
+    for (int i = 0; i < referenceNodes.getLength(); i++) {
+      Element referenceElement = (Element) referenceNodes.item(i);
+      String uri = referenceElement.getAttribute("URI");
+      if (!referenceIds.containsKey(uri)) {
+        referenceIds.put(uri, referenceElement.getAttribute("Id"));
+      }
+    }
+    return referenceIds;
+  }
+
+  /**
+   * @return mime type of the first data object format by object reference
+   */
+  private static Map<String, String> indexMimeTypes(Node signatureNode) {
+    NodeList formatNodes = DomUtils.getNodeList(signatureNode, DATA_OBJECT_FORMATS_XPATH);
+    Map<String, String> mimeTypes = new HashMap<>(formatNodes.getLength() * 2);
+    for (int i = 0; i < formatNodes.getLength(); i++) {
+      Element formatElement = (Element) formatNodes.item(i);
+      String objectReference = formatElement.getAttribute("ObjectReference");
+      if (!mimeTypes.containsKey(objectReference)) {
+        mimeTypes.put(objectReference, DomUtils.getValue(formatElement, "./xades:MimeType"));
+      }
+    }
+    return mimeTypes;
+  }
+
+  private static String getFileURI(Reference reference) {
     String uri = reference.getURI();
     try {
       uri = new URI(uri).getPath();
     } catch (URISyntaxException e) {
-      logger.warn("Does not parse as an URI, therefore assuming it's not encoded: '" + uri + "'");
+      logger.warn("Does not parse as an URI, therefore assuming it's not encoded: '{}'", uri);
     }
 
     return uri;
@@ -220,7 +261,7 @@ public class ManifestValidator {
   private List<String> getFilesInContainer() {
     List<String> fileEntries = new ArrayList<>();
 
-    List<String> signatureFileNames = getSignatureFileNames();
+    Set<String> signatureFileNames = getSignatureFileNames();
 
     for (DSSDocument detachedContent : detachedContents) {
       String name = detachedContent.getName();
@@ -232,19 +273,139 @@ public class ManifestValidator {
     return fileEntries;
   }
 
-  private List<String> getSignatureFileNames() {
-    List<String> signatureFileNames = new ArrayList<>();
+  private Set<String> getSignatureFileNames() {
+    Set<String> signatureFileNames = new HashSet<>();
     for (Signature signature : signatures) {
       String signatureFileName = "META-INF/signature" + signature.getId().toLowerCase() + ".xml";
 
-      if (signatureFileNames.contains(signatureFileName)) {
+      if (!signatureFileNames.add(signatureFileName)) {
         String errorMessage = "Duplicate signature file: " + signatureFileName;
         logger.error(errorMessage);
         throw new DigiDoc4JException(errorMessage);
       }
-
-      signatureFileNames.add(signatureFileName);
     }
     return signatureFileNames;
   }
+
+  /**
+   * Reads the entries of one signature and compares them to the manifest
+   */
+  private static class SignatureCheck implements Callable<SignatureCheck> {
+
+    private final Signature signature;
+    private final ManifestIndex manifestIndex;
+    private Set<ManifestEntry> signatureEntries = Collections.emptySet();
+    private List<ManifestErrorMessage> errorMessages = Collections.emptyList();
+
+    SignatureCheck(Signature signature, ManifestIndex manifestIndex) {
+      this.signature = signature;
+      this.manifestIndex = manifestIndex;
+    }
+
+    @Override
+    public SignatureCheck call() {
+      signatureEntries = getSignatureEntries(signature);
+      errorMessages = manifestIndex.validate(signatureEntries, signature.getId());
+      return this;
+    }
+
+  }
+
+  /**
+   * Manifest entries indexed for comparing them to the entries of many signatures
+   */
+  private static class ManifestIndex {
+
+    private final Set<ManifestEntry> manifestEntries;
+
+    ManifestIndex(Map<String, ManifestEntry> manifestEntries) {
+      this.manifestEntries = new HashSet<>(manifestEntries.values());
+    }
+
+    /**
+     * Signature entries are compared to the manifest both as they are and with '+' in file names replaced by space;
+     * errors are reported only when both comparisons find differences.
+     */
+    List<ManifestErrorMessage> validate(Set<ManifestEntry> signatureEntries, String signatureId) {
+      List<ManifestErrorMessage> errorMessages = new ArrayList<>();
+      if (signatureEntries.size() == 0) {
+        return errorMessages;
+      }
+
+      int signedManifestEntryCount = 0;
+      int signedManifestEntryCountByAlterName = 0;
+      Set<ManifestEntry> alterEntries = new HashSet<>(signatureEntries.size() * 2);
+      for (ManifestEntry signatureEntry : signatureEntries) {
+        if (manifestEntries.contains(signatureEntry)) {
+          signedManifestEntryCount++;
+        }
+        ManifestEntry alterEntry = toAlterEntry(signatureEntry);
+        if (alterEntries.add(alterEntry) && manifestEntries.contains(alterEntry)) {
+          signedManifestEntryCountByAlterName++;
+        }
+      }
+      boolean unsignedManifestEntries = signedManifestEntryCount < manifestEntries.size()
+          && signedManifestEntryCountByAlterName < manifestEntries.size();
+      boolean alterEntriesMissingFromManifest = signedManifestEntryCountByAlterName < alterEntries.size();
+
+      Set<ManifestEntry> reportedSignatureEntries = Collections.emptySet();
+      if (unsignedManifestEntries) {
+        reportedSignatureEntries = new HashSet<>();
+        Map<String, ManifestEntry> signatureEntriesByFileName = indexByFileName(signatureEntries);
+        for (ManifestEntry manifestEntry : manifestEntries) {
+          if (signatureEntries.contains(manifestEntry)) {
+            continue;
+          }
+          String fileName = manifestEntry.getFileName();
+          ManifestEntry signatureEntry = signatureEntriesByFileName.get(fileName);
+          if (signatureEntry != null) {
+            errorMessages.add(new ManifestErrorMessage("Manifest file has an entry for file "
+                + fileName + " with mimetype " +
+                manifestEntry.getMimeType() + " but the signature file for signature " + signatureId +
+                " indicates the mimetype is " + signatureEntry.getMimeType(), signatureId));
+            reportedSignatureEntries.add(signatureEntry);
+          } else {
+            errorMessages.add(new ManifestErrorMessage("Manifest file has an entry for file "
+                + fileName + " with mimetype "
+                + manifestEntry.getMimeType() + " but the signature file for signature " + signatureId +
+                " does not have an entry for this file", signatureId));
+          }
+        }
+      }
+
+      if (alterEntriesMissingFromManifest) {
+        // Copy keeps the iteration order of the entries reported before
+        for (ManifestEntry signatureEntry : new HashSet<>(signatureEntries)) {
+          if (!manifestEntries.contains(signatureEntry) && !reportedSignatureEntries.contains(signatureEntry)) {
+            errorMessages.add(new ManifestErrorMessage("The signature file for signature "
+                + signatureId + " has an entry for file "
+                + signatureEntry.getFileName() + " with mimetype " + signatureEntry.getMimeType()
+                + " but the manifest file does not have an entry for this file", signatureId));
+          }
+        }
+      }
+
+      return errorMessages;
+    }
+
+    private static ManifestEntry toAlterEntry(ManifestEntry signatureEntry) {
+      String fileName = signatureEntry.getFileName();
+      if (fileName.indexOf('+') < 0) {
+        return signatureEntry;
+      }
+      return new ManifestEntry(fileName.replace('+', ' '), signatureEntry.getMimeType());
+    }
+
+    private static Map<String, ManifestEntry> indexByFileName(Set<ManifestEntry> signatureEntries) {
+      Map<String, ManifestEntry> entriesByFileName = new HashMap<>(signatureEntries.size() * 2);
+      for (ManifestEntry signatureEntry : signatureEntries) {
+        if (!entriesByFileName.containsKey(signatureEntry.getFileName())) {
+          entriesByFileName.put(signatureEntry.getFileName(), signatureEntry);
+        }
+      }
+      return entriesByFileName;
+    }
+
+  }
+
 }
@@ -5,12 +5,22 @@ import java.security.SecureRandom;
 import org.bouncycastle.asn1.DEROctetString;
 import org.bouncycastle.asn1.ocsp.OCSPObjectIdentifiers;
 import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.CertificateID;
 import org.digidoc4j.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.europa.esig.dss.DSSRevocationUtils;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
+
 /**
  * BDOC-TS OCSP source
+ * <p>
+ * The nonce is not bound to the signature, so responses are reused from {@link OcspResponseCache} when enabled by
+ * {@link Configuration#setOcspResponseCacheMaxAgeInSeconds(long)}.
+ * </p>
  */
 public class BDocTSOcspSource extends SKOnlineOCSPSource {
 
@@ -24,6 +34,29 @@ public class BDocTSOcspSource extends SKOnlineOCSPSource {
     logger.debug("Using TS OCSP source");
   }
 
+  @Override
+  public OCSPToken getOCSPToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+    Configuration configuration = getConfiguration();
+    OcspResponseCache cache = configuration == null ? null : configuration.getOcspResponseCache();
+    String ocspUri = getAccessLocation();
+    if (cache == null || !cache.isEnabled() || ocspUri == null) {
+      return super.getOCSPToken(certificateToken, issuerCertificateToken);
+    }
+    CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerCertificateToken);
+    BasicOCSPResp cachedResponse = cache.get(ocspUri, certId);
+    if (cachedResponse != null) {
+      OCSPToken ocspToken = createOCSPToken(cachedResponse, certificateToken, certId, ocspUri);
+      if (ocspToken != null) {
+        return ocspToken;
+      }
+    }
+    OCSPToken ocspToken = super.getOCSPToken(certificateToken, issuerCertificateToken);
+    if (ocspToken != null) {
+      cache.put(ocspUri, certId, ocspToken.getBasicOCSPResp());
+    }
+    return ocspToken;
+  }
+
   @Override
   public Extension createNonce() {
     byte[] bytes = generateRandomNonce();
@@ -0,0 +1,169 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.asic.ocsp;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.SingleResp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded in-memory cache of OCSP responses keyed by responder location and {@link CertificateID}.
+ * <p>
+ * Only responses with GOOD certificate status are cached. A response is reused until its max age (counted from the
+ * production time) is reached or its <code>nextUpdate</code> has passed, whichever comes first. Least recently used
+ * responses are evicted when the cache is full.
+ * </p>
+ * Responses are meant to be shared only between signatures whose OCSP nonce is not bound to the signature value,
+ * i.e. time-stamp based profiles. Max age should stay within
+ * {@link org.digidoc4j.Configuration#getAllowedTimestampAndOCSPResponseDeltaInMinutes()} as the signature
+ * time-stamp is always newer than the reused response.
+ */
+public class OcspResponseCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(OcspResponseCache.class);
+  private final long maxAgeInMillis;
+  private final Map<Key, Entry> entries;
+
+  /**
+   * @param maxAgeInSeconds max age of the cached response, 0 disables the cache
+   * @param maxSize         max number of cached responses
+   */
+  public OcspResponseCache(long maxAgeInSeconds, final int maxSize) {
+    this.maxAgeInMillis = maxAgeInSeconds * 1000L;
+    this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+        return size() > maxSize;
+      }
+
+    };
+  }
+
+  public boolean isEnabled() {
+    return maxAgeInMillis > 0;
+  }
+
+  /**
+   * @param ocspUri OCSP responder location
+   * @param certId  certificate identifier
+   * @return fresh cached response or null
+   */
+  public synchronized BasicOCSPResp get(String ocspUri, CertificateID certId) {
+    Key key = new Key(ocspUri, certId);
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.expiresAt <= System.currentTimeMillis()) {
+      logger.debug("Cached OCSP response for certificate {} has expired", certId.getSerialNumber());
+      entries.remove(key);
+      return null;
+    }
+    logger.debug("Using cached OCSP response for certificate {}", certId.getSerialNumber());
+    return entry.response;
+  }
+
+  /**
+   * Caches the response if it is fresh and states GOOD status for the certificate
+   *
+   * @param ocspUri  OCSP responder location
+   * @param certId   certificate identifier
+   * @param response OCSP response
+   */
+  public void put(String ocspUri, CertificateID certId, BasicOCSPResp response) {
+    if (!isEnabled()) {
+      return;
+    }
+    SingleResp singleResp = SKOnlineOCSPSource.findBestSingleResponse(response, certId);
+    if (singleResp == null || singleResp.getCertStatus() != CertificateStatus.GOOD) {
+      return;
+    }
+    long expiresAt = getExpirationTime(response, singleResp);
+    if (expiresAt <= System.currentTimeMillis()) {
+      return;
+    }
+    synchronized (this) {
+      entries.put(new Key(ocspUri, certId), new Entry(response, expiresAt));
+    }
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private long getExpirationTime(BasicOCSPResp response, SingleResp singleResp) {
+    Date producedAt = response.getProducedAt() == null ? singleResp.getThisUpdate() : response.getProducedAt();
+    long expiresAt = producedAt.getTime() + maxAgeInMillis;
+    Date nextUpdate = singleResp.getNextUpdate();
+    if (nextUpdate != null) {
+      expiresAt = Math.min(expiresAt, nextUpdate.getTime());
+    }
+    return expiresAt;
+  }
+
+  private static class Key {
+
+    private final String ocspUri;
+    private final CertificateID certId;
+
+    Key(String ocspUri, CertificateID certId) {
+      this.ocspUri = ocspUri;
+      this.certId = certId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return ocspUri.equals(other.ocspUri) && certId.equals(other.certId);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * ocspUri.hashCode() + certId.hashCode();
+    }
+
+  }
+
+  private static class Entry {
+
+    private final BasicOCSPResp response;
+    private final long expiresAt;
+
+    Entry(BasicOCSPResp response, long expiresAt) {
+      this.response = response;
+      this.expiresAt = expiresAt;
+    }
+
+  }
+
+}
@@ -149,30 +149,8 @@ public abstract class SKOnlineOCSPSource implements OCSPSource {
 
       checkNonce(basicOCSPResp, nonceExtension);
 
-      Date bestUpdate = null;
-      SingleResp bestSingleResp = null;
       final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerCertificateToken);
-      for (final SingleResp singleResp : basicOCSPResp.getResponses()) {
-
-        if (DSSRevocationUtils.matches(certId, singleResp)) {
-
-          final Date thisUpdate = singleResp.getThisUpdate();
-          if (bestUpdate == null || thisUpdate.after(bestUpdate)) {
-
-            bestSingleResp = singleResp;
-            bestUpdate = thisUpdate;
-          }
-        }
-      }
-      if (bestSingleResp != null) {
-        OCSPToken ocspToken = new OCSPToken();
-        ocspToken.setBasicOCSPResp(basicOCSPResp);
-        //TODO OCSPToken has no setter (setBestSingleResp) in version DSS 5.0
-        ocspToken.setCertId(certId);
-        ocspToken.setSourceURL(ocspUri);
-        certificateToken.addRevocationToken(ocspToken);
-        return ocspToken;
-      }
+      return createOCSPToken(basicOCSPResp, certificateToken, certId, ocspUri);
     } catch (OCSPException e) {
       logger.error("OCSP error: " + e.getMessage(), e);
     } catch (IOException e) {
@@ -181,6 +159,44 @@ public abstract class SKOnlineOCSPSource implements OCSPSource {
     return null;
   }
 
+  /**
+   * Creates OCSP token from the response if it contains status for the given certificate
+   *
+   * @param basicOCSPResp    OCSP response
+   * @param certificateToken certificate the status was asked for
+   * @param certId           OCSP identifier of the certificate
+   * @param ocspUri          OCSP responder location
+   * @return OCSP token or null if the response does not cover the certificate
+   */
+  protected OCSPToken createOCSPToken(BasicOCSPResp basicOCSPResp, CertificateToken certificateToken,
+                                      CertificateID certId, String ocspUri) {
+    if (findBestSingleResponse(basicOCSPResp, certId) == null) {
+      return null;
+    }
+    OCSPToken ocspToken = new OCSPToken();
+    ocspToken.setBasicOCSPResp(basicOCSPResp);
+    //TODO OCSPToken has no setter (setBestSingleResp) in version DSS 5.0
+    ocspToken.setCertId(certId);
+    ocspToken.setSourceURL(ocspUri);
+    certificateToken.addRevocationToken(ocspToken);
+    return ocspToken;
+  }
+
+  static SingleResp findBestSingleResponse(BasicOCSPResp basicOCSPResp, CertificateID certId) {
+    Date bestUpdate = null;
+    SingleResp bestSingleResp = null;
+    for (final SingleResp singleResp : basicOCSPResp.getResponses()) {
+      if (DSSRevocationUtils.matches(certId, singleResp)) {
+        final Date thisUpdate = singleResp.getThisUpdate();
+        if (bestUpdate == null || thisUpdate.after(bestUpdate)) {
+          bestSingleResp = singleResp;
+          bestUpdate = thisUpdate;
+        }
+      }
+    }
+    return bestSingleResp;
+  }
+
   protected void checkNonce(BasicOCSPResp basicOCSPResp, Extension expectedNonceExtension) {
     final Extension extension = basicOCSPResp.getExtension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce);
     final DEROctetString expectedNonce = (DEROctetString) expectedNonceExtension.getExtnValue();
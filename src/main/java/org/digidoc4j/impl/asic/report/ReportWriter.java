@@ -0,0 +1,28 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.asic.report;
+
+import java.io.OutputStream;
+
+/**
+ * Validation result able to write its report as JSON or CBOR, implemented by ASIC and DDOC validation results.
+ */
+public interface ReportWriter {
+
+  /**
+   * Write the validation report to a stream as JSON or CBOR.
+   *
+   * @param stream     stream to write to, not closed.
+   * @param serializer serializer deciding the encoding and the parts of the report.
+   */
+  void writeReport(OutputStream stream, ValidationReportSerializer serializer);
+
+}
@@ -13,7 +13,7 @@ package org.digidoc4j.impl.asic.report;
 import java.util.List;
 
 import org.digidoc4j.SignatureProfile;
-import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.ValidationFinding;
 import org.digidoc4j.impl.asic.xades.validation.SignatureValidationData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,9 +60,9 @@ public class SignatureValidationReportCreator {
 
   private void updateMissingErrors() {
     List<String> errors = signatureValidationReport.getErrors();
-    for (DigiDoc4JException error : validationData.getValidationResult().getErrors()) {
-      if (!errors.contains(error.getMessage())) {
-        errors.add(error.getMessage());
+    for (ValidationFinding finding : validationData.getValidationResult().getFindings()) {
+      if (finding.getSeverity() == ValidationFinding.Severity.ERROR && !errors.contains(finding.getMessage())) {
+        errors.add(finding.getMessage());
       }
     }
   }
@@ -0,0 +1,470 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.asic.report;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+
+import org.digidoc4j.exceptions.TechnicalException;
+
+import eu.europa.esig.dss.jaxb.simplereport.XmlPolicy;
+import eu.europa.esig.dss.jaxb.simplereport.XmlSignatureLevel;
+import eu.europa.esig.dss.jaxb.simplereport.XmlSignatureScope;
+
+/**
+ * Serializes the container validation report to JSON or CBOR without going through XML.
+ * <p>
+ * The report is written to the stream as it is traversed. Field names follow the XML element names in camel case,
+ * dates are ISO 8601 in UTC and fields without a value are left out. Optional parts of the report can be left out
+ * with {@link Field}, so that clients only pay for what they read.
+ * </p>
+ */
+public class ValidationReportSerializer {
+
+  private static final int BUFFER_SIZE = 8 * 1024;
+  private final Format format;
+  private final Set<Field> fields;
+
+  /**
+   * Encoding of the serialized report
+   */
+  public enum Format {
+
+    /**
+     * Compact JSON in UTF-8
+     */
+    JSON,
+
+    /**
+     * CBOR (RFC 7049) with indefinite length maps and arrays
+     */
+    CBOR
+
+  }
+
+  /**
+   * Optional parts of the report. Validation time, signature counts and the identification and indication of every
+   * signature are always included.
+   */
+  public enum Field {
+
+    /**
+     * Name and description of the validation policy
+     */
+    POLICY,
+
+    /**
+     * Signature level, signer and signing time of every signature
+     */
+    SIGNATURE_DETAILS,
+
+    /**
+     * Errors, warnings and infos of every signature
+     */
+    SIGNATURE_MESSAGES,
+
+    /**
+     * Signature scopes of every signature
+     */
+    SIGNATURE_SCOPES,
+
+    /**
+     * Errors of the container structure
+     */
+    CONTAINER_ERRORS
+
+  }
+
+  /**
+   * Serializer of the whole report
+   *
+   * @param format encoding of the report
+   */
+  public ValidationReportSerializer(Format format) {
+    this(format, EnumSet.allOf(Field.class));
+  }
+
+  /**
+   * @param format encoding of the report
+   * @param fields optional parts of the report to include
+   */
+  public ValidationReportSerializer(Format format, Set<Field> fields) {
+    this.format = format;
+    this.fields = fields.isEmpty() ? EnumSet.noneOf(Field.class) : EnumSet.copyOf(fields);
+  }
+
+  /**
+   * @param report report to serialize
+   * @param stream stream to write to, not closed
+   */
+  public void serialize(ContainerValidationReport report, OutputStream stream) {
+    try {
+      Generator generator = format == Format.CBOR ? new CborGenerator(stream) : new JsonGenerator(stream);
+      writeReport(report, generator);
+      generator.flush();
+    } catch (IOException e) {
+      throw new TechnicalException("Failed to serialize validation report: " + e.getMessage(), e);
+    }
+  }
+
+  public Format getFormat() {
+    return format;
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private void writeReport(ContainerValidationReport report, Generator generator) throws IOException {
+    generator.startObject();
+    if (fields.contains(Field.POLICY) && report.getPolicy() != null) {
+      XmlPolicy policy = report.getPolicy();
+      generator.name("policy");
+      generator.startObject();
+      generator.field("policyName", policy.getPolicyName());
+      generator.field("policyDescription", policy.getPolicyDescription());
+      generator.endObject();
+    }
+    generator.field("validationTime", report.getValidationTime());
+    generator.field("signaturesCount", report.getSignaturesCount());
+    generator.field("validSignaturesCount", report.getValidSignaturesCount());
+    generator.name("signatures");
+    generator.startArray();
+    for (SignatureValidationReport signature : report.getSignatures()) {
+      writeSignature(signature, generator);
+    }
+    generator.endArray();
+    if (fields.contains(Field.CONTAINER_ERRORS)) {
+      generator.field("containerErrors", report.getContainerErrors());
+    }
+    generator.endObject();
+  }
+
+  private void writeSignature(SignatureValidationReport signature, Generator generator) throws IOException {
+    generator.startObject();
+    generator.field("id", signature.getId());
+    generator.field("signatureFormat", signature.getSignatureFormat());
+    generator.field("indication", signature.getIndication() == null ? null : signature.getIndication().name());
+    generator.field("subIndication",
+        signature.getSubIndication() == null ? null : signature.getSubIndication().name());
+    if (fields.contains(Field.SIGNATURE_DETAILS)) {
+      XmlSignatureLevel signatureLevel = signature.getSignatureLevel();
+      if (signatureLevel != null) {
+        generator.name("signatureLevel");
+        generator.startObject();
+        generator.field("value", signatureLevel.getValue() == null ? null : signatureLevel.getValue().name());
+        generator.field("description", signatureLevel.getDescription());
+        generator.endObject();
+      }
+      generator.field("signedBy", signature.getSignedBy());
+      generator.field("signingTime", signature.getSigningTime());
+      generator.field("documentName", signature.getDocumentName());
+    }
+    if (fields.contains(Field.SIGNATURE_MESSAGES)) {
+      generator.field("errors", signature.getErrors());
+      generator.field("warnings", signature.getWarnings());
+      generator.field("infos", signature.getInfos());
+    }
+    if (fields.contains(Field.SIGNATURE_SCOPES) && !signature.getSignatureScope().isEmpty()) {
+      generator.name("signatureScopes");
+      generator.startArray();
+      for (XmlSignatureScope scope : signature.getSignatureScope()) {
+        generator.startObject();
+        generator.field("name", scope.getName());
+        generator.field("scope", scope.getScope());
+        generator.field("value", scope.getValue());
+        generator.endObject();
+      }
+      generator.endArray();
+    }
+    generator.endObject();
+  }
+
+  /**
+   * Streaming writer of maps, arrays and scalars
+   */
+  private abstract static class Generator {
+
+    private DateFormat dateFormat;
+
+    abstract void startObject() throws IOException;
+
+    abstract void endObject() throws IOException;
+
+    abstract void startArray() throws IOException;
+
+    abstract void endArray() throws IOException;
+
+    abstract void name(String name) throws IOException;
+
+    abstract void value(String value) throws IOException;
+
+    abstract void value(long value) throws IOException;
+
+    abstract void dateValue(String value) throws IOException;
+
+    abstract void flush() throws IOException;
+
+    void field(String name, String value) throws IOException {
+      if (value != null) {
+        name(name);
+        value(value);
+      }
+    }
+
+    void field(String name, long value) throws IOException {
+      name(name);
+      value(value);
+    }
+
+    void field(String name, Date value) throws IOException {
+      if (value != null) {
+        name(name);
+        dateValue(formatDate(value));
+      }
+    }
+
+    void field(String name, List<String> values) throws IOException {
+      if (values != null && !values.isEmpty()) {
+        name(name);
+        startArray();
+        for (String value : values) {
+          value(value);
+        }
+        endArray();
+      }
+    }
+
+    private String formatDate(Date date) {
+      if (dateFormat == null) {
+        dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+      }
+      return dateFormat.format(date);
+    }
+
+  }
+
+  private static class JsonGenerator extends Generator {
+
+    private final Writer writer;
+    private boolean valueWritten;
+
+    JsonGenerator(OutputStream stream) {
+      writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    void startObject() throws IOException {
+      separate();
+      writer.write('{');
+      valueWritten = false;
+    }
+
+    @Override
+    void endObject() throws IOException {
+      writer.write('}');
+      valueWritten = true;
+    }
+
+    @Override
+    void startArray() throws IOException {
+      separate();
+      writer.write('[');
+      valueWritten = false;
+    }
+
+    @Override
+    void endArray() throws IOException {
+      writer.write(']');
+      valueWritten = true;
+    }
+
+    @Override
+    void name(String name) throws IOException {
+      separate();
+      writeString(name);
+      writer.write(':');
+      valueWritten = false;
+    }
+
+    @Override
+    void value(String value) throws IOException {
+      separate();
+      writeString(value);
+      valueWritten = true;
+    }
+
+    @Override
+    void value(long value) throws IOException {
+      separate();
+      writer.write(Long.toString(value));
+      valueWritten = true;
+    }
+
+    @Override
+    void dateValue(String value) throws IOException {
+      value(value);
+    }
+
+    @Override
+    void flush() throws IOException {
+      writer.flush();
+    }
+
+    private void separate() throws IOException {
+      if (valueWritten) {
+        writer.write(',');
+        valueWritten = false;
+      }
+    }
+
+    private void writeString(String value) throws IOException {
+      writer.write('"');
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        switch (c) {
+          case '"':
+            writer.write("\\\"");
+            break;
+          case '\\':
+            writer.write("\\\\");
+            break;
+          case '\n':
+            writer.write("\\n");
+            break;
+          case '\r':
+            writer.write("\\r");
+            break;
+          case '\t':
+            writer.write("\\t");
+            break;
+          default:
+            if (c < 0x20) {
+              writer.write(String.format("\\u%04x", (int) c));
+            } else {
+              writer.write(c);
+            }
+        }
+      }
+      writer.write('"');
+    }
+
+  }
+
+  private static class CborGenerator extends Generator {
+
+    private static final int MAJOR_TYPE_UNSIGNED_INTEGER = 0;
+    private static final int MAJOR_TYPE_NEGATIVE_INTEGER = 1;
+    private static final int MAJOR_TYPE_TEXT_STRING = 3;
+    private static final int MAJOR_TYPE_TAG = 6;
+    private static final int TAG_DATE_TIME_STRING = 0;
+    private static final int START_INDEFINITE_ARRAY = 0x9F;
+    private static final int START_INDEFINITE_MAP = 0xBF;
+    private static final int BREAK = 0xFF;
+    private final OutputStream stream;
+
+    CborGenerator(OutputStream stream) {
+      this.stream = new BufferedOutputStream(stream, BUFFER_SIZE);
+    }
+
+    @Override
+    void startObject() throws IOException {
+      stream.write(START_INDEFINITE_MAP);
+    }
+
+    @Override
+    void endObject() throws IOException {
+      stream.write(BREAK);
+    }
+
+    @Override
+    void startArray() throws IOException {
+      stream.write(START_INDEFINITE_ARRAY);
+    }
+
+    @Override
+    void endArray() throws IOException {
+      stream.write(BREAK);
+    }
+
+    @Override
+    void name(String name) throws IOException {
+      value(name);
+    }
+
+    @Override
+    void value(String value) throws IOException {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeHead(MAJOR_TYPE_TEXT_STRING, bytes.length);
+      stream.write(bytes);
+    }
+
+    @Override
+    void value(long value) throws IOException {
+      if (value >= 0) {
+        writeHead(MAJOR_TYPE_UNSIGNED_INTEGER, value);
+      } else {
+        writeHead(MAJOR_TYPE_NEGATIVE_INTEGER, -1 - value);
+      }
+    }
+
+    @Override
+    void dateValue(String value) throws IOException {
+      writeHead(MAJOR_TYPE_TAG, TAG_DATE_TIME_STRING);
+      value(value);
+    }
+
+    @Override
+    void flush() throws IOException {
+      stream.flush();
+    }
+
+    private void writeHead(int majorType, long argument) throws IOException {
+      int type = majorType << 5;
+      if (argument < 24) {
+        stream.write(type | (int) argument);
+      } else if (argument <= 0xFFL) {
+        stream.write(type | 24);
+        stream.write((int) argument);
+      } else if (argument <= 0xFFFFL) {
+        stream.write(type | 25);
+        writeBigEndian(argument, 2);
+      } else if (argument <= 0xFFFFFFFFL) {
+        stream.write(type | 26);
+        writeBigEndian(argument, 4);
+      } else {
+        stream.write(type | 27);
+        writeBigEndian(argument, 8);
+      }
+    }
+
+    private void writeBigEndian(long value, int byteCount) throws IOException {
+      for (int i = byteCount - 1; i >= 0; i--) {
+        stream.write((int) (value >>> (i * 8)));
+      }
+    }
+
+  }
+
+}
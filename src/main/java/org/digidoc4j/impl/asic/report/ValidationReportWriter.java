@@ -0,0 +1,203 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.asic.report;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import org.digidoc4j.exceptions.TechnicalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes JAXB validation reports (container report and DSS diagnostic data, simple and detailed reports) straight to
+ * a stream or file.
+ * <p>
+ * JAXB contexts are created once per report class and shared. Marshallers are not thread-safe, so idle ones are kept
+ * in a bounded pool per report class and format and borrowed for the duration of one report.
+ * </p>
+ */
+public class ValidationReportWriter {
+
+  /**
+   * Pretty printed uncompressed reports, as written by default
+   */
+  public static final ValidationReportWriter FORMATTED = new ValidationReportWriter(Format.FORMATTED, false);
+  private static final Logger logger = LoggerFactory.getLogger(ValidationReportWriter.class);
+  private static final int MAX_IDLE_MARSHALLERS = Runtime.getRuntime().availableProcessors() * 2;
+  private static final int BUFFER_SIZE = 8 * 1024;
+  private static final ConcurrentMap<Class<?>, JAXBContext> contexts = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<String, BlockingQueue<Marshaller>> idleMarshallers = new ConcurrentHashMap<>();
+  private final Format format;
+  private final boolean gzipEnabled;
+
+  /**
+   * Layout of the written XML
+   */
+  public enum Format {
+
+    /**
+     * Indented with line breaks
+     */
+    FORMATTED,
+
+    /**
+     * Without whitespace between elements
+     */
+    COMPACT
+
+  }
+
+  /**
+   * @param format      layout of the XML
+   * @param gzipEnabled true to compress the reports with gzip
+   */
+  public ValidationReportWriter(Format format, boolean gzipEnabled) {
+    this.format = format;
+    this.gzipEnabled = gzipEnabled;
+  }
+
+  /**
+   * @param report JAXB report object
+   * @param stream stream to write to, not closed
+   */
+  public void write(Object report, OutputStream stream) {
+    try {
+      if (gzipEnabled) {
+        GZIPOutputStream gzipStream = new GZIPOutputStream(stream, BUFFER_SIZE);
+        marshal(report, gzipStream);
+        gzipStream.finish();
+      } else {
+        marshal(report, stream);
+      }
+    } catch (IOException e) {
+      throw new TechnicalException("Failed to write validation report: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * @param report JAXB report object
+   * @param file   file to write to, replaced if it exists
+   */
+  public void write(Object report, Path file) {
+    try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE)) {
+      write(report, stream);
+    } catch (IOException e) {
+      throw new TechnicalException("Failed to write validation report to " + file + ": " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * @param report JAXB report object
+   * @return report as uncompressed XML
+   */
+  public String writeToString(Object report) {
+    StringWriter writer = new StringWriter();
+    Marshaller marshaller = borrowMarshaller(report.getClass());
+    try {
+      marshaller.marshal(report, writer);
+    } catch (JAXBException e) {
+      throw new TechnicalException("Failed to create validation report in XML: " + e.getMessage(), e);
+    } finally {
+      returnMarshaller(report.getClass(), marshaller);
+    }
+    return writer.toString();
+  }
+
+  /**
+   * @return extension of the written files, <code>.xml</code> or <code>.xml.gz</code>
+   */
+  public String getFileExtension() {
+    return gzipEnabled ? ".xml.gz" : ".xml";
+  }
+
+  public Format getFormat() {
+    return format;
+  }
+
+  public boolean isGzipEnabled() {
+    return gzipEnabled;
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private void marshal(Object report, OutputStream stream) {
+    Marshaller marshaller = borrowMarshaller(report.getClass());
+    try {
+      marshaller.marshal(report, stream);
+    } catch (JAXBException e) {
+      throw new TechnicalException("Failed to create validation report in XML: " + e.getMessage(), e);
+    } finally {
+      returnMarshaller(report.getClass(), marshaller);
+    }
+  }
+
+  private Marshaller borrowMarshaller(Class<?> reportClass) {
+    Marshaller marshaller = getIdleMarshallers(reportClass).poll();
+    if (marshaller != null) {
+      return marshaller;
+    }
+    logger.debug("Creating {} marshaller for {}", format, reportClass.getSimpleName());
+    try {
+      marshaller = getContext(reportClass).createMarshaller();
+      marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, format == Format.FORMATTED);
+      return marshaller;
+    } catch (JAXBException e) {
+      throw new TechnicalException("Failed to create validation report marshaller: " + e.getMessage(), e);
+    }
+  }
+
+  private void returnMarshaller(Class<?> reportClass, Marshaller marshaller) {
+    getIdleMarshallers(reportClass).offer(marshaller);
+  }
+
+  private BlockingQueue<Marshaller> getIdleMarshallers(Class<?> reportClass) {
+    String key = reportClass.getName() + "/" + format;
+    BlockingQueue<Marshaller> marshallers = idleMarshallers.get(key);
+    if (marshallers == null) {
+      BlockingQueue<Marshaller> newMarshallers = new LinkedBlockingQueue<>(MAX_IDLE_MARSHALLERS);
+      marshallers = idleMarshallers.putIfAbsent(key, newMarshallers);
+      if (marshallers == null) {
+        marshallers = newMarshallers;
+      }
+    }
+    return marshallers;
+  }
+
+  private static JAXBContext getContext(Class<?> reportClass) throws JAXBException {
+    JAXBContext context = contexts.get(reportClass);
+    if (context == null) {
+      logger.debug("Creating JAXB context for {}", reportClass.getSimpleName());
+      context = JAXBContext.newInstance(reportClass);
+      JAXBContext existingContext = contexts.putIfAbsent(reportClass, context);
+      if (existingContext != null) {
+        context = existingContext;
+      }
+    }
+    return context;
+  }
+
+}
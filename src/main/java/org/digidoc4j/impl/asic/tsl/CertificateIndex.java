@@ -0,0 +1,139 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.asic.tsl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.x509.CertificateToken;
+
+/**
+ * Certificates of a loaded TSL indexed by subject key identifier, subject name and certificate digest.
+ * <p>
+ * The keys are calculated once when the index is created, so finding a trust anchor, an issuer or an OCSP responder
+ * certificate does not parse the certificates again. The index reflects the certificates at the time it was created;
+ * {@link TSLCertificateSourceImpl} drops it whenever its certificates change. Where several certificates share
+ * a subject key identifier, the first one in the order of the indexed certificates is returned.
+ * </p>
+ */
+public class CertificateIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(CertificateIndex.class);
+  private final Map<String, CertificateToken> bySubjectKeyIdentifier = new HashMap<>();
+  private final Map<String, List<CertificateToken>> bySubjectName = new HashMap<>();
+  private final Map<String, CertificateToken> byDigest = new HashMap<>();
+
+  private CertificateIndex() {
+  }
+
+  /**
+   * @param certificates certificates to index
+   * @return index of the certificates
+   */
+  public static CertificateIndex of(Collection<CertificateToken> certificates) {
+    CertificateIndex index = new CertificateIndex();
+    for (CertificateToken certificate : certificates) {
+      index.add(certificate);
+    }
+    logger.debug("Indexed {} certificates", certificates.size());
+    return index;
+  }
+
+  /**
+   * @param keyIdentifier subject key identifier, e.g. the key hash of an OCSP responder id
+   * @return certificate with the subject key identifier or null if there is none
+   */
+  public CertificateToken getBySubjectKeyIdentifier(byte[] keyIdentifier) {
+    return keyIdentifier == null ? null : bySubjectKeyIdentifier.get(Hex.encodeHexString(keyIdentifier));
+  }
+
+  /**
+   * @param issuerName issuer name of the certificate whose issuer is looked for, or a subject name
+   * @return certificates having the name as subject
+   */
+  public List<CertificateToken> getIssuers(X500Principal issuerName) {
+    List<CertificateToken> certificates = issuerName == null ? null : bySubjectName.get(getNameKey(issuerName));
+    return certificates == null ? Collections.<CertificateToken>emptyList()
+        : Collections.unmodifiableList(certificates);
+  }
+
+  /**
+   * @param certificateId DSS id of the certificate, i.e. the hex encoded SHA-256 digest of the certificate
+   * @return certificate with the id or null if there is none
+   */
+  public CertificateToken getByDigest(String certificateId) {
+    return certificateId == null ? null : byDigest.get(certificateId);
+  }
+
+  /**
+   * @param certificate certificate
+   * @return value of the subject key identifier extension or null if the certificate has none
+   */
+  public static byte[] getSubjectKeyIdentifier(CertificateToken certificate) {
+    byte[] extensionValue = certificate.getCertificate().getExtensionValue(Extension.subjectKeyIdentifier.getId());
+    if (extensionValue == null) {
+      return null;
+    }
+    try {
+      return ASN1OctetString.getInstance(JcaX509ExtensionUtils.parseExtensionValue(extensionValue)).getOctets();
+    } catch (IOException | IllegalArgumentException e) {
+      logger.warn("Unable to extract SubjectKeyIdentifier from certificate {}: {}",
+          certificate.getDSSIdAsString(), e.getMessage());
+      return null;
+    }
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private void add(CertificateToken certificate) {
+    byDigest.put(certificate.getDSSIdAsString(), certificate);
+    String nameKey = getNameKey(certificate.getSubjectX500Principal());
+    List<CertificateToken> subjectCertificates = bySubjectName.get(nameKey);
+    if (subjectCertificates == null) {
+      subjectCertificates = new ArrayList<>(1);
+      bySubjectName.put(nameKey, subjectCertificates);
+    }
+    subjectCertificates.add(certificate);
+    byte[] keyIdentifier = getSubjectKeyIdentifier(certificate);
+    if (keyIdentifier != null) {
+      String key = Hex.encodeHexString(keyIdentifier);
+      if (!bySubjectKeyIdentifier.containsKey(key)) {
+        bySubjectKeyIdentifier.put(key, certificate);
+      }
+    }
+  }
+
+  /**
+   * Hash of the canonical name, as the issuer name of a certificate may be encoded differently from the subject name
+   * of the issuer
+   */
+  private static String getNameKey(X500Principal name) {
+    return DigestUtils.sha1Hex(name.getName(X500Principal.CANONICAL));
+  }
+
+}
@@ -34,6 +34,7 @@ public class ClonedTslCertificateSource implements CertificateSource {
   private CertificateSource certificateSource;
   private CertificateSource clonedCertificateSource;
   private TrustedListsCertificateSource trustedListsCertificateSource;
+  private int clonedTerritoryLoadCount;
 
   /**
    * @param certificateSource source of certificate
@@ -43,7 +44,7 @@ public class ClonedTslCertificateSource implements CertificateSource {
     this.certificateSource = certificateSource;
   }
 
-  private CertificateSource getCertificateSource() {
+  private synchronized CertificateSource getCertificateSource() {
     logger.debug("Accessing TSL");
     if (clonedCertificateSource == null) {
       initializeClonedTsl();
@@ -53,8 +54,10 @@ public class ClonedTslCertificateSource implements CertificateSource {
 
   private void initializeClonedTsl() {
     if (certificateSource instanceof LazyTslCertificateSource) {
-      ((LazyTslCertificateSource) certificateSource).refreshIfCacheExpired();
-      trustedListsCertificateSource = ((LazyTslCertificateSource) certificateSource).getTslLoader().getTslCertificateSource();
+      LazyTslCertificateSource lazyTsl = (LazyTslCertificateSource) certificateSource;
+      lazyTsl.refreshIfCacheExpired();
+      trustedListsCertificateSource = lazyTsl.getTslLoader().getTslCertificateSource();
+      clonedTerritoryLoadCount = lazyTsl.getTerritoryLoadCount();
     }
     logger.debug("Cloning TSL");
     clonedCertificateSource = (CertificateSource) SerializationUtils.clone(certificateSource);
@@ -82,6 +85,29 @@ public class ClonedTslCertificateSource implements CertificateSource {
 
   @Override
   public List<CertificateToken> get(X500Principal x500Principal) {
+    loadTerritoryOf(x500Principal);
     return getCertificateSource().get(x500Principal);
   }
+
+  /**
+   * Loads the TSL of the country of the principal into the original TSL, if TSLs are loaded on demand. When the
+   * original TSL has got new territories since cloning, it is cloned again and the certificates of the previous
+   * clone, e.g. the ones found within the signature, are merged into the new clone.
+   *
+   * @param x500Principal subject of a certificate or issuer of the certificate to find
+   */
+  public void loadTerritoryOf(X500Principal x500Principal) {
+    if (!(certificateSource instanceof LazyTslCertificateSource)) {
+      return;
+    }
+    LazyTslCertificateSource lazyTsl = (LazyTslCertificateSource) certificateSource;
+    lazyTsl.loadTerritoryOf(x500Principal);
+    synchronized (this) {
+      if (clonedCertificateSource != null && clonedTerritoryLoadCount != lazyTsl.getTerritoryLoadCount()) {
+        CertificateSource previousClone = clonedCertificateSource;
+        initializeClonedTsl();
+        clonedCertificateSource.getCertificatePool().merge(previousClone.getCertificatePool());
+      }
+    }
+  }
 }
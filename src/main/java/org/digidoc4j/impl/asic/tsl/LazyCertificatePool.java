@@ -48,6 +48,11 @@ public class LazyCertificatePool extends CertificatePool {
 
   @Override
   public List<CertificateToken> get(X500Principal x500Principal) {
+    if (trustedCertSource instanceof ClonedTslCertificateSource) {
+      ((ClonedTslCertificateSource) trustedCertSource).loadTerritoryOf(x500Principal);
+    } else if (trustedCertSource instanceof LazyTslCertificateSource) {
+      ((LazyTslCertificateSource) trustedCertSource).loadTerritoryOf(x500Principal);
+    }
     return getCertificatePool().get(x500Principal);
   }
 
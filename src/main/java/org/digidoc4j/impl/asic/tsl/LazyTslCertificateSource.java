@@ -11,13 +11,25 @@
 package org.digidoc4j.impl.asic.tsl;
 
 import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.security.auth.x500.X500Principal;
 
+import org.bouncycastle.asn1.x500.RDN;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.digidoc4j.MetricsRegistry;
 import org.digidoc4j.TSLCertificateSource;
 import org.digidoc4j.exceptions.TslCertificateSourceInitializationException;
+import org.digidoc4j.impl.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +58,7 @@ public class LazyTslCertificateSource implements TSLCertificateSource {
   private Long lastCacheReloadingTime;
   private Long cacheExpirationTime;
   private TslLoader tslLoader;
+  private final AtomicInteger territoryLoadCount = new AtomicInteger();
 
   public LazyTslCertificateSource(TslLoader tslLoader) {
     logger.debug("Initializing lazy TSL certificate source");
@@ -64,6 +77,7 @@ public class LazyTslCertificateSource implements TSLCertificateSource {
 
   @Override
   public List<CertificateToken> get(X500Principal x500Principal) {
+    loadTerritoryOf(x500Principal);
     return getCertificateSource().get(x500Principal);
   }
 
@@ -82,6 +96,19 @@ public class LazyTslCertificateSource implements TSLCertificateSource {
     return getCertificateSource().getCertificates();
   }
 
+  /**
+   * Index of the certificates of the TSL, if it has been loaded. Does not load the TSL.
+   *
+   * @return index of the certificates or null if the TSL has not been loaded
+   */
+  public CertificateIndex getLoadedCertificateIndex() {
+    TSLCertificateSource source = certificateSource;
+    if (source instanceof TSLCertificateSourceImpl) {
+      return ((TSLCertificateSourceImpl) source).getCertificateIndex();
+    }
+    return null;
+  }
+
   @Override
   public void invalidateCache() {
     logger.debug("Invalidating TSL cache");
@@ -93,6 +120,67 @@ public class LazyTslCertificateSource implements TSLCertificateSource {
     refreshTsl();
   }
 
+  /**
+   * Loads the TSL of the country of the principal, if TSLs are loaded on demand and the TSL of the country
+   * has not been loaded yet.
+   *
+   * @param x500Principal subject of a certificate or issuer of the certificate to find
+   * @return true if a TSL was loaded
+   */
+  public boolean loadTerritoryOf(X500Principal x500Principal) {
+    if (!tslLoader.getConfiguration().isLazyTslTerritoryLoading()) {
+      return false;
+    }
+    String countryCode = getCountryCode(x500Principal);
+    if (countryCode == null || tslLoader.isCountryRequested(countryCode)) {
+      return false;
+    }
+    return loadTerritories(Collections.singletonList(countryCode));
+  }
+
+  /**
+   * Loads the TSLs of the countries, if TSLs are loaded on demand.
+   *
+   * @param countryCodes 2 letter country codes
+   * @return true if any TSL was loaded
+   */
+  public boolean loadTerritories(Collection<String> countryCodes) {
+    getCertificateSource();
+    if (!tslLoader.loadTerritories(countryCodes)) {
+      return false;
+    }
+    territoryLoadCount.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Loads the TSLs of the countries in a thread of its own, e.g. the countries of the recently validated signatures
+   * before a batch of validations. The validation thread pool is not used, as the download would block validations.
+   *
+   * @param countryCodes 2 letter country codes
+   * @return result of the loading, true if any TSL was loaded
+   */
+  public Future<Boolean> prefetchTerritories(final String... countryCodes) {
+    logger.debug("Prefetching TSL of {}", Arrays.asList(countryCodes));
+    FutureTask<Boolean> task = new FutureTask<>(new Callable<Boolean>() {
+      @Override
+      public Boolean call() {
+        return loadTerritories(Arrays.asList(countryCodes));
+      }
+    });
+    Thread thread = new Thread(task, "digidoc4j-tsl-prefetch");
+    thread.setDaemon(true);
+    thread.start();
+    return task;
+  }
+
+  /**
+   * @return number of times TSLs of territories have been loaded, changes when the certificates of the TSL change
+   */
+  public int getTerritoryLoadCount() {
+    return territoryLoadCount.get();
+  }
+
   public void setCacheExpirationTime(Long cacheExpirationTime) {
     this.cacheExpirationTime = cacheExpirationTime;
   }
@@ -126,15 +214,20 @@ public class LazyTslCertificateSource implements TSLCertificateSource {
   }
 
   private synchronized void refreshTsl() {
+    Metrics.Timer timer = Metrics.startTimer(Metrics.registryOf(tslLoader.getConfiguration()), MetricsRegistry.TSL_REFRESH);
     try {
       populateTsl();
       logger.debug("Refreshing TSL");
-      tslValidationJob.refresh();
+      synchronized (tslLoader) { // Territories are loaded into the same validation job, see TslLoader#loadTerritories
+        tslValidationJob.refresh();
+      }
+      timer.stop();
       lastCacheReloadingTime = new Date().getTime();
       if (logger.isDebugEnabled()) {
         logger.debug("Finished refreshing TSL, cache expires at " + getNextCacheExpirationDate());
       }
     } catch (DSSException e) {
+      timer.failed(e);
       logger.error("Unable to load TSL: " + e.getMessage());
       throw new TslCertificateSourceInitializationException(e.getMessage());
     }
@@ -157,6 +250,14 @@ public class LazyTslCertificateSource implements TSLCertificateSource {
     return tslLoader;
   }
 
+  private static String getCountryCode(X500Principal x500Principal) {
+    RDN[] rdns = X500Name.getInstance(x500Principal.getEncoded()).getRDNs(BCStyle.C);
+    if (rdns.length == 0 || rdns[0].getFirst() == null) {
+      return null;
+    }
+    return TslLoader.getTerritoryCode(rdns[0].getFirst().getValue().toString());
+  }
+
   private boolean isCacheExpired() {
     if (lastCacheReloadingTime == null) {
       return true;
@@ -0,0 +1,82 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.asic.tsl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.digidoc4j.SignatureValidationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Selects the signatures to validate again after a TSL update.
+ * <p>
+ * A signature needs validating again if any certificate used in its previous validation was added to, removed from
+ * or changed in the TSL. Signatures without recorded certificates, e.g. DDoc signatures or results of an earlier
+ * library version, are always selected.
+ * </p>
+ */
+public class RevalidationPlanner {
+
+  private static final Logger logger = LoggerFactory.getLogger(RevalidationPlanner.class);
+  private final TslDiff diff;
+
+  /**
+   * @param diff changes of the TSL since the previous validation
+   */
+  public RevalidationPlanner(TslDiff diff) {
+    this.diff = diff;
+  }
+
+  /**
+   * @param older TSL snapshot of the previous validation
+   * @param newer current TSL snapshot
+   */
+  public RevalidationPlanner(TslSnapshot older, TslSnapshot newer) {
+    this(older.diff(newer));
+  }
+
+  /**
+   * @param result previous validation result of the signature
+   * @return true if the signature must be validated again
+   */
+  public boolean isRevalidationNeeded(SignatureValidationResult result) {
+    return isRevalidationNeeded(result.getUsedCertificateIds());
+  }
+
+  /**
+   * @param usedCertificateIds ids of the certificates used in the previous validation of the signature
+   * @return true if the signature must be validated again
+   */
+  public boolean isRevalidationNeeded(Collection<String> usedCertificateIds) {
+    return usedCertificateIds == null || usedCertificateIds.isEmpty() || diff.isAffecting(usedCertificateIds);
+  }
+
+  /**
+   * @param usedCertificateIds ids of the used certificates by signature, e.g. by container path and signature id
+   * @param <K>                signature key
+   * @return keys of the signatures to validate again, in the iteration order of the map
+   */
+  public <K> List<K> plan(Map<K, ? extends Collection<String>> usedCertificateIds) {
+    List<K> signatures = new ArrayList<>();
+    for (Map.Entry<K, ? extends Collection<String>> entry : usedCertificateIds.entrySet()) {
+      if (isRevalidationNeeded(entry.getValue())) {
+        signatures.add(entry.getKey());
+      }
+    }
+    logger.debug("{} of {} signatures need validating again", signatures.size(), usedCertificateIds.size());
+    return signatures;
+  }
+
+}
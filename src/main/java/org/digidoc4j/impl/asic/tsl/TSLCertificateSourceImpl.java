@@ -16,6 +16,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.security.auth.x500.X500Principal;
+
 import org.digidoc4j.TSLCertificateSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +36,7 @@ import eu.europa.esig.dss.x509.CertificateToken;
  */
 public class TSLCertificateSourceImpl extends TrustedListsCertificateSource implements TSLCertificateSource {
   private static final Logger logger = LoggerFactory.getLogger(TSLCertificateSourceImpl.class);
+  private transient volatile CertificateIndex certificateIndex;
 
   public TSLCertificateSourceImpl() {
   }
@@ -66,6 +69,47 @@ public class TSLCertificateSourceImpl extends TrustedListsCertificateSource impl
     addCertificate(new CertificateToken(certificate), serviceInfo);
   }
 
+  @Override
+  public CertificateToken addCertificate(CertificateToken certificateToken) {
+    CertificateToken token = super.addCertificate(certificateToken);
+    resetCertificateIndex();
+    return token;
+  }
+
+  @Override
+  public CertificateToken addCertificate(CertificateToken certificateToken, ServiceInfo serviceInfo) {
+    CertificateToken token = super.addCertificate(certificateToken, serviceInfo);
+    resetCertificateIndex();
+    return token;
+  }
+
+  @Override
+  public boolean removeCertificate(CertificateToken certificateToken) {
+    boolean removed = super.removeCertificate(certificateToken);
+    resetCertificateIndex();
+    return removed;
+  }
+
+  @Override
+  public boolean removeX500Principal(X500Principal x500Principal) {
+    boolean removed = super.removeX500Principal(x500Principal);
+    resetCertificateIndex();
+    return removed;
+  }
+
+  /**
+   * Index of the certificates, created on the first call after the certificates have been loaded or changed
+   *
+   * @return index of the certificates
+   */
+  public CertificateIndex getCertificateIndex() {
+    CertificateIndex index = certificateIndex;
+    if (index == null) {
+      index = createCertificateIndex();
+    }
+    return index;
+  }
+
   /**
    * Invalidates cache
    *
@@ -76,6 +120,7 @@ public class TSLCertificateSourceImpl extends TrustedListsCertificateSource impl
   public void invalidateCache() {
     logger.debug("Invalidating TSL cache");
     TslLoader.invalidateCache();
+    resetCertificateIndex();
   }
 
   @Override
@@ -83,4 +128,19 @@ public class TSLCertificateSourceImpl extends TrustedListsCertificateSource impl
     logger.warn("Not possible to refresh this certificate source");
   }
 
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private synchronized CertificateIndex createCertificateIndex() {
+    if (certificateIndex == null) {
+      certificateIndex = CertificateIndex.of(getCertificates());
+    }
+    return certificateIndex;
+  }
+
+  private synchronized void resetCertificateIndex() {
+    certificateIndex = null;
+  }
+
 }
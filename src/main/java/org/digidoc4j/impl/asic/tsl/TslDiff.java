@@ -0,0 +1,86 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.asic.tsl;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Certificates whose trust service entries differ between two {@link TslSnapshot}s
+ */
+public class TslDiff implements Serializable {
+
+  private final Set<String> addedCertificateIds = new HashSet<>();
+  private final Set<String> removedCertificateIds = new HashSet<>();
+  private final Set<String> changedCertificateIds = new HashSet<>();
+
+  private TslDiff() {
+  }
+
+  /**
+   * @param older earlier snapshot
+   * @param newer later snapshot
+   * @return difference of the snapshots
+   */
+  public static TslDiff between(TslSnapshot older, TslSnapshot newer) {
+    TslDiff diff = new TslDiff();
+    for (String certificateId : newer.getCertificateIds()) {
+      if (!older.getCertificateIds().contains(certificateId)) {
+        diff.addedCertificateIds.add(certificateId);
+      } else if (!older.getServiceEntries(certificateId).equals(newer.getServiceEntries(certificateId))) {
+        diff.changedCertificateIds.add(certificateId);
+      }
+    }
+    for (String certificateId : older.getCertificateIds()) {
+      if (!newer.getCertificateIds().contains(certificateId)) {
+        diff.removedCertificateIds.add(certificateId);
+      }
+    }
+    return diff;
+  }
+
+  /**
+   * @param certificateIds ids of the certificates used to validate a signature
+   * @return true if any of the certificates was added to, removed from or changed in the TSL
+   */
+  public boolean isAffecting(Collection<String> certificateIds) {
+    for (String certificateId : certificateIds) {
+      if (addedCertificateIds.contains(certificateId) || removedCertificateIds.contains(certificateId)
+          || changedCertificateIds.contains(certificateId)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean isEmpty() {
+    return addedCertificateIds.isEmpty() && removedCertificateIds.isEmpty() && changedCertificateIds.isEmpty();
+  }
+
+  public Set<String> getAddedCertificateIds() {
+    return Collections.unmodifiableSet(addedCertificateIds);
+  }
+
+  public Set<String> getRemovedCertificateIds() {
+    return Collections.unmodifiableSet(removedCertificateIds);
+  }
+
+  /**
+   * @return certificates present in both snapshots with different trust service entries
+   */
+  public Set<String> getChangedCertificateIds() {
+    return Collections.unmodifiableSet(changedCertificateIds);
+  }
+
+}
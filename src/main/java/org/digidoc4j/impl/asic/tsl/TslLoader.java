@@ -16,6 +16,15 @@ import java.io.InputStream;
 import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.FileUtils;
 import org.digidoc4j.Configuration;
@@ -30,6 +39,8 @@ import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.client.http.DataLoader;
 import eu.europa.esig.dss.client.http.Protocol;
 import eu.europa.esig.dss.client.http.commons.CommonsDataLoader;
+import eu.europa.esig.dss.tsl.TSLPointer;
+import eu.europa.esig.dss.tsl.TSLValidationModel;
 import eu.europa.esig.dss.tsl.service.TSLRepository;
 import eu.europa.esig.dss.tsl.service.TSLValidationJob;
 import eu.europa.esig.dss.x509.KeyStoreCertificateSource;
@@ -45,6 +56,15 @@ public class TslLoader implements Serializable {
   private transient TSLValidationJob tslValidationJob;
 
   private static final String DEFAULT_KEYSTORE_TYPE = "JKS";
+  private static final String LOTL_CODE = "EU";
+  private static final Map<String, String> TERRITORY_CODES = new HashMap<>();
+  private final Set<String> loadedTerritories = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  private final Set<String> requestedCountries = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+  static {
+    TERRITORY_CODES.put("GR", "EL");
+    TERRITORY_CODES.put("GB", "UK");
+  }
 
   public TslLoader(Configuration configuration) {
     this.configuration = configuration;
@@ -62,6 +82,69 @@ public class TslLoader implements Serializable {
     }
   }
 
+  /**
+   * Loads the TSLs of the territories of a country, when TSLs are loaded on demand.
+   * <p/>
+   * The territories of a country are the ones in the list of trusted lists with the country code, e.g. EE, or
+   * starting with the country code, e.g. EE_T for the Estonian test TSL. Territories that are not trusted are
+   * skipped.
+   *
+   * @param countryCodes 2 letter country codes, ISO codes are mapped to the codes of the list of trusted lists
+   * @return true if any TSL was loaded
+   */
+  public synchronized boolean loadTerritories(Collection<String> countryCodes) {
+    if (!configuration.isLazyTslTerritoryLoading() || tslValidationJob == null) {
+      return false;
+    }
+    countryCodes = getTerritoryCodes(countryCodes);
+    TSLValidationModel lotl = tslRepository.getByCountry(LOTL_CODE);
+    if (lotl == null || lotl.getParseResult() == null) {
+      logger.warn("List of trusted lists is not loaded, unable to find TSL of {}", countryCodes);
+      return false;
+    }
+    List<String> territories = new ArrayList<>();
+    for (String territory : getTerritoriesOf(lotl, countryCodes)) {
+      if (!loadedTerritories.contains(territory) && isTrusted(territory)) {
+        territories.add(territory);
+      }
+    }
+    requestedCountries.addAll(countryCodes);
+    if (territories.isEmpty()) {
+      return false;
+    }
+    logger.debug("Loading TSL of territories {}", territories);
+    loadedTerritories.addAll(territories);
+    tslValidationJob.setFilterTerritories(getFilterTerritories());
+    try {
+      tslValidationJob.refresh();
+    } catch (DSSException e) {
+      loadedTerritories.removeAll(territories);
+      requestedCountries.removeAll(countryCodes);
+      logger.error("Unable to load TSL: " + e.getMessage());
+      throw new TslCertificateSourceInitializationException(e.getMessage());
+    }
+    return true;
+  }
+
+  /**
+   * @param countryCode 2 letter country code
+   * @return true if the TSLs of the country were loaded already or the country has no trusted TSL
+   */
+  public boolean isCountryRequested(String countryCode) {
+    return requestedCountries.contains(getTerritoryCode(countryCode));
+  }
+
+  /**
+   * The list of trusted lists uses ISO 3166 country codes, except for Greece (EL) and the United Kingdom (UK).
+   *
+   * @param countryCode 2 letter ISO country code, e.g. the country of a certificate
+   * @return code of the country in the list of trusted lists
+   */
+  public static String getTerritoryCode(String countryCode) {
+    String code = countryCode.toUpperCase(Locale.ENGLISH);
+    return TERRITORY_CODES.containsKey(code) ? TERRITORY_CODES.get(code) : code;
+  }
+
   public static void invalidateCache() {
     logger.info("Cleaning TSL cache directory at " + fileCacheDirectory.getPath());
     try {
@@ -92,6 +175,10 @@ public class TslLoader implements Serializable {
     return tslRepository;
   }
 
+  public Configuration getConfiguration() {
+    return configuration;
+  }
+
   private TSLValidationJob createTslValidationJob(TSLRepository tslRepository) {
     TSLValidationJob tslValidationJob = new TSLValidationJob();
     tslValidationJob.setDataLoader(createDataLoader());
@@ -101,11 +188,50 @@ public class TslLoader implements Serializable {
     tslValidationJob.setRepository(tslRepository);
     tslValidationJob.setCheckLOTLSignature(checkSignature);
     tslValidationJob.setCheckTSLSignatures(checkSignature);
-    tslValidationJob.setFilterTerritories(configuration.getTrustedTerritories());
+    tslValidationJob.setFilterTerritories(getFilterTerritories());
     //tslValidationJob.setLotlRootSchemeInfoUri("https://ec.europa.eu/information_society/policy/esignature/trusted-list/tl.html");
     return tslValidationJob;
   }
 
+  private List<String> getFilterTerritories() {
+    if (!configuration.isLazyTslTerritoryLoading()) {
+      return configuration.getTrustedTerritories();
+    }
+    List<String> territories = new ArrayList<>(loadedTerritories);
+    territories.add(LOTL_CODE);
+    return territories;
+  }
+
+  private static List<String> getTerritoryCodes(Collection<String> countryCodes) {
+    List<String> territoryCodes = new ArrayList<>(countryCodes.size());
+    for (String countryCode : countryCodes) {
+      territoryCodes.add(getTerritoryCode(countryCode));
+    }
+    return territoryCodes;
+  }
+
+  private List<String> getTerritoriesOf(TSLValidationModel lotl, Collection<String> countryCodes) {
+    List<String> territories = new ArrayList<>();
+    for (TSLPointer pointer : lotl.getParseResult().getPointers()) {
+      for (String countryCode : countryCodes) {
+        if (isTerritoryOf(pointer.getTerritory(), countryCode) && !territories.contains(pointer.getTerritory())) {
+          territories.add(pointer.getTerritory());
+        }
+      }
+    }
+    return territories;
+  }
+
+  private boolean isTerritoryOf(String territory, String countryCode) {
+    return territory != null && countryCode != null
+        && (territory.equals(countryCode) || territory.startsWith(countryCode + "_"));
+  }
+
+  private boolean isTrusted(String territory) {
+    List<String> trustedTerritories = configuration.getTrustedTerritories();
+    return trustedTerritories == null || trustedTerritories.isEmpty() || trustedTerritories.contains(territory);
+  }
+
   private DataLoader createDataLoader() {
     if (Protocol.isHttpUrl(configuration.getTslLocation())) {
       CachingDataLoader dataLoader = new CachingDataLoader(configuration);
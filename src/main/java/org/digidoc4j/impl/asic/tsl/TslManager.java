@@ -19,9 +19,11 @@ import org.slf4j.LoggerFactory;
 
 public class TslManager implements Serializable {
 
+  private static final long serialVersionUID = -4977063112376944155L;
   private static final Logger logger = LoggerFactory.getLogger(TslManager.class);
   private TSLCertificateSource tslCertificateSource;
   private Configuration configuration;
+  private boolean sharedTsl;
 
   public TslManager(Configuration configuration) {
     this.configuration = configuration;
@@ -38,6 +40,33 @@ public class TslManager implements Serializable {
 
   public void setTsl(TSLCertificateSource certificateSource) {
     this.tslCertificateSource = certificateSource;
+    this.sharedTsl = false;
+  }
+
+  /**
+   * Creates manager for a copy of the configuration sharing the already created TSL. The shared TSL is loaded with
+   * the TSL settings of the original configuration and certificates added to it are seen by all the configurations
+   * sharing it.
+   *
+   * @param configuration configuration copy
+   * @return TSL manager
+   */
+  public TslManager copy(Configuration configuration) {
+    TslManager manager = new TslManager(configuration);
+    manager.tslCertificateSource = this.tslCertificateSource;
+    manager.sharedTsl = this.tslCertificateSource != null;
+    return manager;
+  }
+
+  /**
+   * Stops using the TSL shared with the configuration this one was copied from, so that the next access loads a TSL
+   * with the TSL settings of this configuration. Does nothing for a TSL not shared by copying.
+   */
+  public void detachSharedTsl() {
+    if (sharedTsl) {
+      logger.debug("TSL settings of a configuration copy changed, detaching from the shared TSL");
+      setTsl(null);
+    }
   }
 
   /**
@@ -0,0 +1,121 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.asic.tsl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.digidoc4j.TSLCertificateSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.tsl.Condition;
+import eu.europa.esig.dss.tsl.ServiceInfo;
+import eu.europa.esig.dss.tsl.ServiceInfoStatus;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+/**
+ * Trust service entries of the certificates of a TSL at one point in time.
+ * <p>
+ * The certificates are identified by the same ids DSS uses in the diagnostic data, so the snapshot can be compared
+ * with the certificate ids recorded in {@link org.digidoc4j.SignatureValidationResult#getUsedCertificateIds()}.
+ * Snapshots are serializable and can be stored next to the validated archive.
+ * </p>
+ */
+public class TslSnapshot implements Serializable {
+
+  private static final Logger logger = LoggerFactory.getLogger(TslSnapshot.class);
+  private final Map<String, List<String>> serviceEntries;
+
+  private TslSnapshot(Map<String, List<String>> serviceEntries) {
+    this.serviceEntries = serviceEntries;
+  }
+
+  /**
+   * @param source TSL to take the snapshot of
+   * @return service entries of every certificate of the TSL
+   */
+  public static TslSnapshot of(TSLCertificateSource source) {
+    Map<String, List<String>> serviceEntries = new HashMap<>();
+    for (CertificateToken certificate : source.getCertificates()) {
+      List<String> entries = new ArrayList<>();
+      for (ServiceInfo serviceInfo : certificate.getAssociatedTSPS()) {
+        for (ServiceInfoStatus status : serviceInfo.getStatus()) {
+          entries.add(describe(serviceInfo, status));
+        }
+      }
+      Collections.sort(entries);
+      serviceEntries.put(certificate.getDSSIdAsString(), entries);
+    }
+    logger.debug("Took snapshot of {} TSL certificates", serviceEntries.size());
+    return new TslSnapshot(serviceEntries);
+  }
+
+  /**
+   * @param newer later snapshot of the TSL
+   * @return certificates added, removed or with changed trust service entries in the newer snapshot
+   */
+  public TslDiff diff(TslSnapshot newer) {
+    return TslDiff.between(this, newer);
+  }
+
+  /**
+   * @return ids of the certificates of the TSL
+   */
+  public Set<String> getCertificateIds() {
+    return Collections.unmodifiableSet(serviceEntries.keySet());
+  }
+
+  /**
+   * @param certificateId id of the certificate
+   * @return trust service entries of the certificate or null if the TSL does not contain it
+   */
+  public List<String> getServiceEntries(String certificateId) {
+    return serviceEntries.get(certificateId);
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private static String describe(ServiceInfo serviceInfo, ServiceInfoStatus status) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(serviceInfo.getTlCountryCode()).append('|').append(serviceInfo.getTspName()).append('|')
+        .append(serviceInfo.getServiceName()).append('|').append(status.getType()).append('|')
+        .append(status.getStatus()).append('|').append(toTime(status.getStartDate())).append('|')
+        .append(toTime(status.getEndDate())).append('|').append(toTime(status.getExpiredCertsRevocationInfo()))
+        .append('|').append(status.getAdditionalServiceInfoUris());
+    if (status.getQualifiersAndConditions() != null) {
+      for (Map.Entry<String, List<Condition>> qualifier : new TreeMap<>(
+          status.getQualifiersAndConditions()).entrySet()) {
+        sb.append('|').append(qualifier.getKey());
+        if (qualifier.getValue() != null) {
+          for (Condition condition : qualifier.getValue()) {
+            sb.append(' ').append(condition.toString(""));
+          }
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  private static Long toTime(Date date) {
+    return date == null ? null : date.getTime();
+  }
+
+}
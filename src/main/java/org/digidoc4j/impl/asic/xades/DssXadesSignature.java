@@ -11,6 +11,7 @@
 package org.digidoc4j.impl.asic.xades;
 
 import org.digidoc4j.impl.asic.xades.validation.XadesValidationResult;
+import org.digidoc4j.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,4 +43,8 @@ public abstract class DssXadesSignature implements XadesSignature {
   public XAdESSignature getDssSignature() {
     return reportGenerator.openDssSignature();
   }
+
+  protected Configuration getConfiguration() {
+    return reportGenerator.getConfiguration();
+  }
 }
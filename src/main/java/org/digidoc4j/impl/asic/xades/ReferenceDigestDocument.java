@@ -0,0 +1,111 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.asic.xades;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.codec.binary.Base64;
+import org.digidoc4j.exceptions.TechnicalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.DigestDocument;
+
+/**
+ * Detached content of a signature that is digested only once per digest algorithm.
+ * <p>
+ * DSS checks a detached reference pointing to a {@link DigestDocument} against the digest of the document instead of
+ * reading and digesting the content for every reference check. The content itself is still available through
+ * {@link #openStream()}.
+ * </p>
+ */
+public class ReferenceDigestDocument extends DigestDocument {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReferenceDigestDocument.class);
+  private final DSSDocument document;
+  private final Map<DigestAlgorithm, String> digests = new HashMap<>();
+
+  /**
+   * @param document detached content
+   */
+  public ReferenceDigestDocument(DSSDocument document) {
+    this.document = document;
+    setName(document.getName());
+    setMimeType(document.getMimeType());
+    setAbsolutePath(document.getAbsolutePath());
+  }
+
+  /**
+   * @param documents detached contents
+   * @return the same contents, each digested only once per digest algorithm; digest documents, whose digests are
+   * already known and whose content can not be read, are returned as they are
+   */
+  public static List<DSSDocument> wrap(List<DSSDocument> documents) {
+    List<DSSDocument> wrappedDocuments = new ArrayList<>(documents.size());
+    for (DSSDocument document : documents) {
+      wrappedDocuments.add(document instanceof DigestDocument ? document : new ReferenceDigestDocument(document));
+    }
+    return wrappedDocuments;
+  }
+
+  @Override
+  public synchronized String getDigest(DigestAlgorithm digestAlgorithm) {
+    String digest = digests.get(digestAlgorithm);
+    if (digest == null) {
+      logger.debug("Calculating {} digest of {}", digestAlgorithm, getName());
+      try (InputStream stream = document.openStream()) {
+        digest = Base64.encodeBase64String(DSSUtils.digest(digestAlgorithm, stream));
+      } catch (IOException e) {
+        throw new TechnicalException("Failed to digest " + getName() + ": " + e.getMessage(), e);
+      }
+      digests.put(digestAlgorithm, digest);
+    }
+    return digest;
+  }
+
+  @Override
+  public synchronized void addDigest(DigestAlgorithm digestAlgorithm, String base64EncodeDigest) {
+    digests.put(digestAlgorithm, base64EncodeDigest);
+  }
+
+  @Override
+  public InputStream openStream() throws DSSException {
+    return document.openStream();
+  }
+
+  @Override
+  public void writeTo(OutputStream stream) throws IOException {
+    document.writeTo(stream);
+  }
+
+  @Override
+  public void save(String filePath) throws IOException {
+    document.save(filePath);
+  }
+
+  /**
+   * @return the wrapped detached content
+   */
+  public DSSDocument getDocument() {
+    return document;
+  }
+
+}
@@ -10,25 +10,25 @@
 
 package org.digidoc4j.impl.asic.xades;
 
-import java.io.IOException;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
-import org.bouncycastle.asn1.ASN1OctetString;
-import org.bouncycastle.asn1.ASN1Primitive;
 import org.bouncycastle.asn1.x500.AttributeTypeAndValue;
 import org.bouncycastle.asn1.x500.RDN;
 import org.bouncycastle.asn1.x500.X500Name;
-import org.bouncycastle.asn1.x509.Extension;
-import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
 import org.bouncycastle.cert.ocsp.BasicOCSPResp;
 import org.bouncycastle.cert.ocsp.RespID;
+import org.digidoc4j.Configuration;
 import org.digidoc4j.SignatureProfile;
+import org.digidoc4j.TSLCertificateSource;
 import org.digidoc4j.X509Cert;
 import org.digidoc4j.exceptions.CertificateNotFoundException;
+import org.digidoc4j.impl.asic.tsl.CertificateIndex;
+import org.digidoc4j.impl.asic.tsl.LazyTslCertificateSource;
+import org.digidoc4j.impl.asic.tsl.TSLCertificateSourceImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -116,42 +116,22 @@ public class TimemarkSignature extends BesSignature {
   }
 
   private X509Cert findOcspCertificate() {
-    String rId = "";
     String signatureId = getDssSignature().getId();
-    try {
-      RespID responderId = ocspResponse.getResponderId();
-      rId = responderId.toString();
-      String primitiveName = getCN(responderId.toASN1Primitive().getName());
-      byte[] keyHash = responderId.toASN1Primitive().getKeyHash();
-
-      boolean isKeyHash = useKeyHashForOCSP(primitiveName, keyHash);
-
-      if (isKeyHash) {
-        logger.debug("Using keyHash {} for OCSP certificate match", keyHash);
-      } else {
-        logger.debug("Using ASN1Primitive {} for OCSP certificate match", primitiveName);
-      }
-
-      for (CertificateToken cert : getDssSignature().getCertificates()) {
-        if (isKeyHash) {
-          ASN1Primitive skiPrimitive = JcaX509ExtensionUtils.parseExtensionValue(
-              cert.getCertificate().getExtensionValue(Extension.subjectKeyIdentifier.getId()));
-          byte[] keyIdentifier = ASN1OctetString.getInstance(skiPrimitive.getEncoded()).getOctets();
-          if (Arrays.equals(keyHash, keyIdentifier)) {
-            return new X509Cert(cert.getCertificate());
-          }
-        } else {
-          String certCn = getCN(new X500Name(cert.getSubjectX500Principal().getName()));
-          if (StringUtils.equals(certCn, primitiveName)) {
-            return new X509Cert(cert.getCertificate());
-          }
-        }
-      }
-
-    } catch (IOException e) {
-      logger.error("Unable to wrap and extract SubjectKeyIdentifier from certificate - technical error. {}", e);
+    RespID responderId = ocspResponse.getResponderId();
+    String rId = responderId.toString();
+    String primitiveName = getCN(responderId.toASN1Primitive().getName());
+    byte[] keyHash = responderId.toASN1Primitive().getKeyHash();
+    CertificateToken certificate;
+    if (useKeyHashForOCSP(primitiveName, keyHash)) {
+      logger.debug("Using keyHash {} for OCSP certificate match", keyHash);
+      certificate = findCertificateByKeyHash(keyHash);
+    } else {
+      logger.debug("Using ASN1Primitive {} for OCSP certificate match", primitiveName);
+      certificate = findCertificateByCommonName(primitiveName);
+    }
+    if (certificate != null) {
+      return new X509Cert(certificate.getCertificate());
     }
-
     logger.error("OCSP certificate for " + rId + " was not found in TSL");
     throw new CertificateNotFoundException("OCSP certificate for " + rId + " was not found in TSL", signatureId);
   }
@@ -160,6 +140,53 @@ public class TimemarkSignature extends BesSignature {
     return (keyHash != null && keyHash.length > 0) && (primitiveName == null || primitiveName.trim().length() == 0);
   }
 
+  /**
+   * The responder is looked up by key hash in the index of the loaded TSL and the certificate with the same digest is
+   * taken from the signature, without parsing the signature certificates. They are parsed only when the TSL has not
+   * been loaded or the signature holds another certificate of the key, e.g. one not on the TSL.
+   */
+  private CertificateToken findCertificateByKeyHash(byte[] keyHash) {
+    List<CertificateToken> certificates = getDssSignature().getCertificates();
+    CertificateIndex tslIndex = getLoadedTslIndex();
+    CertificateToken trustedCertificate = tslIndex == null ? null : tslIndex.getBySubjectKeyIdentifier(keyHash);
+    if (trustedCertificate != null) {
+      for (CertificateToken certificate : certificates) {
+        if (trustedCertificate.getDSSIdAsString().equals(certificate.getDSSIdAsString())) {
+          return certificate;
+        }
+      }
+    }
+    for (CertificateToken certificate : certificates) {
+      if (Arrays.equals(keyHash, CertificateIndex.getSubjectKeyIdentifier(certificate))) {
+        return certificate;
+      }
+    }
+    return null;
+  }
+
+  private CertificateToken findCertificateByCommonName(String commonName) {
+    for (CertificateToken certificate : getDssSignature().getCertificates()) {
+      if (StringUtils.equals(getCN(new X500Name(certificate.getSubjectX500Principal().getName())), commonName)) {
+        return certificate;
+      }
+    }
+    return null;
+  }
+
+  private CertificateIndex getLoadedTslIndex() {
+    Configuration configuration = getConfiguration();
+    if (configuration == null) {
+      return null;
+    }
+    TSLCertificateSource tsl = configuration.getTSL();
+    if (tsl instanceof LazyTslCertificateSource) {
+      return ((LazyTslCertificateSource) tsl).getLoadedCertificateIndex();
+    }
+    if (tsl instanceof TSLCertificateSourceImpl) {
+      return ((TSLCertificateSourceImpl) tsl).getCertificateIndex();
+    }
+    return null;
+  }
 
   private String getCN(X500Name x500Name) {
     if (x500Name == null) return null;
@@ -18,14 +18,21 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.xml.security.utils.Constants;
 import org.digidoc4j.Configuration;
+import org.digidoc4j.MetricsRegistry;
 import org.digidoc4j.exceptions.DigiDoc4JException;
 import org.digidoc4j.exceptions.SignatureNotFoundException;
+import org.digidoc4j.impl.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
 
 import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DigestAlgorithm;
 import eu.europa.esig.dss.validation.AdvancedSignature;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
 import eu.europa.esig.dss.validation.reports.Reports;
@@ -34,11 +41,14 @@ import eu.europa.esig.dss.xades.validation.XAdESSignature;
 public class XadesValidationReportGenerator implements Serializable {
 
   private final static Logger logger = LoggerFactory.getLogger(XadesValidationReportGenerator.class);
+  private static final String[] DATA_TIMESTAMP_ELEMENTS = {"ArchiveTimeStamp", "AllDataObjectsTimeStamp",
+      "IndividualDataObjectsTimeStamp"};
   private transient SignedDocumentValidator validator;
   private transient Reports validationReport;
   private transient XAdESSignature dssSignature;
   private DSSDocument signatureDocument;
   private List<DSSDocument> detachedContents;
+  private List<DSSDocument> digestedDetachedContents;
   private Configuration configuration;
 
   public XadesValidationReportGenerator(DSSDocument signatureDocument, List<DSSDocument> detachedContents, Configuration configuration) {
@@ -69,12 +79,28 @@ public class XadesValidationReportGenerator implements Serializable {
     this.validator = validator;
   }
 
+  /**
+   * @return configuration the signature is validated with
+   */
+  public Configuration getConfiguration() {
+    return configuration;
+  }
+
   private Reports createNewValidationReport() {
     try {
       logger.debug("Creating a new validation report");
       InputStream validationPolicyAsStream = getValidationPolicyAsStream();
       initXadesValidator();
-      return validator.validateDocument(validationPolicyAsStream);
+      useDigestedDetachedContents();
+      Metrics.Timer timer = Metrics.startTimer(Metrics.registryOf(configuration), MetricsRegistry.SIGNATURE_VALIDATION);
+      try {
+        Reports reports = validator.validateDocument(validationPolicyAsStream);
+        timer.stop();
+        return reports;
+      } catch (DSSException e) {
+        timer.failed(e);
+        throw e;
+      }
     } catch (DSSException e) {
       logger.error("Error creating a new validation report: " + e.getMessage());
       throw new DigiDoc4JException(e);
@@ -87,6 +113,64 @@ public class XadesValidationReportGenerator implements Serializable {
     }
   }
 
+  /**
+   * Lets DSS check the detached references against digests calculated once per data file, instead of reading and
+   * digesting every data file on each reference check. The digests are kept with the generator, so validating the
+   * signature again after deserialization does not digest the data files again either.
+   */
+  private void useDigestedDetachedContents() {
+    List<AdvancedSignature> signatures = validator.getSignatures();
+    for (AdvancedSignature signature : signatures) {
+      if (!canUseReferenceDigests((XAdESSignature) signature)) {
+        logger.debug("Signature {} is validated against the detached contents", signature.getId());
+        return;
+      }
+    }
+    if (digestedDetachedContents == null) {
+      digestedDetachedContents = ReferenceDigestDocument.wrap(detachedContents);
+    }
+    validator.setDetachedContents(digestedDetachedContents);
+    for (AdvancedSignature signature : signatures) {
+      signature.setDetachedContents(digestedDetachedContents);
+    }
+  }
+
+  /**
+   * DSS uses the digest algorithm of the signature for the digests of detached contents, so a digest can only replace
+   * the content when every detached reference is digested with that algorithm and without transforms. Timestamps of
+   * the data objects and archive timestamps need the referenced bytes themselves.
+   */
+  private boolean canUseReferenceDigests(XAdESSignature signature) {
+    if (detachedContents == null || detachedContents.isEmpty()) {
+      return false;
+    }
+    DigestAlgorithm digestAlgorithm = signature.getDigestAlgorithm();
+    if (digestAlgorithm == null) {
+      return false;
+    }
+    Element signatureElement = signature.getSignatureElement();
+    for (String timestampName : DATA_TIMESTAMP_ELEMENTS) {
+      if (signatureElement.getElementsByTagNameNS("*", timestampName).getLength() > 0) {
+        return false;
+      }
+    }
+    for (Element reference : signature.getSignatureReferences()) {
+      String uri = reference.getAttribute("URI");
+      if (StringUtils.isEmpty(uri) || uri.startsWith("#")) {
+        continue;
+      }
+      if (reference.getElementsByTagNameNS(Constants.SignatureSpecNS, "Transforms").getLength() > 0) {
+        return false;
+      }
+      NodeList digestMethods = reference.getElementsByTagNameNS(Constants.SignatureSpecNS, "DigestMethod");
+      if (digestMethods.getLength() != 1 || digestAlgorithm != DigestAlgorithm.forXML(
+          ((Element) digestMethods.item(0)).getAttribute("Algorithm"), null)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private SignedDocumentValidator createXadesValidator() {
     logger.debug("Creating a new xades validator");
     XadesValidationDssFacade validationFacade = new XadesValidationDssFacade(detachedContents, configuration);
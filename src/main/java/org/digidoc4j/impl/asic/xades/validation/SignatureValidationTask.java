@@ -14,6 +14,8 @@ import java.util.concurrent.Callable;
 
 import org.digidoc4j.Signature;
 import org.digidoc4j.SignatureValidationResult;
+import org.digidoc4j.ValidationMode;
+import org.digidoc4j.impl.asic.AsicSignature;
 import org.digidoc4j.impl.asic.asice.AsicESignature;
 import org.digidoc4j.impl.asic.asice.bdoc.BDocSignature;
 import org.digidoc4j.impl.asic.asics.AsicSSignature;
@@ -25,15 +27,22 @@ public class SignatureValidationTask implements Callable<SignatureValidationData
   private final static Logger logger = LoggerFactory.getLogger(SignatureValidationTask.class);
 
   private Signature signature;
+  private ValidationMode validationMode;
 
   public SignatureValidationTask(Signature signature) {
+    this(signature, ValidationMode.FULL);
+  }
+
+  public SignatureValidationTask(Signature signature, ValidationMode validationMode) {
     this.signature = signature;
+    this.validationMode = validationMode;
   }
 
   @Override
   public SignatureValidationData call() throws Exception {
-    logger.debug("Starting to validate signature " + signature.getId());
-    SignatureValidationResult validationResult = signature.validateSignature();
+    logger.debug("Starting to validate signature {}", signature.getId());
+    SignatureValidationResult validationResult = signature instanceof AsicSignature
+        ? ((AsicSignature) signature).validateSignature(validationMode) : signature.validateSignature();
     SignatureValidationData validationData = new SignatureValidationData();
     validationData.setValidationResult(validationResult);
     validationData.setSignatureId(signature.getId());
@@ -13,9 +13,10 @@ package org.digidoc4j.impl.asic.xades.validation;
 import java.io.Serializable;
 
 import org.digidoc4j.SignatureValidationResult;
+import org.digidoc4j.ValidationMode;
 
 public interface SignatureValidator extends Serializable {
 
-  SignatureValidationResult extractValidationErrors();
+  SignatureValidationResult extractValidationErrors(ValidationMode validationMode);
 
 }
@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 public class ThreadPoolManager {
 
   private final static Logger logger = LoggerFactory.getLogger(ThreadPoolManager.class);
+  private static final ThreadLocal<Boolean> runningTask = new ThreadLocal<>();
   private static ExecutorService defaultThreadExecutor;
   private Configuration configuration;
 
@@ -47,12 +48,35 @@ public class ThreadPoolManager {
     //Using double-checked locking to avoid other threads to start initializing another executor
     if (defaultThreadExecutor == null) {
       int numberOfProcessors = Runtime.getRuntime().availableProcessors();
-      logger.debug("Initializing a new default thread pool executor with " + numberOfProcessors + " threads");
+      logger.debug("Initializing a new default thread pool executor with {} threads", numberOfProcessors);
       defaultThreadExecutor = Executors.newFixedThreadPool(numberOfProcessors);
     }
   }
 
-  public <T> Future<T> submit(Callable<T> task) {
-    return getThreadExecutor().submit(task);
+  public <T> Future<T> submit(final Callable<T> task) {
+    return getThreadExecutor().submit(new Callable<T>() {
+
+      @Override
+      public T call() throws Exception {
+        Boolean previous = runningTask.get();
+        runningTask.set(Boolean.TRUE);
+        try {
+          return task.call();
+        } finally {
+          runningTask.set(previous);
+        }
+      }
+
+    });
+  }
+
+  /**
+   * A task waiting for tasks it submits to a bounded pool may take the last free thread and never get them done,
+   * so nested work should run inline on the calling thread.
+   *
+   * @return true when the current thread is running a task submitted through a thread pool manager
+   */
+  public static boolean isRunningTask() {
+    return Boolean.TRUE.equals(runningTask.get());
   }
 }
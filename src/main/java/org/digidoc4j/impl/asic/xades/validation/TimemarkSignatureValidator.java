@@ -14,7 +14,7 @@ import java.security.cert.X509Certificate;
 import java.util.Date;
 
 import org.apache.commons.lang3.StringUtils;
-import org.digidoc4j.exceptions.InvalidTimemarkSignatureException;
+import org.digidoc4j.ValidationFinding;
 import org.digidoc4j.exceptions.SignedWithExpiredCertificateException;
 import org.digidoc4j.exceptions.UntrustedRevocationSourceException;
 import org.digidoc4j.impl.asic.xades.XadesSignature;
@@ -37,7 +37,13 @@ public class TimemarkSignatureValidator extends XadesSignatureValidator {
     @Override
     protected void populateValidationErrors() {
         super.populateValidationErrors();
+        if (this.isVerdictReached()) {
+            return;
+        }
         this.addCertificateExpirationError();
+        if (this.isVerdictReached()) {
+            return;
+        }
         this.addRevocationErrors();
     }
 
@@ -50,7 +56,7 @@ public class TimemarkSignatureValidator extends XadesSignatureValidator {
                 xPathQueryHolder.XPATH__SIGNATURE_POLICY_IMPLIED.replace(".", "")));
         if (signaturePolicyImpliedElement != null) {
             this.log.error("Signature contains forbidden element");
-            this.addValidationError(new InvalidTimemarkSignatureException("Signature contains forbidden <SignaturePolicyImplied> element"));
+            this.addValidationError(ValidationFinding.Code.INVALID_TIMEMARK_SIGNATURE, "Signature contains forbidden <SignaturePolicyImplied> element");
         }
     }
 
@@ -64,7 +70,7 @@ public class TimemarkSignatureValidator extends XadesSignatureValidator {
             signingTime.compareTo(signerCert.getNotAfter()) <= 0;
         if (!isCertValid) {
             this.log.error("Signature has been created with expired certificate");
-            this.addValidationError(new SignedWithExpiredCertificateException());
+            this.addValidationError(ValidationFinding.Code.SIGNED_WITH_EXPIRED_CERTIFICATE, SignedWithExpiredCertificateException.MESSAGE);
         }
     }
 
@@ -77,7 +83,7 @@ public class TimemarkSignatureValidator extends XadesSignatureValidator {
         this.log.debug("Revocation source is <{}>", certificateRevocationSource);
         if (StringUtils.equalsIgnoreCase("CRLToken", certificateRevocationSource)) {
             this.log.error("Signing certificate revocation source is CRL instead of OCSP");
-            this.addValidationError(new UntrustedRevocationSourceException());
+            this.addValidationError(ValidationFinding.Code.UNTRUSTED_REVOCATION_SOURCE, UntrustedRevocationSourceException.MESSAGE);
         }
     }
 
@@ -15,7 +15,7 @@ import java.util.List;
 
 import org.bouncycastle.cert.ocsp.BasicOCSPResp;
 import org.digidoc4j.Configuration;
-import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.ValidationFinding;
 import org.digidoc4j.exceptions.TimestampAndOcspResponseTimeDeltaTooLargeException;
 import org.digidoc4j.impl.asic.xades.XadesSignature;
 import org.digidoc4j.utils.DateUtils;
@@ -38,6 +38,9 @@ public class TimestampSignatureValidator extends TimemarkSignatureValidator {
   @Override
   protected void populateValidationErrors() {
     super.populateValidationErrors();
+    if (this.isVerdictReached()) {
+      return;
+    }
     this.addSigningTimeErrors();
   }
 
@@ -64,10 +67,10 @@ public class TimestampSignatureValidator extends TimemarkSignatureValidator {
     this.log.debug("Difference in minutes: <{}>", differenceInMinutes);
     if (!DateUtils.isInRangeMinutes(timestamp, ocspTime, deltaLimit)) {
       this.log.error("The difference between the OCSP response production time and the signature timestamp is too large <{} minutes>", differenceInMinutes);
-      this.addValidationError(new TimestampAndOcspResponseTimeDeltaTooLargeException());
+      this.addValidationError(ValidationFinding.Code.TIMESTAMP_AND_OCSP_RESPONSE_TIME_DELTA_TOO_LARGE, TimestampAndOcspResponseTimeDeltaTooLargeException.MESSAGE);
     } else if (this.configuration.getAllowedTimestampAndOCSPResponseDeltaInMinutes() < differenceInMinutes && differenceInMinutes < deltaLimit) {
       this.log.warn("The difference (in minutes) between the OCSP response production time and the signature timestamp is in allowable range (<{}>, allowed maximum <{}>)", differenceInMinutes, deltaLimit);
-      this.addValidationWarning(new DigiDoc4JException("The difference between the OCSP response time and the signature timestamp is in allowable range"));
+      this.addValidationWarning("The difference between the OCSP response time and the signature timestamp is in allowable range");
     }
   }
 
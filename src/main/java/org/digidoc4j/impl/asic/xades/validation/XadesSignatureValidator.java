@@ -13,19 +13,17 @@ package org.digidoc4j.impl.asic.xades.validation;
 import static org.apache.commons.lang3.StringUtils.equalsIgnoreCase;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.digidoc4j.SignatureValidationResult;
-import org.digidoc4j.exceptions.CertificateRevokedException;
-import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.ValidationFinding;
+import org.digidoc4j.ValidationMode;
 import org.digidoc4j.exceptions.InvalidOcspNonceException;
 import org.digidoc4j.exceptions.InvalidTimestampException;
-import org.digidoc4j.exceptions.MultipleSignedPropertiesException;
-import org.digidoc4j.exceptions.SignedPropertiesMissingException;
-import org.digidoc4j.exceptions.WrongPolicyIdentifierException;
-import org.digidoc4j.exceptions.WrongPolicyIdentifierQualifierException;
 import org.digidoc4j.impl.asic.OcspNonceValidator;
 import org.digidoc4j.impl.asic.xades.XadesSignature;
 import org.digidoc4j.utils.Helper;
@@ -39,6 +37,7 @@ import eu.europa.esig.dss.validation.process.MessageTag;
 import eu.europa.esig.dss.validation.reports.DetailedReport;
 import eu.europa.esig.dss.validation.reports.Reports;
 import eu.europa.esig.dss.validation.reports.SimpleReport;
+import eu.europa.esig.dss.validation.reports.wrapper.CertificateWrapper;
 import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
 import eu.europa.esig.dss.x509.SignaturePolicy;
 import eu.europa.esig.dss.xades.XPathQueryHolder;
@@ -56,9 +55,9 @@ public class XadesSignatureValidator implements SignatureValidator {
   protected XadesSignature signature;
   private transient Reports validationReport;
   private transient SimpleReport simpleReport;
-  private List<DigiDoc4JException> validationErrors = new ArrayList<>();
-  private List<DigiDoc4JException> validationWarnings = new ArrayList<>();
+  private List<ValidationFinding> findings = new ArrayList<>();
   private String signatureId;
+  private ValidationMode validationMode = ValidationMode.FULL;
 
   /**
    * Constructor.
@@ -71,8 +70,10 @@ public class XadesSignatureValidator implements SignatureValidator {
   }
 
   @Override
-  public SignatureValidationResult extractValidationErrors() {
+  public SignatureValidationResult extractValidationErrors(ValidationMode validationMode) {
     logger.debug("Extracting validation errors");
+    this.validationMode = validationMode;
+    this.findings = new ArrayList<>();
     XadesValidationResult validationResult = signature.validate();
     validationReport = validationResult.getReport();
     Map<String, SimpleReport> simpleReports = validationResult.extractSimpleReports();
@@ -90,20 +91,37 @@ public class XadesSignatureValidator implements SignatureValidator {
     this.addPolicyUriValidationErrors();
     this.addPolicyErrors();
     this.addSignedPropertiesReferenceValidationErrors();
+    if (this.isVerdictReached()) {
+      return;
+    }
     this.addReportedErrors();
-    this.addReportedWarnings();
+    if (this.isVerdictReached()) {
+      return;
+    }
+    if (this.validationMode != ValidationMode.FAST_VERDICT) {
+      this.addReportedWarnings();
+    }
     this.addTimestampErrors();
+    if (this.isVerdictReached()) {
+      return;
+    }
     this.addOcspErrors();
   }
 
-  protected void addValidationError(DigiDoc4JException error) {
-    error.setSignatureId(this.getDssSignature().getId());
-    this.validationErrors.add(error);
+  /**
+   * @return true when validating in fast verdict mode and the signature is already known to be invalid
+   */
+  protected boolean isVerdictReached() {
+    return this.validationMode == ValidationMode.FAST_VERDICT
+        && ValidationFinding.contains(this.findings, ValidationFinding.Severity.ERROR);
   }
 
-  protected void addValidationWarning(DigiDoc4JException warning) {
-    warning.setSignatureId(this.getDssSignature().getId());
-    this.validationWarnings.add(warning);
+  protected void addValidationError(ValidationFinding.Code code, String message) {
+    this.findings.add(ValidationFinding.error(code, message, this.getDssSignature().getId()));
+  }
+
+  protected void addValidationWarning(String message) {
+    this.findings.add(ValidationFinding.warning(message, this.getDssSignature().getId()));
   }
 
   protected void addPolicyErrors() {
@@ -121,7 +139,7 @@ public class XadesSignatureValidator implements SignatureValidator {
     if (policy != null && dssSignature.getSignatureTimestamps().isEmpty()) {
       String policyIdentifier = Helper.getIdentifier(policy.getIdentifier());
       if (!StringUtils.equals(TM_POLICY, policyIdentifier)) {
-        addValidationError(new WrongPolicyIdentifierException("Wrong policy identifier: " + policyIdentifier));
+        addValidationError(ValidationFinding.Code.WRONG_POLICY_IDENTIFIER, "Wrong policy identifier: " + policyIdentifier);
       } else {
         addPolicyIdentifierQualifierValidationErrors();
       }
@@ -135,8 +153,8 @@ public class XadesSignatureValidator implements SignatureValidator {
     SignaturePolicy policy = getDssSignature().getPolicyId();
     if (policy != null) {
       if (StringUtils.isBlank(policy.getUrl())) {
-        addValidationError(
-            new WrongPolicyIdentifierException("Error: The URL in signature policy is empty or not available"));
+        addValidationError(ValidationFinding.Code.WRONG_POLICY_IDENTIFIER,
+            "Error: The URL in signature policy is empty or not available");
       }
     }
   }
@@ -149,8 +167,8 @@ public class XadesSignatureValidator implements SignatureValidator {
     Element identifier = DomUtils.getElement(element, "./xades:SignaturePolicyId/xades:SigPolicyId/xades:Identifier");
     String qualifier = identifier.getAttribute("Qualifier");
     if (!StringUtils.equals(OIDAS_URN, qualifier)) {
-      addValidationError(
-          new WrongPolicyIdentifierQualifierException("Wrong policy identifier qualifier: " + qualifier));
+      addValidationError(ValidationFinding.Code.WRONG_POLICY_IDENTIFIER_QUALIFIER,
+          "Wrong policy identifier qualifier: " + qualifier);
     }
   }
 
@@ -160,12 +178,11 @@ public class XadesSignatureValidator implements SignatureValidator {
     String sigId = getDssSignature().getId();
     if (propertiesReferencesCount == 0) {
       logger.error("Signed properties are missing for signature " + sigId);
-      addValidationError(new SignedPropertiesMissingException("Signed properties missing"));
+      addValidationError(ValidationFinding.Code.SIGNED_PROPERTIES_MISSING, "Signed properties missing");
     }
     if (propertiesReferencesCount > 1) {
       logger.error("Multiple signed properties for signature " + sigId);
-      DigiDoc4JException error = new MultipleSignedPropertiesException("Multiple signed properties");
-      addValidationError(error);
+      addValidationError(ValidationFinding.Code.MULTIPLE_SIGNED_PROPERTIES, "Multiple signed properties");
     }
   }
 
@@ -185,17 +202,19 @@ public class XadesSignatureValidator implements SignatureValidator {
     if (simpleReport != null) {
       for (String errorMessage : simpleReport.getErrors(signatureId)) {
         if (isRedundantErrorMessage(errorMessage)) {
-          logger.debug("Ignoring redundant error message: " + errorMessage);
+          logger.debug("Ignoring redundant error message: {}", errorMessage);
           continue;
         }
         logger.error(errorMessage);
         if (errorMessage.contains(MessageTag.BBB_XCV_ISCR_ANS.getMessage())) {
-          addValidationError(new CertificateRevokedException(errorMessage));
+          addValidationError(ValidationFinding.Code.CERTIFICATE_REVOKED, errorMessage);
         } else if (errorMessage.contains(MessageTag.PSV_IPSVC_ANS.getMessage())) {
-          addValidationError(new CertificateRevokedException(errorMessage));
+          addValidationError(ValidationFinding.Code.CERTIFICATE_REVOKED, errorMessage);
         } else {
-          String sigId = getDssSignature().getId();
-          addValidationError(new DigiDoc4JException(errorMessage, sigId));
+          addValidationError(ValidationFinding.Code.GENERAL, errorMessage);
+        }
+        if (isVerdictReached()) {
+          return;
         }
       }
     }
@@ -213,7 +232,7 @@ public class XadesSignatureValidator implements SignatureValidator {
     if (simpleReport != null) {
       for (String warning : simpleReport.getWarnings(signatureId)) {
         logger.warn(warning);
-        validationWarnings.add(new DigiDoc4JException(warning, signatureId));
+        findings.add(ValidationFinding.warning(warning, signatureId));
       }
     }
   }
@@ -221,12 +240,12 @@ public class XadesSignatureValidator implements SignatureValidator {
   private void addTimestampErrors() {
     if (!isTimestampValidForSignature()) {
       logger.error("Signature " + signatureId + " has an invalid timestamp");
-      addValidationError(new InvalidTimestampException());
+      addValidationError(ValidationFinding.Code.INVALID_TIMESTAMP, InvalidTimestampException.MESSAGE);
     }
   }
 
   private boolean isTimestampValidForSignature() {
-    logger.debug("Finding timestamp errors for signature " + signatureId);
+    logger.debug("Finding timestamp errors for signature {}", signatureId);
     DiagnosticData diagnosticData = validationReport.getDiagnosticData();
     if (diagnosticData == null) {
       return true;
@@ -253,17 +272,27 @@ public class XadesSignatureValidator implements SignatureValidator {
     OcspNonceValidator ocspValidator = new OcspNonceValidator(getDssSignature());
     if (!ocspValidator.isValid()) {
       logger.error("OCSP nonce is invalid");
-      addValidationError(new InvalidOcspNonceException());
+      addValidationError(ValidationFinding.Code.INVALID_OCSP_NONCE, InvalidOcspNonceException.MESSAGE);
     }
   }
 
   private SignatureValidationResult createValidationResult() {
     SignatureValidationResult result = new SignatureValidationResult();
-    result.setErrors(validationErrors);
-    result.setWarnings(validationWarnings);
+    result.setFindings(findings);
+    result.setUsedCertificateIds(getUsedCertificateIds());
     return result;
   }
 
+  private Set<String> getUsedCertificateIds() {
+    Set<String> certificateIds = new HashSet<>();
+    if (validationReport != null && validationReport.getDiagnosticData() != null) {
+      for (CertificateWrapper certificate : validationReport.getDiagnosticData().getUsedCertificates()) {
+        certificateIds.add(certificate.getId());
+      }
+    }
+    return certificateIds;
+  }
+
   private boolean isIndicationValid(Indication indication) {
     return indication == Indication.PASSED || indication == Indication.TOTAL_PASSED;
   }
@@ -0,0 +1,124 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.ddoc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.digidoc4j.impl.StreamDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ee.sk.digidoc.DigiDocException;
+import eu.europa.esig.dss.CommonDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.MimeType;
+
+/**
+ * Document of a DDoc data file whose body JDigiDoc has cached into a temporary file while parsing.
+ * <p>
+ * The body is decoded from the cache file every time the document is read, so it is never held in memory.
+ * </p>
+ * <p>
+ * The body is serialized with the document in chunks. It is deserialized into a {@link StreamDocument}, as the
+ * JDigiDoc data file and its cache file are not carried along.
+ * </p>
+ */
+class CachedDataFileDocument extends CommonDocument {
+
+  private static final Logger logger = LoggerFactory.getLogger(CachedDataFileDocument.class);
+  private static final int CHUNK_SIZE = 8 * 1024;
+  private final transient ee.sk.digidoc.DataFile dataFile;
+  private transient StreamDocument deserializedDocument;
+
+  CachedDataFileDocument(ee.sk.digidoc.DataFile dataFile, MimeType mimeType) {
+    this.dataFile = dataFile;
+    this.name = dataFile.getFileName();
+    this.mimeType = mimeType;
+    this.absolutePath = dataFile.getDfCacheFile().getAbsolutePath();
+  }
+
+  @Override
+  public InputStream openStream() throws DSSException {
+    logger.debug("Reading data file {} from cache file {}", name, absolutePath);
+    try {
+      return dataFile.getBodyAsStream();
+    } catch (DigiDocException e) {
+      throw new DSSException(e);
+    }
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    byte[] buffer = new byte[CHUNK_SIZE];
+    try (InputStream body = openStream()) {
+      int count;
+      while ((count = body.read(buffer)) > 0) {
+        out.writeInt(count);
+        out.write(buffer, 0, count);
+      }
+    }
+    out.writeInt(0);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    deserializedDocument = new StreamDocument(new ChunkInputStream(in), name, mimeType);
+  }
+
+  private Object readResolve() {
+    return deserializedDocument;
+  }
+
+  /**
+   * Reads the chunks written by {@link #writeObject(ObjectOutputStream)} up to the terminating empty chunk
+   */
+  private static class ChunkInputStream extends InputStream {
+
+    private final ObjectInputStream in;
+    private int remaining;
+    private boolean finished;
+
+    ChunkInputStream(ObjectInputStream in) {
+      this.in = in;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] buffer = new byte[1];
+      return read(buffer, 0, 1) < 0 ? -1 : buffer[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      if (finished) {
+        return -1;
+      }
+      if (remaining == 0) {
+        remaining = in.readInt();
+        if (remaining == 0) {
+          finished = true;
+          return -1;
+        }
+      }
+      int count = in.read(buffer, offset, Math.min(length, remaining));
+      if (count < 0) {
+        throw new IOException("Unexpected end of serialized data file content");
+      }
+      remaining -= count;
+      return count;
+    }
+
+  }
+
+}
@@ -43,6 +43,9 @@ public class ConfigManagerInitializer implements Serializable{
   public static synchronized void forceInitConfigManager(Configuration configuration) {
     logger.info("Initializing DDoc configuration manager");
     ConfigManager.init(configuration.getJDigiDocConfiguration());
+    // JDigiDoc compares the limit with data file sizes in bytes
+    ConfigManager.instance().setStringProperty("DIGIDOC_MAX_DATAFILE_CACHED",
+        Long.toString(configuration.getMaxDataFileCachedInBytes()));
     ConfigManager.addProvider();
     configManagerInitialized = true;
   }
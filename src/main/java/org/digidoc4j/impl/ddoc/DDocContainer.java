@@ -18,8 +18,8 @@ import java.io.OutputStream;
 import java.security.cert.X509Certificate;
 import java.util.List;
 
+import org.digidoc4j.CloseableContainer;
 import org.digidoc4j.Configuration;
-import org.digidoc4j.Container;
 import org.digidoc4j.DataFile;
 import org.digidoc4j.DigestAlgorithm;
 import org.digidoc4j.Signature;
@@ -35,7 +35,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Offers functionality for handling data files and signatures in a container.
  */
-public class DDocContainer implements Container {
+public class DDocContainer implements CloseableContainer {
 
   private static final Logger logger = LoggerFactory.getLogger(DDocContainer.class);
 
@@ -150,6 +150,11 @@ public class DDocContainer implements Container {
     throw new NotSupportedException("Not for DDOC container");
   }
 
+  @Override
+  public void close() {
+    jDigiDocFacade.cleanupDataFileCache();
+  }
+
   /**
    * Prepare signature.
    * After preparing the signature the container will have to be signed as well
@@ -20,7 +20,14 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.commons.io.IOUtils;
 import org.digidoc4j.Configuration;
@@ -31,12 +38,15 @@ import org.digidoc4j.Signature;
 import org.digidoc4j.SignatureParameters;
 import org.digidoc4j.SignatureProfile;
 import org.digidoc4j.SignatureToken;
+import org.digidoc4j.SignatureValidationResult;
 import org.digidoc4j.SignedInfo;
 import org.digidoc4j.ValidationResult;
 import org.digidoc4j.X509Cert;
 import org.digidoc4j.exceptions.DigiDoc4JException;
 import org.digidoc4j.exceptions.NotSupportedException;
+import org.digidoc4j.exceptions.TechnicalException;
 import org.digidoc4j.impl.SignatureFinalizer;
+import org.digidoc4j.impl.asic.xades.validation.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +54,7 @@ import ee.sk.digidoc.DigiDocException;
 import ee.sk.digidoc.KeyInfo;
 import ee.sk.digidoc.SignatureProductionPlace;
 import ee.sk.digidoc.SignedDoc;
+import eu.europa.esig.dss.MimeType;
 
 /**
  * Offers functionality for handling data files and signatures in a container.
@@ -221,7 +232,12 @@ public class DDocFacade implements SignatureFinalizer, Serializable {
     for (Object ddocDataFile : ddocDataFiles) {
       ee.sk.digidoc.DataFile dataFile = (ee.sk.digidoc.DataFile) ddocDataFile;
       try {
-        if (dataFile.getBody() == null) {
+        if (dataFile.getDfCacheFile() != null) {
+          DataFile dataFile1 = new DataFile();
+          dataFile1.setDocument(new CachedDataFileDocument(dataFile, MimeType.fromMimeTypeString(dataFile.getMimeType())));
+          dataFile1.setId(dataFile.getId());
+          dataFiles.add(dataFile1);
+        } else if (dataFile.getBody() == null) {
           DataFile dataFile1 = new DataFile(dataFile.getFileName(), dataFile.getMimeType());
           dataFile1.setId(dataFile.getId());
           dataFiles.add(dataFile1);
@@ -238,6 +254,17 @@ public class DDocFacade implements SignatureFinalizer, Serializable {
     return dataFiles;
   }
 
+  /**
+   * Deletes the temporary files of the data files cached by JDigiDoc while parsing
+   */
+  public void cleanupDataFileCache() {
+    ArrayList ddocDataFiles = ddoc == null ? null : ddoc.getDataFiles();
+    if (ddocDataFiles == null) return;
+    for (Object ddocDataFile : ddocDataFiles) {
+      ((ee.sk.digidoc.DataFile) ddocDataFile).cleanupDfCache();
+    }
+  }
+
   /**
    * @deprecated will be removed in the future.
    */
@@ -408,15 +435,90 @@ public class DDocFacade implements SignatureFinalizer, Serializable {
   public ValidationResult validate() {
     logger.info("Validating DDoc container");
 
-    ArrayList exceptions = ddoc.verify(true, true);
-
     ArrayList containerExceptions = ddoc.validate(true);
+    ArrayList exceptions = new ArrayList(containerExceptions);
+    Map<String, SignatureValidationResult> signatureResults = new LinkedHashMap<>();
+    if (!SignedDoc.hasFatalErrs(containerExceptions)) {
+      exceptions.addAll(verifySignatures(signatureResults));
+    }
+
     containerExceptions.addAll(openContainerExceptions);
     ValidationResultForDDoc result = new ValidationResultForDDoc(exceptions, containerExceptions);
+    result.setSignatureResults(signatureResults);
     logger.info("DDoc container is valid: " + result.isValid());
     return result;
   }
 
+  /**
+   * Verifies the signatures the same way as JDigiDoc <code>SignedDoc.verify</code>, but on the validation thread
+   * pool when there are several signatures
+   *
+   * @param signatureResults validation results of the signatures by signature id, filled in
+   * @return verification errors of all the signatures in the order of the signatures
+   */
+  @SuppressWarnings("unchecked")
+  private List<DigiDocException> verifySignatures(Map<String, SignatureValidationResult> signatureResults) {
+    List<DigiDocException> exceptions = new ArrayList<>();
+    ArrayList ddocSignatures = ddoc.getSignatures();
+    if (ddocSignatures == null || ddocSignatures.isEmpty()) {
+      exceptions.add(new DigiDocException(DigiDocException.ERR_NOT_SIGNED, "This document is not signed!", null));
+      return exceptions;
+    }
+    List<ArrayList> signatureExceptions = ddocSignatures.size() == 1
+        ? Collections.singletonList(((ee.sk.digidoc.Signature) ddocSignatures.get(0)).verify(ddoc, true, true))
+        : verifySignaturesInParallel(ddocSignatures);
+    Set<String> duplicateIds = new HashSet<>();
+    for (int i = 0; i < ddocSignatures.size(); i++) {
+      ArrayList errors = signatureExceptions.get(i);
+      exceptions.addAll(errors);
+      String signatureId = ((ee.sk.digidoc.Signature) ddocSignatures.get(i)).getId();
+      if (signatureId != null && !duplicateIds.contains(signatureId)) {
+        if (signatureResults.containsKey(signatureId)) {
+          signatureResults.remove(signatureId);
+          duplicateIds.add(signatureId);
+        } else {
+          signatureResults.put(signatureId, DDocSignature.toValidationResult(errors));
+        }
+      }
+    }
+    return exceptions;
+  }
+
+  private List<ArrayList> verifySignaturesInParallel(ArrayList ddocSignatures) {
+    calculateDataFileDigests();
+    ThreadPoolManager threadPoolManager = new ThreadPoolManager(configuration);
+    List<Future<ArrayList>> futures = new ArrayList<>();
+    for (Object signature : ddocSignatures) {
+      futures.add(threadPoolManager.submit(new DDocSignatureVerificationTask((ee.sk.digidoc.Signature) signature)));
+    }
+    List<ArrayList> signatureExceptions = new ArrayList<>();
+    try {
+      for (Future<ArrayList> future : futures) {
+        signatureExceptions.add(future.get());
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      logger.error("Error validating signatures on multiple threads: " + e.getMessage());
+      throw new TechnicalException("Error validating signatures on multiple threads: " + e.getMessage(), e);
+    }
+    return signatureExceptions;
+  }
+
+  /**
+   * JDigiDoc calculates the digests of data files on the first use and keeps them in the data file. Calculating them
+   * before verifying the signatures in parallel keeps the signatures from calculating the same digests concurrently.
+   */
+  private void calculateDataFileDigests() {
+    ArrayList ddocDataFiles = ddoc.getDataFiles();
+    if (ddocDataFiles == null) return;
+    for (Object ddocDataFile : ddocDataFiles) {
+      try {
+        ((ee.sk.digidoc.DataFile) ddocDataFile).getDigest();
+      } catch (DigiDocException e) {
+        logger.debug("Failed to calculate data file digest, leaving it to signature verification: " + e.getMessage());
+      }
+    }
+  }
+
   protected ee.sk.digidoc.Signature calculateSignature(SignatureToken signer) {
     logger.debug("");
     prepareSigning(signer.getCertificate());
@@ -229,9 +229,16 @@ public class DDocSignature implements Signature {
   @Override
   public SignatureValidationResult validateSignature() {
     logger.debug("");
+    return toValidationResult(origin.verify(origin.getSignedDoc(), true, true));
+  }
+
+  /**
+   * @param verificationErrors errors returned by JDigiDoc signature verification
+   * @return validation result of the signature
+   */
+  static SignatureValidationResult toValidationResult(List verificationErrors) {
     List<DigiDoc4JException> validationErrors = new ArrayList<>();
-    ArrayList validationResult = origin.verify(origin.getSignedDoc(), true, true);
-    for (Object exception : validationResult) {
+    for (Object exception : verificationErrors) {
       String errorMessage = exception.toString();
       logger.info(errorMessage);
       validationErrors.add(new DigiDoc4JException(errorMessage));
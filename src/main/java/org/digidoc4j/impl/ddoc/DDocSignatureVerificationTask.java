@@ -0,0 +1,40 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.ddoc;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ee.sk.digidoc.Signature;
+
+/**
+ * Verifies a single DDoc signature and its OCSP confirmation with JDigiDoc
+ */
+public class DDocSignatureVerificationTask implements Callable<ArrayList> {
+
+  private static final Logger logger = LoggerFactory.getLogger(DDocSignatureVerificationTask.class);
+
+  private final Signature signature;
+
+  public DDocSignatureVerificationTask(Signature signature) {
+    this.signature = signature;
+  }
+
+  @Override
+  public ArrayList call() throws Exception {
+    logger.debug("Starting to verify DDoc signature {}", signature.getId());
+    return signature.verify(signature.getSignedDoc(), true, true);
+  }
+
+}
@@ -10,18 +10,27 @@
 
 package org.digidoc4j.impl.ddoc;
 
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
+import org.digidoc4j.SignatureValidationResult;
+import org.digidoc4j.ValidationFinding;
 import org.digidoc4j.ValidationResult;
 import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.impl.asic.report.ContainerValidationReport;
+import org.digidoc4j.impl.asic.report.ReportWriter;
 import org.digidoc4j.impl.asic.report.SignatureValidationReport;
+import org.digidoc4j.impl.asic.report.ValidationReportSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Comment;
@@ -40,12 +49,13 @@ import eu.europa.esig.dss.validation.reports.SimpleReport;
 /**
  * Overview of errors and warnings for DDoc
  */
-public class ValidationResultForDDoc implements ValidationResult {
+public class ValidationResultForDDoc implements ValidationResult, ReportWriter {
   private static final Logger logger = LoggerFactory.getLogger(ValidationResultForDDoc.class);
 
   private List<DigiDoc4JException> containerExceptions = new ArrayList<>();
   private boolean hasFatalErrors = false;
   private List<DigiDoc4JException> errors = new ArrayList<>();
+  private Map<String, SignatureValidationResult> signatureResults = new LinkedHashMap<>();
 
   private Document report;
   private Element rootElement;
@@ -107,7 +117,9 @@ public class ValidationResultForDDoc implements ValidationResult {
       errors.add(digiDoc4JException);
       warningOrError = "error";
     }
-    logger.debug("Validation " + warningOrError + "."+ " Code: " + code + ", message: " + message);
+    if (logger.isDebugEnabled()) {
+      logger.debug("Validation {}. Code: {}, message: {}", warningOrError, code, message);
+    }
     childElement = report.createElement(warningOrError);
     childElement.setAttribute("Code", Integer.toString(code));
     childElement.setAttribute("Message", message);
@@ -120,7 +132,7 @@ public class ValidationResultForDDoc implements ValidationResult {
    * @return true if fatal errors have been encountered
    */
   public boolean hasFatalErrors() {
-    logger.debug("Has fatal errors: " + hasFatalErrors);
+    logger.debug("Has fatal errors: {}", hasFatalErrors);
     return hasFatalErrors;
   }
 
@@ -144,9 +156,23 @@ public class ValidationResultForDDoc implements ValidationResult {
     }
   }
 
+  /**
+   * Validation result of a signature, as found when validating the container
+   *
+   * @param signatureId id of the signature
+   * @return validation result or null if the signature was not validated with the container
+   */
+  public SignatureValidationResult getSignatureResult(String signatureId) {
+    return signatureResults.get(signatureId);
+  }
+
+  void setSignatureResults(Map<String, SignatureValidationResult> signatureResults) {
+    this.signatureResults = new LinkedHashMap<>(signatureResults);
+  }
+
   @Override
   public List<DigiDoc4JException> getErrors() {
-    logger.debug("Returning " + errors.size() + " errors");
+    logger.debug("Returning {} errors", errors.size());
     return errors;
   }
 
@@ -156,10 +182,15 @@ public class ValidationResultForDDoc implements ValidationResult {
     return new ArrayList<>();
   }
 
+  @Override
+  public List<ValidationFinding> getFindings() {
+    return ValidationFinding.of(errors, ValidationFinding.Severity.ERROR);
+  }
+
   @Override
   public boolean hasErrors() {
     boolean hasErrors = (errors.size() != 0);
-    logger.debug("Has Errors: " + hasErrors);
+    logger.debug("Has Errors: {}", hasErrors);
     return hasErrors;
   }
 
@@ -234,4 +265,45 @@ public class ValidationResultForDDoc implements ValidationResult {
   public void saveXmlReports(Path directory) {
     // do nothing yet
   }
+
+  /**
+   * Write the validation report to a stream as JSON or CBOR. The report contains the errors and warnings of every
+   * signature validated with the container and the container errors; DDOC signatures have no indication.
+   *
+   * @param stream     stream to write to, not closed.
+   * @param serializer serializer deciding the encoding and the parts of the report.
+   */
+  @Override
+  public void writeReport(OutputStream stream, ValidationReportSerializer serializer) {
+    serializer.serialize(createContainerValidationReport(), stream);
+  }
+
+  private ContainerValidationReport createContainerValidationReport() {
+    ContainerValidationReport containerReport = new ContainerValidationReport();
+    containerReport.setValidationTime(new Date());
+    int validSignaturesCount = 0;
+    for (Map.Entry<String, SignatureValidationResult> entry : signatureResults.entrySet()) {
+      SignatureValidationResult signatureResult = entry.getValue();
+      SignatureValidationReport signatureReport = new SignatureValidationReport();
+      signatureReport.setId(entry.getKey());
+      signatureReport.getErrors().addAll(toMessages(signatureResult.getErrors()));
+      signatureReport.getWarnings().addAll(toMessages(signatureResult.getWarnings()));
+      containerReport.getSignatures().add(signatureReport);
+      if (signatureResult.isValid()) {
+        validSignaturesCount++;
+      }
+    }
+    containerReport.setSignaturesCount(signatureResults.size());
+    containerReport.setValidSignaturesCount(validSignaturesCount);
+    containerReport.setContainerErrors(toMessages(containerExceptions));
+    return containerReport;
+  }
+
+  private static List<String> toMessages(List<DigiDoc4JException> exceptions) {
+    List<String> messages = new ArrayList<>(exceptions.size());
+    for (DigiDoc4JException exception : exceptions) {
+      messages.add(exception.getMessage());
+    }
+    return messages;
+  }
 }
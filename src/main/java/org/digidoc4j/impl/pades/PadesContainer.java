@@ -8,8 +8,8 @@ import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.digidoc4j.CloseableContainer;
 import org.digidoc4j.Configuration;
-import org.digidoc4j.Container;
 import org.digidoc4j.DataFile;
 import org.digidoc4j.DigestAlgorithm;
 import org.digidoc4j.Signature;
@@ -31,7 +31,7 @@ import eu.europa.esig.dss.validation.reports.Reports;
 /**
  * Created by Andrei on 17.11.2017.
  */
-public class PadesContainer implements Container {
+public class PadesContainer implements CloseableContainer {
 
   public static final String PADES = "PADES";
   private String containerPath = "";
@@ -137,6 +137,11 @@ public class PadesContainer implements Container {
     throw new NotSupportedException("Not for Pades container");
   }
 
+  @Override
+  public void close() {
+    // Nothing to release
+  }
+
   private List<DigiDoc4JException> getExceptions(List<String> exceptionString) {
     List<DigiDoc4JException> exc = new ArrayList<>();
     for (String s: exceptionString) {
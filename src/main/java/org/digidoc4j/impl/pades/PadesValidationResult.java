@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
+import org.digidoc4j.ValidationFinding;
 import org.digidoc4j.ValidationResult;
 import org.digidoc4j.exceptions.DigiDoc4JException;
 import org.digidoc4j.impl.asic.report.SignatureValidationReport;
@@ -72,6 +73,13 @@ public class PadesValidationResult implements ValidationResult {
     return warnings;
   }
 
+  @Override
+  public List<ValidationFinding> getFindings() {
+    List<ValidationFinding> findings = ValidationFinding.of(errors, ValidationFinding.Severity.ERROR);
+    findings.addAll(ValidationFinding.of(warnings, ValidationFinding.Severity.WARNING));
+    return findings;
+  }
+
   @Override
   public String getReport() {
     return report;
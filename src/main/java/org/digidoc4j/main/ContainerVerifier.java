@@ -23,6 +23,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.digidoc4j.Configuration;
 import org.digidoc4j.Container;
 import org.digidoc4j.Signature;
+import org.digidoc4j.SignatureValidationResult;
 import org.digidoc4j.TSLCertificateSource;
 import org.digidoc4j.ValidationResult;
 import org.digidoc4j.exceptions.DigiDoc4JException;
@@ -116,7 +117,8 @@ public class ContainerVerifier {
     }
 
     for (Signature signature : signatures) {
-      List<DigiDoc4JException> signatureValidationResult = signature.validateSignature().getErrors();
+      List<DigiDoc4JException> signatureValidationResult = getSignatureValidationResult(validationResult, signature,
+          isDDoc).getErrors();
       if (signatureValidationResult.size() == 0) {
         System.out.println("Signature " + signature.getId() + " is valid");
       } else {
@@ -220,6 +222,18 @@ public class ContainerVerifier {
     }
   }
 
+  private SignatureValidationResult getSignatureValidationResult(ValidationResult validationResult,
+                                                                 Signature signature, boolean isDDoc) {
+    if (isDDoc) {
+      SignatureValidationResult result = ((ValidationResultForDDoc) validationResult)
+          .getSignatureResult(signature.getId());
+      if (result != null) {
+        return result;
+      }
+    }
+    return signature.validateSignature();
+  }
+
   private void verboseMessage(String message) {
     if (verboseMode)
       System.out.println(message);
@@ -11,9 +11,9 @@
 package org.digidoc4j.signers;
 
 import java.io.IOException;
+import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.SignatureException;
 import java.security.cert.X509CertSelector;
@@ -32,10 +32,10 @@ import org.digidoc4j.DigestAlgorithm;
 import org.digidoc4j.SignatureToken;
 import org.digidoc4j.X509Cert;
 import org.digidoc4j.exceptions.TechnicalException;
+import org.digidoc4j.impl.CryptoPrimitives;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.EncryptionAlgorithm;
 import eu.europa.esig.dss.SignatureAlgorithm;
 import eu.europa.esig.dss.SignatureValue;
@@ -119,7 +119,7 @@ public class PKCS11SignatureToken implements SignatureToken {
   }
 
   public byte[] sign2(DigestAlgorithm digestAlgorithm, byte[] dataToSign) throws Exception {
-    MessageDigest sha = MessageDigest.getInstance(digestAlgorithm.name(), "BC");
+    MessageDigest sha = CryptoPrimitives.getMessageDigest(digestAlgorithm.name(), "BC");
     byte[] digest = sha.digest(dataToSign);
     DERObjectIdentifier shaoid = new DERObjectIdentifier(digestAlgorithm.getDssDigestAlgorithm().getOid());
 
@@ -127,7 +127,7 @@ public class PKCS11SignatureToken implements SignatureToken {
     DigestInfo di = new DigestInfo(shaaid, digest);
 
     byte[] plainSig = di.getEncoded(ASN1Encoding.DER);
-    Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding", "BC");
+    Cipher cipher = CryptoPrimitives.getCipher("RSA/ECB/PKCS1Padding", "BC");
     cipher.init(Cipher.ENCRYPT_MODE, privateKeyEntry.getPrivateKey());
     byte[] signature = cipher.doFinal(plainSig);
     return signature;
@@ -141,12 +141,9 @@ public class PKCS11SignatureToken implements SignatureToken {
       SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.getAlgorithm(encryptionAlgorithm, digestAlgorithm.getDssDigestAlgorithm());
       String javaSignatureAlgorithm = signatureAlgorithm.getJCEId();
       logger.debug("  ... Signing with PKCS#11 and " + javaSignatureAlgorithm);
-      java.security.Signature signature = java.security.Signature.getInstance(javaSignatureAlgorithm);
-      signature.initSign(privateKeyEntry.getPrivateKey());
+      java.security.Signature signature = CryptoPrimitives.getSignature(javaSignatureAlgorithm, privateKeyEntry.getPrivateKey());
       signature.update(dataToSign);
       result = signature.sign();
-    } catch (NoSuchAlgorithmException e) {
-      e.printStackTrace();
     } catch (InvalidKeyException e) {
       e.printStackTrace();
     } catch (SignatureException e) {
@@ -190,6 +187,13 @@ public class PKCS11SignatureToken implements SignatureToken {
 
   @Override
   public byte[] sign(DigestAlgorithm digestAlgorithm, byte[] dataToSign){
+    return sign(digestAlgorithm, dataToSign, null);
+  }
+
+  /**
+   * Signs with RSA keys through the signers of a pooled session, when given
+   */
+  byte[] sign(DigestAlgorithm digestAlgorithm, byte[] dataToSign, SessionSigners sessionSigners) {
     if (privateKeyEntry != null){
       String encryptionAlg = privateKeyEntry.getEncryptionAlgorithm().getName();
       if ("ECDSA".equals(encryptionAlg)){
@@ -197,7 +201,7 @@ public class PKCS11SignatureToken implements SignatureToken {
         return signECDSA(digestAlgorithm, dataToSign);
       } else if ("RSA".equals(encryptionAlg)){
         logger.debug("Sign RSA");
-        return signRSA(digestAlgorithm, dataToSign);
+        return signRSA(digestAlgorithm, dataToSign, sessionSigners);
       }
       throw new TechnicalException("Failed to sign with PKCS#11. Encryption Algorithm should be ECDSA or RSA " +
           "but actually is : " + encryptionAlg);
@@ -221,12 +225,13 @@ public class PKCS11SignatureToken implements SignatureToken {
   }
 
 
-  private byte[] signRSA(DigestAlgorithm digestAlgorithm, byte[] dataToSign) {
+  private byte[] signRSA(DigestAlgorithm digestAlgorithm, byte[] dataToSign, SessionSigners sessionSigners) {
     try {
       logger.debug("Signing with PKCS#11 and " + digestAlgorithm.name());
-      byte[] digestToSign = DSSUtils.digest(digestAlgorithm.getDssDigestAlgorithm(), dataToSign);
+      byte[] digestToSign = CryptoPrimitives.getMessageDigest(digestAlgorithm.getDssDigestAlgorithm().getJavaName())
+          .digest(dataToSign);
       byte[] digestWithPadding = addPadding(digestToSign, digestAlgorithm);
-      return signDigest(digestWithPadding);
+      return signDigest(digestWithPadding, sessionSigners);
     } catch (Exception e) {
       logger.error("Failed to sign with PKCS#11: " + e.getMessage());
       throw new TechnicalException("Failed to sign with PKCS#11: " + e.getMessage(), e);
@@ -237,21 +242,26 @@ public class PKCS11SignatureToken implements SignatureToken {
     return ArrayUtils.addAll(digestAlgorithm.digestInfoPrefix(), digest); // should find the prefix by checking digest length?
   }
 
-  private byte[] signDigest(byte[] digestToSign) throws InvalidKeyException, SignatureException, NoSuchAlgorithmException {
+  private byte[] signDigest(byte[] digestToSign, SessionSigners sessionSigners) throws GeneralSecurityException {
     logger.debug("Signing digest");
     DSSPrivateKeyEntry privateKeyEntry = getPrivateKeyEntry();
     PrivateKey privateKey = ((KSPrivateKeyEntry) privateKeyEntry).getPrivateKey();
     EncryptionAlgorithm encryptionAlgorithm = privateKeyEntry.getEncryptionAlgorithm();
     String signatureAlgorithm = "NONEwith" + encryptionAlgorithm.getName();
+    if (sessionSigners != null) {
+      logger.debug("Signing with session signer {}", signatureAlgorithm);
+      return sessionSigners.sign(signatureAlgorithm, privateKey, digestToSign);
+    }
     return invokeSigning(digestToSign, privateKey, signatureAlgorithm);
   }
 
-  private byte[] invokeSigning(byte[] digestToSign, PrivateKey privateKey, String signatureAlgorithm) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
-    logger.debug("Signing with signature algorithm " + signatureAlgorithm);
-    java.security.Signature signer = java.security.Signature.getInstance(signatureAlgorithm);
-    signer.initSign(privateKey);
+  /**
+   * Signers are reused per thread through {@link CryptoPrimitives} and initialized with the key on every call
+   */
+  private byte[] invokeSigning(byte[] digestToSign, PrivateKey privateKey, String signatureAlgorithm) throws InvalidKeyException, SignatureException {
+    logger.debug("Signing with signature algorithm {}", signatureAlgorithm);
+    java.security.Signature signer = CryptoPrimitives.getSignature(signatureAlgorithm, privateKey);
     signer.update(digestToSign);
-    byte[] signatureValue = signer.sign();
-    return signatureValue;
+    return signer.sign();
   }
 }
@@ -11,9 +11,9 @@
 package org.digidoc4j.signers;
 
 import java.io.IOException;
+import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.SignatureException;
 import java.security.cert.X509CertSelector;
 import java.security.cert.X509Certificate;
@@ -29,13 +29,13 @@ import org.digidoc4j.DigestAlgorithm;
 import org.digidoc4j.SignatureToken;
 import org.digidoc4j.X509Cert;
 import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.impl.CryptoPrimitives;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.EncryptionAlgorithm;
 import eu.europa.esig.dss.SignatureAlgorithm;
-import eu.europa.esig.dss.SignatureValue;
-import eu.europa.esig.dss.ToBeSigned;
 import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
 import eu.europa.esig.dss.token.KSPrivateKeyEntry;
 import eu.europa.esig.dss.token.KeyStoreSignatureTokenConnection;
@@ -143,16 +143,33 @@ public class PKCS12SignatureToken implements SignatureToken {
 
   @Override
   public byte[] sign(org.digidoc4j.DigestAlgorithm digestAlgorithm, byte[] dataToSign) {
+    return sign(digestAlgorithm, dataToSign, null);
+  }
+
+  /**
+   * Signs through the signers of a pooled session, when given
+   */
+  byte[] sign(org.digidoc4j.DigestAlgorithm digestAlgorithm, byte[] dataToSign, SessionSigners sessionSigners) {
     logger.info("Signing with PKCS#12 signature token, using digest algorithm: " + digestAlgorithm.name());
-    ToBeSigned toBeSigned = new ToBeSigned(dataToSign);
     eu.europa.esig.dss.DigestAlgorithm dssDigestAlgorithm =
         eu.europa.esig.dss.DigestAlgorithm.forXML(digestAlgorithm.toString());
-    SignatureValue signature = signatureTokenConnection.sign(toBeSigned, dssDigestAlgorithm, keyEntry);
-    return signature.getValue();
+    SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.getAlgorithm(keyEntry.getEncryptionAlgorithm(),
+        dssDigestAlgorithm);
+    try {
+      if (sessionSigners != null) {
+        return sessionSigners.sign(signatureAlgorithm.getJCEId(), keyEntry.getPrivateKey(), dataToSign);
+      }
+      java.security.Signature signature = CryptoPrimitives.getSignature(signatureAlgorithm.getJCEId(),
+          keyEntry.getPrivateKey());
+      signature.update(dataToSign);
+      return signature.sign();
+    } catch (GeneralSecurityException e) {
+      throw new DSSException(e);
+    }
   }
 
   public byte[] sign2(DigestAlgorithm digestAlgorithm, byte[] dataToSign) throws Exception {
-    MessageDigest sha = MessageDigest.getInstance(digestAlgorithm.name(), "BC");
+    MessageDigest sha = CryptoPrimitives.getMessageDigest(digestAlgorithm.name(), "BC");
     byte[] digest = sha.digest(dataToSign);
     DERObjectIdentifier shaoid = new DERObjectIdentifier(digestAlgorithm.getDssDigestAlgorithm().getOid());
 
@@ -160,7 +177,7 @@ public class PKCS12SignatureToken implements SignatureToken {
     DigestInfo di = new DigestInfo(shaaid, digest);
 
     byte[] plainSig = di.getEncoded(ASN1Encoding.DER);
-    Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding", "BC");
+    Cipher cipher = CryptoPrimitives.getCipher("RSA/ECB/PKCS1Padding", "BC");
     cipher.init(Cipher.ENCRYPT_MODE, keyEntry.getPrivateKey());
     byte[] signature = cipher.doFinal(plainSig);
     return signature;
@@ -174,12 +191,9 @@ public class PKCS12SignatureToken implements SignatureToken {
       SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.getAlgorithm(encryptionAlgorithm, digestAlgorithm.getDssDigestAlgorithm());
       String javaSignatureAlgorithm = signatureAlgorithm.getJCEId();
       logger.debug("  ... Signing with PKCS#11 and " + javaSignatureAlgorithm);
-      java.security.Signature signature = java.security.Signature.getInstance(javaSignatureAlgorithm);
-      signature.initSign(keyEntry.getPrivateKey());
+      java.security.Signature signature = CryptoPrimitives.getSignature(javaSignatureAlgorithm, keyEntry.getPrivateKey());
       signature.update(dataToSign);
       result = signature.sign();
-    } catch (NoSuchAlgorithmException e) {
-      e.printStackTrace();
     } catch (InvalidKeyException e) {
       e.printStackTrace();
     } catch (SignatureException e) {
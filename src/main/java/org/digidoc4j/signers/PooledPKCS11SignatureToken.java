@@ -0,0 +1,217 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.signers;
+
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.digidoc4j.DigestAlgorithm;
+import org.digidoc4j.SignatureToken;
+import org.digidoc4j.exceptions.TechnicalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Signature token signing concurrently through a pool of PKCS#11 sessions holding the same key.
+ * <p/>
+ * Every session is a separate token connection, opened on the same slot several times or on several slots of an HSM
+ * holding the same key. A <code>sign</code> call takes a free session, waiting if all of them are busy, so up to
+ * as many threads as there are sessions can sign at the same time.
+ */
+public class PooledPKCS11SignatureToken implements SignatureToken {
+
+  private static final Logger logger = LoggerFactory.getLogger(PooledPKCS11SignatureToken.class);
+  private final List<Session> sessions;
+  private final BlockingQueue<Session> freeSessions;
+  private final long createdNanos = System.nanoTime();
+
+  /**
+   * Opens several sessions on one slot.
+   *
+   * @param pkcs11ModulePath PKCS#11 module path, depends on your operating system and installed smart card or hardware token library.
+   * @param password         Secret pin code for digital signature.
+   * @param slotIndex        Token slot index, depends on the hardware token.
+   * @param sessionCount     Number of sessions to open.
+   */
+  public PooledPKCS11SignatureToken(String pkcs11ModulePath, char[] password, int slotIndex, int sessionCount) {
+    this(openSessions(pkcs11ModulePath, password, slotIndex, sessionCount));
+  }
+
+  /**
+   * Pools already opened tokens, e.g. tokens of several slots holding the same key.
+   *
+   * @param tokens tokens with the same signer certificate
+   */
+  public PooledPKCS11SignatureToken(List<? extends SignatureToken> tokens) {
+    if (tokens == null || tokens.isEmpty()) {
+      throw new TechnicalException("At least one token is needed for the token pool");
+    }
+    X509Certificate certificate = tokens.get(0).getCertificate();
+    sessions = new ArrayList<>(tokens.size());
+    for (SignatureToken token : tokens) {
+      if (!certificate.equals(token.getCertificate())) {
+        throw new TechnicalException("All tokens of the pool must have the same signer certificate");
+      }
+      sessions.add(new Session(sessions.size(), token));
+    }
+    freeSessions = new LinkedBlockingQueue<>(sessions);
+    logger.debug("Initialized PKCS#11 token pool with {} sessions", sessions.size());
+  }
+
+  @Override
+  public X509Certificate getCertificate() {
+    return sessions.get(0).token.getCertificate();
+  }
+
+  @Override
+  public byte[] sign(DigestAlgorithm digestAlgorithm, byte[] dataToSign) {
+    Session session = takeSession();
+    long startNanos = System.nanoTime();
+    try {
+      logger.debug("Signing with session {}", session.index);
+      return session.sign(digestAlgorithm, dataToSign);
+    } finally {
+      session.signatureCount.incrementAndGet();
+      session.busyNanos.addAndGet(System.nanoTime() - startNanos);
+      freeSessions.add(session);
+    }
+  }
+
+  /**
+   * @return number of sessions in the pool
+   */
+  public int getSessionCount() {
+    return sessions.size();
+  }
+
+  /**
+   * @return statistics of every session in the order of the sessions
+   */
+  public List<SessionStatistics> getSessionStatistics() {
+    long elapsedNanos = System.nanoTime() - createdNanos;
+    List<SessionStatistics> statistics = new ArrayList<>(sessions.size());
+    for (Session session : sessions) {
+      statistics.add(new SessionStatistics(session.index, session.signatureCount.get(), session.busyNanos.get(),
+          elapsedNanos));
+    }
+    return Collections.unmodifiableList(statistics);
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private static List<PKCS11SignatureToken> openSessions(String pkcs11ModulePath, char[] password, int slotIndex,
+                                                         int sessionCount) {
+    if (sessionCount < 1) {
+      throw new TechnicalException("Session count must be positive: " + sessionCount);
+    }
+    List<PKCS11SignatureToken> tokens = new ArrayList<>(sessionCount);
+    for (int i = 0; i < sessionCount; i++) {
+      tokens.add(new PKCS11SignatureToken(pkcs11ModulePath, password, slotIndex));
+    }
+    return tokens;
+  }
+
+  /**
+   * @return number of signers prepared by the session
+   */
+  int getSignerInitializationCount(int sessionIndex) {
+    return sessions.get(sessionIndex).signers.getInitializationCount();
+  }
+
+  private Session takeSession() {
+    try {
+      return freeSessions.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TechnicalException("Interrupted while waiting for a free PKCS#11 session", e);
+    }
+  }
+
+  private static class Session {
+
+    private final int index;
+    private final SignatureToken token;
+    private final AtomicLong signatureCount = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final SessionSigners signers = new SessionSigners();
+
+    Session(int index, SignatureToken token) {
+      this.index = index;
+      this.token = token;
+    }
+
+    /**
+     * Keeps the signers prepared with the key of the session, other tokens sign on their own
+     */
+    byte[] sign(DigestAlgorithm digestAlgorithm, byte[] dataToSign) {
+      if (token instanceof PKCS11SignatureToken) {
+        return ((PKCS11SignatureToken) token).sign(digestAlgorithm, dataToSign, signers);
+      }
+      if (token instanceof PKCS12SignatureToken) {
+        return ((PKCS12SignatureToken) token).sign(digestAlgorithm, dataToSign, signers);
+      }
+      return token.sign(digestAlgorithm, dataToSign);
+    }
+
+  }
+
+  /**
+   * Utilisation of a single session
+   */
+  public static class SessionStatistics {
+
+    private final int sessionIndex;
+    private final long signatureCount;
+    private final long busyNanos;
+    private final long elapsedNanos;
+
+    SessionStatistics(int sessionIndex, long signatureCount, long busyNanos, long elapsedNanos) {
+      this.sessionIndex = sessionIndex;
+      this.signatureCount = signatureCount;
+      this.busyNanos = busyNanos;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getSessionIndex() {
+      return sessionIndex;
+    }
+
+    public long getSignatureCount() {
+      return signatureCount;
+    }
+
+    public long getBusyTimeInMillis() {
+      return busyNanos / 1000000;
+    }
+
+    /**
+     * @return share of time the session has been signing since the pool was created, from 0 to 1
+     */
+    public double getUtilisation() {
+      return elapsedNanos > 0 ? Math.min(1.0, (double) busyNanos / elapsedNanos) : 0;
+    }
+
+    @Override
+    public String toString() {
+      return "Session " + sessionIndex + ": " + signatureCount + " signatures, utilisation "
+          + String.format("%.2f", getUtilisation());
+    }
+
+  }
+
+}
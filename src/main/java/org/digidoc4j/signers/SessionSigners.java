@@ -0,0 +1,82 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.signers;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.digidoc4j.exceptions.TechnicalException;
+
+/**
+ * Signers prepared for one session of {@link PooledPKCS11SignatureToken}.
+ * <p/>
+ * A session is used by one thread at a time, but a thread takes whichever session is free. The signers are kept with
+ * the session, initialized with its key, so they are not re-created when a thread alternates between sessions.
+ * A signer returns to the initialized state after signing.
+ */
+class SessionSigners {
+
+  private final Map<String, Signature> signers = new HashMap<>();
+  private PrivateKey key;
+  private int initializationCount;
+
+  /**
+   * @param algorithm signature algorithm, e.g. NONEwithRSA
+   * @param key       signing key of the session
+   * @param data      data to sign
+   * @return signature value
+   * @throws GeneralSecurityException when signing fails, the signer is dropped
+   */
+  byte[] sign(String algorithm, PrivateKey key, byte[] data) throws GeneralSecurityException {
+    Signature signer = getSigner(algorithm, key);
+    try {
+      signer.update(data);
+      return signer.sign();
+    } catch (GeneralSecurityException | RuntimeException e) {
+      signers.remove(algorithm);
+      throw e;
+    }
+  }
+
+  /**
+   * @return number of signers initialized in the session
+   */
+  int getInitializationCount() {
+    return initializationCount;
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private Signature getSigner(String algorithm, PrivateKey key) throws GeneralSecurityException {
+    if (this.key != key) {
+      signers.clear();
+      this.key = key;
+    }
+    Signature signer = signers.get(algorithm);
+    if (signer == null) {
+      try {
+        signer = Signature.getInstance(algorithm);
+      } catch (GeneralSecurityException e) {
+        throw new TechnicalException("Unable to create signature " + algorithm + ": " + e.getMessage(), e);
+      }
+      signer.initSign(key);
+      initializationCount++;
+      signers.put(algorithm, signer);
+    }
+    return signer;
+  }
+
+}
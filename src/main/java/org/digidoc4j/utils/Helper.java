@@ -26,6 +26,7 @@ import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -102,6 +103,26 @@ public final class Helper {
     return test == zipVerificationCode;
   }
 
+  /**
+   * Checks the local file header signature of the first zip entry. Read bytes are pushed back to the stream so that
+   * the stream can be parsed from the beginning without buffering it.
+   *
+   * @param stream stream with pushback buffer of at least 4 bytes
+   * @return true if the stream starts with a zip entry
+   * @throws IOException when reading fails
+   */
+  public static boolean isZipFile(PushbackInputStream stream) throws IOException {
+    byte[] header = new byte[INT_LENGTH];
+    int length = IOUtils.read(stream, header);
+    stream.unread(header, 0, length);
+    if (length < INT_LENGTH) {
+      return false;
+    }
+    int signature = ((header[0] & 0xFF) << 24) | ((header[1] & 0xFF) << 16) | ((header[2] & 0xFF) << 8)
+        | (header[3] & 0xFF);
+    return signature == ZIP_VERIFICATION_CODE;
+  }
+
   /**
    * @param file aa
    * @return aa
@@ -420,7 +441,10 @@ public final class Helper {
   /**
    * delete tmp files from temp folder created by StreamDocument
    *
+   * @deprecated deletes also the files still in use by other containers. Temporary files are deleted when the
+   * container is closed, see {@link org.digidoc4j.Container#close()}.
    */
+  @Deprecated
   public static void deleteTmpFiles(){
     File dir = new File(System.getProperty("java.io.tmpdir"));
     FilenameFilter filenameFilter = new FilenameFilter() {
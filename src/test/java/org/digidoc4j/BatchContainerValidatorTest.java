@@ -0,0 +1,73 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.digidoc4j.impl.asic.TimeStampValidationResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchContainerValidatorTest extends AbstractTest {
+
+  private static final String BDOC_CONTAINER = "src/test/resources/testFiles/valid-containers/valid-bdoc-tm.bdoc";
+
+  @Test
+  public void validatingManyContainers_returnsResultsInOrder() {
+    List<ValidationResult> results = BatchContainerValidator.aBatchContainerValidator()
+        .withConfiguration(this.configuration).validate(Arrays.asList(
+            "src/test/resources/testFiles/valid-containers/timestamptoken-ddoc.asics",
+            "src/test/resources/testFiles/invalid-containers/timestamptoken-invalid.asics",
+            "src/test/resources/testFiles/valid-containers/testtimestamp.asics"));
+    Assert.assertEquals(3, results.size());
+    Assert.assertEquals("SK TIMESTAMPING AUTHORITY", ((TimeStampValidationResult) results.get(0)).getSignedBy());
+    Assert.assertTrue(results.get(0).isValid());
+    Assert.assertFalse(results.get(1).isValid());
+    Assert.assertTrue(results.get(2).isValid());
+  }
+
+  @Test
+  public void containerFailingToOpen_getsFailedResult() {
+    List<ValidationResult> results = BatchContainerValidator.aBatchContainerValidator()
+        .withConfiguration(this.configuration).validate(Arrays.asList("src/test/resources/testFiles/missing.bdoc",
+            "src/test/resources/testFiles/valid-containers/testtimestamp.asics"));
+    Assert.assertFalse(results.get(0).isValid());
+    Assert.assertEquals(1, results.get(0).getErrors().size());
+    Assert.assertTrue(results.get(1).isValid());
+  }
+
+  @Test(timeout = 120000)
+  public void validatingMoreContainersThanValidationThreads_doesNotDeadlock() {
+    ExecutorService validationExecutor = Executors.newSingleThreadExecutor();
+    this.configuration.setThreadExecutor(validationExecutor);
+    try {
+      List<ValidationResult> results = BatchContainerValidator.aBatchContainerValidator()
+          .withConfiguration(this.configuration).withThreadCount(3)
+          .validate(Arrays.asList(BDOC_CONTAINER, BDOC_CONTAINER, BDOC_CONTAINER));
+      Assert.assertEquals(3, results.size());
+    } finally {
+      validationExecutor.shutdownNow();
+    }
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  @Override
+  protected void before() {
+    this.configuration = Configuration.of(Configuration.Mode.TEST);
+  }
+
+}
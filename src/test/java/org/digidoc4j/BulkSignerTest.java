@@ -0,0 +1,156 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.digidoc4j.exceptions.ContainerWithoutFilesException;
+import org.digidoc4j.exceptions.SignatureTokenMissingException;
+import org.digidoc4j.exceptions.TechnicalException;
+import org.digidoc4j.test.CustomContainer;
+import org.digidoc4j.test.MockSignatureBuilder;
+import org.digidoc4j.test.util.TestDataBuilderUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BulkSignerTest extends AbstractTest {
+
+  @Test
+  public void signingManyContainers_allContainersGetSignature() {
+    List<Container> containers = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      containers.add(this.createNonEmptyContainerByConfiguration());
+    }
+    final AtomicInteger listenerCalls = new AtomicInteger();
+    BulkSigningResult result = BulkSigner.aBulkSigner(this.pkcs12SignatureToken)
+        .withSignatureProfile(SignatureProfile.LT).withCity("Tallinn").withRoles("Seal")
+        .withThreadCount(2).withResultListener(new BulkSigner.ResultListener() {
+
+          @Override
+          public void onResult(BulkSigningResult.Item item) {
+            listenerCalls.incrementAndGet();
+          }
+
+        }).sign(containers);
+    Assert.assertTrue(result.isSuccessful());
+    Assert.assertEquals(5, result.getSignedCount());
+    Assert.assertEquals(5, listenerCalls.get());
+    for (int i = 0; i < containers.size(); i++) {
+      BulkSigningResult.Item item = result.getItems().get(i);
+      Assert.assertEquals(i, item.getIndex());
+      Assert.assertSame(containers.get(i), item.getContainer());
+      Assert.assertEquals(1, containers.get(i).getSignatures().size());
+      Assert.assertEquals("Tallinn", item.getSignature().getCity());
+      Assert.assertEquals(SignatureProfile.LT, item.getSignature().getProfile());
+    }
+    Assert.assertTrue(result.getThroughputPerSecond() > 0);
+    Assert.assertTrue(this.containerIsValid(containers.get(0)));
+  }
+
+  @Test
+  public void failingContainer_doesNotStopOthers() {
+    Container emptyContainer = ContainerBuilder.aContainer().withConfiguration(this.configuration).build();
+    BulkSigningResult result = BulkSigner.aBulkSigner(this.pkcs12SignatureToken)
+        .withSignatureProfile(SignatureProfile.LT_TM).sign(Arrays.asList(
+            this.createNonEmptyContainerByConfiguration(), emptyContainer,
+            this.createNonEmptyContainerByConfiguration()));
+    Assert.assertFalse(result.isSuccessful());
+    Assert.assertEquals(2, result.getSignedCount());
+    Assert.assertEquals(1, result.getFailedCount());
+    BulkSigningResult.Item failedItem = result.getFailedItems().get(0);
+    Assert.assertEquals(1, failedItem.getIndex());
+    Assert.assertTrue(failedItem.getException() instanceof ContainerWithoutFilesException);
+    Assert.assertNull(failedItem.getSignature());
+    Assert.assertTrue(emptyContainer.getSignatures().isEmpty());
+  }
+
+  @Test
+  public void errorThrownByToken_failsContainerAndDoesNotBlockSigning() {
+    SignatureToken failingToken = new SignatureToken() {
+
+      @Override
+      public X509Certificate getCertificate() {
+        return pkcs12SignatureToken.getCertificate();
+      }
+
+      @Override
+      public byte[] sign(DigestAlgorithm digestAlgorithm, byte[] dataToSign) {
+        throw new AssertionError("Token failure");
+      }
+
+    };
+    BulkSigningResult result = BulkSigner.aBulkSigner(failingToken).withSignatureProfile(SignatureProfile.B_BES)
+        .withThreadCount(1).sign(Arrays.asList(this.createNonEmptyContainerByConfiguration(),
+            this.createNonEmptyContainerByConfiguration(), this.createNonEmptyContainerByConfiguration()));
+    Assert.assertFalse(result.isSuccessful());
+    Assert.assertEquals(3, result.getFailedCount());
+    Assert.assertTrue(result.getFailedItems().get(0).getException() instanceof TechnicalException);
+  }
+
+  @Test
+  public void errorThrownByResultListener_completesEveryContainerOnce() throws Exception {
+    ContainerBuilder.setContainerImplementation("TEST-FORMAT", CustomContainer.class);
+    SignatureBuilder.setSignatureBuilderForContainerType("TEST-FORMAT", MockSignatureBuilder.class);
+    try {
+      List<Container> containers = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        containers.add(TestDataBuilderUtil.createContainerWithFile(this.testFolder, "TEST-FORMAT"));
+      }
+      final AtomicInteger listenerCalls = new AtomicInteger();
+      BulkSigningResult result = BulkSigner.aBulkSigner(this.pkcs12SignatureToken)
+          .withSignatureDigestAlgorithm(DigestAlgorithm.SHA256).withThreadCount(1).withResultListener(new BulkSigner.ResultListener() {
+
+            @Override
+            public void onResult(BulkSigningResult.Item item) {
+              listenerCalls.incrementAndGet();
+              throw new AssertionError("Listener failure");
+            }
+
+          }).sign(containers);
+      Assert.assertEquals(3, listenerCalls.get());
+      Assert.assertTrue(result.isSuccessful());
+      Assert.assertEquals(3, result.getSignedCount());
+    } finally {
+      ContainerBuilder.removeCustomContainerImplementations();
+      SignatureBuilder.removeCustomSignatureBuilders();
+    }
+  }
+
+  @Test
+  public void signingWithoutContainers_returnsEmptyResult() {
+    BulkSigningResult result = BulkSigner.aBulkSigner(this.pkcs12SignatureToken).sign(new ArrayList<Container>());
+    Assert.assertTrue(result.isSuccessful());
+    Assert.assertTrue(result.getItems().isEmpty());
+  }
+
+  @Test(expected = SignatureTokenMissingException.class)
+  public void creatingBulkSignerWithoutToken_throwsException() {
+    BulkSigner.aBulkSigner(null);
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  @Override
+  protected void before() {
+    this.configuration = Configuration.of(Configuration.Mode.TEST);
+  }
+
+  private boolean containerIsValid(Container container) {
+    return container.validate().isValid();
+  }
+
+}
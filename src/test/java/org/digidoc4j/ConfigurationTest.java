@@ -24,6 +24,7 @@ import java.nio.file.Paths;
 import java.nio.file.attribute.FileTime;
 import java.security.cert.CertificateException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +36,7 @@ import org.digidoc4j.exceptions.DigiDoc4JException;
 import org.digidoc4j.exceptions.TslCertificateSourceInitializationException;
 import org.digidoc4j.exceptions.TslKeyStoreNotFoundException;
 import org.digidoc4j.impl.asic.asice.bdoc.BDocContainer;
+import org.digidoc4j.impl.asic.tsl.LazyTslCertificateSource;
 import org.digidoc4j.impl.asic.tsl.TSLCertificateSourceImpl;
 import org.digidoc4j.impl.asic.tsl.TslLoader;
 import org.digidoc4j.test.util.TestCommonUtil;
@@ -1078,6 +1080,53 @@ public class ConfigurationTest extends AbstractTest {
     Assert.assertFalse("Differences", this.isConfigurationsDifferent(otherConfiguration));
   }
 
+  @Test
+  public void copy_hasSameValuesAndIsIndependent() {
+    this.configuration.setTspSource("http://tsp.example.com");
+    this.configuration.setTrustedTerritories("EE", "LV");
+    this.configuration.getJDigiDocConfiguration().put("DIGIDOC_CUSTOM", "value");
+    Configuration copy = this.configuration.copy();
+    Assert.assertEquals("http://tsp.example.com", copy.getTspSource());
+    Assert.assertEquals(Arrays.asList("EE", "LV"), copy.getTrustedTerritories());
+    Assert.assertEquals("value", copy.getJDigiDocConfiguration().get("DIGIDOC_CUSTOM"));
+    Assert.assertEquals(this.configuration.getRegistry().generateSealValue(), copy.getRegistry().generateSealValue());
+    copy.setTspSource("http://other-tsp.example.com");
+    copy.setTrustedTerritories("FI");
+    Assert.assertEquals("http://tsp.example.com", this.configuration.getTspSource());
+    Assert.assertEquals(Arrays.asList("EE", "LV"), this.configuration.getTrustedTerritories());
+  }
+
+  @Test
+  public void copy_sharesTslUntilTslSettingsChange() {
+    TSLCertificateSource tsl = this.configuration.getTSL();
+    Configuration copy = this.configuration.copy();
+    Assert.assertSame(tsl, copy.getTSL());
+    copy.setTslLocation("file:/other-tsl.xml");
+    Assert.assertNotSame(tsl, copy.getTSL());
+    Assert.assertSame(tsl, this.configuration.getTSL());
+  }
+
+  @Test
+  public void copy_loadsOwnTslAfterChangingTrustedTerritoriesOrLazyLoading() {
+    TSLCertificateSource tsl = this.configuration.getTSL();
+    Configuration copy = this.configuration.copy();
+    copy.setTrustedTerritories("FI");
+    TSLCertificateSource copyTsl = copy.getTSL();
+    Assert.assertNotSame(tsl, copyTsl);
+    Assert.assertSame(copy, ((LazyTslCertificateSource) copyTsl).getTslLoader().getConfiguration());
+    Configuration otherCopy = this.configuration.copy();
+    otherCopy.setLazyTslTerritoryLoading(true);
+    Assert.assertNotSame(tsl, otherCopy.getTSL());
+    Assert.assertSame(tsl, this.configuration.getTSL());
+  }
+
+  @Test
+  public void changingTslSettingsOfOriginal_keepsItsTsl() {
+    TSLCertificateSource tsl = this.configuration.getTSL();
+    this.configuration.setTrustedTerritories("EE");
+    Assert.assertSame(tsl, this.configuration.getTSL());
+  }
+
   /*
    * RESTRICTED METHODS
    */
@@ -10,11 +10,17 @@
 
 package org.digidoc4j;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.io.FileUtils;
 import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.exceptions.UnsupportedFormatException;
 import org.digidoc4j.test.TestAssert;
 import org.junit.Assert;
 import org.junit.Ignore;
@@ -23,6 +29,7 @@ import org.junit.Test;
 public class ContainerOpenerTest extends AbstractTest {
 
   private static final String BDOC_TEST_FILE = "src/test/resources/testFiles/valid-containers/one_signature.bdoc";
+  private static final String ASICS_TEST_FILE = "src/test/resources/testFiles/valid-containers/testasics.asics";
   private static final String DDOC_TEST_FILE = "src/test/resources/testFiles/valid-containers/ddoc_for_testing.ddoc";
 
   @Test
@@ -58,6 +65,40 @@ public class ContainerOpenerTest extends AbstractTest {
     TestAssert.assertContainerIsOpened(container, Container.DocumentType.ASICE);
   }
 
+  @Test
+  public void openAsicSContainerAsStream() throws Exception {
+    FileInputStream stream = FileUtils.openInputStream(new File(ASICS_TEST_FILE));
+    Container container = ContainerOpener.open(stream, this.configuration);
+    TestAssert.assertContainerIsOpened(container, Container.DocumentType.ASICS);
+  }
+
+  @Test
+  public void openBDocContainerAsStreamWithoutMarkSupport() throws Exception {
+    InputStream stream = new ByteArrayInputStream(FileUtils.readFileToByteArray(new File(BDOC_TEST_FILE))) {
+
+      @Override
+      public boolean markSupported() {
+        return false;
+      }
+
+    };
+    Container container = ContainerOpener.open(stream, this.configuration);
+    TestAssert.assertContainerIsOpened(container, Container.DocumentType.ASICE);
+    Assert.assertEquals(1, container.getSignatures().size());
+  }
+
+  @Test
+  public void openZipWithoutMimeTypeAsStream_throwsException() throws Exception {
+    ByteArrayOutputStream zip = new ByteArrayOutputStream();
+    try (ZipOutputStream zipOutputStream = new ZipOutputStream(zip)) {
+      zipOutputStream.putNextEntry(new ZipEntry("test.txt"));
+      zipOutputStream.write("Banana Pancakes".getBytes("UTF-8"));
+      zipOutputStream.closeEntry();
+    }
+    this.expectedException.expect(UnsupportedFormatException.class);
+    ContainerOpener.open(new ByteArrayInputStream(zip.toByteArray()), this.configuration);
+  }
+
   @Test
   public void testErrorTextDDOCInvalidFileFormat() {
     try {
@@ -0,0 +1,112 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DDocMigratorTest extends AbstractTest {
+
+  private static final String DDOC = "src/test/resources/testFiles/valid-containers/ddoc_for_testing.ddoc";
+
+  @Test
+  public void migratingDDocs_writesAsicEContainersWithOriginalDDoc() throws Exception {
+    File outputDirectory = this.testFolder.newFolder("migrated");
+    List<String> sources = Arrays.asList(this.copyDDoc("first.ddoc"), this.copyDDoc("second.ddoc"));
+    final AtomicInteger listenerCalls = new AtomicInteger();
+    DDocMigrationResult result = DDocMigrator.aDDocMigrator().withConfiguration(this.configuration)
+        .withOutputDirectory(outputDirectory.getPath()).withThreadCount(2)
+        .withProgressListener(new DDocMigrator.ProgressListener() {
+
+          @Override
+          public void onCompleted(DDocMigrationResult.Item item, int completedCount) {
+            listenerCalls.incrementAndGet();
+          }
+
+        }).migrate(sources);
+    Assert.assertTrue(result.isSuccessful());
+    Assert.assertEquals(2, result.getMigratedCount());
+    Assert.assertEquals(2, listenerCalls.get());
+    Container ddoc = ContainerOpener.open(DDOC, this.configuration);
+    for (int i = 0; i < sources.size(); i++) {
+      DDocMigrationResult.Item item = result.getItems().get(i);
+      Assert.assertEquals(sources.get(i), item.getSourcePath());
+      Assert.assertNotNull(item.getSourceValidationResult());
+      Container container = ContainerOpener.open(item.getTargetPath(), this.configuration);
+      Assert.assertEquals(Container.DocumentType.ASICE.name(), container.getType());
+      Assert.assertEquals(ddoc.getDataFiles().size(), container.getDataFiles().size());
+      Assert.assertArrayEquals(ddoc.getDataFiles().get(0).getBytes(), container.getDataFiles().get(0).getBytes());
+      try (ZipFile zipFile = new ZipFile(item.getTargetPath())) {
+        Assert.assertEquals(new File(DDOC).length(), zipFile.getEntry(DDocMigrator.ORIGINAL_DDOC_ENTRY).getSize());
+      }
+    }
+    Assert.assertEquals(new File(outputDirectory, "first.asice").getPath(), result.getItems().get(0).getTargetPath());
+    Assert.assertEquals(2, outputDirectory.list().length);
+  }
+
+  @Test
+  public void migratingAgainWithJournal_skipsMigratedFilesAndRecordsFailures() throws Exception {
+    File outputDirectory = this.testFolder.newFolder("migrated");
+    String journal = new File(this.testFolder.getRoot(), "journal.tsv").getPath();
+    String source = this.copyDDoc("first.ddoc");
+    DDocMigrator migrator = DDocMigrator.aDDocMigrator().withConfiguration(this.configuration)
+        .withOutputDirectory(outputDirectory.getPath()).withJournal(journal).withSourceValidation(false);
+    Assert.assertEquals(1, migrator.migrate(Arrays.asList(source)).getMigratedCount());
+    File brokenFile = this.testFolder.newFile("broken.ddoc");
+    FileUtils.writeStringToFile(brokenFile, "not a ddoc", StandardCharsets.UTF_8);
+    DDocMigrationResult result = migrator.migrate(Arrays.asList(source, brokenFile.getPath()));
+    Assert.assertEquals(DDocMigrationResult.Status.SKIPPED, result.getItems().get(0).getStatus());
+    Assert.assertEquals(DDocMigrationResult.Status.FAILED, result.getItems().get(1).getStatus());
+    Assert.assertNotNull(result.getItems().get(1).getException());
+    Assert.assertFalse(result.isSuccessful());
+    List<String> lines = FileUtils.readLines(new File(journal), StandardCharsets.UTF_8);
+    Assert.assertEquals(3, lines.size());
+    Assert.assertTrue(lines.get(0).startsWith("MIGRATED\t" + source + "\t"));
+    Assert.assertTrue(lines.get(2).startsWith("FAILED\t" + brokenFile.getPath() + "\t\t"));
+    Assert.assertEquals(1, outputDirectory.list().length);
+  }
+
+  @Test
+  public void existingTargetContainer_isNotOverwritten() throws Exception {
+    File outputDirectory = this.testFolder.newFolder("migrated");
+    File existingContainer = new File(outputDirectory, "first.asice");
+    FileUtils.writeStringToFile(existingContainer, "existing", StandardCharsets.UTF_8);
+    DDocMigrationResult result = DDocMigrator.aDDocMigrator().withConfiguration(this.configuration)
+        .withOutputDirectory(outputDirectory.getPath()).migrate(Arrays.asList(this.copyDDoc("first.ddoc")));
+    Assert.assertEquals(1, result.getFailedCount());
+    Assert.assertEquals("existing", FileUtils.readFileToString(existingContainer, StandardCharsets.UTF_8));
+    Assert.assertEquals(1, outputDirectory.list().length);
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  @Override
+  protected void before() {
+    this.configuration = Configuration.of(Configuration.Mode.TEST);
+  }
+
+  private String copyDDoc(String name) throws Exception {
+    File file = new File(this.testFolder.getRoot(), name);
+    FileUtils.copyFile(new File(DDOC), file);
+    return file.getPath();
+  }
+
+}
@@ -0,0 +1,101 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+
+import org.digidoc4j.impl.StreamDocument;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import eu.europa.esig.dss.MimeType;
+
+/**
+ * Guards against eager log message building on hot paths: with debug logging disabled, frequently called getters must
+ * not allocate anything.
+ */
+public class LoggingAllocationTest extends AbstractTest {
+
+  private static final int ITERATIONS = 100000;
+  private static final long MAX_ALLOCATED_BYTES = 64 * 1024;
+  private final Logger digidoc4jLogger = (Logger) LoggerFactory.getLogger("org.digidoc4j");
+  private Level originalLevel;
+  private com.sun.management.ThreadMXBean threadBean;
+
+  @Test
+  public void dataFileGetters_withDebugDisabled_shouldNotAllocate() {
+    final DataFile dataFile = new DataFile(new byte[]{1, 2, 3}, "test.txt", "text/plain");
+    this.assertNoAllocation(new Runnable() {
+
+      @Override
+      public void run() {
+        dataFile.getMediaType();
+      }
+
+    });
+  }
+
+  @Test
+  public void streamDocumentGetters_withDebugDisabled_shouldNotAllocate() {
+    final StreamDocument document = new StreamDocument(new ByteArrayInputStream(new byte[]{1, 2, 3}), "test.txt",
+        MimeType.TEXT);
+    this.assertNoAllocation(new Runnable() {
+
+      @Override
+      public void run() {
+        document.getMimeType();
+        document.setMimeType(MimeType.TEXT);
+      }
+
+    });
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  @Override
+  protected void before() {
+    Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(this.threadBean.isThreadAllocatedMemorySupported());
+    this.threadBean.setThreadAllocatedMemoryEnabled(true);
+    this.originalLevel = this.digidoc4jLogger.getLevel();
+    this.digidoc4jLogger.setLevel(Level.INFO);
+  }
+
+  @Override
+  protected void after() {
+    if (this.threadBean != null) {
+      this.digidoc4jLogger.setLevel(this.originalLevel);
+    }
+  }
+
+  private void assertNoAllocation(Runnable hotPath) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      hotPath.run();
+    }
+    long threadId = Thread.currentThread().getId();
+    long start = this.threadBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < ITERATIONS; i++) {
+      hotPath.run();
+    }
+    long allocated = this.threadBean.getThreadAllocatedBytes(threadId) - start;
+    Assert.assertTrue(String.format("Allocated %d bytes in %d iterations", allocated, ITERATIONS),
+        allocated < MAX_ALLOCATED_BYTES);
+  }
+
+}
@@ -0,0 +1,141 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.digidoc4j.impl.Metrics;
+import org.digidoc4j.impl.NoOpMetricsRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MetricsRegistryTest extends AbstractTest {
+
+  private static final String BDOC_TEST_FILE = "src/test/resources/testFiles/valid-containers/valid-bdoc-tm.bdoc";
+  private static final String TWO_SIGNATURES_TEST_FILE = "src/test/resources/testFiles/valid-containers/asics_testing_two_signatures.bdoc";
+  private RecordingMetricsRegistry registry;
+
+  @Test
+  public void defaultRegistry_isDisabled() {
+    Configuration configuration = Configuration.of(Configuration.Mode.TEST);
+    Assert.assertSame(NoOpMetricsRegistry.INSTANCE, configuration.getMetricsRegistry());
+    Assert.assertFalse(configuration.getMetricsRegistry().isEnabled());
+  }
+
+  @Test
+  public void registryIsKeptOnConfigurationCopy() {
+    Assert.assertSame(this.registry, this.configuration.copy().getMetricsRegistry());
+  }
+
+  @Test
+  public void openingContainer_shouldRecordParseMetrics() {
+    Container container = ContainerOpener.open(BDOC_TEST_FILE, this.configuration);
+    Assert.assertEquals(1, this.registry.getTimerCount(MetricsRegistry.CONTAINER_PARSE));
+    Assert.assertEquals(0, this.registry.getTimerCount(MetricsRegistry.SIGNATURE_OPEN));
+    Assert.assertEquals(1, container.getSignatures().size());
+    Assert.assertEquals(0, this.registry.getTimerCount(MetricsRegistry.SIGNATURE_OPEN));
+    container.getSignatures().get(0);
+    container.getSignatures().get(0);
+    Assert.assertEquals(1, this.registry.getTimerCount(MetricsRegistry.SIGNATURE_OPEN));
+    Assert.assertTrue(this.registry.getCounter(MetricsRegistry.CONTAINER_PARSE_ENTRY_BYTES, "type", "datafile") > 0);
+    Assert.assertTrue(this.registry.getCounter(MetricsRegistry.CONTAINER_PARSE_ENTRY_BYTES, "type", "signature") > 0);
+  }
+
+  @Test
+  public void validatingContainer_shouldOpenAllSignatures() {
+    Container container = ContainerOpener.open(TWO_SIGNATURES_TEST_FILE, this.configuration);
+    Assert.assertEquals(0, this.registry.getTimerCount(MetricsRegistry.SIGNATURE_OPEN));
+    container.validate();
+    Assert.assertEquals(2, this.registry.getTimerCount(MetricsRegistry.SIGNATURE_OPEN));
+  }
+
+  @Test
+  public void savingContainer_shouldRecordWriteTime() {
+    Container container = ContainerOpener.open(BDOC_TEST_FILE, this.configuration);
+    container.saveAsStream();
+    Assert.assertEquals(1, this.registry.getTimerCount(MetricsRegistry.CONTAINER_WRITE, "type", "BDOC"));
+  }
+
+  @Test
+  public void failedTimer_shouldIncrementErrorCounter() {
+    Metrics.startTimer(this.registry, MetricsRegistry.OCSP_REQUEST).failed(new IllegalStateException());
+    Assert.assertEquals(0, this.registry.getTimerCount(MetricsRegistry.OCSP_REQUEST));
+    Assert.assertEquals(1, this.registry.getCounter(MetricsRegistry.OCSP_REQUEST + MetricsRegistry.ERRORS_SUFFIX,
+        "exception", "IllegalStateException"));
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  @Override
+  protected void before() {
+    this.registry = new RecordingMetricsRegistry();
+    this.configuration = Configuration.of(Configuration.Mode.TEST);
+    this.configuration.setMetricsRegistry(this.registry);
+  }
+
+  private static class RecordingMetricsRegistry implements MetricsRegistry {
+
+    private final Map<String, AtomicLong> timers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isEnabled() {
+      return true;
+    }
+
+    @Override
+    public void recordTime(String name, long durationInNanos, String... tags) {
+      Assert.assertTrue(durationInNanos >= 0);
+      this.add(this.timers, this.key(name, tags), 1);
+    }
+
+    @Override
+    public void increment(String name, long amount, String... tags) {
+      this.add(this.counters, this.key(name, tags), amount);
+    }
+
+    long getTimerCount(String name, String... tags) {
+      return this.get(this.timers, this.key(name, tags));
+    }
+
+    long getCounter(String name, String... tags) {
+      return this.get(this.counters, this.key(name, tags));
+    }
+
+    private synchronized void add(Map<String, AtomicLong> values, String key, long amount) {
+      if (!values.containsKey(key)) {
+        values.put(key, new AtomicLong());
+      }
+      values.get(key).addAndGet(amount);
+    }
+
+    private long get(Map<String, AtomicLong> values, String key) {
+      AtomicLong value = values.get(key);
+      return value == null ? 0 : value.get();
+    }
+
+    private String key(String name, String... tags) {
+      List<String> parts = new ArrayList<>();
+      parts.add(name);
+      parts.addAll(Arrays.asList(tags));
+      return parts.toString();
+    }
+
+  }
+
+}
@@ -13,11 +13,13 @@ package org.digidoc4j;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
 import java.util.List;
 
 import org.databene.contiperf.PerfTest;
 import org.databene.contiperf.junit.ContiPerfRule;
 import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.impl.CryptoPrimitives;
 import org.digidoc4j.impl.ddoc.ConfigManagerInitializer;
 import org.digidoc4j.test.TestAssert;
 import org.junit.Assert;
@@ -39,6 +41,7 @@ public class PerformanceTest extends AbstractTest {
 
   private static final ConfigManagerInitializer configManagerInitializer = new ConfigManagerInitializer();
   private static final int INVOCATIONS = 1;
+  private static final byte[] BENCHMARK_DATA = new byte[32];
 
   @Rule
   public ContiPerfRule performanceTestRule = new ContiPerfRule();
@@ -173,6 +176,24 @@ public class PerformanceTest extends AbstractTest {
     this.createSignatureBy(container, SignatureProfile.LT, DigestAlgorithm.SHA256, this.pkcs12SignatureToken);
   }
 
+  @Test
+  @PerfTest(invocations = 100000, threads = 8)
+  public void digestWithNewMessageDigestInstances() throws Exception {
+    MessageDigest.getInstance("SHA-256", "BC").digest(BENCHMARK_DATA);
+  }
+
+  @Test
+  @PerfTest(invocations = 100000, threads = 8)
+  public void digestWithThreadLocalMessageDigestInstances() throws Exception {
+    CryptoPrimitives.getMessageDigest("SHA-256", "BC").digest(BENCHMARK_DATA);
+  }
+
+  @Test
+  @PerfTest(invocations = 2000, threads = 8)
+  public void signWithPkcs12Token() throws Exception {
+    this.pkcs12SignatureToken.sign(DigestAlgorithm.SHA256, BENCHMARK_DATA);
+  }
+
   /*
    * RESTRICTED METHODS
    */
@@ -0,0 +1,39 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.io.FileInputStream;
+
+import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StreamingContainerValidatorTest extends AbstractTest {
+
+  private static final String BDOC_CONTAINER = "src/test/resources/testFiles/valid-containers/valid-bdoc-tm.bdoc";
+
+  @Test
+  public void validatingSignedContainerFromStream_isValid() throws Exception {
+    ValidationResult result = StreamingContainerValidator.aStreamingContainerValidator()
+        .withConfiguration(this.configuration).validate(new FileInputStream(BDOC_CONTAINER));
+    Assert.assertTrue(result.getErrors().toString(), result.isValid());
+  }
+
+  @Test
+  public void signatureDigestAlgorithmNotDigested_throwsExceptionNamingIt() throws Exception {
+    this.expectedException.expect(DigiDoc4JException.class);
+    this.expectedException.expectMessage("Data files were not digested with SHA256 used by signature id-6a5d6671af7a9e0ab9a5e4d49d69800d");
+    StreamingContainerValidator.aStreamingContainerValidator().withConfiguration(this.configuration)
+        .withDigestAlgorithms(DigestAlgorithm.SHA224, DigestAlgorithm.SHA512)
+        .validate(new FileInputStream(BDOC_CONTAINER));
+  }
+
+}
@@ -0,0 +1,71 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.digidoc4j.exceptions.CertificateRevokedException;
+import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.exceptions.InvalidTimestampException;
+import org.digidoc4j.exceptions.UnsupportedFormatException;
+import org.digidoc4j.impl.asic.AsicValidationResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ValidationFindingTest {
+
+  @Test
+  public void finding_isConvertedToExceptionOfItsCode() {
+    DigiDoc4JException exception = ValidationFinding.error(ValidationFinding.Code.CERTIFICATE_REVOKED,
+        "The certificate is revoked!", "S0").toException();
+    Assert.assertTrue(exception instanceof CertificateRevokedException);
+    Assert.assertEquals("The certificate is revoked!", exception.getMessage());
+    Assert.assertEquals("S0", exception.getSignatureId());
+    ValidationFinding timestampFinding = ValidationFinding.error(ValidationFinding.Code.INVALID_TIMESTAMP,
+        InvalidTimestampException.MESSAGE, "S1");
+    Assert.assertTrue(timestampFinding.toException() instanceof InvalidTimestampException);
+    Assert.assertSame(timestampFinding.toException(), timestampFinding.toException());
+  }
+
+  @Test
+  public void signatureValidationResult_keepsFindingsAndCreatesExceptionsOnDemand() {
+    SignatureValidationResult result = new SignatureValidationResult();
+    result.setFindings(Arrays.asList(
+        ValidationFinding.warning("Warning", "S0"),
+        ValidationFinding.error(ValidationFinding.Code.GENERAL, "Error", "S0")));
+    Assert.assertFalse(result.isValid());
+    Assert.assertEquals(1, result.getErrors().size());
+    Assert.assertEquals("Error", result.getErrors().get(0).getMessage());
+    Assert.assertEquals("Warning", result.getWarnings().get(0).getMessage());
+    result.setErrors(Collections.<DigiDoc4JException>emptyList());
+    Assert.assertTrue(result.isValid());
+    Assert.assertEquals(1, result.getFindings().size());
+  }
+
+  @Test
+  public void asicValidationResult_separatesContainerErrors() {
+    ValidationFinding containerError = ValidationFinding.error(ValidationFinding.Code.UNSUPPORTED_FORMAT,
+        "Container does not contain a manifest file", null);
+    List<ValidationFinding> findings = Arrays.asList(
+        ValidationFinding.warning("Warning", "S0"), containerError);
+    AsicValidationResult result = new AsicValidationResult();
+    result.setFindings(findings, Collections.singletonList(containerError));
+    Assert.assertFalse(result.isValid());
+    Assert.assertTrue(result.hasWarnings());
+    Assert.assertEquals(1, result.getErrors().size());
+    Assert.assertTrue(result.getContainerErrors().get(0) instanceof UnsupportedFormatException);
+    Assert.assertSame(result.getErrors().get(0), result.getContainerErrors().get(0));
+    Assert.assertEquals("", result.getContainerErrors().get(0).getSignatureId());
+  }
+
+}
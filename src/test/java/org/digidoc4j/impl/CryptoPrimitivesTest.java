@@ -0,0 +1,189 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl;
+
+import java.security.InvalidKeyException;
+import java.security.InvalidParameterException;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.security.Security;
+import java.security.Signature;
+import java.security.SignatureSpi;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.digidoc4j.AbstractTest;
+import org.digidoc4j.exceptions.TechnicalException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.token.KSPrivateKeyEntry;
+
+public class CryptoPrimitivesTest extends AbstractTest {
+
+  private static final byte[] DATA = "Banana Pancakes".getBytes();
+
+  @Test
+  public void messageDigest_isReusedAndResetWithinThread() {
+    MessageDigest messageDigest = CryptoPrimitives.getMessageDigest("SHA-256");
+    messageDigest.update(new byte[]{1, 2, 3});
+    MessageDigest sameDigest = CryptoPrimitives.getMessageDigest("SHA-256");
+    Assert.assertSame(messageDigest, sameDigest);
+    Assert.assertArrayEquals(DSSUtils.digest(eu.europa.esig.dss.DigestAlgorithm.SHA256, DATA), sameDigest.digest(DATA));
+    Assert.assertNotSame(messageDigest, CryptoPrimitives.getMessageDigest("SHA-256", "BC"));
+  }
+
+  @Test
+  public void messageDigest_isNotSharedBetweenThreads() throws Exception {
+    final MessageDigest messageDigest = CryptoPrimitives.getMessageDigest("SHA-256");
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      MessageDigest otherThreadDigest = executor.submit(new Callable<MessageDigest>() {
+
+        @Override
+        public MessageDigest call() {
+          return CryptoPrimitives.getMessageDigest("SHA-256");
+        }
+
+      }).get();
+      Assert.assertNotSame(messageDigest, otherThreadDigest);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void signature_isReusedAndInitializedWithinThread() throws Exception {
+    PrivateKey key = ((KSPrivateKeyEntry) this.pkcs12SignatureToken.getSignatureTokenConnection().getKeys().get(0))
+        .getPrivateKey();
+    Signature expectedSignature = Signature.getInstance("SHA256withRSA");
+    expectedSignature.initSign(key);
+    expectedSignature.update(DATA);
+    Signature signature = CryptoPrimitives.getSignature("SHA256withRSA", key);
+    signature.update(new byte[]{1, 2, 3});
+    Signature sameSignature = CryptoPrimitives.getSignature("SHA256withRSA", key);
+    Assert.assertSame(signature, sameSignature);
+    sameSignature.update(DATA);
+    Assert.assertArrayEquals(expectedSignature.sign(), sameSignature.sign());
+  }
+
+  @Test
+  public void signatureBoundToTokenProvider_isNotReusedForSoftwareKey() throws Exception {
+    PrivateKey softwareKey = ((KSPrivateKeyEntry) this.pkcs12SignatureToken.getSignatureTokenConnection().getKeys()
+        .get(0)).getPrivateKey();
+    Security.addProvider(new TokenProvider());
+    try {
+      Signature tokenSignature = CryptoPrimitives.getSignature("SHA256withRSA", new TokenKey());
+      Assert.assertEquals(TokenProvider.NAME, tokenSignature.getProvider().getName());
+      Signature softwareSignature = CryptoPrimitives.getSignature("SHA256withRSA", softwareKey);
+      Assert.assertNotEquals(TokenProvider.NAME, softwareSignature.getProvider().getName());
+      Assert.assertSame(tokenSignature, CryptoPrimitives.getSignature("SHA256withRSA", new TokenKey()));
+      Assert.assertSame(softwareSignature, CryptoPrimitives.getSignature("SHA256withRSA", softwareKey));
+    } finally {
+      Security.removeProvider(TokenProvider.NAME);
+    }
+  }
+
+  @Test(expected = TechnicalException.class)
+  public void unknownAlgorithm_throwsException() {
+    CryptoPrimitives.getMessageDigest("SHA-999");
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  /**
+   * Key that stays in the token, only the token provider can sign with it
+   */
+  private static class TokenKey implements PrivateKey {
+
+    @Override
+    public String getAlgorithm() {
+      return "RSA";
+    }
+
+    @Override
+    public String getFormat() {
+      return null;
+    }
+
+    @Override
+    public byte[] getEncoded() {
+      return null;
+    }
+
+  }
+
+  /**
+   * Token provider that, like SunPKCS11, accepts software keys too by importing them into the token
+   */
+  public static class TokenProvider extends Provider {
+
+    private static final String NAME = "DigiDoc4jTestToken";
+
+    TokenProvider() {
+      super(NAME, 1.0, "Test token");
+      put("Signature.SHA256withRSA", TokenSignature.class.getName());
+    }
+
+  }
+
+  public static class TokenSignature extends SignatureSpi {
+
+    @Override
+    protected void engineInitSign(PrivateKey privateKey) throws InvalidKeyException {
+      if (!"RSA".equals(privateKey.getAlgorithm())) {
+        throw new InvalidKeyException("Not an RSA key");
+      }
+    }
+
+    @Override
+    protected void engineInitVerify(PublicKey publicKey) throws InvalidKeyException {
+      throw new InvalidKeyException("Signing only");
+    }
+
+    @Override
+    protected void engineUpdate(byte b) {
+    }
+
+    @Override
+    protected void engineUpdate(byte[] b, int off, int len) {
+    }
+
+    @Override
+    protected byte[] engineSign() {
+      return new byte[]{1};
+    }
+
+    @Override
+    protected boolean engineVerify(byte[] sigBytes) {
+      return false;
+    }
+
+    @Override
+    @Deprecated
+    protected void engineSetParameter(String param, Object value) throws InvalidParameterException {
+    }
+
+    @Override
+    @Deprecated
+    protected Object engineGetParameter(String param) throws InvalidParameterException {
+      return null;
+    }
+
+  }
+
+}
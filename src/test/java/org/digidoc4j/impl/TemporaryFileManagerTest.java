@@ -0,0 +1,162 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Paths;
+
+import org.digidoc4j.AbstractTest;
+import org.digidoc4j.CloseableContainer;
+import org.digidoc4j.Configuration;
+import org.digidoc4j.DataFile;
+import org.digidoc4j.exceptions.TechnicalException;
+import org.digidoc4j.utils.Helper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import eu.europa.esig.dss.MimeType;
+
+public class TemporaryFileManagerTest extends AbstractTest {
+
+  private static final String LARGE_DATA_FILE_CONTAINER = "src/test/resources/testFiles/valid-containers/bdoc-ts-with-large-data-file.bdoc";
+  private File directory;
+
+  @Test
+  public void releasingLastReference_deletesFile() {
+    TemporaryFileManager manager = new TemporaryFileManager(this.directory, 0);
+    StreamDocument document = this.createDocument(manager, "Banana Pancakes");
+    File file = new File(document.getAbsolutePath());
+    Assert.assertEquals(this.directory.getAbsoluteFile(), file.getAbsoluteFile().getParentFile());
+    Assert.assertEquals(1, manager.getFileCount());
+    Assert.assertEquals(15, manager.getUsedBytes());
+    document.retain();
+    document.release();
+    Assert.assertTrue(file.exists());
+    document.release();
+    Assert.assertFalse(file.exists());
+    Assert.assertEquals(0, manager.getFileCount());
+    Assert.assertEquals(0, manager.getUsedBytes());
+  }
+
+  @Test
+  public void exceedingQuota_throwsExceptionAndDeletesFile() {
+    TemporaryFileManager manager = new TemporaryFileManager(this.directory, 10);
+    this.expectedException.expect(TechnicalException.class);
+    try {
+      this.createDocument(manager, "Banana Pancakes");
+    } finally {
+      Assert.assertEquals(0, manager.getFileCount());
+      Assert.assertEquals(0, this.directory.listFiles().length);
+    }
+  }
+
+  @Test
+  public void closingContainer_deletesItsTemporaryFiles() {
+    CloseableContainer container = this.openLargeDataFileContainer();
+    Assert.assertEquals(1, this.directory.listFiles().length);
+    container.close();
+    Assert.assertEquals(0, this.directory.listFiles().length);
+  }
+
+  @Test
+  public void savingContainer_keepsTemporaryFilesOfOtherContainers() {
+    CloseableContainer container = this.openLargeDataFileContainer();
+    CloseableContainer otherContainer = this.openLargeDataFileContainer();
+    container.saveAsFile(this.getFileBy("bdoc"));
+    Assert.assertEquals(2, this.directory.listFiles().length);
+    Assert.assertTrue(otherContainer.getDataFiles().get(0).getBytes().length > 0);
+    container.close();
+    otherContainer.close();
+  }
+
+  @Test
+  public void dataFileSharedBetweenContainers_isDeletedAfterBothAreClosed() {
+    CloseableContainer container = this.openLargeDataFileContainer();
+    DataFile dataFile = container.getDataFiles().get(0);
+    CloseableContainer otherContainer = (CloseableContainer) this.createEmptyContainer();
+    otherContainer.addDataFile(dataFile);
+    container.close();
+    Assert.assertEquals(1, this.directory.listFiles().length);
+    otherContainer.close();
+    Assert.assertEquals(0, this.directory.listFiles().length);
+  }
+
+  @Test
+  public void closingContainerTwice_releasesFilesOnce() {
+    CloseableContainer container = this.openLargeDataFileContainer();
+    CloseableContainer otherContainer = (CloseableContainer) this.createEmptyContainer();
+    otherContainer.addDataFile(container.getDataFiles().get(0));
+    container.close();
+    container.close();
+    Assert.assertEquals(1, this.directory.listFiles().length);
+    otherContainer.close();
+  }
+
+  @Test
+  public void removingDataFile_releasesItsTemporaryFile() {
+    CloseableContainer container = this.openLargeDataFileContainer();
+    DataFile dataFile = container.getDataFiles().get(0);
+    CloseableContainer otherContainer = (CloseableContainer) this.createEmptyContainer();
+    otherContainer.addDataFile(dataFile);
+    container.close();
+    Assert.assertEquals(1, this.directory.listFiles().length);
+    otherContainer.removeDataFile(dataFile);
+    Assert.assertEquals(0, this.directory.listFiles().length);
+    otherContainer.close();
+  }
+
+  @Test
+  public void retainingDeletedFile_throwsException() {
+    StreamDocument document = this.createDocument(new TemporaryFileManager(this.directory, 0), "Banana Pancakes");
+    document.release();
+    this.expectedException.expect(TechnicalException.class);
+    document.retain();
+  }
+
+  @Test
+  public void deserializedContainer_keepsDataFileAfterOriginalIsClosed() {
+    CloseableContainer container = this.openLargeDataFileContainer();
+    byte[] content = container.getDataFiles().get(0).getBytes();
+    File serializedContainer = new File(this.testFolder.getRoot(), "container.bin");
+    Helper.serialize(container, serializedContainer);
+    CloseableContainer deserializedContainer = Helper.deserializer(serializedContainer);
+    container.close();
+    Assert.assertEquals(0, this.directory.listFiles().length);
+    DataFile dataFile = deserializedContainer.getDataFiles().get(0);
+    File temporaryFile = new File(dataFile.getDocument().getAbsolutePath());
+    Assert.assertArrayEquals(content, dataFile.getBytes());
+    deserializedContainer.close();
+    Assert.assertFalse(temporaryFile.exists());
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  @Override
+  protected void before() {
+    this.directory = new File(this.testFolder.getRoot(), "digidoc4j-temp");
+    this.configuration = Configuration.of(Configuration.Mode.TEST);
+    this.configuration.setMaxFileSizeCachedInMemoryInMB(1);
+    this.configuration.setTempFileDirectory(this.directory.getPath());
+    this.directory.mkdirs();
+  }
+
+  private CloseableContainer openLargeDataFileContainer() {
+    return (CloseableContainer) this.openContainerByConfiguration(Paths.get(LARGE_DATA_FILE_CONTAINER), this.configuration);
+  }
+
+  private StreamDocument createDocument(TemporaryFileManager manager, String content) {
+    return new StreamDocument(new ByteArrayInputStream(content.getBytes()), "test.txt", MimeType.TEXT, manager);
+  }
+
+}
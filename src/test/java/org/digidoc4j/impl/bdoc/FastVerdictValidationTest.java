@@ -0,0 +1,128 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.bdoc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.digidoc4j.AbstractTest;
+import org.digidoc4j.Configuration;
+import org.digidoc4j.Signature;
+import org.digidoc4j.SignatureValidationResult;
+import org.digidoc4j.ValidationFinding;
+import org.digidoc4j.ValidationMode;
+import org.digidoc4j.ValidationResult;
+import org.digidoc4j.exceptions.NotSupportedException;
+import org.digidoc4j.impl.asic.AsicSignature;
+import org.digidoc4j.impl.asic.asice.AsicEContainerValidator;
+import org.digidoc4j.impl.asic.asice.bdoc.BDocContainerValidator;
+import org.digidoc4j.impl.asic.xades.validation.SignatureValidator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class FastVerdictValidationTest extends AbstractTest {
+
+  private final CountDownLatch validationFinished = new CountDownLatch(1);
+  private ThreadPoolExecutor executor;
+
+  @Test
+  public void fastVerdict_skipsRemainingSignaturesOfInvalidContainer() throws Exception {
+    Signature invalidSignature = this.mockSignature("S0", ValidationFinding.error(ValidationFinding.Code.GENERAL,
+        "The reference data object(s) is not intact!", "S0"));
+    Signature validSignature = this.mockSignature("S1");
+    ValidationResult result = new BDocContainerValidator(this.configuration)
+        .validate(Arrays.asList(invalidSignature, validSignature));
+    this.validationFinished.countDown();
+    this.executor.shutdown();
+    Assert.assertTrue(this.executor.awaitTermination(10, TimeUnit.SECONDS));
+    Assert.assertFalse(result.isValid());
+    Assert.assertEquals("The reference data object(s) is not intact!", result.getErrors().get(0).getMessage());
+    Mockito.verify(validSignature, Mockito.never()).validateSignature();
+  }
+
+  @Test
+  public void fastVerdict_validContainer_isValidWithoutReports() {
+    this.validationFinished.countDown();
+    ValidationResult result = new AsicEContainerValidator(this.configuration)
+        .validate(Arrays.asList(this.mockSignature("S0"), this.mockSignature("S1")));
+    Assert.assertTrue(result.isValid());
+    try {
+      result.getReport();
+      Assert.fail("Report should not be available");
+    } catch (NotSupportedException e) {
+      Assert.assertTrue(e.getMessage().contains("fast verdict"));
+    }
+  }
+
+  @Test
+  public void fastVerdictResultOfSignature_isNotReturnedByFullValidation() {
+    this.validationFinished.countDown();
+    SignatureValidationResult fastResult = new SignatureValidationResult();
+    SignatureValidationResult fullResult = new SignatureValidationResult();
+    SignatureValidator validator = Mockito.mock(SignatureValidator.class);
+    Mockito.when(validator.extractValidationErrors(ValidationMode.FAST_VERDICT)).thenReturn(fastResult);
+    Mockito.when(validator.extractValidationErrors(ValidationMode.FULL)).thenReturn(fullResult);
+    AsicSignature signature = new AsicSignature(null, validator);
+    Assert.assertSame(fastResult, signature.validateSignature(ValidationMode.FAST_VERDICT));
+    Assert.assertSame(fullResult, signature.validateSignature());
+    Assert.assertSame(fullResult, signature.validateSignature(ValidationMode.FAST_VERDICT));
+    Mockito.verify(validator, Mockito.times(1)).extractValidationErrors(ValidationMode.FULL);
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  @Override
+  protected void before() {
+    this.configuration = Configuration.of(Configuration.Mode.TEST);
+    this.configuration.setValidationMode(ValidationMode.FAST_VERDICT);
+    final AtomicInteger startedTasks = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>()) {
+
+      @Override
+      protected void beforeExecute(Thread thread, Runnable task) {
+        // Holds back all but the first signature until the verdict is returned
+        if (startedTasks.getAndIncrement() > 0) {
+          try {
+            validationFinished.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+
+    };
+    this.configuration.setThreadExecutor(this.executor);
+  }
+
+  @Override
+  protected void after() {
+    this.executor.shutdownNow();
+  }
+
+  private Signature mockSignature(String id, ValidationFinding... findings) {
+    SignatureValidationResult validationResult = new SignatureValidationResult();
+    validationResult.setFindings(new ArrayList<>(Arrays.asList(findings)));
+    Signature signature = Mockito.mock(Signature.class);
+    Mockito.when(signature.getId()).thenReturn(id);
+    Mockito.when(signature.validateSignature()).thenReturn(validationResult);
+    return signature;
+  }
+
+}
@@ -12,16 +12,24 @@ package org.digidoc4j.impl.bdoc.asic;
 
 import java.io.FileInputStream;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
 
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.digidoc4j.AbstractTest;
 import org.digidoc4j.Configuration;
+import org.digidoc4j.DigestAlgorithm;
 import org.digidoc4j.impl.asic.AsicEntry;
 import org.digidoc4j.impl.asic.AsicParseResult;
 import org.digidoc4j.impl.asic.AsicStreamContainerParser;
+import org.digidoc4j.impl.asic.DigestingAsicStreamContainerParser;
 import org.junit.Assert;
 import org.junit.Test;
 
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DigestDocument;
+
 public class AsicContainerParserTest extends AbstractTest {
 
   @Test
@@ -62,6 +70,23 @@ public class AsicContainerParserTest extends AbstractTest {
     Assert.assertNull(result.getCurrentUsedSignatureFileIndex());
   }
 
+  @Test
+  public void parseBdocContainerStream_withDigestingParser_keepsOnlyDataFileDigests() throws Exception {
+    String path = "src/test/resources/testFiles/invalid-containers/two_signatures.bdoc";
+    AsicParseResult result = new DigestingAsicStreamContainerParser(new FileInputStream(path), Configuration.getInstance(),
+        Arrays.asList(DigestAlgorithm.SHA256, DigestAlgorithm.SHA512)).read();
+    this.assertParseResultValid(result);
+    DSSDocument dataFile = result.getDetachedContents().get(0);
+    Assert.assertTrue(dataFile instanceof DigestDocument);
+    Assert.assertEquals("text/plain", dataFile.getMimeType().getMimeTypeString());
+    byte[] content = new AsicStreamContainerParser(new FileInputStream(path), Configuration.getInstance()).read()
+        .getDataFiles().get(0).getBytes();
+    Assert.assertEquals(Base64.encodeBase64String(DigestUtils.sha256(content)),
+        dataFile.getDigest(eu.europa.esig.dss.DigestAlgorithm.SHA256));
+    Assert.assertEquals(Base64.encodeBase64String(DigestUtils.sha512(content)),
+        dataFile.getDigest(eu.europa.esig.dss.DigestAlgorithm.SHA512));
+  }
+
   /*
    * RESTRICTED METHODS
    */
@@ -17,6 +17,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.digidoc4j.Configuration;
 import org.digidoc4j.DataFile;
@@ -28,6 +33,7 @@ import org.digidoc4j.impl.asic.manifest.ManifestEntry;
 import org.digidoc4j.impl.asic.manifest.ManifestErrorMessage;
 import org.digidoc4j.impl.asic.manifest.ManifestParser;
 import org.digidoc4j.impl.asic.manifest.ManifestValidator;
+import org.digidoc4j.impl.asic.xades.validation.ThreadPoolManager;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -167,6 +173,64 @@ public class ManifestValidatorTest {
   }
 
 
+  @Test
+  public void validateEntriesWithEncodedSpaceInSignature() throws Exception {
+    Map<String, ManifestEntry> entriesFromManifest = new HashMap<String, ManifestEntry>() {{
+      put("a b.txt", new ManifestEntry("a b.txt", "text/plain"));
+    }};
+    Set<ManifestEntry> entriesFromSignature = new HashSet<ManifestEntry>() {{
+      add(new ManifestEntry("a+b.txt", "text/plain"));
+    }};
+    Assert.assertTrue(ManifestValidator.validateEntries(entriesFromManifest, entriesFromSignature, "S1").isEmpty());
+  }
+
+  @Test
+  public void containerWithManySignatures_validatedInParallel_reportsErrorsInSignatureOrder() throws Exception {
+    ManifestParser manifestParser = this.createManifest(dataFile("test.txt", "application/pdf"));
+    List<DSSDocument> detachedContents = Arrays.asList(detachedContent("test.txt", "text/plain"), detachedContent("other.txt", "text/plain"));
+    List<Signature> signatures = this.openSignature("src/test/resources/testFiles/xades/test-bdoc-ts.xml", detachedContents);
+    signatures.addAll(this.openSignature("src/test/resources/testFiles/xades/test-bdoc-tsa.xml", detachedContents));
+    List<ManifestErrorMessage> errors = new ManifestValidator(manifestParser, detachedContents, signatures,
+        new ThreadPoolManager(new Configuration(Configuration.Mode.TEST))).validateDocument();
+    Assert.assertEquals(3, errors.size());
+    Assert.assertEquals(signatures.get(0).getId(), errors.get(0).getSignatureId());
+    Assert.assertEquals(signatures.get(1).getId(), errors.get(1).getSignatureId());
+    Assert.assertEquals("Container contains a file named other.txt which is not found in the signature file", errors.get(2).getErrorMessage());
+  }
+
+  @Test
+  public void validatingConcurrentlyOnPoolOfOneThread_doesNotWaitForOwnPool() throws Exception {
+    final ManifestParser manifestParser = this.createManifest(dataFile("test.txt", "application/pdf"));
+    final List<DSSDocument> detachedContents = Arrays.asList(detachedContent("test.txt", "text/plain"));
+    final List<Signature> signatures = this.openSignature("src/test/resources/testFiles/xades/test-bdoc-ts.xml", detachedContents);
+    signatures.addAll(this.openSignature("src/test/resources/testFiles/xades/test-bdoc-tsa.xml", detachedContents));
+    Configuration configuration = new Configuration(Configuration.Mode.TEST);
+    ExecutorService executor = Executors.newFixedThreadPool(1);
+    configuration.setThreadExecutor(executor);
+    final ThreadPoolManager threadPoolManager = new ThreadPoolManager(configuration);
+    try {
+      List<Future<List<ManifestErrorMessage>>> futures = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        futures.add(threadPoolManager.submit(new Callable<List<ManifestErrorMessage>>() {
+
+          @Override
+          public List<ManifestErrorMessage> call() {
+            return new ManifestValidator(manifestParser, detachedContents, signatures, threadPoolManager).validateDocument();
+          }
+
+        }));
+      }
+      for (Future<List<ManifestErrorMessage>> future : futures) {
+        List<ManifestErrorMessage> errors = future.get(30, TimeUnit.SECONDS);
+        Assert.assertEquals(2, errors.size());
+        Assert.assertEquals(signatures.get(0).getId(), errors.get(0).getSignatureId());
+        Assert.assertEquals(signatures.get(1).getId(), errors.get(1).getSignatureId());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void container_withSpecialDataFileCharacters_shouldBeValid() throws Exception {
     ManifestParser manifestParser = this.createManifest(dataFile("dds_JÜRIÖÖ € žŠ päev.txt", "application/octet-stream"));
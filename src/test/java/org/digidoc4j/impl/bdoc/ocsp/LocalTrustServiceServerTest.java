@@ -0,0 +1,127 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.bdoc.ocsp;
+
+import java.nio.file.Paths;
+import java.security.cert.X509Certificate;
+
+import org.bouncycastle.tsp.TimeStampToken;
+import org.digidoc4j.AbstractTest;
+import org.digidoc4j.Configuration;
+import org.digidoc4j.SignatureProfile;
+import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.digidoc4j.impl.asic.SkDataLoader;
+import org.digidoc4j.impl.asic.ocsp.BDocTMOcspSource;
+import org.digidoc4j.impl.asic.ocsp.SKOnlineOCSPSource;
+import org.digidoc4j.test.LocalTrustServiceServer;
+import org.digidoc4j.test.util.TestSigningUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.client.tsp.OnlineTSPSource;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
+
+public class LocalTrustServiceServerTest extends AbstractTest {
+
+  private LocalTrustServiceServer server;
+  private X509Certificate issuerCert;
+
+  @Test
+  public void gettingOcspToken_withTimestampProfileNonce() throws Exception {
+    Assert.assertNotNull(this.getOcspToken(this.createOCSPSource()));
+    Assert.assertEquals(1, this.server.getOcspRequestCount());
+  }
+
+  @Test
+  public void gettingOcspToken_withTimemarkProfileNonce() throws Exception {
+    BDocTMOcspSource source = new BDocTMOcspSource(this.configuration, new byte[]{1, 2, 3});
+    source.setDataLoader(this.createOcspDataLoader(SignatureProfile.LT_TM));
+    Assert.assertNotNull(this.getOcspToken(source));
+  }
+
+  @Test
+  public void gettingOcspToken_withTamperedNonce_shouldFail() throws Exception {
+    this.server.getOcspResponder().setTamperNonce(true);
+    this.expectedException.expect(DigiDoc4JException.class);
+    this.getOcspToken(this.createOCSPSource());
+  }
+
+  @Test
+  public void gettingOcspToken_withInjectedHttpFailure_shouldFail() throws Exception {
+    this.server.setFailureRatio(1);
+    try {
+      this.getOcspToken(this.createOCSPSource());
+      Assert.fail("Exception expected");
+    } catch (DSSException e) {
+      Assert.assertEquals(1, this.server.getFailureCount());
+    }
+  }
+
+  @Test
+  public void gettingOcspToken_withInjectedServiceFailure_shouldReturnNull() throws Exception {
+    this.server.setFailureRatio(1);
+    this.server.setFailureMode(LocalTrustServiceServer.FailureMode.SERVICE_ERROR);
+    Assert.assertNull(this.getOcspToken(this.createOCSPSource()));
+  }
+
+  @Test
+  public void gettingOcspToken_withLatency() throws Exception {
+    this.server.setLatencyInMillis(200);
+    long start = System.currentTimeMillis();
+    Assert.assertNotNull(this.getOcspToken(this.createOCSPSource()));
+    Assert.assertTrue(System.currentTimeMillis() - start >= 200);
+  }
+
+  @Test
+  public void gettingTimestamp() throws Exception {
+    OnlineTSPSource source = new OnlineTSPSource(this.configuration.getTspSource());
+    SkDataLoader loader = SkDataLoader.createTimestampDataLoader(this.configuration);
+    loader.setUserAgentSignatureProfile(SignatureProfile.LT);
+    source.setDataLoader(loader);
+    byte[] digest = DSSUtils.digest(DigestAlgorithm.SHA256, "Banana Pancakes".getBytes());
+    TimeStampToken token = source.getTimeStampResponse(DigestAlgorithm.SHA256, digest);
+    Assert.assertArrayEquals(digest, token.getTimeStampInfo().getMessageImprintDigest());
+    Assert.assertEquals(this.server.getTimestampAuthority().getCertificate().getSerialNumber(), token.getSID().getSerialNumber());
+    Assert.assertEquals(1, this.server.getTimestampRequestCount());
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  @Override
+  protected void before() {
+    this.configuration = Configuration.of(Configuration.Mode.TEST);
+    this.server = new LocalTrustServiceServer().start();
+    this.server.configure(this.configuration);
+    this.issuerCert = this.openX509Certificate(Paths.get("src/test/resources/testFiles/certs/Juur-SK.pem.crt")); //Any certificate will do
+  }
+
+  @Override
+  protected void after() {
+    this.server.stop();
+  }
+
+  private OCSPToken getOcspToken(SKOnlineOCSPSource source) {
+    return source.getOCSPToken(new CertificateToken(TestSigningUtil.SIGN_CERT), new CertificateToken(this.issuerCert));
+  }
+
+  private SkDataLoader createOcspDataLoader(SignatureProfile profile) {
+    SkDataLoader loader = SkDataLoader.createOcspDataLoader(this.configuration);
+    loader.setUserAgentSignatureProfile(profile);
+    return loader;
+  }
+
+}
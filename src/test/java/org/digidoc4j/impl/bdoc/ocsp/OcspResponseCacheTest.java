@@ -0,0 +1,119 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.bdoc.ocsp;
+
+import java.nio.file.Paths;
+import java.security.cert.X509Certificate;
+
+import org.digidoc4j.AbstractTest;
+import org.digidoc4j.Configuration;
+import org.digidoc4j.SignatureProfile;
+import org.digidoc4j.impl.asic.ocsp.OcspSourceBuilder;
+import org.digidoc4j.impl.asic.ocsp.SKOnlineOCSPSource;
+import org.digidoc4j.test.LocalTrustServiceServer;
+import org.digidoc4j.test.util.TestSigningUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
+
+public class OcspResponseCacheTest extends AbstractTest {
+
+  private LocalTrustServiceServer server;
+  private X509Certificate issuerCert;
+
+  @Test
+  public void cacheIsDisabledByDefault() {
+    Assert.assertFalse(this.configuration.getOcspResponseCache().isEnabled());
+    Assert.assertNotNull(this.getOcspToken(SignatureProfile.LT, TestSigningUtil.SIGN_CERT));
+    Assert.assertNotNull(this.getOcspToken(SignatureProfile.LT, TestSigningUtil.SIGN_CERT));
+    Assert.assertEquals(2, this.server.getOcspRequestCount());
+  }
+
+  @Test
+  public void timestampProfiles_shouldReuseCachedResponse() {
+    this.configuration.setOcspResponseCacheMaxAgeInSeconds(60);
+    OCSPToken first = this.getOcspToken(SignatureProfile.LT, TestSigningUtil.SIGN_CERT);
+    OCSPToken second = this.getOcspToken(SignatureProfile.LTA, TestSigningUtil.SIGN_CERT);
+    Assert.assertEquals(1, this.server.getOcspRequestCount());
+    Assert.assertSame(first.getBasicOCSPResp(), second.getBasicOCSPResp());
+    Assert.assertEquals(first.getCertId(), second.getCertId());
+  }
+
+  @Test
+  public void timemarkProfile_shouldNotUseCache() {
+    this.configuration.setOcspResponseCacheMaxAgeInSeconds(60);
+    Assert.assertNotNull(this.getOcspToken(SignatureProfile.LT_TM, TestSigningUtil.SIGN_CERT));
+    Assert.assertNotNull(this.getOcspToken(SignatureProfile.LT_TM, TestSigningUtil.SIGN_CERT));
+    Assert.assertEquals(2, this.server.getOcspRequestCount());
+    Assert.assertEquals(0, this.configuration.getOcspResponseCache().size());
+  }
+
+  @Test
+  public void expiredResponse_shouldBeRequestedAgain() throws Exception {
+    this.configuration.setOcspResponseCacheMaxAgeInSeconds(1);
+    Assert.assertNotNull(this.getOcspToken(SignatureProfile.LT, TestSigningUtil.SIGN_CERT));
+    Thread.sleep(1100);
+    Assert.assertNotNull(this.getOcspToken(SignatureProfile.LT, TestSigningUtil.SIGN_CERT));
+    Assert.assertEquals(2, this.server.getOcspRequestCount());
+  }
+
+  @Test
+  public void cacheSizeIsBounded() {
+    this.configuration.setOcspResponseCacheMaxAgeInSeconds(60);
+    this.configuration.setOcspResponseCacheSize(1);
+    Assert.assertNotNull(this.getOcspToken(SignatureProfile.LT, TestSigningUtil.SIGN_CERT));
+    Assert.assertNotNull(this.getOcspToken(SignatureProfile.LT, this.issuerCert));
+    Assert.assertEquals(1, this.configuration.getOcspResponseCache().size());
+    Assert.assertNotNull(this.getOcspToken(SignatureProfile.LT, TestSigningUtil.SIGN_CERT));
+    Assert.assertEquals(3, this.server.getOcspRequestCount());
+  }
+
+  @Test
+  public void failedResponse_shouldNotBeCached() {
+    this.configuration.setOcspResponseCacheMaxAgeInSeconds(60);
+    this.server.setFailureRatio(1);
+    this.server.setFailureMode(LocalTrustServiceServer.FailureMode.SERVICE_ERROR);
+    Assert.assertNull(this.getOcspToken(SignatureProfile.LT, TestSigningUtil.SIGN_CERT));
+    Assert.assertEquals(0, this.configuration.getOcspResponseCache().size());
+  }
+
+  @Test
+  public void configurationCopy_shouldShareCache() {
+    this.configuration.setOcspResponseCacheMaxAgeInSeconds(60);
+    Assert.assertSame(this.configuration.getOcspResponseCache(), this.configuration.copy().getOcspResponseCache());
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  @Override
+  protected void before() {
+    this.configuration = Configuration.of(Configuration.Mode.TEST);
+    this.server = new LocalTrustServiceServer().start();
+    this.server.configure(this.configuration);
+    this.issuerCert = this.openX509Certificate(Paths.get("src/test/resources/testFiles/certs/Juur-SK.pem.crt")); //Any certificate will do
+  }
+
+  @Override
+  protected void after() {
+    this.server.stop();
+  }
+
+  private OCSPToken getOcspToken(SignatureProfile profile, X509Certificate certificate) {
+    SKOnlineOCSPSource source = OcspSourceBuilder.anOcspSource().withConfiguration(this.configuration)
+        .withSignatureProfile(profile).withSignatureValue(new byte[]{1, 2, 3}).build();
+    return source.getOCSPToken(new CertificateToken(certificate), new CertificateToken(this.issuerCert));
+  }
+
+}
@@ -0,0 +1,123 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.bdoc.report;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+
+import org.digidoc4j.impl.asic.report.ContainerValidationReport;
+import org.digidoc4j.impl.asic.report.SignatureValidationReport;
+import org.digidoc4j.impl.asic.report.ValidationReportSerializer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.europa.esig.dss.jaxb.simplereport.XmlPolicy;
+import eu.europa.esig.dss.jaxb.simplereport.XmlSignatureScope;
+import eu.europa.esig.dss.validation.policy.rules.Indication;
+
+public class ValidationReportSerializerTest {
+
+  @Test
+  public void jsonReport_containsAllFields() throws Exception {
+    JsonNode json = new ObjectMapper().readTree(this.serialize(this.createReport(),
+        new ValidationReportSerializer(ValidationReportSerializer.Format.JSON)));
+    Assert.assertEquals("POLv3", json.get("policy").get("policyName").asText());
+    Assert.assertEquals("1970-01-01T00:00:01Z", json.get("validationTime").asText());
+    Assert.assertEquals(1, json.get("signaturesCount").asInt());
+    Assert.assertEquals(0, json.get("validSignaturesCount").asInt());
+    JsonNode signature = json.get("signatures").get(0);
+    Assert.assertEquals("S0", signature.get("id").asText());
+    Assert.assertEquals("TOTAL_FAILED", signature.get("indication").asText());
+    Assert.assertEquals("Signer \"Test\"\n", signature.get("signedBy").asText());
+    Assert.assertEquals("The reference data object(s) is not intact!", signature.get("errors").get(0).asText());
+    Assert.assertEquals("test.txt", signature.get("signatureScopes").get(0).get("name").asText());
+    Assert.assertEquals("Manifest error", json.get("containerErrors").get(0).asText());
+    Assert.assertFalse(signature.has("subIndication"));
+  }
+
+  @Test
+  public void filteredJsonReport_leavesOutExcludedFields() throws Exception {
+    JsonNode json = new ObjectMapper().readTree(this.serialize(this.createReport(), new ValidationReportSerializer(
+        ValidationReportSerializer.Format.JSON, EnumSet.of(ValidationReportSerializer.Field.CONTAINER_ERRORS))));
+    Assert.assertFalse(json.has("policy"));
+    JsonNode signature = json.get("signatures").get(0);
+    Assert.assertEquals("S0", signature.get("id").asText());
+    Assert.assertFalse(signature.has("signedBy"));
+    Assert.assertFalse(signature.has("errors"));
+    Assert.assertFalse(signature.has("signatureScopes"));
+    Assert.assertTrue(json.has("containerErrors"));
+  }
+
+  @Test
+  public void cborReport_isEncodedWithIndefiniteLengthMapsAndArrays() throws Exception {
+    ContainerValidationReport report = new ContainerValidationReport();
+    report.setValidationTime(new Date(1000));
+    report.setSignaturesCount(300);
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    expected.write(0xBF);
+    this.writeCborText(expected, "validationTime");
+    expected.write(0xC0);
+    this.writeCborText(expected, "1970-01-01T00:00:01Z");
+    this.writeCborText(expected, "signaturesCount");
+    expected.write(new byte[]{0x19, 0x01, 0x2C});
+    this.writeCborText(expected, "validSignaturesCount");
+    expected.write(0x00);
+    this.writeCborText(expected, "signatures");
+    expected.write(new byte[]{(byte) 0x9F, (byte) 0xFF, (byte) 0xFF});
+    Assert.assertArrayEquals(expected.toByteArray(), this.serialize(report,
+        new ValidationReportSerializer(ValidationReportSerializer.Format.CBOR)));
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private byte[] serialize(ContainerValidationReport report, ValidationReportSerializer serializer) {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    serializer.serialize(report, stream);
+    return stream.toByteArray();
+  }
+
+  private void writeCborText(ByteArrayOutputStream stream, String text) throws Exception {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    stream.write(0x60 + bytes.length);
+    stream.write(bytes);
+  }
+
+  private ContainerValidationReport createReport() {
+    XmlPolicy policy = new XmlPolicy();
+    policy.setPolicyName("POLv3");
+    XmlSignatureScope scope = new XmlSignatureScope();
+    scope.setName("test.txt");
+    scope.setScope("FullSignatureScope");
+    scope.setValue("Full document");
+    SignatureValidationReport signature = new SignatureValidationReport();
+    signature.setId("S0");
+    signature.setIndication(Indication.TOTAL_FAILED);
+    signature.setSignedBy("Signer \"Test\"\n");
+    signature.getErrors().add("The reference data object(s) is not intact!");
+    signature.getSignatureScope().add(scope);
+    ContainerValidationReport report = new ContainerValidationReport();
+    report.setPolicy(policy);
+    report.setValidationTime(new Date(1000));
+    report.setSignaturesCount(1);
+    report.setSignatures(Arrays.asList(signature));
+    report.setContainerErrors(Arrays.asList("Manifest error"));
+    return report;
+  }
+
+}
@@ -0,0 +1,79 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.bdoc.report;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.digidoc4j.impl.asic.report.ContainerValidationReport;
+import org.digidoc4j.impl.asic.report.ValidationReportWriter;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ValidationReportWriterTest {
+
+  @Rule
+  public TemporaryFolder testFolder = new TemporaryFolder();
+
+  @Test
+  public void compactReport_hasSameContentWithoutIndentation() {
+    ContainerValidationReport report = this.createReport();
+    String formattedXml = ValidationReportWriter.FORMATTED.writeToString(report);
+    String compactXml = new ValidationReportWriter(ValidationReportWriter.Format.COMPACT, false).writeToString(report);
+    Assert.assertTrue(formattedXml.contains("\n"));
+    Assert.assertFalse(compactXml.contains("\n"));
+    Assert.assertEquals(compactXml, formattedXml.replaceAll(">\\s+<", "><").trim());
+  }
+
+  @Test
+  public void gzippedReport_decompressesToUncompressedReport() throws Exception {
+    ContainerValidationReport report = this.createReport();
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    ValidationReportWriter writer = new ValidationReportWriter(ValidationReportWriter.Format.COMPACT, true);
+    writer.write(report, stream);
+    try (InputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(stream.toByteArray()))) {
+      Assert.assertEquals(writer.writeToString(report), IOUtils.toString(gzipStream, StandardCharsets.UTF_8));
+    }
+    Assert.assertEquals(".xml.gz", writer.getFileExtension());
+  }
+
+  @Test
+  public void reportWrittenToFile_equalsReportAsString() throws Exception {
+    ContainerValidationReport report = this.createReport();
+    Path file = this.testFolder.getRoot().toPath().resolve("validationReport.xml");
+    ValidationReportWriter.FORMATTED.write(report, file);
+    ValidationReportWriter.FORMATTED.write(report, file);
+    Assert.assertEquals(ValidationReportWriter.FORMATTED.writeToString(report),
+        new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private ContainerValidationReport createReport() {
+    ContainerValidationReport report = new ContainerValidationReport();
+    report.setSignaturesCount(2);
+    report.setValidSignaturesCount(1);
+    report.setContainerErrors(Arrays.asList("Manifest file has an entry for file <test.txt> with mimetype"));
+    return report;
+  }
+
+}
@@ -0,0 +1,86 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.bdoc.tsl;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.apache.commons.codec.binary.Hex;
+import org.digidoc4j.impl.asic.tsl.CertificateIndex;
+import org.digidoc4j.impl.asic.tsl.TSLCertificateSourceImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+public class CertificateIndexTest {
+
+  private final CertificateToken ocspCertificate = this.readCertificate("SK_OCSP_RESPONDER_2011.pem.cer");
+  private final CertificateToken rootCertificate = this.readCertificate("EE_Certification_Centre_Root_CA.pem.crt");
+  private final CertificateIndex index = CertificateIndex.of(Arrays.asList(this.rootCertificate, this.ocspCertificate));
+
+  @Test
+  public void findingBySubjectKeyIdentifier() throws Exception {
+    Assert.assertSame(this.ocspCertificate, this.index.getBySubjectKeyIdentifier(
+        Hex.decodeHex("A5A148616DE77ECD989E749C29BBBD8ADE720C59".toCharArray())));
+    Assert.assertNull(this.index.getBySubjectKeyIdentifier(new byte[]{1, 2, 3}));
+    Assert.assertNull(this.index.getBySubjectKeyIdentifier(null));
+  }
+
+  @Test
+  public void findingByIssuerName() {
+    Assert.assertEquals(Collections.singletonList(this.rootCertificate),
+        this.index.getIssuers(this.ocspCertificate.getIssuerX500Principal()));
+    Assert.assertTrue(this.index.getIssuers(new X500Principal("CN=Unknown, C=EE")).isEmpty());
+    Assert.assertTrue(this.index.getIssuers(null).isEmpty());
+  }
+
+  @Test
+  public void findingByDigest() {
+    Assert.assertSame(this.ocspCertificate, this.index.getByDigest(this.ocspCertificate.getDSSIdAsString()));
+    Assert.assertNull(this.index.getByDigest(this.readCertificate("SK_TSA.pem.crt").getDSSIdAsString()));
+    Assert.assertNull(this.index.getByDigest(null));
+  }
+
+  @Test
+  public void tslIndex_isCreatedOnceAndDroppedWhenCertificatesChange() {
+    TSLCertificateSourceImpl tsl = new TSLCertificateSourceImpl();
+    tsl.addTSLCertificate(this.rootCertificate.getCertificate());
+    CertificateIndex tslIndex = tsl.getCertificateIndex();
+    Assert.assertSame(tslIndex, tsl.getCertificateIndex());
+    Assert.assertNull(tslIndex.getByDigest(this.ocspCertificate.getDSSIdAsString()));
+    tsl.addTSLCertificate(this.ocspCertificate.getCertificate());
+    Assert.assertNotSame(tslIndex, tsl.getCertificateIndex());
+    Assert.assertNotNull(tsl.getCertificateIndex().getByDigest(this.ocspCertificate.getDSSIdAsString()));
+  }
+
+  @Test
+  public void tslIndex_isDroppedWhenCacheIsInvalidated() {
+    TSLCertificateSourceImpl tsl = new TSLCertificateSourceImpl();
+    tsl.addTSLCertificate(this.rootCertificate.getCertificate());
+    CertificateIndex tslIndex = tsl.getCertificateIndex();
+    tsl.invalidateCache();
+    Assert.assertNotSame(tslIndex, tsl.getCertificateIndex());
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private CertificateToken readCertificate(String name) {
+    return DSSUtils.loadCertificate(DSSUtils.toByteArray(new File("src/test/resources/testFiles/certs/" + name)));
+  }
+
+}
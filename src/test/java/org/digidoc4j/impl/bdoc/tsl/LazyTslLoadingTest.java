@@ -10,16 +10,38 @@
 
 package org.digidoc4j.impl.bdoc.tsl;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipFile;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.apache.commons.io.IOUtils;
 import org.digidoc4j.AbstractTest;
 import org.digidoc4j.Configuration;
 import org.digidoc4j.TSLCertificateSource;
 import org.digidoc4j.impl.asic.SKCommonCertificateVerifier;
+import org.digidoc4j.impl.asic.tsl.ClonedTslCertificateSource;
 import org.digidoc4j.impl.asic.tsl.LazyCertificatePool;
+import org.digidoc4j.impl.asic.tsl.LazyTslCertificateSource;
+import org.digidoc4j.impl.asic.tsl.TSLCertificateSourceImpl;
+import org.digidoc4j.impl.asic.tsl.TslLoader;
 import org.digidoc4j.test.util.TestCommonUtil;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.tsl.service.TSLValidationJob;
 import eu.europa.esig.dss.x509.CertificatePool;
+import eu.europa.esig.dss.x509.CertificateSourceType;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.xades.validation.XMLDocumentValidator;
 
 public class LazyTslLoadingTest extends AbstractTest {
 
@@ -77,13 +99,120 @@ public class LazyTslLoadingTest extends AbstractTest {
     Assert.assertTrue(tslCacheModificationTime < newTslCacheModificationTime);
   }
 
+  @Test
+  public void territoriesAreNotLoadedOnDemand_byDefault() throws Exception {
+    Assert.assertFalse(this.configuration.isLazyTslTerritoryLoading());
+    LazyTslCertificateSource tsl = (LazyTslCertificateSource) this.configuration.getTSL();
+    Assert.assertFalse(tsl.loadTerritoryOf(new X500Principal("CN=ESTEID-SK 2011, O=AS Sertifitseerimiskeskus, C=EE")));
+    Assert.assertNull(tsl.getLastCacheReloadingTime());
+    this.configuration.setLazyTslTerritoryLoading(true);
+    Assert.assertTrue(this.configuration.isLazyTslTerritoryLoading());
+  }
+
+  @Test
+  public void validatingSignature_loadsTerritoryOfIssuerThroughCertificatePool() throws Exception {
+    this.configuration.setLazyTslTerritoryLoading(true);
+    TerritoryLoadingTslLoader tslLoader = new TerritoryLoadingTslLoader(this.configuration);
+    SKCommonCertificateVerifier certificateVerifier = new SKCommonCertificateVerifier();
+    certificateVerifier.setTrustedCertSource(this.createLazyTsl(tslLoader));
+    XMLDocumentValidator validator = new XMLDocumentValidator(new InMemoryDocument(
+        this.readSignature("src/test/resources/testFiles/valid-containers/one_signature.bdoc"), "signatures0.xml"));
+    validator.setCertificateVerifier(certificateVerifier);
+    validator.validateDocument();
+    Assert.assertEquals(Collections.singletonList("EE"), tslLoader.loadedCountries);
+  }
+
+  @Test
+  public void loadingTerritory_keepsCertificatesOfClonedPool() throws Exception {
+    this.configuration.setLazyTslTerritoryLoading(true);
+    TerritoryLoadingTslLoader tslLoader = new TerritoryLoadingTslLoader(this.configuration);
+    ClonedTslCertificateSource tsl = new ClonedTslCertificateSource(this.createLazyTsl(tslLoader));
+    CertificateToken signingCertificate = tsl.getCertificatePool().getInstance(DSSUtils.loadCertificate(
+        new File("src/test/resources/testFiles/certs/esteid-pre2011-test-signing-certificate-37101010021.cer")),
+        CertificateSourceType.SIGNATURE);
+    tsl.loadTerritoryOf(new X500Principal("CN=ESTEID-SK 2011, O=AS Sertifitseerimiskeskus, C=EE"));
+    Assert.assertEquals(Collections.singletonList("EE"), tslLoader.loadedCountries);
+    List<CertificateToken> certificates = tsl.getCertificatePool().getCertificateTokens();
+    Assert.assertTrue(certificates.contains(signingCertificate));
+    Assert.assertTrue(certificates.contains(TerritoryLoadingTslLoader.TERRITORY_CERTIFICATE));
+  }
+
+  @Test
+  public void isoCountryCodes_areMappedToTrustedListCodes() throws Exception {
+    this.configuration.setLazyTslTerritoryLoading(true);
+    TerritoryLoadingTslLoader tslLoader = new TerritoryLoadingTslLoader(this.configuration);
+    LazyTslCertificateSource tsl = this.createLazyTsl(tslLoader);
+    Assert.assertTrue(tsl.loadTerritoryOf(new X500Principal("CN=Greek CA, C=GR")));
+    Assert.assertTrue(tsl.loadTerritoryOf(new X500Principal("CN=British CA, C=GB")));
+    Assert.assertEquals(Arrays.asList("EL", "UK"), tslLoader.loadedCountries);
+    Assert.assertEquals("EE", TslLoader.getTerritoryCode("ee"));
+  }
+
   /*
    * RESTRICTED METHODS
    */
 
+  private LazyTslCertificateSource createLazyTsl(TslLoader tslLoader) {
+    LazyTslCertificateSource tsl = new LazyTslCertificateSource(tslLoader);
+    tsl.setCacheExpirationTime(this.configuration.getTslCacheExpirationTime());
+    return tsl;
+  }
+
+  private byte[] readSignature(String containerPath) throws Exception {
+    try (ZipFile zipFile = new ZipFile(containerPath)) {
+      return IOUtils.toByteArray(zipFile.getInputStream(zipFile.getEntry("META-INF/signatures0.xml")));
+    }
+  }
+
   @Override
   public void before() {
     this.configuration = new Configuration(Configuration.Mode.TEST);
   }
 
+  /**
+   * Loads a certificate instead of downloading the TSLs of the requested countries
+   */
+  private static class TerritoryLoadingTslLoader extends TslLoader {
+
+    private static final CertificateToken TERRITORY_CERTIFICATE = DSSUtils.loadCertificate(
+        new File("src/test/resources/testFiles/certs/ESTEID-SK_2011.pem.crt"));
+    private final transient TSLValidationJob tslValidationJob = Mockito.mock(TSLValidationJob.class);
+    private final TSLCertificateSourceImpl tslCertificateSource = new TSLCertificateSourceImpl();
+    private final List<String> loadedCountries = new ArrayList<>();
+
+    TerritoryLoadingTslLoader(Configuration configuration) {
+      super(configuration);
+    }
+
+    @Override
+    public void prepareTsl() {
+    }
+
+    @Override
+    public boolean loadTerritories(Collection<String> countryCodes) {
+      if (this.tslValidationJob == null) {
+        return false;
+      }
+      this.loadedCountries.addAll(countryCodes);
+      this.tslCertificateSource.addTSLCertificate(TERRITORY_CERTIFICATE.getCertificate());
+      return true;
+    }
+
+    @Override
+    public boolean isCountryRequested(String countryCode) {
+      return this.loadedCountries.contains(countryCode);
+    }
+
+    @Override
+    public TSLCertificateSourceImpl getTslCertificateSource() {
+      return this.tslCertificateSource;
+    }
+
+    @Override
+    public TSLValidationJob getTslValidationJob() {
+      return this.tslValidationJob;
+    }
+
+  }
+
 }
@@ -10,6 +10,7 @@
 
 package org.digidoc4j.impl.bdoc.tsl;
 
+import java.util.Collections;
 import java.util.Map;
 
 import org.digidoc4j.AbstractTest;
@@ -100,6 +101,19 @@ public class TslLoaderTest extends AbstractTest {
     this.assertCountryLoaded(tslRepository, "EE_T");
   }
 
+  @Test
+  public void loadTsl_lazily_loadsOnlyRequestedTerritories() throws Exception {
+    this.configuration = new Configuration(Configuration.Mode.PROD);
+    this.configuration.setLazyTslTerritoryLoading(true);
+    TSLRepository tslRepository = this.initTSLAndGetRepository();
+    this.assertCountryNotLoaded(tslRepository, "EE");
+    Assert.assertTrue(this.tslLoader.loadTerritories(Collections.singletonList("EE")));
+    this.assertCountryLoaded(tslRepository, "EE");
+    this.assertCountryNotLoaded(tslRepository, "FR");
+    Assert.assertFalse(this.tslLoader.loadTerritories(Collections.singletonList("EE")));
+    Assert.assertTrue(this.tslLoader.isCountryRequested("EE"));
+  }
+
   /**
    * Ignore countries with invalid TSL: DE (Germany) and HR (Croatia)
    */
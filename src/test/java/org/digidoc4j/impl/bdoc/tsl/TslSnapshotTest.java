@@ -0,0 +1,109 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.bdoc.tsl;
+
+import java.io.File;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.digidoc4j.SignatureValidationResult;
+import org.digidoc4j.impl.asic.tsl.RevalidationPlanner;
+import org.digidoc4j.impl.asic.tsl.TSLCertificateSourceImpl;
+import org.digidoc4j.impl.asic.tsl.TslDiff;
+import org.digidoc4j.impl.asic.tsl.TslSnapshot;
+import org.junit.Assert;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.tsl.Condition;
+import eu.europa.esig.dss.tsl.ServiceInfo;
+import eu.europa.esig.dss.tsl.ServiceInfoStatus;
+import eu.europa.esig.dss.util.TimeDependentValues;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+public class TslSnapshotTest {
+
+  private static final String WITHDRAWN = "http://uri.etsi.org/TrstSvc/TrustedList/Svcstatus/withdrawn";
+  private final X509Certificate rootCertificate = this.readCertificate("Juur-SK.pem.crt");
+  private final X509Certificate issuerCertificate = this.readCertificate("ESTEID-SK_2011.pem.crt");
+  private final X509Certificate tsaCertificate = this.readCertificate("SK_TSA.pem.crt");
+
+  @Test
+  public void snapshotsOfSameTsl_haveNoDifference() {
+    TslSnapshot snapshot = TslSnapshot.of(this.createTsl());
+    TslDiff diff = snapshot.diff(TslSnapshot.of(this.createTsl()));
+    Assert.assertTrue(diff.isEmpty());
+    Assert.assertEquals(2, snapshot.getCertificateIds().size());
+  }
+
+  @Test
+  public void diff_findsAddedRemovedAndChangedCertificates() {
+    TslSnapshot older = TslSnapshot.of(this.createTsl());
+    TSLCertificateSourceImpl newTsl = new TSLCertificateSourceImpl();
+    newTsl.addCertificate(new CertificateToken(this.rootCertificate), this.createWithdrawnService());
+    newTsl.addTSLCertificate(this.tsaCertificate);
+    TslDiff diff = older.diff(TslSnapshot.of(newTsl));
+    Assert.assertEquals(Collections.singleton(this.idOf(this.rootCertificate)), diff.getChangedCertificateIds());
+    Assert.assertEquals(Collections.singleton(this.idOf(this.issuerCertificate)), diff.getRemovedCertificateIds());
+    Assert.assertEquals(Collections.singleton(this.idOf(this.tsaCertificate)), diff.getAddedCertificateIds());
+  }
+
+  @Test
+  public void planner_selectsOnlySignaturesUsingChangedCertificates() {
+    TslSnapshot older = TslSnapshot.of(this.createTsl());
+    TSLCertificateSourceImpl newTsl = this.createTsl();
+    newTsl.addTSLCertificate(this.tsaCertificate);
+    RevalidationPlanner planner = new RevalidationPlanner(older, TslSnapshot.of(newTsl));
+    Map<String, Set<String>> usedCertificateIds = new LinkedHashMap<>();
+    usedCertificateIds.put("S0", Collections.singleton(this.idOf(this.issuerCertificate)));
+    usedCertificateIds.put("S1", new HashSet<>(Arrays.asList(this.idOf(this.issuerCertificate),
+        this.idOf(this.tsaCertificate))));
+    usedCertificateIds.put("S2", Collections.<String>emptySet());
+    Assert.assertEquals(Arrays.asList("S1", "S2"), planner.plan(usedCertificateIds));
+    Assert.assertTrue(planner.isRevalidationNeeded(new SignatureValidationResult()));
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private TSLCertificateSourceImpl createTsl() {
+    TSLCertificateSourceImpl tsl = new TSLCertificateSourceImpl();
+    tsl.addTSLCertificate(this.rootCertificate);
+    tsl.addTSLCertificate(this.issuerCertificate);
+    return tsl;
+  }
+
+  private ServiceInfo createWithdrawnService() {
+    ServiceInfo serviceInfo = new ServiceInfo();
+    ServiceInfoStatus status = new ServiceInfoStatus("http://uri.etsi.org/TrstSvc/Svctype/CA/QC", WITHDRAWN,
+        Collections.<String, List<Condition>>emptyMap(), null, null,
+        this.rootCertificate.getNotBefore(), null);
+    serviceInfo.setStatus(new TimeDependentValues<>(Arrays.asList(status)));
+    return serviceInfo;
+  }
+
+  private String idOf(X509Certificate certificate) {
+    return new CertificateToken(certificate).getDSSIdAsString();
+  }
+
+  private X509Certificate readCertificate(String name) {
+    return DSSUtils.loadCertificate(DSSUtils.toByteArray(
+        new File("src/test/resources/testFiles/certs/" + name))).getCertificate();
+  }
+
+}
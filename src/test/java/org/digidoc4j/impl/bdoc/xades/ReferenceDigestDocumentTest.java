@@ -0,0 +1,118 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.impl.bdoc.xades;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.io.IOUtils;
+import org.digidoc4j.impl.asic.xades.ReferenceDigestDocument;
+import org.junit.Assert;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.DigestDocument;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.MimeType;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignatureCryptographicVerification;
+import eu.europa.esig.dss.xades.validation.XAdESSignature;
+import eu.europa.esig.dss.xades.validation.XMLDocumentValidator;
+
+public class ReferenceDigestDocumentTest {
+
+  private static final String CONTAINER_PATH = "src/test/resources/testFiles/valid-containers/one_signature.bdoc";
+
+  @Test
+  public void referencesAreCheckedAgainstDigestCalculatedOnce() throws Exception {
+    CountingDocument dataFile = new CountingDocument(this.readEntry("test.txt"));
+    SignatureCryptographicVerification verification = this.checkSignatureIntegrity(dataFile);
+    Assert.assertTrue(verification.isReferenceDataFound());
+    Assert.assertTrue(verification.isReferenceDataIntact());
+    Assert.assertEquals(1, dataFile.openCount);
+  }
+
+  @Test
+  public void changedContent_breaksReferences() throws Exception {
+    SignatureCryptographicVerification verification = this.checkSignatureIntegrity(
+        new CountingDocument("changed".getBytes()));
+    Assert.assertFalse(verification.isReferenceDataIntact());
+  }
+
+  @Test
+  public void wrappedDocument_keepsContentAndIsNotWrappedTwice() throws Exception {
+    CountingDocument dataFile = new CountingDocument("content".getBytes());
+    List<DSSDocument> documents = ReferenceDigestDocument.wrap(Collections.<DSSDocument>singletonList(dataFile));
+    DSSDocument document = documents.get(0);
+    Assert.assertEquals("test.txt", document.getName());
+    Assert.assertEquals(MimeType.TEXT, document.getMimeType());
+    try (InputStream stream = document.openStream()) {
+      Assert.assertEquals("content", new String(IOUtils.toByteArray(stream)));
+    }
+    Assert.assertSame(document, ReferenceDigestDocument.wrap(documents).get(0));
+  }
+
+  @Test
+  public void digestDocument_isCheckedAgainstItsDigestsWithoutWrapping() throws Exception {
+    byte[] content = this.readEntry("test.txt");
+    DigestDocument dataFile = new DigestDocument();
+    dataFile.setName("test.txt");
+    for (DigestAlgorithm digestAlgorithm : new DigestAlgorithm[]{DigestAlgorithm.SHA256, DigestAlgorithm.SHA512}) {
+      dataFile.addDigest(digestAlgorithm, Base64.encodeBase64String(DSSUtils.digest(digestAlgorithm, content)));
+    }
+    Assert.assertSame(dataFile, ReferenceDigestDocument.wrap(Collections.<DSSDocument>singletonList(dataFile)).get(0));
+    SignatureCryptographicVerification verification = this.checkSignatureIntegrity(dataFile);
+    Assert.assertTrue(verification.isReferenceDataFound());
+    Assert.assertTrue(verification.isReferenceDataIntact());
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private byte[] readEntry(String name) throws Exception {
+    try (ZipFile zipFile = new ZipFile(CONTAINER_PATH)) {
+      return IOUtils.toByteArray(zipFile.getInputStream(zipFile.getEntry(name)));
+    }
+  }
+
+  private SignatureCryptographicVerification checkSignatureIntegrity(DSSDocument dataFile) throws Exception {
+    XMLDocumentValidator validator = new XMLDocumentValidator(
+        new InMemoryDocument(this.readEntry("META-INF/signatures0.xml"), "signatures0.xml"));
+    validator.setCertificateVerifier(new CommonCertificateVerifier());
+    validator.setDetachedContents(ReferenceDigestDocument.wrap(Collections.singletonList(dataFile)));
+    XAdESSignature signature = (XAdESSignature) validator.getSignatures().get(0);
+    signature.checkSignatureIntegrity();
+    return signature.getSignatureCryptographicVerification();
+  }
+
+  private static class CountingDocument extends InMemoryDocument {
+
+    private int openCount;
+
+    CountingDocument(byte[] content) {
+      super(content, "test.txt", MimeType.TEXT);
+    }
+
+    @Override
+    public InputStream openStream() {
+      openCount++;
+      return super.openStream();
+    }
+
+  }
+
+}
@@ -20,24 +20,33 @@ import java.nio.file.Paths;
 import java.security.cert.CertificateEncodingException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
+import org.apache.commons.io.FileUtils;
 import org.digidoc4j.AbstractTest;
 import org.digidoc4j.Configuration;
 import org.digidoc4j.Container;
 import org.digidoc4j.DigestAlgorithm;
 import org.digidoc4j.SignatureParameters;
 import org.digidoc4j.SignatureProfile;
+import org.digidoc4j.SignatureValidationResult;
 import org.digidoc4j.SignedInfo;
 import org.digidoc4j.exceptions.ConfigurationException;
 import org.digidoc4j.exceptions.DigiDoc4JException;
 import org.digidoc4j.exceptions.NotSupportedException;
+import org.digidoc4j.impl.asic.report.ReportWriter;
+import org.digidoc4j.impl.asic.report.ValidationReportSerializer;
 import org.digidoc4j.test.MockConfigManagerInitializer;
 import org.digidoc4j.test.MockDDocFacade;
+import org.digidoc4j.utils.Helper;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import ch.qos.logback.classic.Level;
 import ee.sk.digidoc.DataFile;
 import ee.sk.digidoc.DigiDocException;
 import ee.sk.digidoc.SignedDoc;
@@ -289,6 +298,129 @@ public class DDocFacadeTest extends AbstractTest {
     }
   }
 
+  @Test
+  public void validatingDDocWithSeveralSignatures_keepsResultOfEverySignature() {
+    DDocContainer container = new DDocOpener().open(
+        "src/test/resources/testFiles/valid-containers/ddoc_wo_x509IssueName_xmlns.ddoc");
+    ValidationResultForDDoc result = (ValidationResultForDDoc) container.validate();
+    Assert.assertTrue(result.isValid());
+    Assert.assertEquals(2, container.getSignatures().size());
+    for (org.digidoc4j.Signature signature : container.getSignatures()) {
+      SignatureValidationResult signatureResult = result.getSignatureResult(signature.getId());
+      Assert.assertNotNull(signatureResult);
+      Assert.assertEquals(signature.validateSignature().getErrors().size(), signatureResult.getErrors().size());
+    }
+  }
+
+  @Test
+  public void writingReportOfDDoc_containsEverySignature() throws Exception {
+    DDocContainer container = new DDocOpener().open(
+        "src/test/resources/testFiles/valid-containers/ddoc_wo_x509IssueName_xmlns.ddoc");
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    ((ReportWriter) container.validate()).writeReport(stream,
+        new ValidationReportSerializer(ValidationReportSerializer.Format.JSON));
+    String report = stream.toString("UTF-8");
+    Assert.assertTrue(report, report.contains("\"signaturesCount\":2,\"validSignaturesCount\":2"));
+    for (org.digidoc4j.Signature signature : container.getSignatures()) {
+      Assert.assertTrue(report, report.contains("{\"id\":\"" + signature.getId() + "\""));
+    }
+  }
+
+  @Test
+  public void writingReportOfDDoc_keepsSignaturesInContainerOrder() throws Exception {
+    String ddoc = FileUtils.readFileToString(new File(
+        "src/test/resources/testFiles/valid-containers/ddoc_wo_x509IssueName_xmlns.ddoc"), "ISO-8859-1");
+    ddoc = ddoc.replaceAll("([\"#])S0", "$1S_").replaceAll("([\"#])S1", "$1S0").replaceAll("([\"#])S_", "$1S1");
+    File file = this.testFolder.newFile("swapped_signature_ids.ddoc");
+    FileUtils.writeStringToFile(file, ddoc, "ISO-8859-1");
+    DDocContainer container = new DDocOpener().open(file.getPath());
+    Assert.assertEquals("S1", container.getSignatures().get(0).getId());
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    ((ReportWriter) container.validate()).writeReport(stream,
+        new ValidationReportSerializer(ValidationReportSerializer.Format.JSON));
+    String report = stream.toString("UTF-8");
+    int firstIndex = report.indexOf("{\"id\":\"S1\"");
+    Assert.assertTrue(report, firstIndex >= 0);
+    Assert.assertTrue(report, firstIndex < report.indexOf("{\"id\":\"S0\""));
+  }
+
+  @Test
+  public void validatingInvalidDDoc_reportsSameErrorsAsJDigiDocVerification() {
+    DDocFacade facade = openDDocFacade("src/test/resources/testFiles/invalid-containers/changed_digidoc_test.ddoc");
+    ArrayList expectedErrors = facade.ddoc.verify(true, true);
+    ValidationResultForDDoc result = (ValidationResultForDDoc) facade.validate();
+    Assert.assertFalse(result.isValid());
+    Assert.assertEquals(expectedErrors.size() + result.getContainerErrors().size(), result.getErrors().size());
+  }
+
+  @Test
+  public void openingDDoc_doesNotChangeRootLoggerLevel() {
+    ch.qos.logback.classic.Logger root = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+    Level originalLevel = root.getLevel();
+    root.setLevel(Level.WARN);
+    try {
+      new DDocOpener().open("src/test/resources/testFiles/valid-containers/ddoc_for_testing.ddoc",
+          Configuration.of(Configuration.Mode.TEST));
+      Assert.assertEquals(Level.WARN, root.getLevel());
+    } finally {
+      root.setLevel(originalLevel);
+    }
+  }
+
+  @Test
+  public void openingDDoc_withLargeDataFile_keepsDataFileBodyInTemporaryFile() throws Exception {
+    byte[] data = new byte[2 * 1024 * 1024];
+    new Random(1).nextBytes(data);
+    File largeFile = this.testFolder.newFile("large.bin");
+    FileUtils.writeByteArrayToFile(largeFile, data);
+    DDocFacade facade = new DDocFacade();
+    facade.addDataFile(largeFile.getPath(), "application/octet-stream");
+    String path = this.getFileBy("ddoc");
+    facade.save(path);
+    Configuration configuration = Configuration.of(Configuration.Mode.TEST);
+    configuration.setMaxFileSizeCachedInMemoryInMB(1);
+    ConfigManagerInitializer.forceInitConfigManager(configuration);
+    try {
+      DDocContainer container = new DDocOpener().open(path, configuration);
+      org.digidoc4j.DataFile dataFile = container.getDataFiles().get(0);
+      Assert.assertTrue(dataFile.getDocument() instanceof CachedDataFileDocument);
+      Assert.assertArrayEquals(data, dataFile.getBytes());
+      File cacheFile = new File(dataFile.getDocument().getAbsolutePath());
+      Assert.assertTrue(cacheFile.exists());
+      container.close();
+      Assert.assertFalse(cacheFile.exists());
+    } finally {
+      ConfigManagerInitializer.forceInitConfigManager(Configuration.of(Configuration.Mode.TEST));
+    }
+  }
+
+  @Test
+  public void serializingDataFileOfLargeDDocDataFile_keepsItsContent() throws Exception {
+    byte[] data = new byte[2 * 1024 * 1024];
+    new Random(2).nextBytes(data);
+    File largeFile = this.testFolder.newFile("large.bin");
+    FileUtils.writeByteArrayToFile(largeFile, data);
+    DDocFacade facade = new DDocFacade();
+    facade.addDataFile(largeFile.getPath(), "application/octet-stream");
+    String path = this.getFileBy("ddoc");
+    facade.save(path);
+    Configuration configuration = Configuration.of(Configuration.Mode.TEST);
+    configuration.setMaxFileSizeCachedInMemoryInMB(1);
+    ConfigManagerInitializer.forceInitConfigManager(configuration);
+    try {
+      DDocContainer container = new DDocOpener().open(path, configuration);
+      File serializedDataFile = this.testFolder.newFile("dataFile.bin");
+      Helper.serialize(container.getDataFiles().get(0), serializedDataFile);
+      container.close();
+      org.digidoc4j.DataFile dataFile = Helper.deserializer(serializedDataFile);
+      Assert.assertEquals("large.bin", dataFile.getName());
+      Assert.assertEquals("application/octet-stream", dataFile.getMediaType());
+      Assert.assertArrayEquals(data, dataFile.getBytes());
+    } finally {
+      ConfigManagerInitializer.forceInitConfigManager(Configuration.of(Configuration.Mode.TEST));
+    }
+  }
+
   @Test
   public void getSignatureByIndex() throws CertificateEncodingException {
     DDocFacade facade = new DDocFacade();
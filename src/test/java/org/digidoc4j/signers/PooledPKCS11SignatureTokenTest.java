@@ -0,0 +1,101 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.signers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.digidoc4j.AbstractTest;
+import org.digidoc4j.DigestAlgorithm;
+import org.digidoc4j.SignatureToken;
+import org.digidoc4j.exceptions.TechnicalException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Sessions of the pool are PKCS#12 tokens, as PKCS#11 tokens require hardware
+ */
+public class PooledPKCS11SignatureTokenTest extends AbstractTest {
+
+  private static final byte[] DATA_TO_SIGN = "Banana Pancakes".getBytes();
+
+  @Test
+  public void signingConcurrently_usesAllSessions() throws Exception {
+    final PooledPKCS11SignatureToken pool = new PooledPKCS11SignatureToken(Arrays.asList(
+        this.createToken(), this.createToken(), this.createToken()));
+    byte[] expectedSignature = this.pkcs12SignatureToken.sign(DigestAlgorithm.SHA256, DATA_TO_SIGN);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<byte[]>> futures = new ArrayList<>();
+      for (int i = 0; i < 30; i++) {
+        futures.add(executor.submit(new Callable<byte[]>() {
+
+          @Override
+          public byte[] call() {
+            return pool.sign(DigestAlgorithm.SHA256, DATA_TO_SIGN);
+          }
+
+        }));
+      }
+      for (Future<byte[]> future : futures) {
+        Assert.assertArrayEquals(expectedSignature, future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    Assert.assertEquals(3, pool.getSessionCount());
+    long signatureCount = 0;
+    for (PooledPKCS11SignatureToken.SessionStatistics statistics : pool.getSessionStatistics()) {
+      signatureCount += statistics.getSignatureCount();
+      Assert.assertTrue(statistics.getUtilisation() >= 0 && statistics.getUtilisation() <= 1);
+    }
+    Assert.assertEquals(30, signatureCount);
+    Assert.assertEquals(this.pkcs12SignatureToken.getCertificate(), pool.getCertificate());
+  }
+
+  @Test
+  public void alternatingSessionsInOneThread_reusesSignersOfEverySession() {
+    PooledPKCS11SignatureToken pool = new PooledPKCS11SignatureToken(Arrays.asList(
+        this.createToken(), this.createToken()));
+    byte[] expectedSignature = this.pkcs12SignatureToken.sign(DigestAlgorithm.SHA256, DATA_TO_SIGN);
+    for (int i = 0; i < 6; i++) {
+      Assert.assertArrayEquals(expectedSignature, pool.sign(DigestAlgorithm.SHA256, DATA_TO_SIGN));
+    }
+    for (PooledPKCS11SignatureToken.SessionStatistics statistics : pool.getSessionStatistics()) {
+      Assert.assertEquals(3, statistics.getSignatureCount());
+      Assert.assertEquals(1, pool.getSignerInitializationCount(statistics.getSessionIndex()));
+    }
+  }
+
+  @Test(expected = TechnicalException.class)
+  public void poolingTokensWithDifferentCertificates_throwsException() {
+    new PooledPKCS11SignatureToken(Arrays.asList(this.pkcs12SignatureToken, this.pkcs12EccSignatureToken));
+  }
+
+  @Test(expected = TechnicalException.class)
+  public void poolWithoutTokens_throwsException() {
+    new PooledPKCS11SignatureToken(new ArrayList<SignatureToken>());
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private PKCS12SignatureToken createToken() {
+    return new PKCS12SignatureToken("src/test/resources/testFiles/p12/signout.p12", "test".toCharArray());
+  }
+
+}
@@ -0,0 +1,121 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.test;
+
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.ocsp.OCSPObjectIdentifiers;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.BasicOCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.OCSPReq;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.Req;
+import org.bouncycastle.cert.ocsp.jcajce.JcaBasicOCSPRespBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSException;
+
+/**
+ * Offline OCSP responder answering every certificate with status GOOD. Nonce extension of the request is echoed back
+ * as is, which satisfies both the random nonce check of the TS source and the signature value digest check of the TM
+ * source.
+ */
+public class LocalOcspResponder {
+
+  private final Logger log = LoggerFactory.getLogger(LocalOcspResponder.class);
+  private final PrivateKey key;
+  private final X509Certificate certificate;
+  private final String signatureAlgorithm;
+  private boolean tamperNonce;
+
+  /**
+   * @param keyStore keystore holding OCSP response signing key
+   */
+  public LocalOcspResponder(TestKeyStore keyStore) {
+    this.key = keyStore.getPrivateKey();
+    this.certificate = keyStore.getCertificate();
+    this.signatureAlgorithm = keyStore.getSignatureAlgorithm();
+  }
+
+  /**
+   * Builds OCSP response for the given DER encoded OCSP request
+   *
+   * @param requestBytes OCSP request
+   * @return DER encoded OCSP response
+   */
+  public byte[] respond(byte[] requestBytes) {
+    try {
+      OCSPReq request = new OCSPReq(requestBytes);
+      Date now = new Date();
+      BasicOCSPRespBuilder builder = new JcaBasicOCSPRespBuilder(this.certificate.getPublicKey(),
+          MockOCSPSource.getSHA1DigestCalculator());
+      Extension nonce = request.getExtension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce);
+      if (nonce != null) {
+        builder.setResponseExtensions(new Extensions(this.tamperNonce ? this.tamper(nonce) : nonce));
+      } else {
+        this.log.warn("OCSP request without nonce extension");
+      }
+      for (Req req : request.getRequestList()) {
+        builder.addResponse(req.getCertID(), CertificateStatus.GOOD, now, null, null);
+      }
+      X509CertificateHolder[] chain = {new X509CertificateHolder(this.certificate.getEncoded())};
+      BasicOCSPResp basicResponse = builder.build(new JcaContentSignerBuilder(this.signatureAlgorithm)
+          .setProvider("BC").build(this.key), chain, now);
+      return new OCSPRespBuilder().build(OCSPRespBuilder.SUCCESSFUL, basicResponse).getEncoded();
+    } catch (Exception e) {
+      throw new DSSException(e);
+    }
+  }
+
+  /**
+   * Builds unsuccessful OCSP response
+   *
+   * @param status one of {@link OCSPRespBuilder} status codes
+   * @return DER encoded OCSP response
+   */
+  public byte[] respondWithStatus(int status) {
+    try {
+      return new OCSPRespBuilder().build(status, null).getEncoded();
+    } catch (Exception e) {
+      throw new DSSException(e);
+    }
+  }
+
+  /**
+   * Forces responder to return nonce that does not match with the request one
+   *
+   * @param tamperNonce true to alter the nonce
+   */
+  public void setTamperNonce(boolean tamperNonce) {
+    this.tamperNonce = tamperNonce;
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private Extension tamper(Extension nonce) {
+    byte[] octets = nonce.getExtnValue().getOctets().clone();
+    octets[octets.length - 1] ^= 0x01;
+    return new Extension(nonce.getExtnId(), nonce.isCritical(), new DEROctetString(octets));
+  }
+
+}
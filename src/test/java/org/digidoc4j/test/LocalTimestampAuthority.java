@@ -0,0 +1,132 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.test;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.cmp.PKIFailureInfo;
+import org.bouncycastle.asn1.cmp.PKIStatus;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaCertStore;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cms.jcajce.JcaSignerInfoGeneratorBuilder;
+import org.bouncycastle.operator.DigestCalculatorProvider;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.bouncycastle.tsp.TSPAlgorithms;
+import org.bouncycastle.tsp.TimeStampRequest;
+import org.bouncycastle.tsp.TimeStampResponseGenerator;
+import org.bouncycastle.tsp.TimeStampTokenGenerator;
+
+import eu.europa.esig.dss.DSSException;
+
+/**
+ * Offline RFC 3161 time-stamping authority. Time-stamping certificate (with critical extended key usage as required by
+ * RFC 3161) is generated on startup and issued by the given test keystore key.
+ */
+public class LocalTimestampAuthority {
+
+  private static final String TSA_POLICY_OID = "1.2.3.4.1";
+  private final AtomicLong serialNumber = new AtomicLong(System.currentTimeMillis());
+  private final X509Certificate certificate;
+  private final TimeStampResponseGenerator responseGenerator;
+
+  /**
+   * @param issuer keystore holding key for issuing the time-stamping certificate
+   */
+  public LocalTimestampAuthority(TestKeyStore issuer) {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(2048);
+      KeyPair keyPair = generator.generateKeyPair();
+      this.certificate = this.createCertificate(issuer, keyPair);
+      DigestCalculatorProvider digestCalculatorProvider = new JcaDigestCalculatorProviderBuilder().setProvider("BC").build();
+      TimeStampTokenGenerator tokenGenerator = new TimeStampTokenGenerator(
+          new JcaSignerInfoGeneratorBuilder(digestCalculatorProvider).build(
+              new JcaContentSignerBuilder("SHA256withRSA").setProvider("BC").build(keyPair.getPrivate()), this.certificate),
+          digestCalculatorProvider.get(CertificateID.HASH_SHA1), new ASN1ObjectIdentifier(TSA_POLICY_OID));
+      tokenGenerator.addCertificates(new JcaCertStore(Collections.singletonList(this.certificate)));
+      this.responseGenerator = new TimeStampResponseGenerator(tokenGenerator, TSPAlgorithms.ALLOWED);
+    } catch (Exception e) {
+      throw new DSSException(e);
+    }
+  }
+
+  /**
+   * Builds time-stamp response for the given DER encoded time-stamp request
+   *
+   * @param requestBytes time-stamp request
+   * @return DER encoded time-stamp response
+   */
+  public byte[] respond(byte[] requestBytes) {
+    try {
+      TimeStampRequest request = new TimeStampRequest(requestBytes);
+      return this.responseGenerator.generate(request, BigInteger.valueOf(this.serialNumber.incrementAndGet()),
+          new Date()).getEncoded();
+    } catch (Exception e) {
+      throw new DSSException(e);
+    }
+  }
+
+  /**
+   * Builds rejection response
+   *
+   * @return DER encoded time-stamp response
+   */
+  public byte[] respondWithRejection() {
+    try {
+      return this.responseGenerator.generateFailResponse(PKIStatus.REJECTION, PKIFailureInfo.systemFailure,
+          "Failure injected").getEncoded();
+    } catch (Exception e) {
+      throw new DSSException(e);
+    }
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private X509Certificate createCertificate(TestKeyStore issuer, KeyPair keyPair) throws Exception {
+    Date notBefore = new Date(System.currentTimeMillis() - 60 * 60 * 1000L);
+    Date notAfter = new Date(System.currentTimeMillis() + 365 * 24 * 60 * 60 * 1000L);
+    X509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(issuer.getCertificate(),
+        BigInteger.valueOf(System.currentTimeMillis()), notBefore, notAfter,
+        new X500Principal("CN=DigiDoc4J local TSA, O=DigiDoc4J, C=EE"), keyPair.getPublic());
+    builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(false));
+    builder.addExtension(Extension.extendedKeyUsage, true, new ExtendedKeyUsage(KeyPurposeId.id_kp_timeStamping));
+    return new JcaX509CertificateConverter().setProvider("BC").getCertificate(builder.build(
+        new JcaContentSignerBuilder(issuer.getSignatureAlgorithm()).setProvider("BC").build(issuer.getPrivateKey())));
+  }
+
+  /*
+   * ACCESSORS
+   */
+
+  public X509Certificate getCertificate() {
+    return certificate;
+  }
+
+}
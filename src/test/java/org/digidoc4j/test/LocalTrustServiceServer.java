@@ -0,0 +1,251 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.test;
+
+import java.io.IOException;
+import java.security.Security;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.IOUtils;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.digidoc4j.Configuration;
+import org.mortbay.jetty.HttpConnection;
+import org.mortbay.jetty.Request;
+import org.mortbay.jetty.Server;
+import org.mortbay.jetty.handler.AbstractHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSException;
+
+/**
+ * Embeddable HTTP server serving {@link LocalOcspResponder} at <code>/ocsp</code> and {@link LocalTimestampAuthority}
+ * at <code>/tsa</code>, meant for measuring signing throughput without access to the live SK services.
+ * <p>
+ * Both services can be slowed down by a fixed latency and made to fail for a given ratio of requests.
+ * </p>
+ * <pre>
+ * LocalTrustServiceServer server = new LocalTrustServiceServer().start();
+ * server.configure(configuration);
+ * ...
+ * server.stop();
+ * </pre>
+ */
+public class LocalTrustServiceServer {
+
+  private final Logger log = LoggerFactory.getLogger(LocalTrustServiceServer.class);
+  private final LocalOcspResponder ocspResponder;
+  private final LocalTimestampAuthority timestampAuthority;
+  private final Random random = new Random();
+  private final AtomicLong ocspRequestCount = new AtomicLong();
+  private final AtomicLong timestampRequestCount = new AtomicLong();
+  private final AtomicLong failureCount = new AtomicLong();
+  private volatile long latencyInMillis;
+  private volatile double failureRatio;
+  private volatile FailureMode failureMode = FailureMode.HTTP_ERROR;
+  private Server server;
+
+  static {
+    Security.addProvider(new BouncyCastleProvider());
+  }
+
+  /**
+   * Way of failing the request when failure is injected
+   */
+  public enum FailureMode {
+    /**
+     * HTTP status 500 without body
+     */
+    HTTP_ERROR,
+    /**
+     * OCSP "tryLater" status and time-stamp "rejection" status
+     */
+    SERVICE_ERROR
+  }
+
+  /**
+   * Local services signing with the default test keystore
+   */
+  public LocalTrustServiceServer() {
+    this(TestKeyStore.ofDefaultSigner());
+  }
+
+  /**
+   * @param keyStore keystore used for signing OCSP responses and issuing time-stamping certificate
+   */
+  public LocalTrustServiceServer(TestKeyStore keyStore) {
+    this.ocspResponder = new LocalOcspResponder(keyStore);
+    this.timestampAuthority = new LocalTimestampAuthority(keyStore);
+  }
+
+  /**
+   * Starts server on a free local port
+   *
+   * @return this server
+   */
+  public LocalTrustServiceServer start() {
+    try {
+      this.server = new Server(0);
+      this.server.setHandler(new TrustServiceHandler());
+      this.server.start();
+      this.log.info("Local trust services started at <{}>", this.getBaseUrl());
+      return this;
+    } catch (Exception e) {
+      throw new DSSException(e);
+    }
+  }
+
+  /**
+   * Stops the server
+   */
+  public void stop() {
+    if (this.server == null) {
+      return;
+    }
+    try {
+      this.server.stop();
+    } catch (Exception e) {
+      this.log.warn("Unable to stop local trust services: {}", e.getMessage());
+    } finally {
+      this.server = null;
+    }
+  }
+
+  /**
+   * Points OCSP and TSP sources of the configuration to this server
+   *
+   * @param configuration configuration to alter
+   */
+  public void configure(Configuration configuration) {
+    configuration.setOcspSource(this.getOcspUrl());
+    configuration.setTspSource(this.getTspUrl());
+  }
+
+  public String getOcspUrl() {
+    return this.getBaseUrl() + "/ocsp";
+  }
+
+  public String getTspUrl() {
+    return this.getBaseUrl() + "/tsa";
+  }
+
+  /**
+   * Resets request and failure counters
+   */
+  public void resetCounters() {
+    this.ocspRequestCount.set(0);
+    this.timestampRequestCount.set(0);
+    this.failureCount.set(0);
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private String getBaseUrl() {
+    if (this.server == null) {
+      throw new IllegalStateException("Local trust services are not started");
+    }
+    return "http://localhost:" + this.server.getConnectors()[0].getLocalPort();
+  }
+
+  private boolean shouldFail() {
+    return this.failureRatio > 0 && this.random.nextDouble() < this.failureRatio;
+  }
+
+  private void delay() {
+    if (this.latencyInMillis > 0) {
+      try {
+        Thread.sleep(this.latencyInMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private class TrustServiceHandler extends AbstractHandler {
+
+    @Override
+    public void handle(String target, HttpServletRequest request, HttpServletResponse response, int dispatch)
+        throws IOException {
+      Request baseRequest = request instanceof Request ? (Request) request
+          : HttpConnection.getCurrentConnection().getRequest();
+      baseRequest.setHandled(true);
+      boolean ocsp = target.startsWith("/ocsp");
+      if (!ocsp && !target.startsWith("/tsa")) {
+        response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        return;
+      }
+      (ocsp ? ocspRequestCount : timestampRequestCount).incrementAndGet();
+      byte[] content = IOUtils.toByteArray(request.getInputStream());
+      delay();
+      byte[] result;
+      if (shouldFail()) {
+        failureCount.incrementAndGet();
+        if (failureMode == FailureMode.HTTP_ERROR) {
+          response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+          return;
+        }
+        result = ocsp ? ocspResponder.respondWithStatus(OCSPRespBuilder.TRY_LATER)
+            : timestampAuthority.respondWithRejection();
+      } else {
+        result = ocsp ? ocspResponder.respond(content) : timestampAuthority.respond(content);
+      }
+      response.setStatus(HttpServletResponse.SC_OK);
+      response.setContentType(ocsp ? "application/ocsp-response" : "application/timestamp-reply");
+      response.setContentLength(result.length);
+      response.getOutputStream().write(result);
+    }
+
+  }
+
+  /*
+   * ACCESSORS
+   */
+
+  public LocalOcspResponder getOcspResponder() {
+    return ocspResponder;
+  }
+
+  public LocalTimestampAuthority getTimestampAuthority() {
+    return timestampAuthority;
+  }
+
+  public void setLatencyInMillis(long latencyInMillis) {
+    this.latencyInMillis = latencyInMillis;
+  }
+
+  public void setFailureRatio(double failureRatio) {
+    this.failureRatio = failureRatio;
+  }
+
+  public void setFailureMode(FailureMode failureMode) {
+    this.failureMode = failureMode;
+  }
+
+  public long getOcspRequestCount() {
+    return ocspRequestCount.get();
+  }
+
+  public long getTimestampRequestCount() {
+    return timestampRequestCount.get();
+  }
+
+  public long getFailureCount() {
+    return failureCount.get();
+  }
+
+}
@@ -0,0 +1,88 @@
+/* DigiDoc4J library
+*
+* This software is released under either the GNU Library General Public
+* License (see LICENSE.LGPL).
+*
+* Note that the only valid version of the LGPL license as far as this
+* project is concerned is the original GNU Library General Public License
+* Version 2.1, February 1999
+*/
+
+package org.digidoc4j.test;
+
+import java.io.FileInputStream;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.Enumeration;
+
+import org.digidoc4j.test.util.TestSigningUtil;
+
+import eu.europa.esig.dss.DSSException;
+
+/**
+ * First private key entry of a PKCS#12 test keystore
+ */
+public class TestKeyStore {
+
+  private final PrivateKey privateKey;
+  private final X509Certificate certificate;
+
+  /**
+   * @return key entry of the default test signing keystore
+   */
+  public static TestKeyStore ofDefaultSigner() {
+    return new TestKeyStore(TestSigningUtil.TEST_PKI_CONTAINER, TestSigningUtil.TEST_PKI_CONTAINER_PASSWORD);
+  }
+
+  /**
+   * @param pkcs12FilePath keystore path
+   * @param password       keystore password
+   */
+  public TestKeyStore(String pkcs12FilePath, String password) {
+    try (FileInputStream stream = new FileInputStream(pkcs12FilePath)) {
+      KeyStore keyStore = KeyStore.getInstance("PKCS12");
+      keyStore.load(stream, password.toCharArray());
+      String alias = this.findKeyAlias(keyStore, pkcs12FilePath);
+      this.privateKey = (PrivateKey) keyStore.getKey(alias, password.toCharArray());
+      this.certificate = (X509Certificate) keyStore.getCertificate(alias);
+    } catch (DSSException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DSSException(e);
+    }
+  }
+
+  /*
+   * ACCESSORS
+   */
+
+  public PrivateKey getPrivateKey() {
+    return privateKey;
+  }
+
+  public X509Certificate getCertificate() {
+    return certificate;
+  }
+
+  public String getSignatureAlgorithm() {
+    return this.privateKey.getAlgorithm().startsWith("EC") ? "SHA256withECDSA" : "SHA256withRSA";
+  }
+
+  /*
+   * RESTRICTED METHODS
+   */
+
+  private String findKeyAlias(KeyStore keyStore, String pkcs12FilePath) throws KeyStoreException {
+    Enumeration<String> aliases = keyStore.aliases();
+    while (aliases.hasMoreElements()) {
+      String alias = aliases.nextElement();
+      if (keyStore.isKeyEntry(alias)) {
+        return alias;
+      }
+    }
+    throw new DSSException(String.format("No private key found in <%s>", pkcs12FilePath));
+  }
+
+}